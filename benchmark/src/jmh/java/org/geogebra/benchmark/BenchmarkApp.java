@@ -0,0 +1,64 @@
+package org.geogebra.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.util.Locale;
+
+import org.geogebra.common.jre.io.MyXMLioJre;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+
+/**
+ * Creates applications without GUI for the benchmarks.
+ */
+final class BenchmarkApp {
+
+	private BenchmarkApp() {
+		// utility class
+	}
+
+	/**
+	 * @return new application with graphics view 1 only
+	 */
+	static AppDNoGui create() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), true);
+		app.setLanguage(Locale.US);
+		app.getGgbApi().setPerspective("1");
+		return app;
+	}
+
+	/**
+	 * @param app
+	 *            application
+	 * @param command
+	 *            algebra input
+	 * @return first created element
+	 */
+	static GeoElement evaluate(AppDNoGui app, String command) {
+		return (GeoElement) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(command, false)[0];
+	}
+
+	/**
+	 * Loads a file from the directory given by the ggb.fixtures system
+	 * property.
+	 * 
+	 * @param app
+	 *            application
+	 * @param fileName
+	 *            name of .ggb file
+	 * @throws Exception
+	 *             if the file cannot be loaded
+	 */
+	static void load(AppDNoGui app, String fileName) throws Exception {
+		File dir = new File(System.getProperty("ggb.fixtures",
+				"../test/scripts/benchmark/art-plotter/tests"));
+		FileInputStream is = new FileInputStream(new File(dir, fileName));
+		try {
+			((MyXMLioJre) app.getXMLio()).readZipFromInputStream(is, false);
+		} finally {
+			is.close();
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Updating, saving, loading and undo snapshots of constructions from real
+ * files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConstructionBenchmark {
+
+	@Param({ "Agnesi-witch.ggb", "Arbeo-A04-linkage-Watt.ggb",
+			"BKovacs-robot.ggb" })
+	public String file;
+
+	private AppDNoGui app;
+	private Kernel kernel;
+	private String xml;
+
+	/**
+	 * Loads the file.
+	 * 
+	 * @throws Exception
+	 *             if the file cannot be loaded
+	 */
+	@Setup
+	public void setup() throws Exception {
+		app = BenchmarkApp.create();
+		BenchmarkApp.load(app, file);
+		kernel = app.getKernel();
+		xml = app.getXML();
+	}
+
+	/**
+	 * @return construction
+	 */
+	@Benchmark
+	public Object updateConstruction() {
+		kernel.updateConstruction();
+		return kernel.getConstruction();
+	}
+
+	/**
+	 * @return file XML
+	 */
+	@Benchmark
+	public String saveXML() {
+		return app.getXML();
+	}
+
+	/**
+	 * @return construction
+	 * @throws Exception
+	 *             if XML cannot be processed
+	 */
+	@Benchmark
+	public Object loadXML() throws Exception {
+		app.getXMLio().processXMLString(xml, true, false);
+		return kernel.getConstruction();
+	}
+
+	/**
+	 * @return construction
+	 */
+	@Benchmark
+	public Object storeUndoInfo() {
+		kernel.getConstruction().getUndoManager().storeUndoInfo(false);
+		return kernel.getConstruction();
+	}
+}
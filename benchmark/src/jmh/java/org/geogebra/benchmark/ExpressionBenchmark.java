@@ -0,0 +1,53 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Evaluation of function expression trees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpressionBenchmark {
+
+	private static final int SAMPLES = 1000;
+
+	@Param({ "sin(x)^2 + x^3 / (1 + x^2)", "exp(-x^2) cos(5x) + sqrt(abs(x))",
+			"If(x < 0, x^2, ln(1 + x))" })
+	public String definition;
+
+	private GeoFunction function;
+
+	/**
+	 * Creates the function.
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApp.create();
+		function = (GeoFunction) BenchmarkApp.evaluate(app,
+				"f(x) = " + definition);
+	}
+
+	/**
+	 * @return sum of values, so that the work is not eliminated
+	 */
+	@Benchmark
+	public double evaluate() {
+		double sum = 0;
+		for (int i = 0; i < SAMPLES; i++) {
+			sum += function.value(-5 + 10.0 * i / SAMPLES);
+		}
+		return sum;
+	}
+}
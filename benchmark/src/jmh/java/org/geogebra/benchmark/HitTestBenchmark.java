@@ -0,0 +1,66 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Finding the objects under the mouse among many drawables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HitTestBenchmark {
+
+	@Param({ "100", "2000" })
+	public int objects;
+
+	private EuclidianView view;
+	private GPoint[] locations;
+	private int next = 0;
+
+	/**
+	 * Creates points and segments spread over the view.
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApp.create();
+		view = app.getEuclidianView1();
+		locations = new GPoint[objects];
+		for (int i = 0; i < objects; i++) {
+			double x = -8 + 16.0 * ((i * 37) % objects) / objects;
+			double y = -6 + 12.0 * ((i * 61) % objects) / objects;
+			if (i % 2 == 0) {
+				BenchmarkApp.evaluate(app, "P_{" + i + "} = (" + x + ", " + y
+						+ ")");
+			} else {
+				BenchmarkApp.evaluate(app, "s_{" + i + "} = Segment((" + x
+						+ ", " + y + "), (" + (x + 1) + ", " + (y + 0.5)
+						+ "))");
+			}
+			locations[i] = new GPoint(view.toScreenCoordX(x),
+					view.toScreenCoordY(y));
+		}
+		view.repaintView();
+	}
+
+	/**
+	 * @return view with hits
+	 */
+	@Benchmark
+	public Object setHits() {
+		view.setHits(locations[next], 5);
+		next = (next + 1) % locations.length;
+		return view.getHits();
+	}
+}
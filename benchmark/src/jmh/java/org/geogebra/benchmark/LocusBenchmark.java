@@ -0,0 +1,49 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Tracing a locus of a point defined by a short construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LocusBenchmark {
+
+	private AlgoElement locusAlgo;
+
+	/**
+	 * Creates the locus construction.
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApp.create();
+		BenchmarkApp.evaluate(app, "c = Circle((0, 0), 2)");
+		BenchmarkApp.evaluate(app, "A = Point(c)");
+		BenchmarkApp.evaluate(app, "B = (3, 1)");
+		BenchmarkApp.evaluate(app, "l = PerpendicularBisector(A, B)");
+		BenchmarkApp.evaluate(app, "P = Intersect(l, Line((0, 0), A))");
+		GeoElement locus = BenchmarkApp.evaluate(app, "loc = Locus(P, A)");
+		locusAlgo = locus.getParentAlgorithm();
+	}
+
+	/**
+	 * @return locus algorithm
+	 */
+	@Benchmark
+	public Object traceLocus() {
+		locusAlgo.update();
+		return locusAlgo;
+	}
+}
@@ -0,0 +1,64 @@
+package org.geogebra.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
+import org.geogebra.common.kernel.geos.GeoCurveCartesian;
+import org.geogebra.common.kernel.implicit.GeoImplicitCurve;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sampling of parametric curves and implicit curves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlottingBenchmark {
+
+	private EuclidianView view;
+	private GeoCurveCartesian curve;
+	private GeoImplicitCurve implicit;
+
+	/**
+	 * Creates the curves.
+	 */
+	@Setup
+	public void setup() {
+		AppDNoGui app = BenchmarkApp.create();
+		view = app.getEuclidianView1();
+		curve = (GeoCurveCartesian) BenchmarkApp.evaluate(app,
+				"Curve(4 cos(3t) + tan(t) / 10, 4 sin(5t), t, 0, 2pi)");
+		implicit = (GeoImplicitCurve) BenchmarkApp.evaluate(app,
+				"x^4 + y^4 - 3x y (x + y) = 1");
+	}
+
+	/**
+	 * @return label position, so that the work is not eliminated
+	 */
+	@Benchmark
+	public Object plotCurve() {
+		GeneralPathClippedForCurvePlotter path =
+				new GeneralPathClippedForCurvePlotter(view);
+		return CurvePlotter.plotCurve(curve, curve.getMinParameter(),
+				curve.getMaxParameter(), view, path, true, Gap.MOVE_TO);
+	}
+
+	/**
+	 * @return locus of the curve
+	 */
+	@Benchmark
+	public Object implicitCurveQuadtree() {
+		implicit.updatePath();
+		return implicit.getLocus();
+	}
+}
@@ -0,0 +1,336 @@
+package org.geogebra.common.jre.cas;
+
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.geogebra.common.cas.CASAsyncExecutor;
+import org.geogebra.common.cas.CASDeferredTarget;
+import org.geogebra.common.cas.CASparser;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.CASgiac.PreparedInput;
+import org.geogebra.common.jre.kernel.WorkerPool;
+import org.geogebra.common.kernel.AsynchronousCommand;
+import org.geogebra.common.kernel.CASException;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+import org.geogebra.common.util.debug.KernelMetrics;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Evaluates CAS commands on threads of the shared {@link WorkerPool}, each
+ * thread with its own Giac instance. At most a given number of requests run
+ * at the same time, waiting requests are ordered by priority.
+ * Input is parsed and translated in the kernel thread, only Giac runs on the
+ * workers; results are converted back and passed to the commands in the
+ * kernel thread. Results are read from and written to the kernel's CAS cache
+ * and result store.
+ *
+ * Giac cannot be interrupted from outside, so cancelling a running request
+ * only drops its result; the CAS timeout still applies.
+ */
+public abstract class CASEvaluationPool implements CASAsyncExecutor {
+
+	private final int maxRunning;
+	/** waiting requests, guarded by itself */
+	private final PriorityQueue<Request> queue = new PriorityQueue<>();
+	/** number of pool tasks taking requests from the queue */
+	private int running = 0;
+	private boolean stopped = false;
+	/** latest request of each owner, accessed in kernel thread only */
+	private final HashMap<Object, Request> pending = new HashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+	private final ThreadLocal<CASgiac> workerCAS = new ThreadLocal<>();
+
+	private final Runnable worker = new Runnable() {
+		@Override
+		public void run() {
+			while (true) {
+				final Request request;
+				synchronized (queue) {
+					request = stopped ? null : queue.poll();
+					if (request == null) {
+						running--;
+						return;
+					}
+				}
+				WorkerPool.runBlocking(request);
+			}
+		}
+	};
+
+	/**
+	 * @param threads
+	 *            maximal number of requests evaluated at the same time
+	 */
+	public CASEvaluationPool(int threads) {
+		maxRunning = threads;
+	}
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 * @return new CAS instance for a worker thread
+	 */
+	protected abstract CASgiac createWorkerCAS(Kernel kernel);
+
+	/**
+	 * @param runnable
+	 *            code to be run in the thread that owns the kernel
+	 */
+	protected abstract void runInKernelThread(Runnable runnable);
+
+	/**
+	 * Runs in worker thread.
+	 * 
+	 * @param kernel
+	 *            kernel of the request
+	 * @param input
+	 *            prepared input
+	 * @param raw
+	 *            whether to return raw Giac output without selecting
+	 *            solutions
+	 * @return result in Giac syntax
+	 */
+	protected String evaluateOnWorker(Kernel kernel, PreparedInput input,
+			boolean raw) {
+		CASgiac cas = workerCAS.get();
+		if (cas == null) {
+			cas = createWorkerCAS(kernel);
+			workerCAS.set(cas);
+		}
+		return raw ? cas.evaluateCAS(input.getGiacInput())
+				: cas.evaluatePrepared(input);
+	}
+
+	@Override
+	public void evaluate(final AsynchronousCommand command, int priority) {
+		cancel(command);
+		Kernel kernel = command.getKernel();
+		final String input = command.getCasInput();
+		if (command.useCacheing()) {
+			String cached = kernel.getCASResult(input);
+			if (cached != null) {
+				// caller may be in the middle of an update, deliver later
+				// unless cancelled meanwhile
+				Request request = new Request(command, kernel, input, null,
+						priority, sequence.getAndIncrement());
+				request.output = cached;
+				deliverLater(request);
+				return;
+			}
+		}
+		PreparedInput prepared;
+		try {
+			CASparser parser = (CASparser) kernel.getGeoGebraCAS()
+					.getCASparser();
+			ValidExpression ve = parser.parseGeoGebraCASInput(input, null);
+			prepared = ((CASgiac) kernel.getGeoGebraCAS().getCurrentCAS())
+					.prepareInput(ve);
+		} catch (Throwable t) {
+			command.handleException(t, input.hashCode());
+			return;
+		}
+		submit(new Request(command, kernel, input, prepared, priority,
+				sequence.getAndIncrement()));
+	}
+
+	@Override
+	public void evaluate(CASDeferredTarget target, PreparedInput input,
+			int priority) {
+		// cached input is not deferred, see CASgiac#setDeferring
+		cancel(target);
+		submit(new Request(target, target.getKernel(), input.getGiacInput(),
+				input, priority, sequence.getAndIncrement()));
+	}
+
+	private void submit(Request request) {
+		KernelMetrics metrics = request.kernel.getMetrics();
+		if (metrics.isEnabled()) {
+			request.startTime = metrics.now();
+		}
+		pending.put(request.owner, request);
+		boolean startWorker = false;
+		synchronized (queue) {
+			if (stopped) {
+				return;
+			}
+			queue.add(request);
+			if (running < maxRunning) {
+				running++;
+				startWorker = true;
+			}
+		}
+		if (startWorker) {
+			WorkerPool.get().execute(worker);
+		}
+	}
+
+	private void deliverLater(final Request request) {
+		pending.put(request.owner, request);
+		runInKernelThread(new Runnable() {
+			@Override
+			public void run() {
+				finished(request);
+			}
+		});
+	}
+
+	@Override
+	public void cancel(Object owner) {
+		Request old = pending.remove(owner);
+		if (old != null) {
+			old.cancelled = true;
+			synchronized (queue) {
+				queue.remove(old);
+			}
+		}
+	}
+
+	/**
+	 * Stops taking requests, pending requests are dropped. The shared pool
+	 * keeps running.
+	 */
+	public void shutdown() {
+		synchronized (queue) {
+			stopped = true;
+			queue.clear();
+		}
+		pending.clear();
+	}
+
+	/**
+	 * Called in kernel thread when the worker finished.
+	 */
+	void finished(Request request) {
+		if (request.cancelled || pending.get(request.owner) != request) {
+			return;
+		}
+		pending.remove(request.owner);
+		if (request.owner instanceof CASDeferredTarget) {
+			resume((CASDeferredTarget) request.owner, request);
+			return;
+		}
+		AsynchronousCommand command = (AsynchronousCommand) request.owner;
+		int requestID = request.input.hashCode();
+		if (request.output != null) {
+			command.handleCASoutput(request.output, requestID);
+			return;
+		}
+		if (request.exception != null) {
+			command.handleException(request.exception, requestID);
+			return;
+		}
+		Kernel kernel = request.kernel;
+		String result;
+		try {
+			if (request.result == null || request.result.isEmpty()) {
+				result = "?";
+			} else {
+				result = ((CASgiac) kernel.getGeoGebraCAS().getCurrentCAS())
+						.toGeoGebraString(request.result, null,
+								StringTemplate.numericNoLocal, kernel);
+				result = Kernel.removeCASVariablePrefix(result, " ");
+			}
+		} catch (Throwable t) {
+			command.handleException(t, requestID);
+			return;
+		}
+		if (command.useCacheing()) {
+			kernel.storeCASResult(request.input, result);
+		}
+		addMetrics(request);
+		command.handleCASoutput(result, requestID);
+	}
+
+	private void resume(CASDeferredTarget target, Request request) {
+		Kernel kernel = request.kernel;
+		RuntimeException error = null;
+		if (request.exception instanceof RuntimeException) {
+			error = (RuntimeException) request.exception;
+		} else if (request.exception != null) {
+			error = new CASException(request.exception);
+		} else if (request.result != null) {
+			kernel.storeCASResult(request.input, request.result);
+		}
+		addMetrics(request);
+		CASgiac cas = (CASgiac) kernel.getGeoGebraCAS().getCurrentCAS();
+		cas.setPrefetchedResult(request.prepared, request.result, error);
+		try {
+			target.resumeCAS();
+		} finally {
+			cas.setPrefetchedResult(null, null, null);
+		}
+		kernel.notifyRepaint();
+	}
+
+	private static void addMetrics(Request request) {
+		KernelMetrics metrics = request.kernel.getMetrics();
+		if (metrics.isEnabled() && request.startTime > 0) {
+			metrics.addCAS(request.owner,
+					metrics.now() - request.startTime);
+		}
+	}
+
+	/**
+	 * One evaluation, ordered by priority and then by age.
+	 */
+	class Request implements Runnable, Comparable<Request> {
+		/** command or deferred target */
+		final Object owner;
+		final Kernel kernel;
+		/** cache key: GeoGebra input of commands, Giac input of targets */
+		final String input;
+		final PreparedInput prepared;
+		final int priority;
+		final long seq;
+		volatile boolean cancelled = false;
+		/** time of the request for metrics, 0 if not measured */
+		double startTime = 0;
+		String result;
+		/** output taken from the CAS cache, no evaluation needed */
+		String output;
+		Throwable exception;
+
+		Request(Object owner, Kernel kernel, String input,
+				PreparedInput prepared, int priority, long seq) {
+			this.owner = owner;
+			this.kernel = kernel;
+			this.input = input;
+			this.prepared = prepared;
+			this.priority = priority;
+			this.seq = seq;
+		}
+
+		@Override
+		public void run() {
+			if (cancelled) {
+				return;
+			}
+			try {
+				result = evaluateOnWorker(kernel, prepared,
+						owner instanceof CASDeferredTarget);
+			} catch (Throwable t) {
+				Log.debug("CAS worker: " + t.getMessage());
+				exception = t;
+			}
+			if (!cancelled) {
+				runInKernelThread(new Runnable() {
+					@Override
+					public void run() {
+						finished(Request.this);
+					}
+				});
+			}
+		}
+
+		@Override
+		public int compareTo(Request other) {
+			if (priority != other.priority) {
+				return priority > other.priority ? -1 : 1;
+			}
+			return seq < other.seq ? -1 : (seq == other.seq ? 0 : 1);
+		}
+	}
+}
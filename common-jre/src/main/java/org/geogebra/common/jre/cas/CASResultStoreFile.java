@@ -0,0 +1,299 @@
+package org.geogebra.common.jre.cas;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+
+import org.geogebra.common.cas.CASResultStore;
+import org.geogebra.common.util.Charsets;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * CAS results kept in memory and in a file, so that they survive restarts.
+ * Least recently used results are dropped when the stored strings exceed the
+ * given size. New results are appended to the file, the file is rewritten
+ * with the live results only when it is opened or gets too large.
+ *
+ * Only one store may write the file: it is locked while open, a store that
+ * does not get the lock keeps its results in memory only. Use one store per
+ * process.
+ *
+ * File layout: magic number, format, version string, then key / result
+ * records followed by CRC32 of key and result; strings are stored as length
+ * + UTF-8 bytes. If any record is damaged, the whole file is discarded.
+ */
+public class CASResultStoreFile extends CASResultStore {
+
+	private static final int MAGIC = 0x47474243;
+	private static final int FORMAT = 2;
+
+	private final File file;
+	private final String version;
+	private final long maxBytes;
+	private final LinkedHashMap<String, String> results = new LinkedHashMap<>(
+			16, 0.75f, true);
+	private long bytes = 0;
+	private long fileBytes = 0;
+	private DataOutputStream out;
+	private RandomAccessFile raf;
+	private FileLock lock;
+
+	/**
+	 * @param file
+	 *            file to store results in
+	 * @param version
+	 *            CAS version, results of other versions are dropped
+	 * @param maxBytes
+	 *            maximal size of stored keys and results (as chars in memory)
+	 */
+	public CASResultStoreFile(File file, String version, long maxBytes) {
+		this.file = file;
+		this.version = version;
+		this.maxBytes = maxBytes;
+		load();
+		rewrite();
+	}
+
+	@Override
+	protected synchronized String lookup(String key) {
+		return results.get(key);
+	}
+
+	@Override
+	public synchronized void put(String key, String result) {
+		long size = size(key, result);
+		if (size > maxBytes / 4 || result.equals(results.get(key))) {
+			return;
+		}
+		add(key, result);
+		if (out == null) {
+			return;
+		}
+		try {
+			fileBytes += writeRecord(out, key, result);
+			out.flush();
+		} catch (IOException e) {
+			Log.debug("CAS cache not writable: " + e.getMessage());
+			close();
+		}
+		if (fileBytes > 2 * maxBytes) {
+			rewrite();
+		}
+	}
+
+	/**
+	 * @return size of all stored keys and results
+	 */
+	public synchronized long getStoredBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return whether new results are written to the file
+	 */
+	public synchronized boolean isWritable() {
+		return out != null;
+	}
+
+	/**
+	 * Closes the file and releases the lock, results are kept in memory.
+	 */
+	public synchronized void close() {
+		try {
+			if (lock != null) {
+				lock.release();
+			}
+			if (out != null) {
+				out.close();
+			}
+			if (raf != null) {
+				raf.close();
+			}
+		} catch (IOException e) {
+			Log.debug(e.getMessage());
+		}
+		lock = null;
+		out = null;
+		raf = null;
+	}
+
+	private void add(String key, String result) {
+		String old = results.put(key, result);
+		if (old != null) {
+			bytes -= size(key, old);
+		}
+		bytes += size(key, result);
+		Iterator<Entry<String, String>> it = results.entrySet().iterator();
+		while (bytes > maxBytes && it.hasNext()) {
+			Entry<String, String> eldest = it.next();
+			bytes -= size(eldest.getKey(), eldest.getValue());
+			it.remove();
+		}
+	}
+
+	private static long size(String key, String result) {
+		return 2L * (key.length() + result.length());
+	}
+
+	private void load() {
+		if (!file.exists()) {
+			return;
+		}
+		DataInputStream in = null;
+		boolean valid = false;
+		try {
+			in = new DataInputStream(
+					new BufferedInputStream(new FileInputStream(file)));
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT
+					|| !version.equals(new String(read(in), Charsets.UTF_8))) {
+				return;
+			}
+			CRC32 crc = new CRC32();
+			while (readRecord(in, crc)) {
+				// record added
+			}
+			valid = true;
+		} catch (IOException e) {
+			Log.debug("CAS cache discarded: " + e.getMessage());
+		} finally {
+			if (!valid) {
+				results.clear();
+				bytes = 0;
+			}
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					Log.debug(e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes header and all live results to the file and keeps it open for
+	 * appending. The file is only truncated once we hold its lock.
+	 */
+	private void rewrite() {
+		try {
+			if (raf == null && !open()) {
+				return;
+			}
+			out.flush();
+			FileChannel channel = raf.getChannel();
+			channel.truncate(0);
+			channel.position(0);
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT);
+			fileBytes = 8 + write(out, version.getBytes(Charsets.UTF_8));
+			for (Entry<String, String> entry : results.entrySet()) {
+				fileBytes += writeRecord(out, entry.getKey(),
+						entry.getValue());
+			}
+			out.flush();
+		} catch (IOException e) {
+			Log.debug("CAS cache not writable: " + e.getMessage());
+			close();
+		}
+	}
+
+	/**
+	 * Opens and locks the file.
+	 * 
+	 * @return false if the file is used by another store
+	 */
+	private boolean open() throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			Log.debug("CAS cache directory not created: " + parent);
+			return false;
+		}
+		raf = new RandomAccessFile(file, "rw");
+		try {
+			lock = raf.getChannel().tryLock();
+		} catch (OverlappingFileLockException e) {
+			lock = null;
+		}
+		if (lock == null) {
+			Log.debug("CAS cache used by another store: " + file);
+			close();
+			return false;
+		}
+		out = new DataOutputStream(new BufferedOutputStream(
+				Channels.newOutputStream(raf.getChannel())));
+		return true;
+	}
+
+	private static int writeRecord(DataOutputStream out, String key,
+			String result) throws IOException {
+		byte[] keyData = key.getBytes(Charsets.UTF_8);
+		byte[] resultData = result.getBytes(Charsets.UTF_8);
+		CRC32 crc = new CRC32();
+		crc.update(keyData);
+		crc.update(resultData);
+		int length = write(out, keyData) + write(out, resultData);
+		out.writeInt((int) crc.getValue());
+		return length + 4;
+	}
+
+	private static int write(DataOutputStream out, byte[] data)
+			throws IOException {
+		out.writeInt(data.length);
+		out.write(data);
+		return 4 + data.length;
+	}
+
+	/**
+	 * Reads one record and adds it to the results.
+	 * 
+	 * @return false at the end of the file
+	 * @throws IOException
+	 *             if the record is incomplete or damaged
+	 */
+	private boolean readRecord(DataInputStream in, CRC32 crc)
+			throws IOException {
+		int first = in.read();
+		if (first < 0) {
+			return false;
+		}
+		byte[] keyData = read(in,
+				(first << 24) | (in.readUnsignedByte() << 16)
+						| in.readUnsignedShort());
+		byte[] resultData = read(in);
+		crc.reset();
+		crc.update(keyData);
+		crc.update(resultData);
+		if (in.readInt() != (int) crc.getValue()) {
+			throw new IOException("invalid checksum");
+		}
+		add(new String(keyData, Charsets.UTF_8),
+				new String(resultData, Charsets.UTF_8));
+		return true;
+	}
+
+	private byte[] read(DataInputStream in) throws IOException {
+		return read(in, in.readInt());
+	}
+
+	private byte[] read(DataInputStream in, int length) throws IOException {
+		if (length < 0 || length > maxBytes) {
+			throw new IOException("invalid record");
+		}
+		byte[] data = new byte[length];
+		in.readFully(data);
+		return data;
+	}
+}
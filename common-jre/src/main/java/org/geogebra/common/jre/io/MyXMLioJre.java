@@ -36,6 +36,7 @@ import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -634,7 +635,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 	protected static class XMLStreamInputStream implements XMLStreamJre {
 
 		private InputStream is;
-		private InputStreamReader reader;
+		private Reader reader;
 
 		/**
 		 * @param is
@@ -646,7 +647,9 @@ public abstract class MyXMLioJre extends MyXMLio {
 
 		@Override
 		public Reader getReader() throws Exception {
-			reader = new InputStreamReader(is, Charsets.UTF_8);
+			// the parser reads one char at a time
+			reader = new BufferedReader(
+					new InputStreamReader(is, Charsets.UTF_8));
 			return reader;
 		}
 
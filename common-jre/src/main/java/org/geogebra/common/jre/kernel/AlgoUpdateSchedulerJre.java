@@ -0,0 +1,56 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.concurrent.RecursiveAction;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
+
+/**
+ * Update scheduler for Desktop and Android: computes independent algorithms
+ * of one layer on the shared {@link WorkerPool}.
+ */
+public class AlgoUpdateSchedulerJre extends AlgoUpdateScheduler {
+
+	/** number of algos computed by one task without further splitting */
+	private static final int CHUNK_SIZE = 8;
+
+	@Override
+	protected boolean isParallel() {
+		return WorkerPool.PARALLELISM > 1;
+	}
+
+	@Override
+	protected void computeAll(AlgoElement[] algos, int count) {
+		WorkerPool.get().invoke(new ComputeTask(algos, 0, count));
+	}
+
+	/**
+	 * Computes algos[from..to), splitting the range while it is large
+	 */
+	private static class ComputeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final AlgoElement[] algos;
+		private final int from;
+		private final int to;
+
+		ComputeTask(AlgoElement[] algos, int from, int to) {
+			this.algos = algos;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= CHUNK_SIZE) {
+				for (int i = from; i < to; i++) {
+					algos[i].computeMeasured();
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new ComputeTask(algos, from, mid),
+					new ComputeTask(algos, mid, to));
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.geogebra.common.kernel.algos.TaskRunner;
+
+/**
+ * Task runner for Desktop and Android: runs the tasks on the shared
+ * {@link WorkerPool}. An exception thrown by a task is rethrown in the
+ * calling thread, as if the tasks were run one after another.
+ */
+public class TaskRunnerJre extends TaskRunner {
+
+	@Override
+	public boolean isParallel() {
+		return WorkerPool.PARALLELISM > 1;
+	}
+
+	@Override
+	public int getParallelism() {
+		return WorkerPool.PARALLELISM;
+	}
+
+	@Override
+	public void runAll(List<Runnable> tasks) {
+		final ArrayList<ForkJoinTask<?>> jobs = new ArrayList<>(
+				tasks.size());
+		for (Runnable task : tasks) {
+			jobs.add(ForkJoinTask.adapt(task));
+		}
+		if (ForkJoinTask.inForkJoinPool()) {
+			// called from a parallel update: help instead of blocking
+			ForkJoinTask.invokeAll(jobs);
+			return;
+		}
+		WorkerPool.get().invoke(new RecursiveAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(jobs);
+			}
+		});
+	}
+
+	@Override
+	public Batch start(List<Runnable> tasks, long deadline) {
+		return new BatchJre(tasks, deadline);
+	}
+
+	/**
+	 * Tasks running on the shared pool; cancelling them or passing the
+	 * deadline drops tasks that have not started, running ones finish
+	 * without being awaited.
+	 */
+	private static class BatchJre extends Batch {
+		private final ArrayList<ForkJoinTask<?>> jobs;
+
+		BatchJre(List<Runnable> tasks, long deadline) {
+			super(tasks, deadline);
+			jobs = new ArrayList<>(tasks.size());
+			for (Runnable task : tasks) {
+				ForkJoinTask<?> job = ForkJoinTask.adapt(task);
+				jobs.add(job);
+				WorkerPool.get().execute(job);
+			}
+		}
+
+		@Override
+		public boolean await(int index) {
+			long wait = Math.max(0, deadline - System.currentTimeMillis());
+			try {
+				jobs.get(index).get(wait, TimeUnit.MILLISECONDS);
+				return true;
+			} catch (TimeoutException e) {
+				cancel();
+				return false;
+			} catch (CancellationException e) {
+				return false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancel();
+				return false;
+			} catch (ExecutionException e) {
+				cancel();
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		@Override
+		public boolean isFinished() {
+			for (ForkJoinTask<?> job : jobs) {
+				if (!job.isDone()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void cancel() {
+			super.cancel();
+			for (ForkJoinTask<?> job : jobs) {
+				job.cancel(false);
+			}
+		}
+	}
+}
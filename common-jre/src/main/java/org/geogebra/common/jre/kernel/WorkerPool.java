@@ -0,0 +1,82 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Threads shared by all background work of the kernel on Desktop and Android:
+ * parallel updates of algorithms, tasks of one computation and CAS requests.
+ * Using one pool keeps the number of busy threads close to the number of
+ * processors when these run at the same time.
+ */
+public final class WorkerPool {
+
+	/** number of processors */
+	public static final int PARALLELISM = Runtime.getRuntime()
+			.availableProcessors();
+
+	private static final ForkJoinWorkerThreadFactory DEFAULT_FACTORY =
+			ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+
+	private static ForkJoinPool pool;
+
+	private WorkerPool() {
+		// utility class
+	}
+
+	/**
+	 * @return the shared pool, its threads are daemons
+	 */
+	public static synchronized ForkJoinPool get() {
+		if (pool == null) {
+			pool = new ForkJoinPool(PARALLELISM,
+					new ForkJoinWorkerThreadFactory() {
+						@Override
+						public ForkJoinWorkerThread newThread(
+								ForkJoinPool owner) {
+							ForkJoinWorkerThread thread = DEFAULT_FACTORY
+									.newThread(owner);
+							thread.setName("Kernel worker "
+									+ thread.getPoolIndex());
+							return thread;
+						}
+					}, null, false);
+		}
+		return pool;
+	}
+
+	/**
+	 * Runs code that waits most of the time (e.g. for Giac) in a pool thread;
+	 * the pool may start another thread meanwhile so that other work is not
+	 * blocked.
+	 *
+	 * @param blocking
+	 *            code to run
+	 */
+	public static void runBlocking(final Runnable blocking) {
+		if (!(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+			blocking.run();
+			return;
+		}
+		try {
+			ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+				private boolean done = false;
+
+				@Override
+				public boolean block() {
+					blocking.run();
+					done = true;
+					return true;
+				}
+
+				@Override
+				public boolean isReleasable() {
+					return done;
+				}
+			});
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
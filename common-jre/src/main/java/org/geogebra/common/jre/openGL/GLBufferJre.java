@@ -1,9 +1,11 @@
 package org.geogebra.common.jre.openGL;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
-import java.util.ArrayList;
 
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.GLBuffer;
+import org.geogebra.common.geogebra3D.euclidian3D.openGL.ReusableFloatArray;
 
 /**
  * buffers for openGL
@@ -36,7 +38,7 @@ public class GLBufferJre implements GLBuffer {
 
 		// allocate buffer only at start and when length change
 		if (impl == null || impl.capacity() < length) {
-			impl = FloatBuffer.allocate(length);
+			impl = allocateDirect(length);
 		} else {
 			impl.rewind();
 		}
@@ -69,40 +71,47 @@ public class GLBufferJre implements GLBuffer {
 		impl.rewind();
 	}
 
+	/**
+	 * @param length
+	 *            number of floats
+	 * @return direct buffer in native order, so that it can be passed to GL
+	 *         without copy
+	 */
+	private static FloatBuffer allocateDirect(int length) {
+		return ByteBuffer.allocateDirect(length * 4)
+				.order(ByteOrder.nativeOrder()).asFloatBuffer();
+	}
+
 	@Override
-	public void set(ArrayList<Double> array, int length) {
+	public void set(ReusableFloatArray array, int length) {
 
 		allocate(length);
 
-		for (int i = 0; i < length; i++) {
-			put(array.get(i));
-		}
+		impl.put(array.getArray(), 0, length);
 
 		setLimit(length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int offset, int length) {
-		for (int i = 0; i < length; i++) {
-			impl.put(i + offset, array.get(i).floatValue());
-		}
+	public void set(ReusableFloatArray array, int offset, int length) {
+		set(array, 0, offset, length);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, int arrayOffset, int offset,
+	public void set(ReusableFloatArray array, int arrayOffset, int offset,
 			int length) {
-		for (int i = 0; i < length; i++) {
-			impl.put(i + offset, array.get(arrayOffset + i).floatValue());
-		}
+		int position = impl.position();
+		impl.position(offset);
+		impl.put(array.getArray(), arrayOffset, length);
+		impl.position(position);
 	}
 
 	@Override
-	public void set(ArrayList<Double> array, float[] translate, float scale,
+	public void set(ReusableFloatArray array, float[] translate, float scale,
 			int offset, int length) {
+		float[] values = array.getArray();
 		for (int i = 0; i < length; i++) {
-			impl.put(i + offset,
-					array.get(i).floatValue() * scale
-							+ translate[i % 3]);
+			impl.put(i + offset, values[i] * scale + translate[i % 3]);
 		}
 	}
 
@@ -137,7 +146,7 @@ public class GLBufferJre implements GLBuffer {
 	@Override
 	public void reallocate(int size) {
 		FloatBuffer oldImpl = impl;
-		impl = FloatBuffer.allocate(size);
+		impl = allocateDirect(size);
 		impl.put(oldImpl);
 	}
 
@@ -0,0 +1,123 @@
+package org.geogebra.common.jre.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.Printer3DOutput;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Writes 3D export to a file through a buffer. The first error is logged,
+ * further writes are ignored.
+ */
+public class Printer3DOutputFile implements Printer3DOutput {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private final CharsetEncoder encoder = Charset.forName("UTF-8")
+			.newEncoder();
+	private boolean failed = false;
+
+	/**
+	 * @param file
+	 *            file, replaced if existing
+	 * @throws IOException
+	 *             if file can't be opened
+	 */
+	@SuppressWarnings("resource")
+	public Printer3DOutputFile(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		raf.setLength(0);
+		channel = raf.getChannel();
+	}
+
+	@Override
+	public void append(CharSequence text) {
+		if (failed) {
+			return;
+		}
+		CharBuffer chars = CharBuffer.wrap(text);
+		encoder.reset();
+		boolean endOfInput = false;
+		while (true) {
+			CoderResult result = endOfInput ? encoder.flush(buffer)
+					: encoder.encode(chars, buffer, true);
+			if (result.isOverflow()) {
+				writeBuffer();
+			} else if (endOfInput) {
+				return;
+			} else {
+				endOfInput = true;
+			}
+		}
+	}
+
+	@Override
+	public void append(byte[] bytes, int length) {
+		int offset = 0;
+		while (!failed && offset < length) {
+			if (!buffer.hasRemaining()) {
+				writeBuffer();
+			}
+			int part = Math.min(buffer.remaining(), length - offset);
+			buffer.put(bytes, offset, part);
+			offset += part;
+		}
+	}
+
+	@Override
+	public void write(long position, byte[] bytes, int length) {
+		writeBuffer();
+		if (failed) {
+			return;
+		}
+		try {
+			ByteBuffer wrapped = ByteBuffer.wrap(bytes, 0, length);
+			long current = position;
+			while (wrapped.hasRemaining()) {
+				current += channel.write(wrapped, current);
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		writeBuffer();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	private void writeBuffer() {
+		buffer.flip();
+		try {
+			while (!failed && buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			fail(e);
+		}
+		buffer.clear();
+	}
+
+	private void fail(IOException e) {
+		if (!failed) {
+			failed = true;
+			Log.error("3D export failed: " + e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,45 @@
+package org.geogebra.common.cas;
+
+import org.geogebra.common.cas.giac.CASgiac.PreparedInput;
+import org.geogebra.common.kernel.AsynchronousCommand;
+
+/**
+ * Evaluates CAS input of commands in the background and passes the results
+ * back to the commands in the kernel thread.
+ */
+public interface CASAsyncExecutor {
+	/**
+	 * Schedules evaluation of the command's CAS input, replacing any pending
+	 * evaluation for the same command. Must be called in the kernel thread.
+	 * 
+	 * @param command
+	 *            command
+	 * @param priority
+	 *            higher priority requests are started first
+	 */
+	public void evaluate(AsynchronousCommand command, int priority);
+
+	/**
+	 * Schedules Giac evaluation of input deferred by the target's
+	 * computation, replacing any pending evaluation for the same target. The
+	 * target is resumed in the kernel thread when the result is available.
+	 * 
+	 * @param target
+	 *            object waiting for the result
+	 * @param input
+	 *            deferred Giac input
+	 * @param priority
+	 *            higher priority requests are started first
+	 */
+	public void evaluate(CASDeferredTarget target, PreparedInput input,
+			int priority);
+
+	/**
+	 * Drops pending evaluation of the command or target; if the evaluation
+	 * already started its result is ignored.
+	 * 
+	 * @param owner
+	 *            command or target
+	 */
+	public void cancel(Object owner);
+}
@@ -0,0 +1,21 @@
+package org.geogebra.common.cas;
+
+import org.geogebra.common.kernel.Kernel;
+
+/**
+ * Object whose computation may leave Giac evaluation to
+ * {@link CASAsyncExecutor}; it is recomputed once the Giac result is
+ * available.
+ */
+public interface CASDeferredTarget {
+	/**
+	 * @return kernel
+	 */
+	public Kernel getKernel();
+
+	/**
+	 * Called in the kernel thread when Giac result for the deferred input is
+	 * available; should recompute and update dependent objects.
+	 */
+	public void resumeCAS();
+}
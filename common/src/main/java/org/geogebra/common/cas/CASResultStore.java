@@ -0,0 +1,56 @@
+package org.geogebra.common.cas;
+
+/**
+ * Second level cache for CAS results, consulted when a result is not in the
+ * kernel's in-memory cache. Implementations may keep results between
+ * sessions.
+ */
+public abstract class CASResultStore {
+
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * @param key
+	 *            CAS input including relevant settings
+	 * @return stored result or null
+	 */
+	public final String get(String key) {
+		String result = lookup(key);
+		if (result == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return result;
+	}
+
+	/**
+	 * @param key
+	 *            CAS input including relevant settings
+	 * @return stored result or null
+	 */
+	protected abstract String lookup(String key);
+
+	/**
+	 * @param key
+	 *            CAS input including relevant settings
+	 * @param result
+	 *            CAS result
+	 */
+	public abstract void put(String key, String result);
+
+	/**
+	 * @return number of successful lookups
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of lookups without result
+	 */
+	public int getMisses() {
+		return misses;
+	}
+}
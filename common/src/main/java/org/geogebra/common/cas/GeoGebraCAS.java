@@ -9,6 +9,7 @@ import java.util.TreeSet;
 
 import org.geogebra.common.kernel.CASException;
 import org.geogebra.common.kernel.CASGenericInterface;
+import org.geogebra.common.kernel.CASPendingException;
 import org.geogebra.common.kernel.GeoGebraCasInterface;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
@@ -30,6 +31,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPlaneND;
 import org.geogebra.common.main.App;
 import org.geogebra.common.util.MaxSizeHashMap;
+import org.geogebra.common.util.debug.KernelMetrics;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -124,12 +126,20 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		}
 		String result = null;
 		CASException exception = null;
+		KernelMetrics metrics = kernel.getMetrics();
+		double start = metrics.isEnabled() ? metrics.now() : 0;
 		try {
 			result = getCurrentCAS().evaluateGeoGebraCAS(casInput, arbconst,
 					tpl, cell, kernel);
+		} catch (CASPendingException pending) {
+			// no result yet, KeepInput is handled when it arrives
+			throw pending;
 		} catch (CASException ce) {
 			exception = ce;
 		}
+		if (metrics.isEnabled()) {
+			metrics.addCAS(cell == null ? "CAS" : cell, metrics.now() - start);
+		}
 
 		// check if keep input command was successful
 		// e.g. for KeepInput[Substitute[...]]
@@ -168,6 +178,8 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 						.getError("CAS.GeneralErrorMessage")));
 			}
 			return ret;
+		} catch (CASPendingException pending) {
+			throw pending;
 		} catch (Throwable t) {
 			t.printStackTrace();
 			throw new CASException(t);
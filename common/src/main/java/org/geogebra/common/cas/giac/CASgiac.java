@@ -13,6 +13,7 @@ import org.geogebra.common.cas.CASparser;
 import org.geogebra.common.kernel.AsynchronousCommand;
 import org.geogebra.common.kernel.CASException;
 import org.geogebra.common.kernel.CASGenericInterface;
+import org.geogebra.common.kernel.CASPendingException;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.AssignmentType;
@@ -425,6 +426,14 @@ public abstract class CASgiac implements CASGenericInterface {
 	final private static String EVALFA = "evalfa(";
 	private StringBuilder expSB = new StringBuilder(EVALFA);
 
+	/** whether uncached Giac input should be left to the async executor */
+	private boolean deferring = false;
+	/** first input deferred since the last call of takeDeferredInput */
+	private PreparedInput deferredInput;
+	private PreparedInput prefetchedInput;
+	private String prefetchedResult;
+	private RuntimeException prefetchedError;
+
 	// eg {(ggbtmpvarx>(-sqrt(110)/5)) && ((sqrt(110)/5)>ggbtmpvarx)}
 	// eg {(ggbtmpvarx>=(-sqrt(110)/5)) && ((sqrt(110)/5)>=ggbtmpvarx)}
 	// eg (ggbtmpvarx>3) && (4>ggbtmpvarx)
@@ -652,9 +661,82 @@ public abstract class CASgiac implements CASGenericInterface {
 				StringTemplate.giacTemplate, this);
 
 		// evaluate in Giac
-		String plainResult = evaluateCAS(giacInput);
+		String plainResult = deferring ? evaluateOrDefer(giacInput, kernel)
+				: evaluateCAS(giacInput);
 		// get initial nr of vars
 		int nrOfVars = casParser.getNrOfVars();
+		// reset nrOfVars
+		casParser.setNrOfVars(0);
+		return selectSolutions(plainResult, nrOfVars);
+	}
+
+	private String evaluateOrDefer(String giacInput, Kernel kernel) {
+		if (prefetchedInput != null
+				&& prefetchedInput.giacInput.equals(giacInput)) {
+			if (prefetchedError != null) {
+				throw prefetchedError;
+			}
+			return prefetchedResult;
+		}
+		String cached = kernel.getCASResult(giacInput);
+		if (cached != null) {
+			return cached;
+		}
+		if (deferredInput == null) {
+			deferredInput = new PreparedInput(giacInput,
+					casParser.getNrOfVars());
+		}
+		casParser.setNrOfVars(0);
+		throw new CASPendingException(giacInput);
+	}
+
+	/**
+	 * When deferring, Giac input that is not in the kernel's CAS cache is not
+	 * evaluated; {@link CASPendingException} is thrown instead and the input
+	 * may be retrieved by {@link #takeDeferredInput()}.
+	 * 
+	 * @param deferring
+	 *            whether to defer uncached input
+	 */
+	public void setDeferring(boolean deferring) {
+		this.deferring = deferring;
+	}
+
+	/**
+	 * @return first input deferred since last call, null if none
+	 */
+	public PreparedInput takeDeferredInput() {
+		PreparedInput input = deferredInput;
+		deferredInput = null;
+		return input;
+	}
+
+	/**
+	 * Sets Giac result of deferred input, used instead of the evaluation
+	 * while deferring.
+	 * 
+	 * @param input
+	 *            deferred input, null to clear
+	 * @param result
+	 *            raw Giac result
+	 * @param error
+	 *            error of the evaluation, null if successful
+	 */
+	public void setPrefetchedResult(PreparedInput input, String result,
+			RuntimeException error) {
+		this.prefetchedInput = input;
+		this.prefetchedResult = result;
+		this.prefetchedError = error;
+	}
+
+	/**
+	 * @param plainResult
+	 *            Giac result
+	 * @param nrOfVars
+	 *            number of variables the user asked for, 0 for all
+	 * @return result with solutions for the requested variables only
+	 */
+	private static String selectSolutions(String plainResult, int nrOfVars) {
 		StringBuilder newPlainResult = new StringBuilder();
 		// case we need to process the result
 		if (nrOfVars > 0) {
@@ -676,13 +758,70 @@ public abstract class CASgiac implements CASGenericInterface {
 			}
 			newPlainResult.setLength(newPlainResult.length() - 1);
 			newPlainResult.append("}");
-			// reset nrOfVars
-			casParser.setNrOfVars(0);
 			return newPlainResult.toString();
 		}
 		return plainResult;
 	}
 
+	/**
+	 * Giac input prepared in the kernel thread, so that it can be evaluated by
+	 * another CAS instance in a worker thread.
+	 */
+	public static final class PreparedInput {
+		final String giacInput;
+		final int nrOfVars;
+
+		/**
+		 * @param giacInput
+		 *            input in Giac syntax
+		 * @param nrOfVars
+		 *            number of variables the user asked for, 0 for all
+		 */
+		public PreparedInput(String giacInput, int nrOfVars) {
+			this.giacInput = giacInput;
+			this.nrOfVars = nrOfVars;
+		}
+
+		/**
+		 * @return input in Giac syntax
+		 */
+		public String getGiacInput() {
+			return giacInput;
+		}
+	}
+
+	/**
+	 * Translates input for {@link #evaluatePrepared(PreparedInput)}. Does not
+	 * support KeepInput.
+	 * 
+	 * @param casInput
+	 *            parsed input
+	 * @return input translated to Giac
+	 */
+	public synchronized PreparedInput prepareInput(ValidExpression casInput) {
+		String giacInput = casParser.translateToCAS(casInput,
+				StringTemplate.giacTemplate, this);
+		int nrOfVars = casParser.getNrOfVars();
+		casParser.setNrOfVars(0);
+		return new PreparedInput(giacInput, nrOfVars);
+	}
+
+	/**
+	 * Evaluates input prepared by (possibly another instance) of CAS; the
+	 * result may be converted by
+	 * {@link #toGeoGebraString(String, MyArbitraryConstant, StringTemplate, Kernel)}
+	 * in the kernel thread.
+	 * 
+	 * @param input
+	 *            prepared input
+	 * @return result in Giac syntax
+	 */
+	public String evaluatePrepared(PreparedInput input) {
+		String plainResult = evaluateCAS(input.giacInput);
+		return plainResult == null ? null
+				: selectSolutions(plainResult, input.nrOfVars);
+	}
+
 	/**
 	 * Tries to parse a given Giac string and returns a String in GeoGebra
 	 * syntax.
@@ -809,7 +948,7 @@ public abstract class CASgiac implements CASGenericInterface {
 
 		c.handleCASoutput(result, input.hashCode());
 		if (c.useCacheing()) {
-			c.getKernel().putToCasCache(input, result);
+			c.getKernel().storeCASResult(input, result);
 		}
 	}
 
@@ -0,0 +1,238 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.geogebra.common.awt.GRectangle;
+import org.geogebra.common.euclidian.DrawableList.DrawableIterator;
+
+/**
+ * Uniform grid of drawable screen bounds (including labels), used to find the
+ * drawables that may be hit at some screen location without testing all of
+ * them.
+ *
+ * The grid is built lazily from the list of all drawables. Drawables whose
+ * element was updated are marked as stale; they are tested always until their
+ * drawable is updated and then they are moved to the right cells. Drawables
+ * without bounds or with very large bounds are tested always.
+ */
+class DrawableIndex {
+
+	/** cell size in pixels */
+	static final int CELL_SIZE = 64;
+	/** drawables spanning more cells are tested always */
+	private static final int MAX_CELLS = 64;
+
+	private final HashMap<Long, ArrayList<Entry>> cells = new HashMap<>();
+	private final HashMap<Drawable, Entry> entries = new HashMap<>();
+	private final HashSet<Entry> unbounded = new HashSet<>();
+	private final HashSet<Entry> stale = new HashSet<>();
+	private final ArrayList<Entry> found = new ArrayList<>();
+	private final ArrayList<Drawable> result = new ArrayList<>();
+	private boolean valid = false;
+	private int stamp = 0;
+
+	private static final Comparator<Entry> ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			return e1.order < e2.order ? -1 : (e1.order == e2.order ? 0 : 1);
+		}
+	};
+
+	private static class Entry {
+		final Drawable drawable;
+		final int order;
+		/** cell range, minX &gt; maxX for drawables without bounds */
+		int minX, minY, maxX, maxY;
+		int stamp;
+
+		Entry(Drawable drawable, int order) {
+			this.drawable = drawable;
+			this.order = order;
+		}
+	}
+
+	/**
+	 * Drops the whole index, e.g. after drawables were added or removed.
+	 */
+	void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Marks the drawable as changed.
+	 *
+	 * @param d
+	 *            drawable
+	 */
+	void invalidate(Drawable d) {
+		if (valid) {
+			Entry entry = entries.get(d);
+			if (entry == null) {
+				valid = false;
+			} else {
+				stale.add(entry);
+			}
+		}
+	}
+
+	/**
+	 * @param all
+	 *            all drawables of the view
+	 * @param x1
+	 *            left
+	 * @param y1
+	 *            top
+	 * @param x2
+	 *            right
+	 * @param y2
+	 *            bottom
+	 * @return drawables whose bounds may intersect given rectangle, in the
+	 *         order of the list of all drawables; the list is reused by the
+	 *         next query
+	 */
+	ArrayList<Drawable> query(DrawableList all, int x1, int y1, int x2,
+			int y2) {
+		if (!valid) {
+			rebuild(all);
+		}
+		refreshStale();
+		stamp++;
+		found.clear();
+		int cx1 = cell(x1), cy1 = cell(y1), cx2 = cell(x2), cy2 = cell(y2);
+		for (int cx = cx1; cx <= cx2; cx++) {
+			for (int cy = cy1; cy <= cy2; cy++) {
+				ArrayList<Entry> list = cells.get(key(cx, cy));
+				if (list != null) {
+					for (Entry entry : list) {
+						addFound(entry);
+					}
+				}
+			}
+		}
+		for (Entry entry : unbounded) {
+			addFound(entry);
+		}
+		for (Entry entry : stale) {
+			addFound(entry);
+		}
+		Collections.sort(found, ORDER);
+		result.clear();
+		for (Entry entry : found) {
+			result.add(entry.drawable);
+		}
+		return result;
+	}
+
+	private void addFound(Entry entry) {
+		if (entry.stamp != stamp) {
+			entry.stamp = stamp;
+			found.add(entry);
+		}
+	}
+
+	private void rebuild(DrawableList all) {
+		cells.clear();
+		entries.clear();
+		unbounded.clear();
+		stale.clear();
+		DrawableIterator it = all.getIterator();
+		int order = 0;
+		while (it.hasNext()) {
+			Drawable d = it.next();
+			Entry entry = new Entry(d, order++);
+			entries.put(d, entry);
+			insert(entry);
+		}
+		valid = true;
+	}
+
+	/**
+	 * Moves drawables that were updated since they were marked stale.
+	 */
+	private void refreshStale() {
+		Iterator<Entry> it = stale.iterator();
+		while (it.hasNext()) {
+			Entry entry = it.next();
+			if (!entry.drawable.needsUpdate()) {
+				remove(entry);
+				insert(entry);
+				it.remove();
+			}
+		}
+	}
+
+	private void insert(Entry entry) {
+		Drawable d = entry.drawable;
+		GRectangle bounds = d.getBounds();
+		GRectangle label = d.labelRectangle;
+		boolean hasLabel = label != null && label.getWidth() > 0;
+		if (bounds == null || (!hasLabel && bounds.getWidth() <= 0
+				&& bounds.getHeight() <= 0)) {
+			setUnbounded(entry);
+			return;
+		}
+		double x1 = bounds.getMinX(), y1 = bounds.getMinY();
+		double x2 = bounds.getMaxX(), y2 = bounds.getMaxY();
+		if (hasLabel) {
+			x1 = Math.min(x1, label.getMinX());
+			y1 = Math.min(y1, label.getMinY());
+			x2 = Math.max(x2, label.getMaxX());
+			y2 = Math.max(y2, label.getMaxY());
+		}
+		if (Double.isNaN(x1 + y1 + x2 + y2)
+				|| (x2 - x1) > MAX_CELLS * CELL_SIZE
+				|| (y2 - y1) > MAX_CELLS * CELL_SIZE) {
+			setUnbounded(entry);
+			return;
+		}
+		entry.minX = cell(x1);
+		entry.minY = cell(y1);
+		entry.maxX = cell(x2);
+		entry.maxY = cell(y2);
+		for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+			for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+				Long key = key(cx, cy);
+				ArrayList<Entry> list = cells.get(key);
+				if (list == null) {
+					list = new ArrayList<>(4);
+					cells.put(key, list);
+				}
+				list.add(entry);
+			}
+		}
+	}
+
+	private void setUnbounded(Entry entry) {
+		entry.minX = 1;
+		entry.maxX = 0;
+		unbounded.add(entry);
+	}
+
+	private void remove(Entry entry) {
+		if (entry.minX > entry.maxX) {
+			unbounded.remove(entry);
+			return;
+		}
+		for (int cx = entry.minX; cx <= entry.maxX; cx++) {
+			for (int cy = entry.minY; cy <= entry.maxY; cy++) {
+				ArrayList<Entry> list = cells.get(key(cx, cy));
+				if (list != null) {
+					list.remove(entry);
+				}
+			}
+		}
+	}
+
+	private static int cell(double coord) {
+		return (int) Math.floor(coord / CELL_SIZE);
+	}
+
+	private static Long key(int cx, int cy) {
+		return Long.valueOf(((long) cx << 32) ^ (cy & 0xffffffffL));
+	}
+}
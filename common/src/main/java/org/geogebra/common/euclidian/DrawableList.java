@@ -19,11 +19,12 @@ import java.util.NoSuchElementException;
 import org.geogebra.common.awt.GGraphics2D;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.util.debug.KernelMetrics;
 
 /**
  * List to store Drawable objects for fast drawing.
  */
-public class DrawableList {
+public class DrawableList implements Iterable<Drawable> {
 	/** first drawable in the list */
 	public Link head;
 	private Link tail;
@@ -173,8 +174,52 @@ public class DrawableList {
 	 *            Graphic to be used
 	 */
 	public final void drawAll(GGraphics2D g2) {
+		draw(g2, head, null);
+	}
+
+	/**
+	 * Draws all drawables that come before the given one.
+	 * 
+	 * @param g2
+	 *            graphics
+	 * @param stop
+	 *            first drawable not to draw
+	 */
+	public final void drawBefore(GGraphics2D g2, Drawable stop) {
 		Link cur = head;
-		while (cur != null) {
+		while (cur != null && cur.d != stop) {
+			cur = cur.next;
+		}
+		draw(g2, head, cur);
+	}
+
+	/**
+	 * Draws the given drawable and all drawables after it.
+	 * 
+	 * @param g2
+	 *            graphics
+	 * @param first
+	 *            first drawable to draw
+	 */
+	public final void drawFrom(GGraphics2D g2, Drawable first) {
+		Link cur = head;
+		while (cur != null && cur.d != first) {
+			cur = cur.next;
+		}
+		draw(g2, cur, null);
+	}
+
+	private static void draw(GGraphics2D g2, Link start, Link stop) {
+		if (start != null && start != stop) {
+			KernelMetrics metrics = start.d.getGeoElement().getKernel()
+					.getMetrics();
+			if (metrics.isEnabled()) {
+				drawMeasured(g2, start, stop, metrics);
+				return;
+			}
+		}
+		Link cur = start;
+		while (cur != stop) {
 			// defined check needed in case the GeoList changed its size
 			// don't draw GeoList as combos here
 			GeoElement geo = cur.d.getGeoElement();
@@ -191,6 +236,32 @@ public class DrawableList {
 		}
 	}
 
+	/**
+	 * Same as draw(), recording update and draw time of each drawable.
+	 */
+	private static void drawMeasured(GGraphics2D g2, Link start, Link stop,
+			KernelMetrics metrics) {
+		Link cur = start;
+		while (cur != stop) {
+			GeoElement geo = cur.d.getGeoElement();
+			if (geo.isDefined()
+					&& !(geo.isGeoList() && ((GeoList) geo).drawAsComboBox())
+					&& !(geo.isGeoInputBox())) {
+				double time = metrics.now();
+				if (cur.d.needsUpdate()) {
+					cur.d.setNeedsUpdate(false);
+					cur.d.update();
+					double updated = metrics.now();
+					metrics.addDrawableUpdate(geo, updated - time);
+					time = updated;
+				}
+				cur.d.draw(g2);
+				metrics.addDrawableDraw(geo, metrics.now() - time);
+			}
+			cur = cur.next;
+		}
+	}
+
 	/**
 	 * Updates all drawables in list
 	 */
@@ -263,6 +334,11 @@ public class DrawableList {
 		return new DrawableIterator();
 	}
 
+	@Override
+	public Iterator<Drawable> iterator() {
+		return getIterator();
+	}
+
 	/**
 	 * Allows iteration over the list
 	 * 
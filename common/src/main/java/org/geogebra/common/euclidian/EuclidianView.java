@@ -2,6 +2,7 @@ package org.geogebra.common.euclidian;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.TreeSet;
 
@@ -305,6 +306,28 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	protected Kernel kernel;
 	/** cache for bottom layers */
 	protected GGraphics2D cacheGraphics;
+	/**
+	 * minimal number of drawables to cache the ones that do not move while
+	 * dragging / animating
+	 */
+	private static final int MIN_DRAWABLES_FOR_STATIC_CACHE = 100;
+	/** drawables updated since last repaint */
+	private final HashSet<Drawable> updatedDrawables = new HashSet<>();
+	/** drawables updated in the current run of repaints with updates */
+	private final HashSet<Drawable> movingDrawables = new HashSet<>();
+	/** minimal number of drawables to use the index for hit testing */
+	private static final int MIN_DRAWABLES_FOR_HIT_INDEX = 200;
+	/**
+	 * extra distance for hit index queries: previews double the threshold,
+	 * points add selection radius and point size
+	 */
+	private static final int HIT_INDEX_MARGIN = 24;
+	private final DrawableIndex hitIndex = new DrawableIndex();
+	private int movingFrames = 0;
+	/** cached part of layer maxCachedLayer + 1 */
+	private final HashSet<Drawable> partiallyCachedDrawables = new HashSet<>();
+	/** first drawable of layer maxCachedLayer + 1 that is not cached */
+	private Drawable firstUncachedDrawable;
 
 	private final static int[] lineTypes = {
 			EuclidianStyleConstants.LINE_TYPE_FULL,
@@ -729,6 +752,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 		this.mode = mode;
+		// highlighting depends on mode
+		cacheLayers(-1);
 		initCursor();
 		getEuclidianController().clearJustCreatedGeos();
 		getEuclidianController().setMode(mode, m);
@@ -1681,6 +1706,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			this.needsAllDrawablesUpdate = true;
 			return;
 		}
+		cacheLayers(-1);
+		hitIndex.invalidate();
 		allDrawableList.updateAll();
 		if (repaint) {
 			repaint();
@@ -1696,6 +1723,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			this.needsAllDrawablesUpdate = true;
 			return;
 		}
+		cacheLayers(-1);
+		hitIndex.invalidate();
 		allDrawableList.updateAllForView();
 		if (repaint) {
 			repaint();
@@ -1717,6 +1746,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	public void endBatchUpdate() {
 		this.batchUpdate = false;
 		if (this.needsAllDrawablesUpdate) {
+			cacheLayers(-1);
+			hitIndex.invalidate();
 			allDrawableList.updateAll();
 			repaint();
 		}
@@ -1854,6 +1885,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	public void rename(GeoElement geo) {
 		Object d = drawableMap.get(geo);
 		if (d != null) {
+			hitIndex.invalidate((Drawable) d);
 			((Drawable) d).update();
 			repaint();
 		}
@@ -1862,7 +1894,13 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	@Override
 	public void update(GeoElement geo) {
 		DrawableND d = drawableMap.get(geo);
-		cacheLayers(-1);
+		if (d == null || isCached(d)) {
+			cacheLayers(-1);
+		}
+		if (d instanceof Drawable) {
+			updatedDrawables.add((Drawable) d);
+			hitIndex.invalidate((Drawable) d);
+		}
 		if (d != null) {
 			if (d instanceof DrawImage) {
 				this.updateBackgroundOnNextRepaint = ((DrawImage) d)
@@ -2006,6 +2044,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (drawableMap.containsKey(geo)) {
 			DrawableND drawable = drawableMap.get(geo);
 			drawable.setNeedsUpdate(true);
+			if (drawable instanceof Drawable) {
+				hitIndex.invalidate((Drawable) drawable);
+			}
 			return true;
 		}
 		return false;
@@ -2068,6 +2109,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (d == null) {
 			return;
 		}
+		if (isCached(d) || d == firstUncachedDrawable) {
+			cacheLayers(-1);
+		}
 		if (d instanceof RemoveNeeded) {
 			drawLayers[layer].remove(d);
 			((RemoveNeeded) d).remove();
@@ -2075,6 +2119,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			drawLayers[layer].remove(d);
 		}
 		allDrawableList.remove(d);
+		hitIndex.invalidate();
+		updatedDrawables.remove(d);
+		movingDrawables.remove(d);
 
 		drawableMap.remove(geo);
 		if (geo.isGeoPoint()) {
@@ -2169,21 +2216,16 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (p == null) {
 			return;
 		}
-		DrawableIterator it = allDrawableList.getIterator();
-		while (it.hasNext()) {
-			Drawable d = it.next();
-			if (d.isEuclidianVisible()) {
-				if (d.hit(p.x, p.y, hitThreshold)) {
-					GeoElement geo = d.getGeoElement();
-					if (geo.getLastHitType() == HitType.ON_BOUNDARY) {
-						hitPointOrBoundary.add(geo);
-					} else {
-						hitFilling.add(geo);
-					}
-				} else if (d.hitLabel(p.x, p.y)) {
-					GeoElement geo = d.getGeoElement();
-					hitLabel.add(geo);
-				}
+		if (useHitIndex()) {
+			int margin = 2 * hitThreshold + HIT_INDEX_MARGIN;
+			for (Drawable d : hitIndex.query(allDrawableList, p.x - margin,
+					p.y - margin, p.x + margin, p.y + margin)) {
+				addHit(d, p, hitThreshold);
+			}
+		} else {
+			DrawableIterator it = allDrawableList.getIterator();
+			while (it.hasNext()) {
+				addHit(it.next(), p, hitThreshold);
 			}
 		}
 
@@ -2252,6 +2294,45 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 	}
 
+	private void addHit(Drawable d, GPoint p, int hitThreshold) {
+		if (d.isEuclidianVisible()) {
+			if (d.hit(p.x, p.y, hitThreshold)) {
+				GeoElement geo = d.getGeoElement();
+				if (geo.getLastHitType() == HitType.ON_BOUNDARY) {
+					hitPointOrBoundary.add(geo);
+				} else {
+					hitFilling.add(geo);
+				}
+			} else if (d.hitLabel(p.x, p.y)) {
+				GeoElement geo = d.getGeoElement();
+				hitLabel.add(geo);
+			}
+		}
+	}
+
+	/**
+	 * @return whether hit testing should only consider drawables from the
+	 *         index
+	 */
+	private boolean useHitIndex() {
+		return allDrawableList.size() >= MIN_DRAWABLES_FOR_HIT_INDEX
+				&& app.has(Feature.DRAWABLE_HIT_INDEX);
+	}
+
+	/**
+	 * @param rect
+	 *            screen rectangle
+	 * @return drawables that may be inside or intersect the rectangle
+	 */
+	private Iterable<Drawable> getDrawablesNear(GRectangle rect) {
+		if (!useHitIndex()) {
+			return allDrawableList;
+		}
+		return hitIndex.query(allDrawableList, (int) rect.getMinX() - 1,
+				(int) rect.getMinY() - 1, (int) rect.getMaxX() + 1,
+				(int) rect.getMaxY() + 1);
+	}
+
 	@Override
 	public MyButton getHitButton(GPoint p, PointerEventType type) {
 
@@ -2452,6 +2533,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 		if (d != null) {
 			allDrawableList.add(d);
+			hitIndex.invalidate();
 		}
 	}
 
@@ -2539,7 +2621,10 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 	@Override
 	public void updateHighlight(GeoElementND geo) {
-		// nothing to do here
+		// highlighting is only checked when drawing
+		if (isCached(drawableMap.get(geo))) {
+			cacheLayers(-1);
+		}
 	}
 
 	@Override
@@ -2566,6 +2651,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 * Updates font size for all drawables
 	 */
 	protected void updateDrawableFontSize() {
+		cacheLayers(-1);
+		hitIndex.invalidate();
 		allDrawableList.updateFontSizeAll();
 		repaint();
 	}
@@ -2729,6 +2816,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 	@Override
 	public void changeLayer(GeoElement geo, int oldlayer, int newlayer) {
+		cacheLayers(-1);
 		drawLayers[oldlayer].remove((Drawable) drawableMap.get(geo));
 		drawLayers[newlayer].add((Drawable) drawableMap.get(geo));
 	}
@@ -3682,11 +3770,13 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 *            graphics
 	 */
 	public void drawObjects(GGraphics2D g2) {
-		if (maxCachedLayer >= 0 && getCacheGraphics() != null) {
-			g2.drawImage(getCacheGraphics(), 0, 0);
+		// exports need the drawables themselves, not the screen bitmap; all
+		// export paths (also PDF pages and slides) set the export type
+		if (app.isExporting()) {
+			drawGeometricObjects(g2, 0, getApplication().getMaxLayerUsed());
+		} else {
+			drawObjectsWithCache(g2);
 		}
-		drawGeometricObjects(g2, maxCachedLayer + 1,
-				getApplication().getMaxLayerUsed());
 		drawActionObjects(g2);
 
 		if (previewDrawable != null) {
@@ -3695,6 +3785,21 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		adjustObjects();
 	}
 
+	private void drawObjectsWithCache(GGraphics2D g2) {
+		updateStaticCache();
+		if ((maxCachedLayer >= 0 || firstUncachedDrawable != null)
+				&& getCacheGraphics() != null) {
+			g2.drawImage(getCacheGraphics(), 0, 0);
+		}
+		int layerMin = maxCachedLayer + 1;
+		if (firstUncachedDrawable != null) {
+			drawLayers[layerMin].drawFrom(g2, firstUncachedDrawable);
+			layerMin++;
+		}
+		drawGeometricObjects(g2, layerMin,
+				getApplication().getMaxLayerUsed());
+	}
+
 	/**
 	 * Fills background with background color
 	 * 
@@ -4406,9 +4511,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 
-		DrawableIterator it = allDrawableList.getIterator();
-		while (it.hasNext()) {
-			Drawable d = it.next();
+		for (Drawable d : getDrawablesNear(rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && d.isInside(rect)) {
 				hits.add(geo);
@@ -4434,9 +4537,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			return;
 		}
 
-		DrawableIterator it = allDrawableList.getIterator();
-		while (it.hasNext()) {
-			Drawable d = it.next();
+		for (Drawable d : getDrawablesNear(rect)) {
 			GeoElement geo = d.getGeoElement();
 			if (geo.isEuclidianVisible() && d.intersectsRectangle(rect)) {
 				hits.add(geo);
@@ -4546,6 +4647,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		drawableMap.clear();
 		stickyPointList.clear();
 		allDrawableList.clear();
+		hitIndex.invalidate();
 		bgImageList.clear();
 		this.geosWaiting.clear();
 
@@ -6530,10 +6632,14 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 *            index of highrst layer to cache or -1 to clear the cache
 	 */
 	public void cacheLayers(int topLayer) {
-		if (topLayer < 0) {
+		if (topLayer < 0 || firstUncachedDrawable != null) {
 			maxCachedLayer = -1;
 			cacheGraphics = null;
-			return;
+			firstUncachedDrawable = null;
+			partiallyCachedDrawables.clear();
+			if (topLayer < 0) {
+				return;
+			}
 		}
 		if (getCacheGraphics() != null && topLayer != maxCachedLayer) {
 			cacheGraphics = getCacheGraphics().createGraphics();
@@ -6542,6 +6648,81 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 	}
 
+	/**
+	 * @param d
+	 *            drawable
+	 * @return whether the drawable is part of the cache bitmap
+	 */
+	private boolean isCached(DrawableND d) {
+		if (!(d instanceof Drawable)) {
+			return false;
+		}
+		return (maxCachedLayer >= 0
+				&& ((Drawable) d).getGeoElement().getLayer() <= maxCachedLayer)
+				|| partiallyCachedDrawables.contains(d);
+	}
+
+	/**
+	 * When the same objects are updated for several repaints (dragging,
+	 * animation), draw everything that comes before them into the cache
+	 * bitmap, so that only the moving part has to be drawn. Updating a cached
+	 * drawable or the first repaint without updates (dragging finished)
+	 * clears the cache again.
+	 */
+	private void updateStaticCache() {
+		if (updatedDrawables.isEmpty()) {
+			movingFrames = 0;
+			movingDrawables.clear();
+			if (firstUncachedDrawable != null) {
+				cacheLayers(-1);
+			}
+			return;
+		}
+		movingDrawables.addAll(updatedDrawables);
+		updatedDrawables.clear();
+		movingFrames++;
+		if (movingFrames < 2 || maxCachedLayer >= 0
+				|| firstUncachedDrawable != null
+				|| allDrawableList.size() < MIN_DRAWABLES_FOR_STATIC_CACHE
+				|| !app.has(Feature.STATIC_DRAWABLE_CACHE)) {
+			return;
+		}
+		int maxLayer = getApplication().getMaxLayerUsed();
+		for (int layer = 0; layer <= maxLayer; layer++) {
+			DrawableIterator it = drawLayers[layer].getIterator();
+			while (it.hasNext()) {
+				Drawable d = it.next();
+				if (movingDrawables.contains(d)) {
+					cacheLayersBefore(layer, d);
+					return;
+				}
+			}
+		}
+	}
+
+	private void cacheLayersBefore(int layer, Drawable first) {
+		if ((layer == 0 && drawLayers[0].head != null
+				&& drawLayers[0].head.d == first)
+				|| getCacheGraphics() == null) {
+			// nothing to cache
+			return;
+		}
+		cacheGraphics = getCacheGraphics().createGraphics();
+		cacheGraphics.setAntialiasing();
+		drawGeometricObjects(cacheGraphics, 0, layer - 1);
+		drawLayers[layer].drawBefore(cacheGraphics, first);
+		DrawableIterator it = drawLayers[layer].getIterator();
+		while (it.hasNext()) {
+			Drawable d = it.next();
+			if (d == first) {
+				break;
+			}
+			partiallyCachedDrawables.add(d);
+		}
+		maxCachedLayer = layer - 1;
+		firstUncachedDrawable = first;
+	}
+
 	protected GBufferedImage getCacheGraphics() {
 		return null;
 	}
@@ -6552,7 +6733,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	protected void resetBackgroundAndCache() {
 		bgImage = null;
 		bgGraphics = null;
-		cacheGraphics = null;
+		cacheLayers(-1);
 	}
 
 	/**
@@ -21,6 +21,8 @@ import org.geogebra.common.util.debug.Log;
  */
 public class CurvePlotter {
 	private static final double MAX_JUMP = 5;
+	/** limits the number of points evaluated in advance to 2^10+1 */
+	private static final int MAX_GRID_DEPTH = 10;
 	// low quality settings
 	// // maximum and minimum distance between two plot points in pixels
 	// private static final int MAX_PIXEL_DISTANCE = 16; // pixels
@@ -179,6 +181,17 @@ public class CurvePlotter {
 		for (int i = 1; i < length; i++) {
 			divisors[i] = divisors[i - 1] / 2;
 		}
+		// parameters up to this depth are always evaluated since the step
+		// is bigger than max_param_step, get them in one call
+		int gridDepth = 0;
+		while (gridDepth < Math.min(length - 1, MAX_GRID_DEPTH)
+				&& divisors[gridDepth] > max_param_step) {
+			gridDepth++;
+		}
+		int dim = eval.length;
+		double[] grid = evaluateGrid(curve, t1, divisors[gridDepth],
+				1 << gridDepth, dim);
+
 		int i = 1;
 		dyadicStack[0] = 1;
 		depthStack[0] = 0;
@@ -234,7 +247,13 @@ public class CurvePlotter {
 				t = t1 + i * divisors[depth]; // t=t1+(t2-t1)*(i/2^depth)
 
 				// evaluate curve for parameter t
-				curve.evaluateCurve(t, eval);
+				if (depth <= gridDepth) {
+					// t = t1 + (i * 2^(gridDepth - depth)) * grid step
+					System.arraycopy(grid, (i << (gridDepth - depth)) * dim,
+							eval, 0, dim);
+				} else {
+					curve.evaluateCurve(t, eval);
+				}
 				onScreen = view.isOnView(eval);
 				// check for singularity:
 				// c(t) undefined; c(t-eps) and c(t+eps) both defined
@@ -350,6 +369,30 @@ public class CurvePlotter {
 		return labelPoint;
 	}
 
+	/**
+	 * @param curve
+	 *            curve
+	 * @param t1
+	 *            first parameter
+	 * @param step
+	 *            parameter step
+	 * @param steps
+	 *            number of steps
+	 * @param dim
+	 *            dimension of curve points
+	 * @return coordinates of the points for t1 + k * step, k = 0..steps
+	 */
+	private static double[] evaluateGrid(CurveEvaluable curve, double t1,
+			double step, int steps, int dim) {
+		double[] t = new double[steps + 1];
+		for (int k = 0; k <= steps; k++) {
+			t[k] = t1 + k * step;
+		}
+		double[] out = new double[t.length * dim];
+		curve.evaluateCurve(t, t.length, out);
+		return out;
+	}
+
 	/**
 	 * Returns true when x is either NaN or infinite.
 	 */
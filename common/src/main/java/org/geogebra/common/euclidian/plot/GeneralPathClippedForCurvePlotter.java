@@ -23,6 +23,7 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 
 	private boolean lineDrawn;
 	private Coords tmpCoords = new Coords(4);
+	private Coords pointCoords = new Coords(4);
 
 	/**
 	 * constructor
@@ -205,7 +206,8 @@ public class GeneralPathClippedForCurvePlotter extends GeneralPathClipped
 	public boolean copyCoords(MyPoint point, double[] ret,
 			CoordSys transformSys) {
 
-		Coords coords = new Coords(point.x, point.y, point.getZ(), 1);
+		Coords coords = pointCoords;
+		coords.set(point.x, point.y, point.getZ(), 1);
 		if (transformSys != CoordSys.XOY) {
 			transformSys.getPointFromOriginVectors(coords, tmpCoords);
 			coords.set(tmpCoords);
@@ -1,5 +1,7 @@
 package org.geogebra.common.factories;
 
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
+import org.geogebra.common.kernel.algos.TaskRunner;
 import org.geogebra.common.util.HttpRequest;
 import org.geogebra.common.util.Prover;
 import org.geogebra.common.util.URLEncoder;
@@ -54,4 +56,14 @@ public abstract class UtilFactory {
 	 * @return Prover Creates a Prover object
 	 */
 	public abstract Prover newProver();
+
+	/**
+	 * @return scheduler for updating dependent algorithms
+	 */
+	public abstract AlgoUpdateScheduler newAlgoUpdateScheduler();
+
+	/**
+	 * @return runner for independent parts of one computation
+	 */
+	public abstract TaskRunner newTaskRunner();
 }
@@ -148,6 +148,19 @@ public class EuclidianView3DForExport extends EuclidianView3D {
 		return exportToPrinter.export(format);
 	}
 
+	/**
+	 * 
+	 * @param format
+	 *            3D format
+	 */
+	public void export3DToFile(Format format) {
+		settingsChanged(getSettings());
+		updateScene();
+		ExportToPrinter3D exportToPrinter = new ExportToPrinter3D(this,
+				renderer.getGeometryManager());
+		exportToPrinter.exportToFile(getApplication(), format);
+	}
+
 	@Override
 	public void waitForNewRepaint() {
 		needsNewUpdate = true;
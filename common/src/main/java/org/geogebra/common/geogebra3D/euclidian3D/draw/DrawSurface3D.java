@@ -122,6 +122,18 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 	private int wireFrameStepV;
 	private Coords3 evaluatedPoint = newCoords3();
 	private Coords3 evaluatedNormal = newCoords3();
+
+	// root mesh points evaluated in one batch, consumed in creation order
+	private double[] rootMeshU = new double[0];
+	private double[] rootMeshV = new double[0];
+	private double[] rootMeshPoints = new double[0];
+	private int rootMeshUCount;
+	private int rootMeshCount;
+	private int rootMeshCursor = -1;
+	// recent root meshes, cleared when the surface changes
+	private SurfaceMeshCache rootMeshCache;
+	// root mesh was evaluated before the surface changed
+	private boolean rootMeshOutdated;
 	/**
 	 * used to draw "still to split" corners
 	 */
@@ -398,8 +410,6 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 
 			updateCullingBox();
 
-			initBounds();
-
 			debug("\nmax distances = " + maxRWDistance + ", "
 					+ maxRWDistanceNoAngleCheck);
 
@@ -525,6 +535,13 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 				vMax = vBorderMax - dv;
 			}
 
+			if (!evaluateRootMesh(uBorderMin, uMax, uBorderMax, uN,
+					vBorderMin, vMax, vBorderMax, vN)) {
+				// keep current geometry until the background evaluation ends
+				splitsStartedNotFinished = false;
+				return false;
+			}
+			initBounds();
 			firstCorner = createRootMesh(uBorderMin, uMax, uBorderMax, uN,
 					vBorderMin, vMax, vBorderMax, vN);
 
@@ -800,6 +817,18 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 	protected void updateForView() {
 		if (getView3D().viewChangedByZoom()
 				|| getView3D().viewChangedByTranslate()) {
+			// surface unchanged: keep cached meshes
+			drawFromScratch = true;
+			super.setWaitForUpdate();
+		}
+	}
+
+	@Override
+	public void update() {
+		super.update();
+		if (rootMeshOutdated) {
+			// shown for now, evaluate the current surface again
+			rootMeshOutdated = false;
 			setWaitForUpdate();
 		}
 	}
@@ -807,6 +836,9 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 	@Override
 	public void setWaitForUpdate() {
 		drawFromScratch = true;
+		if (rootMeshCache != null) {
+			rootMeshCache.clear();
+		}
 		super.setWaitForUpdate();
 	}
 
@@ -1007,10 +1039,82 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 			}
 		}
 
+		rootMeshCursor = -1;
 		return first;
 
 	}
 
+	/**
+	 * Evaluates all root mesh points at once, in the order the corners are
+	 * created by createRootMesh()
+	 * 
+	 * @return false if the points are still evaluated in the background
+	 */
+	private boolean evaluateRootMesh(double uBorderMin, double uMax,
+			double uBorderMax, int uN, double vBorderMin, double vMax,
+			double vBorderMax, int vN) {
+		int uCount = uN + 1;
+		int vCount = vN + 1;
+		if (rootMeshU.length < uCount) {
+			rootMeshU = new double[uCount];
+		}
+		if (rootMeshV.length < vCount) {
+			rootMeshV = new double[vCount];
+		}
+		if (rootMeshPoints.length < 3 * uCount * vCount) {
+			rootMeshPoints = new double[3 * uCount * vCount];
+		}
+		rootMeshU[0] = uBorderMax;
+		for (int i = 0; i < uN - 1; i++) {
+			rootMeshU[i + 1] = uMax - (uDelta * i) / uN;
+		}
+		rootMeshU[uN] = uBorderMin;
+		rootMeshV[0] = vBorderMax;
+		for (int j = 0; j < vN - 1; j++) {
+			rootMeshV[j + 1] = vMax - (vDelta * j) / vN;
+		}
+		rootMeshV[vN] = vBorderMin;
+		if (getView3D().getApplication()
+				.has(Feature.PARALLEL_SURFACE_MESH)) {
+			if (rootMeshCache == null) {
+				rootMeshCache = new SurfaceMeshCache();
+			}
+			if (!rootMeshCache.getOrEvaluate(surfaceGeo, rootMeshU, uCount,
+					rootMeshV, vCount, rootMeshPoints,
+					getView3D().getKernel().getTaskRunner())) {
+				return false;
+			}
+			rootMeshOutdated = rootMeshCache.isOutdated();
+		} else {
+			surfaceGeo.evaluatePoints(rootMeshU, uCount, rootMeshV, vCount,
+					rootMeshPoints);
+		}
+		rootMeshUCount = uCount;
+		rootMeshCount = uCount * vCount;
+		rootMeshCursor = 0;
+		return true;
+	}
+
+	/**
+	 * Evaluates the surface, using the batch evaluated root mesh when (u,v) is
+	 * the next point of it
+	 */
+	private void evaluateSurfacePoint(double u, double v, Coords3 p) {
+		if (rootMeshCursor >= 0 && rootMeshCursor < rootMeshCount) {
+			int i = rootMeshCursor % rootMeshUCount;
+			int j = rootMeshCursor / rootMeshUCount;
+			if (rootMeshU[i] == u && rootMeshV[j] == v) {
+				int index = 3 * rootMeshCursor;
+				p.set(rootMeshPoints[index], rootMeshPoints[index + 1],
+						rootMeshPoints[index + 2]);
+				rootMeshCursor++;
+				return;
+			}
+			rootMeshCursor = -1;
+		}
+		surfaceGeo.evaluatePoint(u, v, p);
+	}
+
 	final private Corner addLeftToMesh(Corner right, double u, double v) {
 		Corner left = newCorner(u, v);
 		right.l = left;
@@ -1130,7 +1234,7 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 
 		// p is final value: use evaluatedPoint to compute
 		if (p == null || p.isFinalUndefined()) {
-			surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+			evaluateSurfacePoint(u, v, evaluatedPoint);
 
 			if (!evaluatedPoint.isDefined()) {
 				return Coords3.UNDEFINED;
@@ -1147,7 +1251,7 @@ public class DrawSurface3D extends Drawable3DSurfaces {
 		}
 
 		// p is not final value
-		surfaceGeo.evaluatePoint(u, v, p);
+		evaluateSurfacePoint(u, v, p);
 
 		if (!p.isDefined()) {
 			return Coords3.UNDEFINED;
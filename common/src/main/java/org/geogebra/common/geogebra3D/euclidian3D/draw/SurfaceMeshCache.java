@@ -0,0 +1,245 @@
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.algos.TaskRunner;
+import org.geogebra.common.kernel.kernelND.SurfaceEvaluable;
+
+/**
+ * Recently evaluated root meshes of one surface, so that coming back to
+ * previous view bounds (e.g. zooming in and out again) does not evaluate the
+ * surface again. Meshes are compared by their exact parameter values; the
+ * cache has to be cleared whenever the surface changes.
+ *
+ * With a parallel task runner, missing meshes are evaluated in the
+ * background while the drawable keeps its current geometry.
+ */
+class SurfaceMeshCache {
+
+	private static final int SIZE = 4;
+	/** minimal number of mesh rows evaluated by one task */
+	private static final int MIN_ROWS_PER_TASK = 4;
+
+	/** most recently used first */
+	private final Entry[] entries = new Entry[SIZE];
+
+	/** mesh evaluated in the background, its arrays are owned by the tasks */
+	private Entry pending;
+	private TaskRunner.Batch pendingBatch;
+	private int pendingTasks;
+	/** whether the surface changed since the pending mesh was started */
+	private boolean pendingOutdated;
+	/** whether the last mesh copied by getOrEvaluate() was outdated */
+	private boolean outdated;
+
+	private static class Entry {
+		double[] u = new double[0];
+		double[] v = new double[0];
+		double[] points = new double[0];
+		int uCount;
+		int vCount;
+
+		boolean matches(double[] u0, int uCount0, double[] v0, int vCount0) {
+			if (uCount != uCount0 || vCount != vCount0) {
+				return false;
+			}
+			for (int i = 0; i < uCount; i++) {
+				if (u[i] != u0[i]) {
+					return false;
+				}
+			}
+			for (int j = 0; j < vCount; j++) {
+				if (v[j] != v0[j]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		void set(double[] u0, int uCount0, double[] v0, int vCount0,
+				double[] points0) {
+			setParameters(u0, uCount0, v0, vCount0);
+			points = copy(points0, points, 3 * uCount * vCount);
+		}
+
+		void setParameters(double[] u0, int uCount0, double[] v0,
+				int vCount0) {
+			uCount = uCount0;
+			vCount = vCount0;
+			u = copy(u0, u, uCount);
+			v = copy(v0, v, vCount);
+		}
+
+		private static double[] copy(double[] source, double[] target,
+				int length) {
+			double[] ret = target.length < length ? new double[length]
+					: target;
+			System.arraycopy(source, 0, ret, 0, length);
+			return ret;
+		}
+	}
+
+	/**
+	 * @param u
+	 *            first parameter values
+	 * @param uCount
+	 *            number of first parameter values
+	 * @param v
+	 *            second parameter values
+	 * @param vCount
+	 *            number of second parameter values
+	 * @param out
+	 *            array for the points, see
+	 *            {@link org.geogebra.common.kernel.kernelND.SurfaceEvaluable#evaluatePoints}
+	 * @return whether the mesh was cached and copied to out
+	 */
+	boolean get(double[] u, int uCount, double[] v, int vCount,
+			double[] out) {
+		for (int i = 0; i < SIZE; i++) {
+			Entry entry = entries[i];
+			if (entry != null && entry.matches(u, uCount, v, vCount)) {
+				System.arraycopy(entry.points, 0, out, 0,
+						3 * uCount * vCount);
+				moveToFront(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stores a copy of the evaluated mesh, dropping the least recently used
+	 * one if needed.
+	 *
+	 * @param u
+	 *            first parameter values
+	 * @param uCount
+	 *            number of first parameter values
+	 * @param v
+	 *            second parameter values
+	 * @param vCount
+	 *            number of second parameter values
+	 * @param points
+	 *            evaluated points
+	 */
+	void put(double[] u, int uCount, double[] v, int vCount,
+			double[] points) {
+		if (entries[SIZE - 1] == null) {
+			entries[SIZE - 1] = new Entry();
+		}
+		entries[SIZE - 1].set(u, uCount, v, vCount, points);
+		moveToFront(SIZE - 1);
+	}
+
+	private void moveToFront(int index) {
+		Entry entry = entries[index];
+		System.arraycopy(entries, 0, entries, 1, index);
+		entries[0] = entry;
+	}
+
+	/**
+	 * Copies the mesh to out: from the cache, from a finished background
+	 * evaluation or by evaluating it in this thread when the runner or the
+	 * surface does not allow concurrent evaluation. Otherwise the evaluation
+	 * is started in the background (or another one is still running) and out
+	 * is not changed.
+	 *
+	 * @param surface
+	 *            surface
+	 * @param u
+	 *            first parameter values
+	 * @param uCount
+	 *            number of first parameter values
+	 * @param v
+	 *            second parameter values
+	 * @param vCount
+	 *            number of second parameter values
+	 * @param out
+	 *            array for the points
+	 * @param runner
+	 *            kernel task runner
+	 * @return whether out contains the mesh
+	 */
+	boolean getOrEvaluate(SurfaceEvaluable surface, double[] u, int uCount,
+			double[] v, int vCount, double[] out, TaskRunner runner) {
+		outdated = false;
+		if (get(u, uCount, v, vCount, out)) {
+			return true;
+		}
+		int parts = Math.min(runner.getParallelism(),
+				vCount / MIN_ROWS_PER_TASK);
+		if (parts < 2 || !runner.isParallel()
+				|| !surface.isEvaluatePointsConcurrent()) {
+			surface.evaluatePoints(u, uCount, v, vCount, out);
+			put(u, uCount, v, vCount, out);
+			return true;
+		}
+		if (pendingBatch != null && !pendingBatch.isFinished()) {
+			// restarting for every frame of a drag would never finish
+			return false;
+		}
+		if (pendingBatch != null && pending.matches(u, uCount, v, vCount)) {
+			for (int i = 0; i < pendingTasks; i++) {
+				pendingBatch.await(i);
+			}
+			System.arraycopy(pending.points, 0, out, 0,
+					3 * uCount * vCount);
+			outdated = pendingOutdated;
+			pending = null;
+			pendingBatch = null;
+			if (!outdated) {
+				put(u, uCount, v, vCount, out);
+			}
+			return true;
+		}
+		start(surface, u, uCount, v, vCount, runner, parts);
+		return false;
+	}
+
+	private void start(final SurfaceEvaluable surface, double[] u,
+			final int uCount, double[] v, int vCount, TaskRunner runner,
+			int parts) {
+		// new arrays: tasks of an abandoned evaluation may still write
+		final Entry entry = new Entry();
+		entry.setParameters(u, uCount, v, vCount);
+		entry.points = new double[3 * uCount * vCount];
+		ArrayList<Runnable> tasks = new ArrayList<>(parts);
+		for (int i = 0; i < parts; i++) {
+			final int vStart = vCount * i / parts;
+			final int vEnd = vCount * (i + 1) / parts;
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					surface.evaluatePointRows(entry.u, uCount, entry.v,
+							vStart, vEnd, entry.points);
+				}
+			});
+		}
+		pending = entry;
+		pendingTasks = parts;
+		pendingOutdated = false;
+		pendingBatch = runner.start(tasks, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @return whether the mesh last copied by getOrEvaluate() was evaluated
+	 *         before the surface changed; it may be shown until the current
+	 *         one is evaluated
+	 */
+	boolean isOutdated() {
+		return outdated;
+	}
+
+	/**
+	 * Forgets all meshes (keeping the memory); a mesh still evaluated in the
+	 * background becomes outdated.
+	 */
+	void clear() {
+		for (int i = 0; i < SIZE; i++) {
+			if (entries[i] != null) {
+				entries[i].uCount = -1;
+			}
+		}
+		pendingOutdated = true;
+	}
+}
@@ -1,7 +1,5 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 /**
  * interface for openGL buffers
  * 
@@ -53,7 +51,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, int length);
+	public void set(ReusableFloatArray array, int length);
 
 	/**
 	 * @param array
@@ -63,7 +61,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, int offset, int length);
+	public void set(ReusableFloatArray array, int offset, int length);
 
 	/**
 	 * @param array
@@ -75,7 +73,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, int arrayOffset, int offset,
+	public void set(ReusableFloatArray array, int arrayOffset, int offset,
 			int length);
 
 	/**
@@ -90,7 +88,7 @@ public interface GLBuffer {
 	 * @param length
 	 *            length to copy
 	 */
-	public void set(ArrayList<Double> array, float[] translate, float scale,
+	public void set(ReusableFloatArray array, float[] translate, float scale,
 			int offset, int length);
 
 	/**
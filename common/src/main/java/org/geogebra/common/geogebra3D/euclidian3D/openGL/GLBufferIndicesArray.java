@@ -1,13 +1,17 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
 /**
- * ArrayList that implements GLBufferIndices to be able to get indices values
+ * Short array that implements GLBufferIndices to be able to get indices values
  * (see points templates)
  *
  */
-public class GLBufferIndicesArray extends ReusableArrayList<Short>
+public class GLBufferIndicesArray extends ReusableShortArray
 		implements GLBufferIndices {
 
+	/**
+	 * @param size
+	 *            initial capacity
+	 */
 	public GLBufferIndicesArray(int size) {
 		super(size);
 	}
@@ -54,6 +58,11 @@ public class GLBufferIndicesArray extends ReusableArrayList<Short>
 		// not needed
 	}
 
+	@Override
+	public boolean isEmpty() {
+		return getLength() == 0;
+	}
+
 	@Override
 	public void setEmpty() {
 		// not needed
@@ -1,7 +1,5 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.List;
-
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.ManagerShaders.TypeElement;
 
 /**
@@ -54,10 +52,10 @@ public class GLBufferManagerCurves extends GLBufferManager {
 			}
 			break;
 		case TEMPLATE:
-			List<Short> indicesArray = manager.getBufferTemplates()
+			ReusableShortArray indicesArray = manager.getBufferTemplates()
 					.getCurrentIndicesArray();
-			for (short i : indicesArray) {
-				putToIndices(i);
+			for (int i = 0; i < indicesArray.getLength(); i++) {
+				putToIndices(indicesArray.get(i));
 			}
 			break;
 		default: // should not happen
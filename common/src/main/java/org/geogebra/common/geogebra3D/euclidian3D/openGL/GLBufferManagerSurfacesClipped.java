@@ -41,7 +41,7 @@ public class GLBufferManagerSurfacesClipped
 			boolean reuseSegment) {
 		switch (type) {
 		case SURFACE:
-			ReusableArrayList<Short> indices = manager.getIndices();
+			GLBufferIndicesArray indices = manager.getIndices();
 			for (int i = 0; i < indices.getLength(); i++) {
 				putToIndices(indices.get(i));
 			}
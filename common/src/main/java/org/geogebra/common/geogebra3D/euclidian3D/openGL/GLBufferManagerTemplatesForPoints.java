@@ -1,8 +1,5 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.geogebra.common.geogebra3D.euclidian3D.openGL.ManagerShaders.TypeElement;
 import org.geogebra.common.kernel.Matrix.Coords;
 
@@ -17,24 +14,21 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 
 	private GLBufferIndicesArray bufferIndicesArray;
 
-	private ArrayList<Double>[] vertexTemplates;
-	private ArrayList<Double>[] normalTemplates;
-	private ArrayList<Short>[] indicesTemplates;
-
-	private ArrayList<Double> currentVertexArray;
-	private ArrayList<Double> currentNormalArray;
-	private ArrayList<Short> currentIndicesArray;
+	private ReusableFloatArray[] vertexTemplates;
+	private ReusableFloatArray[] normalTemplates;
+	private ReusableShortArray[] indicesTemplates;
 
-	// private ArrayList<Short>
+	private ReusableFloatArray currentVertexArray;
+	private ReusableFloatArray currentNormalArray;
+	private ReusableShortArray currentIndicesArray;
 
 	/**
 	 * constructor
 	 */
-	@SuppressWarnings("unchecked")
 	public GLBufferManagerTemplatesForPoints() {
-		vertexTemplates = new ArrayList[ManagerShadersWithTemplates.POINT_TEMPLATES_COUNT];
-		normalTemplates = new ArrayList[ManagerShadersWithTemplates.POINT_TEMPLATES_COUNT];
-		indicesTemplates = new ArrayList[ManagerShadersWithTemplates.POINT_TEMPLATES_COUNT];
+		vertexTemplates = new ReusableFloatArray[ManagerShadersWithTemplates.POINT_TEMPLATES_COUNT];
+		normalTemplates = new ReusableFloatArray[ManagerShadersWithTemplates.POINT_TEMPLATES_COUNT];
+		indicesTemplates = new ReusableShortArray[ManagerShadersWithTemplates.POINT_TEMPLATES_COUNT];
 	}
 
 	@Override
@@ -82,7 +76,7 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 	 * 
 	 * @return current indices array
 	 */
-	public List<Short> getCurrentIndicesArray() {
+	public ReusableShortArray getCurrentIndicesArray() {
 		return currentIndicesArray;
 	}
 
@@ -124,20 +118,15 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 				.getSphereSizeForIndex(templateIndex), Coords.O, 1d, -1);
 		manager.setScalerView();
 
-		currentVertexArray = new ArrayList<>();
-		for (int i = 0; i < elementsLength * 3; i++) {
-			currentVertexArray.add(vertexArray.get(i));
-		}
+		currentVertexArray = vertexArray.copy();
+		currentVertexArray.setLength(elementsLength * 3);
 		vertexTemplates[templateIndex] = currentVertexArray;
 
-		currentNormalArray = new ArrayList<>();
-		for (int i = 0; i < elementsLength * 3; i++) {
-			currentNormalArray.add(normalArray.get(i));
-		}
+		currentNormalArray = normalArray.copy();
+		currentNormalArray.setLength(elementsLength * 3);
 		normalTemplates[templateIndex] = currentNormalArray;
 
-		currentIndicesArray = new ArrayList<>();
-		currentIndicesArray.addAll(bufferIndicesArray);
+		currentIndicesArray = bufferIndicesArray.copy();
 		indicesTemplates[templateIndex] = currentIndicesArray;
 
 		vertexArray = null;
@@ -162,7 +151,7 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 		if (currentVertexArray == null) {
 			createSphere(manager, templateIndex);
 		} else {
-			elementsLength = currentVertexArray.size() / 3;
+			elementsLength = currentVertexArray.getLength() / 3;
 			currentNormalArray = normalTemplates[templateIndex];
 			currentIndicesArray = indicesTemplates[templateIndex];
 		}
@@ -179,7 +168,7 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 		int templateIndex = ManagerShadersWithTemplates
 				.getIndexForPointSize(pointSize);
 		currentVertexArray = vertexTemplates[templateIndex];
-		elementsLength = currentVertexArray.size() / 3;
+		elementsLength = currentVertexArray.getLength() / 3;
 		currentNormalArray = normalTemplates[templateIndex];
 		currentIndicesArray = indicesTemplates[templateIndex];
 	}
@@ -192,7 +181,7 @@ public class GLBufferManagerTemplatesForPoints extends GLBufferManager {
 	 */
 	public void drawSphere(ManagerShadersElementsGlobalBufferPacking manager) {
 		manager.startGeometry(Manager.Type.TRIANGLES);
-		manager.endGeometry(currentIndicesArray.size(), elementsLength,
+		manager.endGeometry(currentIndicesArray.getLength(), elementsLength,
 				currentVertexArray, currentNormalArray);
 		manager.endList();
 	}
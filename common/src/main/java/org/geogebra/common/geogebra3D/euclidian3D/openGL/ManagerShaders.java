@@ -18,19 +18,11 @@ import org.geogebra.common.geogebra3D.euclidian3D.draw.Drawable3D;
 public class ManagerShaders extends Manager {
 
 	protected Renderer renderer;
-	private ArrayList<Double> vertices;
-	private ArrayList<Double> normals;
-	private ArrayList<Double> textures;
-	private ArrayList<Double> colors;
-
-	private int verticesLength;
-	private int verticesSize;
-	private int normalsLength;
-	private int normalsSize;
-	private int texturesLength;
-	private int texturesSize;
-	private int colorsLength;
-	private int colorsSize;
+	private ReusableFloatArray vertices;
+	private ReusableFloatArray normals;
+	private ReusableFloatArray textures;
+	private ReusableFloatArray colors;
+
 	protected TreeMap<Integer, GeometriesSet> geometriesSetList;
 
 	private int geometriesSetMaxIndex;
@@ -65,14 +57,10 @@ public class ManagerShaders extends Manager {
 		geometriesSetMaxIndex = -1;
 		indicesRemoved = new Stack<>();
 
-		vertices = new ArrayList<>();
-		verticesSize = 0;
-		normals = new ArrayList<>();
-		normalsSize = 0;
-		textures = new ArrayList<>();
-		texturesSize = 0;
-		colors = new ArrayList<>();
-		colorsSize = 0;
+		vertices = new ReusableFloatArray();
+		normals = new ReusableFloatArray();
+		textures = new ReusableFloatArray();
+		colors = new ReusableFloatArray();
 	}
 
 	@Override
@@ -206,14 +194,14 @@ public class ManagerShaders extends Manager {
 		}
 
 		/**
-		 * set double buffer for vertices
+		 * set float buffer for vertices
 		 * 
 		 * @param array
-		 *            double array
+		 *            float array
 		 * @param length
 		 *            length to copy
 		 */
-		public void setVertices(ArrayList<Double> array, int length) {
+		public void setVertices(ReusableFloatArray array, int length) {
 			// this.v = GLFactory.prototype.newBuffer();
 			this.v.set(array, length);
 		}
@@ -227,14 +215,14 @@ public class ManagerShaders extends Manager {
 		}
 
 		/**
-		 * set double buffer for normals
+		 * set float buffer for normals
 		 * 
 		 * @param array
-		 *            double array
+		 *            float array
 		 * @param length
 		 *            length to copy
 		 */
-		public void setNormals(ArrayList<Double> array, int length) {
+		public void setNormals(ReusableFloatArray array, int length) {
 			this.n.set(array, length);
 		}
 
@@ -247,14 +235,14 @@ public class ManagerShaders extends Manager {
 		}
 
 		/**
-		 * set double buffer for texture
+		 * set float buffer for texture
 		 * 
 		 * @param array
-		 *            double array
+		 *            float array
 		 * @param length
 		 *            length to copy
 		 */
-		public void setTextures(ArrayList<Double> array, int length) {
+		public void setTextures(ReusableFloatArray array, int length) {
 			this.t.set(array, length);
 		}
 
@@ -281,14 +269,14 @@ public class ManagerShaders extends Manager {
 		}
 
 		/**
-		 * set double buffer for colors
+		 * set float buffer for colors
 		 * 
 		 * @param array
-		 *            double array
+		 *            float array
 		 * @param length
 		 *            length to copy
 		 */
-		public void setColors(ArrayList<Double> array, int length) {
+		public void setColors(ReusableFloatArray array, int length) {
 			this.c.set(array, length);
 		}
 
@@ -503,7 +491,7 @@ public class ManagerShaders extends Manager {
 		 * @param length
 		 *            vertices length
 		 */
-		public void setVertices(ArrayList<Double> vertices, int length) {
+		public void setVertices(ReusableFloatArray vertices, int length) {
 			currentGeometry.setVertices(vertices, length);
 			currentGeometry.setLength(length / 3);
 		}
@@ -516,7 +504,7 @@ public class ManagerShaders extends Manager {
 		 * @param length
 		 *            length to copy
 		 */
-		public void setNormals(ArrayList<Double> normals, int length) {
+		public void setNormals(ReusableFloatArray normals, int length) {
 			if (length == 3) { // only one normal for all vertices
 				currentGeometry.setNormals(normals, length);
 			} else if (length == 3 * currentGeometry.getLength()) {
@@ -532,7 +520,7 @@ public class ManagerShaders extends Manager {
 		 * @param length
 		 *            length to copy
 		 */
-		public void setTextures(ArrayList<Double> textures, int length) {
+		public void setTextures(ReusableFloatArray textures, int length) {
 			if (length == 2 * currentGeometry.getLength()) {
 				currentGeometry.setTextures(textures, length);
 			} else {
@@ -548,7 +536,7 @@ public class ManagerShaders extends Manager {
 		 * @param length
 		 *            length to copy
 		 */
-		public void setColors(ArrayList<Double> colors, int length) {
+		public void setColors(ReusableFloatArray colors, int length) {
 			if (length == 4 * currentGeometry.getLength()) {
 				currentGeometry.setColors(colors, length);
 			} else {
@@ -613,31 +601,32 @@ public class ManagerShaders extends Manager {
 	@Override
 	public void startGeometry(Type type) {
 		currentGeometriesSet.startGeometry(type);
-		verticesLength = 0;
-		normalsLength = 0;
-		texturesLength = 0;
-		colorsLength = 0;
+		vertices.setLength(0);
+		normals.setLength(0);
+		textures.setLength(0);
+		colors.setLength(0);
 	}
 
 	@Override
 	public void endGeometry() {
-		currentGeometriesSet.setVertices(vertices, verticesLength);
-		currentGeometriesSet.setNormals(normals, normalsLength);
-		currentGeometriesSet.setTextures(textures, texturesLength);
-		currentGeometriesSet.setColors(colors, colorsLength);
+		setGeometriesSetArrays();
 		currentGeometriesSet.bindGeometry(-1, TypeElement.NONE); // TODO remove
 																	// that
 	}
 
 	@Override
 	public void endGeometry(int size, TypeElement type) {
-		currentGeometriesSet.setVertices(vertices, verticesLength);
-		currentGeometriesSet.setNormals(normals, normalsLength);
-		currentGeometriesSet.setTextures(textures, texturesLength);
-		currentGeometriesSet.setColors(colors, colorsLength);
+		setGeometriesSetArrays();
 		currentGeometriesSet.bindGeometry(size, type);
 	}
 
+	private void setGeometriesSetArrays() {
+		currentGeometriesSet.setVertices(vertices, vertices.getLength());
+		currentGeometriesSet.setNormals(normals, normals.getLength());
+		currentGeometriesSet.setTextures(textures, textures.getLength());
+		currentGeometriesSet.setColors(colors, colors.getLength());
+	}
+
 	// ///////////////////////////////////////////
 	// POLYGONS METHODS
 	// ///////////////////////////////////////////
@@ -725,17 +714,8 @@ public class ManagerShaders extends Manager {
 
 	@Override
 	protected void texture(double x, double y) {
-
-		if (texturesLength == texturesSize) {
-			textures.add(x);
-			textures.add(y);
-			texturesSize += 2;
-		} else {
-			textures.set(texturesLength, x);
-			textures.set(texturesLength + 1, y);
-		}
-
-		texturesLength += 2;
+		textures.addValue(x);
+		textures.addValue(y);
 	}
 
 	@Override
@@ -745,37 +725,12 @@ public class ManagerShaders extends Manager {
 
 	@Override
 	protected void normal(double x, double y, double z) {
-
-		if (normalsLength == normalsSize) {
-			normals.add(x);
-			normals.add(y);
-			normals.add(z);
-			normalsSize += 3;
-		} else {
-			normals.set(normalsLength, x);
-			normals.set(normalsLength + 1, y);
-			normals.set(normalsLength + 2, z);
-		}
-
-		normalsLength += 3;
-
+		normals.addValues(x, y, z);
 	}
 
 	@Override
 	protected void vertex(double x, double y, double z) {
-
-		if (verticesLength == verticesSize) {
-			vertices.add(x);
-			vertices.add(y);
-			vertices.add(z);
-			verticesSize += 3;
-		} else {
-			vertices.set(verticesLength, x);
-			vertices.set(verticesLength + 1, y);
-			vertices.set(verticesLength + 2, z);
-		}
-
-		verticesLength += 3;
+		vertices.addValues(x, y, z);
 	}
 
 	@Override
@@ -790,21 +745,8 @@ public class ManagerShaders extends Manager {
 
 	@Override
 	protected void color(double r, double g, double b, double a) {
-
-		if (colorsLength == colorsSize) {
-			colors.add(r);
-			colors.add(g);
-			colors.add(b);
-			colors.add(a);
-			colorsSize += 4;
-		} else {
-			colors.set(colorsLength, r);
-			colors.set(colorsLength + 1, g);
-			colors.set(colorsLength + 2, b);
-			colors.set(colorsLength + 3, a);
-		}
-
-		colorsLength += 4;
+		colors.addValues(r, g, b);
+		colors.addValue(a);
 	}
 
 	@Override
@@ -1,7 +1,5 @@
 package org.geogebra.common.geogebra3D.euclidian3D.openGL;
 
-import java.util.ArrayList;
-
 import org.geogebra.common.awt.GColor;
 import org.geogebra.common.geogebra3D.euclidian3D.EuclidianView3D;
 import org.geogebra.common.geogebra3D.euclidian3D.draw.DrawPoint3D;
@@ -189,18 +187,18 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 			}
 
 			@Override
-			public void setVertices(ArrayList<Double> array, int length) {
+			public void setVertices(ReusableFloatArray array, int length) {
 				setBufferCurrentIndex();
 				geometrySet.getBufferManager().setVertexBuffer(array, length);
 			}
 
 			@Override
-			public void setNormals(ArrayList<Double> array, int length) {
+			public void setNormals(ReusableFloatArray array, int length) {
 				geometrySet.getBufferManager().setNormalBuffer(array, length);
 			}
 
 			@Override
-			public void setTextures(ArrayList<Double> array, int length) {
+			public void setTextures(ReusableFloatArray array, int length) {
 				geometrySet.getBufferManager().setTextureBuffer(array);
 			}
 
@@ -210,7 +208,7 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 			}
 
 			@Override
-			public void setColors(ArrayList<Double> array, int length) {
+			public void setColors(ReusableFloatArray array, int length) {
 				// not implemented yet
 			}
 
@@ -500,7 +498,7 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 	 * 
 	 * @return current indices
 	 */
-	public ReusableArrayList<Short> getIndices() {
+	public GLBufferIndicesArray getIndices() {
 		return indices;
 	}
 
@@ -622,8 +620,8 @@ public class ManagerShadersElementsGlobalBufferPacking extends ManagerShadersEle
 	 *            normals array
 	 */
 	public void endGeometry(int size, int elementsLength,
-			ArrayList<Double> vertices,
-			ArrayList<Double> normals) {
+			ReusableFloatArray vertices,
+			ReusableFloatArray normals) {
 		currentGeometriesSet.setVertices(vertices, elementsLength * 3);
 		currentGeometriesSet.setNormals(normals, elementsLength * 3);
 		currentGeometriesSet.setTextures(null, 0);
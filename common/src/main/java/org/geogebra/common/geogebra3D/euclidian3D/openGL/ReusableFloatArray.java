@@ -0,0 +1,129 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+/**
+ * Growable array of floats that can be reused: setting length to 0 keeps the
+ * allocated memory. Used to collect vertices, normals etc. without boxing
+ * each value.
+ */
+public class ReusableFloatArray {
+
+	private float[] array;
+	private int length;
+
+	/**
+	 * constructor
+	 */
+	public ReusableFloatArray() {
+		this(16);
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param size
+	 *            initial capacity
+	 */
+	public ReusableFloatArray(int size) {
+		array = new float[Math.max(size, 1)];
+		length = 0;
+	}
+
+	/**
+	 * set length
+	 *
+	 * @param length
+	 *            length
+	 */
+	public void setLength(int length) {
+		ensureCapacity(length);
+		this.length = length;
+	}
+
+	/**
+	 *
+	 * @return current length
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * add a value to the current position
+	 *
+	 * @param value
+	 *            value
+	 */
+	public void addValue(double value) {
+		if (length == array.length) {
+			ensureCapacity(length + 1);
+		}
+		array[length] = (float) value;
+		length++;
+	}
+
+	/**
+	 * add three values to the current position
+	 *
+	 * @param x
+	 *            first value
+	 * @param y
+	 *            second value
+	 * @param z
+	 *            third value
+	 */
+	public void addValues(double x, double y, double z) {
+		if (length + 3 > array.length) {
+			ensureCapacity(length + 3);
+		}
+		array[length] = (float) x;
+		array[length + 1] = (float) y;
+		array[length + 2] = (float) z;
+		length += 3;
+	}
+
+	/**
+	 * @param index
+	 *            index
+	 * @return value at index
+	 */
+	public float get(int index) {
+		return array[index];
+	}
+
+	/**
+	 * @param index
+	 *            index, lower than length
+	 * @param value
+	 *            new value
+	 */
+	public void set(int index, double value) {
+		array[index] = (float) value;
+	}
+
+	/**
+	 * @return backing array, only the first {@link #getLength()} values are
+	 *         meaningful
+	 */
+	public float[] getArray() {
+		return array;
+	}
+
+	/**
+	 * @return copy with the current values, trimmed to length
+	 */
+	public ReusableFloatArray copy() {
+		ReusableFloatArray ret = new ReusableFloatArray(length);
+		System.arraycopy(array, 0, ret.array, 0, length);
+		ret.length = length;
+		return ret;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > array.length) {
+			float[] bigger = new float[Math.max(capacity, array.length * 2)];
+			System.arraycopy(array, 0, bigger, 0, length);
+			array = bigger;
+		}
+	}
+
+}
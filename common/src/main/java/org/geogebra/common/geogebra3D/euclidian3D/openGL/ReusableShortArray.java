@@ -0,0 +1,83 @@
+package org.geogebra.common.geogebra3D.euclidian3D.openGL;
+
+/**
+ * Growable array of shorts that can be reused: setting length to 0 keeps the
+ * allocated memory. Used to collect indices without boxing each value.
+ */
+public class ReusableShortArray {
+
+	private short[] array;
+	private int length;
+
+	/**
+	 * constructor
+	 *
+	 * @param size
+	 *            initial capacity
+	 */
+	public ReusableShortArray(int size) {
+		array = new short[Math.max(size, 1)];
+		length = 0;
+	}
+
+	/**
+	 * set length
+	 *
+	 * @param length
+	 *            length
+	 */
+	public void setLength(int length) {
+		ensureCapacity(length);
+		this.length = length;
+	}
+
+	/**
+	 *
+	 * @return current length
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * add a value to the current position
+	 *
+	 * @param value
+	 *            value
+	 */
+	public void addValue(short value) {
+		if (length == array.length) {
+			ensureCapacity(length + 1);
+		}
+		array[length] = value;
+		length++;
+	}
+
+	/**
+	 * @param index
+	 *            index
+	 * @return value at index
+	 */
+	public short get(int index) {
+		return array[index];
+	}
+
+	/**
+	 * @return copy with the current values, trimmed to length
+	 */
+	public ReusableShortArray copy() {
+		ReusableShortArray ret = new ReusableShortArray(length);
+		System.arraycopy(array, 0, ret.array, 0, length);
+		ret.length = length;
+		return ret;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > array.length) {
+			short[] bigger = new short[Math.max(capacity, array.length * 2)];
+			System.arraycopy(array, 0, bigger, 0, length);
+			array = bigger;
+		}
+	}
+
+}
@@ -0,0 +1,14 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+/**
+ * Format writing bytes to the output instead of text, only available for
+ * streamed export, see {@link ExportToPrinter3D#export(Format, Printer3DOutput)}
+ */
+public interface BinaryFormat extends Format {
+
+	/**
+	 * @param output
+	 *            output for the bytes, set before export starts
+	 */
+	void setOutput(Printer3DOutput output);
+}
@@ -19,6 +19,9 @@ import org.geogebra.common.kernel.discrete.PolygonTriangulation.Convexity;
 import org.geogebra.common.kernel.discrete.PolygonTriangulation.TriangleFan;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoPolygon;
+import org.geogebra.common.main.App;
+import org.geogebra.common.main.Feature;
+import org.geogebra.common.util.debug.Log;
 
 /**
  * Export to 3D printer
@@ -44,6 +47,9 @@ public class ExportToPrinter3D {
 	/** normal index when not set */
 	public final static int NORMAL_NOT_SET = -2;
 
+	/** length of text written to output at once when streaming */
+	private final static int FLUSH_LENGTH = 1 << 16;
+
 	private Format format;
 
 	private ManagerShadersElementsGlobalBuffer manager;
@@ -52,6 +58,9 @@ public class ExportToPrinter3D {
 
 	private StringBuilder sb;
 
+	/** null if export is collected in sb */
+	private Printer3DOutput output;
+
 	private Coords center = null;
 
 	private boolean reverse = false;
@@ -231,6 +240,7 @@ public class ExportToPrinter3D {
 
 				// end of polyhedron
 				format.getPolyhedronEnd(sb);
+				flush();
 
 			}
 		}
@@ -389,6 +399,7 @@ public class ExportToPrinter3D {
 
 				// end of polyhedron
 				format.getPolyhedronEnd(sb);
+				flush();
 
 			}
 
@@ -517,6 +528,7 @@ public class ExportToPrinter3D {
 
 				// end of polyhedron
 				format.getPolyhedronEnd(sb);
+				flush();
 
 			} else {
 				if (!format.needsClosedObjects()) { // TODO for 3D printing
@@ -581,6 +593,7 @@ public class ExportToPrinter3D {
 
 					// end of polyhedron
 					format.getPolyhedronEnd(sb);
+					flush();
 				}
 			}
 		}
@@ -608,6 +621,7 @@ public class ExportToPrinter3D {
 			format.getVerticesSeparator(sb);
 		}
 		format.getVertices(sb, x * xInvScale, y * xInvScale, z * xInvScale);
+		flush();
 	}
 
 	private void getNormal(double x, double y, double z) {
@@ -621,6 +635,7 @@ public class ExportToPrinter3D {
 	private void getNormalHandlingReverse(double x, double y, double z) {
 		format.getNormal(sb, x, y, z);
 		format.getNormalsSeparator(sb);
+		flush();
 	}
 
 	private void getFaceWithOffset(boolean notFirst, int offset, int v1, int v2,
@@ -643,16 +658,30 @@ public class ExportToPrinter3D {
 		} else {
 			format.getFaces(sb, v1, v2, v3, normal);
 		}
+		flush();
+	}
+
+	/**
+	 * Writes the buffer to the output once it is long enough; called for
+	 * each vertex, normal and face so that a single large surface does not
+	 * have to fit in memory as text.
+	 */
+	private void flush() {
+		if (output != null && sb.length() > FLUSH_LENGTH) {
+			output.append(sb);
+			sb.setLength(0);
+		}
 	}
 
 	/**
 	 * 
 	 * @param format1
-	 *            export format
+	 *            export format, not binary
 	 * @return export
 	 */
 	public StringBuilder export(Format format1) {
 		this.format = format1;
+		this.output = null;
 		xInvScale = 1 / view.getXscale();
 
 		sb.setLength(0);
@@ -662,4 +691,57 @@ public class ExportToPrinter3D {
 		return sb;
 	}
 
+	/**
+	 * Writes the export to the output while objects are exported, so that
+	 * only one object at a time is kept in memory. The output is not closed.
+	 * 
+	 * @param format1
+	 *            export format
+	 * @param output1
+	 *            output
+	 */
+	public void export(Format format1, Printer3DOutput output1) {
+		this.format = format1;
+		this.output = output1;
+		if (format1 instanceof BinaryFormat) {
+			((BinaryFormat) format1).setOutput(output1);
+		}
+		xInvScale = 1 / view.getXscale();
+
+		sb.setLength(0);
+		format1.getScriptStart(sb);
+		view.exportToPrinter3D(this);
+		format1.getScriptEnd(sb);
+		if (sb.length() > 0) {
+			output1.append(sb);
+		}
+		sb.setLength(0);
+		this.output = null;
+	}
+
+	/**
+	 * Exports to a file, streamed if the platform provides an output
+	 * 
+	 * @param app
+	 *            application
+	 * @param format1
+	 *            export format
+	 */
+	public void exportToFile(App app, Format format1) {
+		Printer3DOutput output1 = app.has(Feature.STREAMING_3D_EXPORT)
+				? app.newPrinter3DOutput(format1.getExtension()) : null;
+		if (output1 != null) {
+			try {
+				export(format1, output1);
+			} finally {
+				output1.close();
+			}
+		} else if (format1 instanceof BinaryFormat) {
+			Log.debug("binary format needs an output");
+		} else {
+			app.exportStringToFile(format1.getExtension(),
+					export(format1).toString());
+		}
+	}
+
 }
@@ -12,6 +12,33 @@ public class FormatObj implements Format {
 	private int index;
 	private int nextShift;
 
+	/** null if vertices are not merged */
+	private VertexIndexMap vertexMap;
+	/** global index of each vertex of current object */
+	private int[] vertexIndices = new int[16];
+	private int vertexIndicesLength;
+	private int normalCount;
+	private int normalStart;
+	private boolean objectHasNormals;
+
+	/**
+	 * .obj format with vertices for each object
+	 */
+	public FormatObj() {
+		this(false);
+	}
+
+	/**
+	 * @param mergeVertices
+	 *            whether vertices with same coords are written once and
+	 *            shared by all faces
+	 */
+	public FormatObj(boolean mergeVertices) {
+		if (mergeVertices) {
+			vertexMap = new VertexIndexMap();
+		}
+	}
+
 	@Override
 	public String getExtension() {
 		return "obj";
@@ -22,6 +49,10 @@ public class FormatObj implements Format {
 		sb.append("### created by GeoGebra ###");
 		index = 1;
 		nextShift = 0;
+		if (vertexMap != null) {
+			vertexMap.clear();
+			normalCount = 0;
+		}
 	}
 
 	@Override
@@ -55,22 +86,51 @@ public class FormatObj implements Format {
 		sb.append("\n");
 		index += nextShift;
 		nextShift = 0;
+		if (vertexMap != null) {
+			vertexIndicesLength = 0;
+			normalStart = normalCount;
+			objectHasNormals = false;
+		}
 	}
 
 	@Override
 	public void getVertices(StringBuilder sb, double x, double y, double z) {
+		if (vertexMap != null) {
+			int size = vertexMap.size();
+			int vertexIndex = vertexMap.getIndex(x, y, z);
+			if (vertexIndicesLength == vertexIndices.length) {
+				int[] bigger = new int[vertexIndices.length * 2];
+				System.arraycopy(vertexIndices, 0, bigger, 0,
+						vertexIndicesLength);
+				vertexIndices = bigger;
+			}
+			vertexIndices[vertexIndicesLength++] = vertexIndex;
+			if (vertexIndex == size) {
+				// new vertex
+				appendVertex(sb, x, y, z);
+				sb.append("\n");
+			}
+			return;
+		}
+		appendVertex(sb, x, y, z);
+		nextShift++;
+	}
+
+	private static void appendVertex(StringBuilder sb, double x, double y,
+			double z) {
 		sb.append("v ");
 		sb.append(x);
 		sb.append(" ");
 		sb.append(y);
 		sb.append(" ");
 		sb.append(z);
-		nextShift++;
 	}
 
 	@Override
 	public void getVerticesSeparator(StringBuilder sb) {
-		sb.append("\n");
+		if (vertexMap == null) {
+			sb.append("\n");
+		}
 	}
 
 	@Override
@@ -81,10 +141,12 @@ public class FormatObj implements Format {
 	@Override
 	public void getNormalsStart(StringBuilder sb, int count) {
 		sb.append("\n");
+		objectHasNormals = true;
 	}
 
 	@Override
 	public void getNormal(StringBuilder sb, double x, double y, double z) {
+		normalCount++;
 		sb.append("vn ");
 		sb.append(x);
 		sb.append(" ");
@@ -110,7 +172,14 @@ public class FormatObj implements Format {
 
 	@Override
 	public void getFaces(StringBuilder sb, int v1, int v2, int v3, int normal) {
-		if (normal < 0) {
+		if (vertexMap != null) {
+			sb.append("f ");
+			appendMergedIndex(sb, v1, normal);
+			sb.append(" ");
+			appendMergedIndex(sb, v2, normal);
+			sb.append(" ");
+			appendMergedIndex(sb, v3, normal);
+		} else if (normal < 0) {
 			sb.append("f ");
 			appendIndex(sb, v1);
 			sb.append("//");
@@ -144,6 +213,14 @@ public class FormatObj implements Format {
 		sb.append(i + index);
 	}
 
+	private void appendMergedIndex(StringBuilder sb, int v, int normal) {
+		sb.append(vertexIndices[v] + 1);
+		if (objectHasNormals) {
+			sb.append("//");
+			sb.append(normalStart + (normal < 0 ? v : normal) + 1);
+		}
+	}
+
 	@Override
 	public void getFacesSeparator(StringBuilder sb) {
 		sb.append("\n");
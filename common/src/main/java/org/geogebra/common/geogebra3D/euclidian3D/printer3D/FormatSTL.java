@@ -18,6 +18,9 @@ public class FormatSTL implements Format {
 	private Coords tmpCoords2 = new Coords(3);
 	private Coords tmpCoords3 = new Coords(3);
 
+	/** normal and vertices of the current facet */
+	protected final double[] facet = new double[12];
+
 	@Override
 	public String getExtension() {
 		return "stl";
@@ -78,6 +81,46 @@ public class FormatSTL implements Format {
 
 	@Override
 	public void getFaces(StringBuilder sb, int v1, int v2, int v3, int normal) {
+		setFacet(v1, v2, v3, normal);
+
+		sb.append("\nfacet normal ");
+		appendCoords(sb, 0);
+
+		// vertices
+		sb.append("\n    outer loop");
+		sb.append("\n        vertex ");
+		appendCoords(sb, 3);
+		sb.append("\n        vertex ");
+		appendCoords(sb, 6);
+		sb.append("\n        vertex ");
+		appendCoords(sb, 9);
+		sb.append("\n    endloop");
+
+		// end
+		sb.append("\nendfacet");
+	}
+
+	private void appendCoords(StringBuilder sb, int start) {
+		sb.append(facet[start]);
+		sb.append(" ");
+		sb.append(facet[start + 1]);
+		sb.append(" ");
+		sb.append(facet[start + 2]);
+	}
+
+	/**
+	 * Sets normal and vertices of the facet
+	 * 
+	 * @param v1
+	 *            first vertex index
+	 * @param v2
+	 *            second vertex index
+	 * @param v3
+	 *            third vertex index
+	 * @param normal
+	 *            normal index
+	 */
+	protected void setFacet(int v1, int v2, int v3, int normal) {
 		double v1x = verticesList.get(3 * v1);
 		double v1y = verticesList.get(3 * v1 + 1);
 		double v1z = verticesList.get(3 * v1 + 2);
@@ -117,37 +160,18 @@ public class FormatSTL implements Format {
 			nz = normalsList.get(3 * normal + 2);
 			break;
 		}
-		sb.append("\nfacet normal ");
-		sb.append(nx);
-		sb.append(" ");
-		sb.append(ny);
-		sb.append(" ");
-		sb.append(nz);
-
-		// vertices
-		sb.append("\n    outer loop");
-		sb.append("\n        vertex ");
-		sb.append(v1x);
-		sb.append(" ");
-		sb.append(v1y);
-		sb.append(" ");
-		sb.append(v1z);
-		sb.append("\n        vertex ");
-		sb.append(v2x);
-		sb.append(" ");
-		sb.append(v2y);
-		sb.append(" ");
-		sb.append(v2z);
-		sb.append("\n        vertex ");
-		sb.append(v3x);
-		sb.append(" ");
-		sb.append(v3y);
-		sb.append(" ");
-		sb.append(v3z);
-		sb.append("\n    endloop");
-
-		// end
-		sb.append("\nendfacet");
+		facet[0] = nx;
+		facet[1] = ny;
+		facet[2] = nz;
+		facet[3] = v1x;
+		facet[4] = v1y;
+		facet[5] = v1z;
+		facet[6] = v2x;
+		facet[7] = v2y;
+		facet[8] = v2z;
+		facet[9] = v3x;
+		facet[10] = v3y;
+		facet[11] = v3z;
 	}
 
 	@Override
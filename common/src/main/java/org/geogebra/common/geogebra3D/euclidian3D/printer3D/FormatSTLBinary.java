@@ -0,0 +1,73 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+/**
+ * Binary STL format: 80 bytes header, number of facets, then 50 bytes per
+ * facet (normal and vertices as little endian floats, attribute count).
+ */
+public class FormatSTLBinary extends FormatSTL implements BinaryFormat {
+
+	private static final int HEADER_LENGTH = 80;
+	private static final int FACET_LENGTH = 50;
+	private static final int FACETS_PER_CHUNK = 1024;
+
+	private Printer3DOutput output;
+	private byte[] bytes = new byte[FACET_LENGTH * FACETS_PER_CHUNK];
+	private int length;
+	private int facetCount;
+
+	@Override
+	public void setOutput(Printer3DOutput output) {
+		this.output = output;
+	}
+
+	@Override
+	public void getScriptStart(StringBuilder sb) {
+		// header must not start with "solid", reserved for ASCII STL
+		String header = "binary STL created by GeoGebra";
+		for (int i = 0; i < HEADER_LENGTH; i++) {
+			bytes[i] = i < header.length() ? (byte) header.charAt(i)
+					: (byte) ' ';
+		}
+		length = HEADER_LENGTH;
+		// number of facets, set at the end
+		putInt(0);
+		facetCount = 0;
+	}
+
+	@Override
+	public void getScriptEnd(StringBuilder sb) {
+		flushBytes();
+		putInt(facetCount);
+		output.write(HEADER_LENGTH, bytes, 4);
+		length = 0;
+	}
+
+	@Override
+	public void getFaces(StringBuilder sb, int v1, int v2, int v3,
+			int normal) {
+		setFacet(v1, v2, v3, normal);
+		if (length + FACET_LENGTH > bytes.length) {
+			flushBytes();
+		}
+		for (int i = 0; i < 12; i++) {
+			putInt(Float.floatToIntBits((float) facet[i]));
+		}
+		// attribute byte count
+		bytes[length++] = 0;
+		bytes[length++] = 0;
+		facetCount++;
+	}
+
+	private void putInt(int value) {
+		bytes[length++] = (byte) value;
+		bytes[length++] = (byte) (value >>> 8);
+		bytes[length++] = (byte) (value >>> 16);
+		bytes[length++] = (byte) (value >>> 24);
+	}
+
+	private void flushBytes() {
+		output.append(bytes, length);
+		length = 0;
+	}
+
+}
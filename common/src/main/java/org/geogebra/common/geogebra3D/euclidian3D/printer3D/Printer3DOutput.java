@@ -0,0 +1,40 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+/**
+ * Destination of a streamed 3D export (e.g. a file), so that the export is
+ * written while it is created instead of being collected in one string.
+ */
+public interface Printer3DOutput {
+
+	/**
+	 * @param text
+	 *            text to append
+	 */
+	void append(CharSequence text);
+
+	/**
+	 * @param bytes
+	 *            bytes to append
+	 * @param length
+	 *            number of bytes used
+	 */
+	void append(byte[] bytes, int length);
+
+	/**
+	 * Overwrites bytes that were already written, e.g. a header with a count
+	 * only known at the end.
+	 *
+	 * @param position
+	 *            position from start of output
+	 * @param bytes
+	 *            new bytes
+	 * @param length
+	 *            number of bytes used
+	 */
+	void write(long position, byte[] bytes, int length);
+
+	/**
+	 * Writes everything pending and releases the output.
+	 */
+	void close();
+}
@@ -0,0 +1,104 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+/**
+ * Gives the same index to vertices with same coordinates, used to merge
+ * vertices shared by faces of different geometries. Hash table with open
+ * addressing on primitive arrays, no object per vertex.
+ */
+class VertexIndexMap {
+
+	private static final int EMPTY = -1;
+
+	private double[] coords = new double[3 * 256];
+	private int[] table = newTable(512);
+	private int size;
+
+	private static int[] newTable(int capacity) {
+		int[] ret = new int[capacity];
+		for (int i = 0; i < capacity; i++) {
+			ret[i] = EMPTY;
+		}
+		return ret;
+	}
+
+	/**
+	 * @return number of different vertices
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Forgets all vertices
+	 */
+	void clear() {
+		for (int i = 0; i < table.length; i++) {
+			table[i] = EMPTY;
+		}
+		size = 0;
+	}
+
+	/**
+	 * @param x
+	 *            x coord
+	 * @param y
+	 *            y coord
+	 * @param z
+	 *            z coord
+	 * @return index of the vertex; equal to {@link #size()} - 1 if the vertex
+	 *         was new
+	 */
+	int getIndex(double x, double y, double z) {
+		int mask = table.length - 1;
+		int slot = hash(x, y, z) & mask;
+		while (table[slot] != EMPTY) {
+			int index = table[slot];
+			if (coords[3 * index] == x && coords[3 * index + 1] == y
+					&& coords[3 * index + 2] == z) {
+				return index;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (3 * size + 3 > coords.length) {
+			double[] bigger = new double[coords.length * 2];
+			System.arraycopy(coords, 0, bigger, 0, 3 * size);
+			coords = bigger;
+		}
+		coords[3 * size] = x;
+		coords[3 * size + 1] = y;
+		coords[3 * size + 2] = z;
+		table[slot] = size;
+		size++;
+		if (2 * size > table.length) {
+			rehash();
+		}
+		return size - 1;
+	}
+
+	private void rehash() {
+		table = newTable(table.length * 2);
+		int mask = table.length - 1;
+		for (int index = 0; index < size; index++) {
+			int slot = hash(coords[3 * index], coords[3 * index + 1],
+					coords[3 * index + 2]) & mask;
+			while (table[slot] != EMPTY) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = index;
+		}
+	}
+
+	private static int hash(double x, double y, double z) {
+		int h = hash(x);
+		h = 31 * h + hash(y);
+		h = 31 * h + hash(z);
+		// spread high bits, the table uses the low ones
+		return h ^ (h >>> 16);
+	}
+
+	private static int hash(double value) {
+		// +0.0 so that 0.0 and -0.0 share the hash, as they are equal
+		long bits = Double.doubleToLongBits(value + 0.0);
+		return (int) (bits ^ (bits >>> 32));
+	}
+}
@@ -74,6 +74,15 @@ public class CurveEvaluableFor3D implements CurveEvaluable {
 
 	}
 
+	@Override
+	public void evaluateCurve(double[] t, int count, double[] out) {
+		double[] eval = newDoubleArray();
+		for (int i = 0; i < count; i++) {
+			evaluateCurve(t[i], eval);
+			System.arraycopy(eval, 0, out, i * eval.length, eval.length);
+		}
+	}
+
 	@Override
 	public double[] getDefinedInterval(double a, double b) {
 		funZ.setParentFun(parent.getFun(2));
@@ -82,6 +82,15 @@ public class CurveEvaluableForPlane implements CurveEvaluable {
 
 	}
 
+	@Override
+	public void evaluateCurve(double[] t, int count, double[] out) {
+		double[] eval = newDoubleArray();
+		for (int i = 0; i < count; i++) {
+			evaluateCurve(t[i], eval);
+			System.arraycopy(eval, 0, out, i * eval.length, eval.length);
+		}
+	}
+
 	@Override
 	public double[] getDefinedInterval(double a, double b) {
 		return GeoCurveCartesian3D.getDefinedInterval(a, b, parent.getFun(0),
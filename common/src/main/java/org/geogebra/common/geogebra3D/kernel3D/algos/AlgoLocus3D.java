@@ -193,7 +193,8 @@ public class AlgoLocus3D extends AlgoLocusND<MyPoint3D> {
 		insertPoint(coords.getX(), coords.getY(), coords.getZ(), lineTo);
 	}
 
-	private void insertPoint(double x, double y, double z, boolean lineTo) {
+	@Override
+	protected void insertPoint(double x, double y, double z, boolean lineTo) {
 		pointCount++;
 
 		// Application.debug("insertPoint: " + x + ", " + y + ", lineto: " +
@@ -60,8 +60,19 @@ public class GeoLocus3D extends GeoLocusND<MyPoint3D> {
 	 *            true to draw a line to (x,y,z); false to only move to (x,y,z)
 	 */
 	public void insertPoint(double x, double y, double z, boolean lineTo) {
-		myPointList.add(new MyPoint3D(x, y, z, lineTo ? SegmentType.LINE_TO
-				: SegmentType.MOVE_TO));
+		addPoint(x, y, z, lineTo ? SegmentType.LINE_TO : SegmentType.MOVE_TO);
+	}
+
+	@Override
+	protected MyPoint3D reusePoint(MyPoint3D point, double x, double y,
+			double z, SegmentType segmentType) {
+		if (point == null) {
+			return new MyPoint3D(x, y, z, segmentType);
+		}
+		point.setCoords(x, y);
+		point.setZ(z);
+		point.setSegmentType(segmentType);
+		return point;
 	}
 
 	@Override
@@ -0,0 +1,216 @@
+package org.geogebra.common.gui.view.spreadsheet;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoElementSpreadsheet;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.main.App;
+import org.geogebra.common.main.SpreadsheetTableModel;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.opencsv.CSVException;
+import org.geogebra.common.util.opencsv.CSVParser;
+
+/**
+ * Imports external data into the spreadsheet one line at a time, so that large
+ * files need not be kept in memory as a whole. Cells of each line are created
+ * as soon as the separator is known; plain decimal numbers in empty cells
+ * become numbers directly without going through the algebra processor. Lines
+ * shorter than the widest line clear the remaining cells, so that no old
+ * values stay between the imported ones.
+ *
+ * Repaints and undo are suspended until {@link #finish()} is called, which
+ * stores one undo point for the whole import.
+ */
+public class DataImportStream {
+
+	/** number of lines used to choose the separator */
+	private static final int SAMPLE_LINES = 20;
+
+	private final App app;
+	private final Kernel kernel;
+	private final SpreadsheetTableModel tableModel;
+	private final int column1;
+	private final int row1;
+	private int row;
+	private int width;
+	private CSVParser parser;
+	private ArrayList<String> sample = new ArrayList<>();
+
+	private final boolean oldEqualsSetting;
+	private final boolean oldRepaintSetting;
+	private final boolean oldUndoSetting;
+
+	/**
+	 * Starts the import; {@link #finish()} must be called afterwards.
+	 *
+	 * @param app
+	 *            application
+	 * @param column1
+	 *            column of the first value
+	 * @param row1
+	 *            row of the first line
+	 */
+	public DataImportStream(App app, int column1, int row1) {
+		this.app = app;
+		this.kernel = app.getKernel();
+		this.tableModel = app.getSpreadsheetTableModel();
+		this.column1 = column1;
+		this.row1 = row1;
+		this.row = row1;
+
+		oldEqualsSetting = app.getSettings().getSpreadsheet().equalsRequired();
+		app.getSettings().getSpreadsheet().setEqualsRequired(true);
+		oldRepaintSetting = kernel.isNotifyRepaintActive();
+		kernel.setNotifyRepaintActive(false);
+		oldUndoSetting = kernel.isUndoActive();
+		kernel.setUndoActive(false);
+		app.setWaitCursor();
+	}
+
+	/**
+	 * Adds one line of the source. The first lines are kept until the
+	 * separator is known: tab if any of them contains a tab, comma otherwise.
+	 *
+	 * @param line
+	 *            line without line separator
+	 */
+	public void addLine(String line) {
+		if (parser == null) {
+			sample.add(line);
+			if (sample.size() >= SAMPLE_LINES) {
+				addSample();
+			}
+			return;
+		}
+		parseLine(line);
+	}
+
+	private void addSample() {
+		boolean tab = false;
+		for (String line : sample) {
+			if (line.indexOf('\t') != -1) {
+				tab = true;
+				break;
+			}
+		}
+		parser = tab ? new CSVParser('\t') : new CSVParser();
+		for (String line : sample) {
+			parseLine(line);
+		}
+		sample = null;
+	}
+
+	private void parseLine(String line) {
+		String[] values;
+		try {
+			values = parser.parseLineMulti(line);
+		} catch (CSVException e) {
+			Log.debug("invalid data in line " + (row + 1) + ": "
+					+ e.getMessage());
+			return;
+		}
+
+		if (values.length > width) {
+			// earlier lines are shorter now, clear their new columns
+			for (int r = row1; r < row; r++) {
+				for (int k = width; k < values.length; k++) {
+					addCell(column1 + k, r, null);
+				}
+			}
+			width = values.length;
+		}
+		if (tableModel.getRowCount() < row + 1) {
+			tableModel.setRowCount(row + 1);
+		}
+		if (tableModel.getColumnCount() < column1 + width) {
+			tableModel.setColumnCount(column1 + width);
+		}
+		for (int k = 0; k < width; k++) {
+			addCell(column1 + k, row, k < values.length ? values[k] : null);
+		}
+		row++;
+	}
+
+	private void addCell(int column, int row0, String value) {
+		try {
+			addValue(column, row0, value);
+		} catch (Exception e) {
+			Log.debug(e.getMessage());
+		}
+	}
+
+	private void addValue(int column, int row0, String value) throws Exception {
+		GeoElement oldValue = RelativeCopy.getValue(app, column, row0);
+		String text = value == null ? "" : value.trim();
+		if (text.length() == 0) {
+			if (oldValue != null) {
+				oldValue.removeOrSetUndefinedIfHasFixedDescendent();
+			}
+			return;
+		}
+
+		// remove localized number formatting, e.g. 3,400 ---> 3400
+		text = DataImport.adjustNumberString(text);
+
+		if (oldValue == null && isPlainDecimal(text)) {
+			Construction cons = kernel.getConstruction();
+			GeoNumeric num = new GeoNumeric(cons, Double.parseDouble(text));
+			num.setAuxiliaryObject(true);
+			num.setLabel(
+					GeoElementSpreadsheet.getSpreadsheetCellName(column, row0));
+			return;
+		}
+
+		GeoElementND geo = RelativeCopy
+				.prepareAddingValueToTableNoStoringUndoInfo(kernel, app, text,
+						oldValue, column, row0, true);
+		if (geo != null) {
+			geo.setAuxiliaryObject(true);
+		}
+	}
+
+	/**
+	 * @param s
+	 *            trimmed string
+	 * @return whether s is an optional minus sign followed by digits with at
+	 *         most one decimal point
+	 */
+	private static boolean isPlainDecimal(String s) {
+		int start = s.charAt(0) == '-' ? 1 : 0;
+		boolean digits = false;
+		boolean point = false;
+		for (int i = start; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits = true;
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				return false;
+			}
+		}
+		return digits;
+	}
+
+	/**
+	 * Adds lines kept for choosing the separator, restores settings, repaints
+	 * and stores undo info.
+	 */
+	public void finish() {
+		if (parser == null) {
+			addSample();
+		}
+		app.getSettings().getSpreadsheet().setEqualsRequired(oldEqualsSetting);
+		kernel.setUndoActive(oldUndoSetting);
+		kernel.setNotifyRepaintActive(oldRepaintSetting);
+		app.repaintSpreadsheet();
+		app.setDefaultCursor();
+		if (oldUndoSetting) {
+			kernel.storeUndoInfo();
+		}
+	}
+}
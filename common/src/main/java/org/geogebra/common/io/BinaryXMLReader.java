@@ -0,0 +1,115 @@
+package org.geogebra.common.io;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * Replays records created by {@link BinaryXMLWriter} as XML events.
+ */
+public class BinaryXMLReader {
+
+	private final ArrayList<String> names = new ArrayList<>();
+	private final ArrayList<String> values = new ArrayList<>();
+	private final LinkedHashMap<String, String> attrs = new LinkedHashMap<>();
+	private byte[] data;
+	private int pos;
+
+	/**
+	 * @param doc
+	 *            handler that receives document events
+	 * @param records
+	 *            output of {@link BinaryXMLWriter}
+	 * @throws Exception
+	 *             if the data is corrupt or the handler fails
+	 */
+	public void parse(DocHandler doc, byte[] records) throws Exception {
+		names.clear();
+		values.clear();
+		data = records;
+		pos = 0;
+		doc.startDocument();
+		while (pos < data.length) {
+			byte op = data[pos++];
+			switch (op) {
+			case BinaryXMLWriter.START:
+				String tag = readName();
+				int count = readInt();
+				attrs.clear();
+				for (int i = 0; i < count; i++) {
+					String name = readName();
+					attrs.put(name, readValue());
+				}
+				doc.startElement(tag, attrs);
+				break;
+			case BinaryXMLWriter.END:
+				doc.endElement(readName());
+				break;
+			case BinaryXMLWriter.TEXT:
+				doc.text(readValue());
+				break;
+			default:
+				throw new Exception("Invalid record " + op + " at " + pos);
+			}
+		}
+		doc.endDocument();
+		data = null;
+	}
+
+	private String readName() {
+		int index = readInt();
+		if (index == names.size()) {
+			names.add(readString());
+		}
+		return names.get(index);
+	}
+
+	private String readValue() throws Exception {
+		byte type = data[pos++];
+		switch (type) {
+		case BinaryXMLWriter.VALUE_REF:
+			return values.get(readInt());
+		case BinaryXMLWriter.VALUE_NEW:
+			String value = readString();
+			values.add(value);
+			return value;
+		case BinaryXMLWriter.VALUE_STRING:
+			return readString();
+		case BinaryXMLWriter.VALUE_INT:
+			int zigzag = readInt();
+			return Integer.toString((zigzag >>> 1) ^ -(zigzag & 1));
+		case BinaryXMLWriter.VALUE_DOUBLE:
+			return Double.toString(Double.longBitsToDouble(readLong()));
+		default:
+			throw new Exception("Invalid value type " + type + " at " + pos);
+		}
+	}
+
+	private String readString() {
+		int length = readInt();
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) readInt();
+		}
+		return new String(chars);
+	}
+
+	private long readLong() {
+		long l = 0;
+		for (int i = 0; i < 8; i++) {
+			l = (l << 8) | (data[pos++] & 0xFF);
+		}
+		return l;
+	}
+
+	private int readInt() {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = data[pos++];
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+}
@@ -0,0 +1,212 @@
+package org.geogebra.common.io;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * Encodes XML events into compact binary records that can be replayed by
+ * {@link BinaryXMLReader} without parsing text again. Element and attribute
+ * names as well as short attribute values are stored once and referenced by
+ * index afterwards, integers and doubles that survive a round trip through
+ * their string form are stored as numbers.
+ *
+ * Record layout: one opcode byte ({@link #START}, {@link #END},
+ * {@link #TEXT}) followed by its data; all counts and indices are unsigned
+ * variable length integers.
+ */
+public class BinaryXMLWriter implements DocHandler {
+
+	/** start tag: name, attribute count, (name, value) pairs */
+	static final byte START = 1;
+	/** end tag: name */
+	static final byte END = 2;
+	/** text: value */
+	static final byte TEXT = 3;
+
+	/** value: reference to a value stored before */
+	static final byte VALUE_REF = 1;
+	/** value: string that is added to the value table */
+	static final byte VALUE_NEW = 2;
+	/** value: string that is not added to the value table */
+	static final byte VALUE_STRING = 3;
+	/** value: zigzag encoded integer */
+	static final byte VALUE_INT = 4;
+	/** value: 8 bytes of a double */
+	static final byte VALUE_DOUBLE = 5;
+
+	/** longer values are not interned */
+	static final int MAX_INTERNED_LENGTH = 32;
+
+	private final HashMap<String, Integer> names = new HashMap<>();
+	private final HashMap<String, Integer> values = new HashMap<>();
+	private byte[] buffer = new byte[1024];
+	private int size = 0;
+
+	/**
+	 * @param xml
+	 *            XML
+	 * @return binary records for the XML
+	 * @throws Exception
+	 *             if XML is not valid
+	 */
+	public static byte[] encode(String xml) throws Exception {
+		BinaryXMLWriter writer = new BinaryXMLWriter();
+		new QDParser().parse(writer, new StringReader(xml));
+		return writer.toByteArray();
+	}
+
+	/**
+	 * @return records written so far
+	 */
+	public byte[] toByteArray() {
+		byte[] ret = new byte[size];
+		System.arraycopy(buffer, 0, ret, 0, size);
+		return ret;
+	}
+
+	@Override
+	public void startElement(String tag, LinkedHashMap<String, String> h) {
+		writeByte(START);
+		writeName(tag);
+		writeInt(h.size());
+		for (Entry<String, String> attr : h.entrySet()) {
+			writeName(attr.getKey());
+			writeValue(attr.getValue());
+		}
+	}
+
+	@Override
+	public void endElement(String tag) {
+		writeByte(END);
+		writeName(tag);
+	}
+
+	@Override
+	public void startDocument() {
+		// nothing to store
+	}
+
+	@Override
+	public void endDocument() {
+		// nothing to store
+	}
+
+	@Override
+	public void text(String str) {
+		writeByte(TEXT);
+		writeValue(str);
+	}
+
+	private void writeName(String name) {
+		Integer index = names.get(name);
+		if (index == null) {
+			// new names are sent inline with the next free index
+			writeInt(names.size());
+			writeString(name);
+			names.put(name, names.size());
+		} else {
+			writeInt(index);
+		}
+	}
+
+	private void writeValue(String value) {
+		Integer index = values.get(value);
+		if (index != null) {
+			writeByte(VALUE_REF);
+			writeInt(index);
+			return;
+		}
+		if (isCanonicalInt(value)) {
+			int i = Integer.parseInt(value);
+			writeByte(VALUE_INT);
+			writeInt((i << 1) ^ (i >> 31));
+			return;
+		}
+		if (value.length() > 8 && isNumeric(value)) {
+			try {
+				double d = Double.parseDouble(value);
+				if (Double.toString(d).equals(value)) {
+					writeByte(VALUE_DOUBLE);
+					writeLong(Double.doubleToLongBits(d));
+					return;
+				}
+			} catch (NumberFormatException e) {
+				// store as string
+			}
+		}
+		if (value.length() <= MAX_INTERNED_LENGTH) {
+			writeByte(VALUE_NEW);
+			values.put(value, values.size());
+		} else {
+			writeByte(VALUE_STRING);
+		}
+		writeString(value);
+	}
+
+	private static boolean isCanonicalInt(String value) {
+		int len = value.length();
+		int start = len > 0 && value.charAt(0) == '-' ? 1 : 0;
+		// no leading zeros, no "-0", fits into int
+		if (len == start || len - start > 9
+				|| (value.charAt(start) == '0' && (len > 1))) {
+			return false;
+		}
+		for (int i = start; i < len; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isNumeric(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if ((c < '0' || c > '9') && c != '.' && c != '-' && c != 'E') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void writeString(String str) {
+		writeInt(str.length());
+		for (int i = 0; i < str.length(); i++) {
+			writeInt(str.charAt(i));
+		}
+	}
+
+	private void writeLong(long l) {
+		ensureCapacity(8);
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			buffer[size++] = (byte) (l >>> shift);
+		}
+	}
+
+	private void writeInt(int value) {
+		ensureCapacity(5);
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			buffer[size++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		buffer[size++] = (byte) v;
+	}
+
+	private void writeByte(byte b) {
+		ensureCapacity(1);
+		buffer[size++] = b;
+	}
+
+	private void ensureCapacity(int extra) {
+		if (size + extra > buffer.length) {
+			byte[] bigger = new byte[Math.max(buffer.length * 2,
+					size + extra)];
+			System.arraycopy(buffer, 0, bigger, 0, size);
+			buffer = bigger;
+		}
+	}
+}
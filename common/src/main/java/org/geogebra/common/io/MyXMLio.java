@@ -21,6 +21,7 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Macro;
 import org.geogebra.common.main.App;
+import org.geogebra.common.util.debug.KernelMetrics;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -369,6 +370,8 @@ public abstract class MyXMLio {
 		boolean oldVal = kernel.isNotifyViewsActive();
 		boolean oldVal2 = kernel.isUsingInternalCommandNames();
 		kernel.setUseInternalCommandNames(true);
+		KernelMetrics metrics = kernel.getMetrics();
+		double time = metrics.isEnabled() ? metrics.now() : 0;
 
 		if (!isGGTOrDefaults && mayZoom) {
 			kernel.setNotifyViewsActive(false);
@@ -377,19 +380,21 @@ public abstract class MyXMLio {
 		if (clearConstruction) {
 			// clear construction
 			kernel.clearConstruction(false);
+			time = addLoadPhase(metrics, "clear construction", time);
 		}
 
 		try {
 			kernel.setLoadingMode(true);
 			if (settingsBatch && !isGGTOrDefaults) {
 				app.getSettings().beginBatch();
-				parseXML(handler, stream);
+				parseXMLOrBinary(stream);
 				app.getSettings().endBatch();
 			} else {
-				parseXML(handler, stream);
+				parseXMLOrBinary(stream);
 			}
 			resetXMLParser();
 			kernel.setLoadingMode(false);
+			time = addLoadPhase(metrics, "parse XML", time);
 		} catch (Error e) {
 			Log.error(e.getMessage());
 			if (!isGGTOrDefaults) {
@@ -404,7 +409,9 @@ public abstract class MyXMLio {
 			kernel.setUseInternalCommandNames(oldVal2);
 			if (!isGGTOrDefaults && mayZoom) {
 				kernel.updateConstruction(randomize, 1);
+				time = addLoadPhase(metrics, "update construction", time);
 				kernel.setNotifyViewsActive(oldVal);
+				addLoadPhase(metrics, "notify views", time);
 			}
 
 			// #2153
@@ -436,6 +443,50 @@ public abstract class MyXMLio {
 
 	}
 
+	/**
+	 * Records duration of a loading phase if metrics are enabled.
+	 * 
+	 * @return end time of the phase
+	 */
+	private static double addLoadPhase(KernelMetrics metrics, String phase,
+			double start) {
+		if (!metrics.isEnabled()) {
+			return start;
+		}
+		double end = metrics.now();
+		metrics.addLoadPhase(phase, end - start);
+		return end;
+	}
+
+	private void parseXMLOrBinary(XMLStream stream) throws Exception {
+		if (stream instanceof BinaryXMLStream) {
+			new BinaryXMLReader().parse(handler,
+					((BinaryXMLStream) stream).records);
+		} else {
+			parseXML(handler, stream);
+		}
+	}
+
+	/**
+	 * Restores construction from records created by {@link BinaryXMLWriter},
+	 * e.g. for undo.
+	 * 
+	 * @param records
+	 *            binary XML records
+	 * @throws Exception
+	 *             if records are invalid or there was a problem while
+	 *             processing
+	 */
+	public void processBinaryXML(byte[] records) throws Exception {
+		kernel.getConstruction().setFileLoading(true);
+		try {
+			doParseXML(new BinaryXMLStream(records), true, false, true, true,
+					false);
+		} finally {
+			kernel.getConstruction().setFileLoading(false);
+		}
+	}
+
 	/**
 	 * reset XML parser
 	 */
@@ -479,6 +530,14 @@ public abstract class MyXMLio {
 		// tagging interface
 	}
 
+	private static class BinaryXMLStream implements XMLStream {
+		final byte[] records;
+
+		BinaryXMLStream(byte[] records) {
+			this.records = records;
+		}
+	}
+
 	/**
 	 * 
 	 * @param str
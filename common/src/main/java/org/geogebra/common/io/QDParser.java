@@ -177,7 +177,7 @@ public class QDParser {
 
 			// we are processing CDATA
 			case CDATA:
-				if (c == '>' && sb.toString().endsWith("]]")) {
+				if (c == '>' && endsWithTwice(sb, ']')) {
 					sb.setLength(sb.length() - 2);
 					doc.text(sb.toString());
 					sb.setLength(0);
@@ -190,7 +190,7 @@ public class QDParser {
 			// we are processing a comment. We are inside
 			// the <!-- .... --> looking for the -->.
 			case COMMENT:
-				if (c == '>' && sb.toString().endsWith("--")) {
+				if (c == '>' && endsWithTwice(sb, '-')) {
 					sb.setLength(0);
 					mode = popMode(stack);
 				} else {
@@ -441,6 +441,15 @@ public class QDParser {
 
 	}
 
+	/**
+	 * Same as sb.toString().endsWith(cc) without copying the buffer, CDATA
+	 * and comments may be long.
+	 */
+	private static boolean endsWithTwice(StringBuilder sb, char c) {
+		int len = sb.length();
+		return len >= 2 && sb.charAt(len - 1) == c && sb.charAt(len - 2) == c;
+	}
+
 	private static void exc(String s, int line, int col) throws Exception {
 		throw new Exception(s + " near line " + line + ", column " + col);
 	}
@@ -0,0 +1,19 @@
+package org.geogebra.common.kernel;
+
+/**
+ * Thrown by the CAS when Giac evaluation was left to the asynchronous
+ * executor; the caller should keep its previous result until the evaluation
+ * finishes.
+ */
+public class CASPendingException extends CASException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @param giacInput
+	 *            input that will be evaluated in the background
+	 */
+	public CASPendingException(String giacInput) {
+		super("Pending: " + giacInput);
+	}
+}
@@ -1,7 +1,9 @@
 package org.geogebra.common.kernel;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -119,7 +121,7 @@ public class Construction {
 	// specific types
 	// (points, lines, etc.)
 	//
-	private HashMap<GeoClass, TreeSet<GeoElement>> geoSetsTypeMap;
+	private EnumMap<GeoClass, TreeSet<GeoElement>> geoSetsTypeMap;
 
 	// ConstructionElement List (for objects of type ConstructionElement)
 	private final ArrayList<ConstructionElement> ceList;
@@ -143,6 +145,9 @@ public class Construction {
 
 	// set with all labeled GeoElements in alphabetical order
 	private TreeSet<GeoElement> geoSetLabelOrder;
+	private final LabelComparator labelComparator = new LabelComparator();
+	// false while label ordered sets are out of date after bulk changes
+	private boolean labelSetsValid = true;
 	private TreeSet<GeoElement> geoSetWithCasCells;
 	// table of arbitraryConstants with casTable row key
 	private HashMap<Integer, MyArbitraryConstant> arbitraryConsTable = new HashMap<>();
@@ -226,8 +231,8 @@ public class Construction {
 
 		geoSetConsOrder = new TreeSet<>();
 		geoSetWithCasCells = new TreeSet<>();
-		geoSetLabelOrder = new TreeSet<>(new LabelComparator());
-		geoSetsTypeMap = new HashMap<>();
+		geoSetLabelOrder = new TreeSet<>(labelComparator);
+		geoSetsTypeMap = new EnumMap<>(GeoClass.class);
 		euclidianViewCE = new ArrayList<>();
 
 		if (parentConstruction != null) {
@@ -928,15 +933,19 @@ public class Construction {
 	 *            ConstuctionElement to be removed
 	 */
 	public void removeFromConstructionList(ConstructionElement ce) {
-		int pos = ceList.indexOf(ce);
+		// construction index is kept up to date, avoid linear search
+		int pos = ce.getConstructionIndex();
+		if (pos < 0 || pos >= ceList.size() || ceList.get(pos) != ce) {
+			pos = ceList.indexOf(ce);
+		}
 		if (pos == -1) {
 			return;
 		} else if (pos <= step) {
-			ceList.remove(ce);
+			ceList.remove(pos);
 			ce.setConstructionIndex(-1);
 			--step;
 		} else { // pos > step
-			ceList.remove(ce);
+			ceList.remove(pos);
 			ce.setConstructionIndex(-1);
 		}
 
@@ -1508,6 +1517,7 @@ public class Construction {
 	 * @return set with all labeled geos in alphabetical order.
 	 */
 	final public TreeSet<GeoElement> getGeoSetLabelOrder() {
+		validateLabelSets();
 		return geoSetLabelOrder;
 	}
 
@@ -2011,6 +2021,20 @@ public class Construction {
 	private void addToGeoSets(GeoElement geo) {
 		geoSetConsOrder.add(geo);
 		geoSetWithCasCells.add(geo);
+		if (labelSetsValid) {
+			addToLabelSets(geo);
+		}
+
+		/*
+		 * Application.debug("*** geoSet order (add " + geo + ") ***"); Iterator
+		 * it = geoSet.iterator();
+		 * 
+		 * while (it.hasNext()) { GeoElement g = (GeoElement) it.next();
+		 * Application.debug(g.getConstructionIndex() + ": " + g); }
+		 */
+	}
+
+	private void addToLabelSets(GeoElement geo) {
 		geoSetLabelOrder.add(geo);
 
 		// get ordered type set
@@ -2020,14 +2044,29 @@ public class Construction {
 			typeSet = createTypeSet(type);
 		}
 		typeSet.add(geo);
+	}
 
-		/*
-		 * Application.debug("*** geoSet order (add " + geo + ") ***"); Iterator
-		 * it = geoSet.iterator();
-		 * 
-		 * while (it.hasNext()) { GeoElement g = (GeoElement) it.next();
-		 * Application.debug(g.getConstructionIndex() + ": " + g); }
-		 */
+	/**
+	 * Rebuilds the sets in label order from the set in construction order if
+	 * they were not updated for each label change (during file loading).
+	 * Sorting once is much cheaper than rebalancing the trees with each of
+	 * the many label changes in a big file.
+	 */
+	private void validateLabelSets() {
+		if (labelSetsValid) {
+			return;
+		}
+		labelSetsValid = true;
+		// keep the set instances, callers may hold them
+		geoSetLabelOrder.clear();
+		for (TreeSet<GeoElement> typeSet : geoSetsTypeMap.values()) {
+			typeSet.clear();
+		}
+		ArrayList<GeoElement> sorted = new ArrayList<>(geoSetConsOrder);
+		Collections.sort(sorted, labelComparator);
+		for (GeoElement geo : sorted) {
+			addToLabelSets(geo);
+		}
 	}
 
 	/**
@@ -2055,6 +2094,7 @@ public class Construction {
 	 */
 	final public TreeSet<GeoElement> getGeoSetLabelOrder(
 			GeoClass geoClassType) {
+		validateLabelSets();
 		TreeSet<GeoElement> typeSet = geoSetsTypeMap.get(geoClassType);
 		if (typeSet == null) {
 			typeSet = createTypeSet(geoClassType);
@@ -2063,8 +2103,7 @@ public class Construction {
 	}
 
 	private TreeSet<GeoElement> createTypeSet(GeoClass type) {
-		TreeSet<GeoElement> typeSet = new TreeSet<>(
-				new LabelComparator());
+		TreeSet<GeoElement> typeSet = new TreeSet<>(labelComparator);
 		geoSetsTypeMap.put(type, typeSet);
 		return typeSet;
 	}
@@ -2072,6 +2111,9 @@ public class Construction {
 	private void removeFromGeoSets(GeoElement geo) {
 		geoSetConsOrder.remove(geo);
 		geoSetWithCasCells.remove(geo);
+		if (!labelSetsValid) {
+			return;
+		}
 		geoSetLabelOrder.remove(geo);
 
 		// set ordered type set
@@ -3253,6 +3295,10 @@ public class Construction {
 	 */
 	public void setFileLoading(boolean b) {
 		fileLoading = b;
+		if (b) {
+			// label ordered sets are rebuilt on first use
+			labelSetsValid = false;
+		}
 	}
 
 	/**
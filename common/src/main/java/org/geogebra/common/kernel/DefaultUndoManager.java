@@ -12,32 +12,38 @@ import org.geogebra.common.plugin.EventType;
  */
 public class DefaultUndoManager extends UndoManager {
 
+	/** maximal number of characters kept in the undo history */
+	private static final long MAX_STORED_CHARS = 20000000;
+
 	private ArrayList<UndoPossibleListener> mListener = new ArrayList<>();
 
+	/** XML of all states, unchanged elements are shared between states */
+	final UndoXMLStore xmlStore = new UndoXMLStore();
+
 	/**
-	 * Wrapper around string
+	 * Wrapper around stored XML
 	 */
-    static protected class DefaultAppState implements AppState {
-        private String xml;
+    protected class DefaultAppState implements AppState {
+        private UndoXMLStore.Snapshot snapshot;
 
 		/**
 		 * @param xml
 		 *            wrapped XML
 		 */
         DefaultAppState(String xml) {
-            this.xml = xml;
+            this.snapshot = xmlStore.add(xml);
         }
 
 		/**
 		 * @return wrapped XML
 		 */
         public String getXml() {
-            return xml;
+            return xmlStore.getXML(snapshot);
         }
 
         @Override
         public void delete() {
-			// overridden in subclases
+            xmlStore.delete(snapshot);
         }
     }
 
@@ -83,10 +89,18 @@ public class DefaultUndoManager extends UndoManager {
         app.getEventDispatcher().dispatchEvent(new Event(EventType.STOREUNDO, null));
     }
 
+	@Override
+	protected boolean isHistoryTooLarge() {
+		return xmlStore.getStoredChars() > MAX_STORED_CHARS;
+	}
+
     @Override
 	protected void loadUndoInfo(AppState state, String slideID) {
         try {
-			processXML(((DefaultAppState) state).getXml(), false);
+			String xml = ((DefaultAppState) state).getXml();
+			if (!processChangedElements(xml)) {
+				processXML(xml, false);
+			}
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -9,11 +9,15 @@ import java.util.List;
 import java.util.TreeSet;
 
 import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.cas.CASAsyncExecutor;
+import org.geogebra.common.cas.CASResultStore;
 import org.geogebra.common.cas.GeoGebraCAS;
+import org.geogebra.common.cas.giac.CASgiac;
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceCommon;
 import org.geogebra.common.euclidian.EuclidianViewInterfaceSlim;
 import org.geogebra.common.factories.FormatFactory;
+import org.geogebra.common.factories.UtilFactory;
 import org.geogebra.common.gui.SetLabels;
 import org.geogebra.common.gui.SetOrientation;
 import org.geogebra.common.gui.dialog.options.OptionsCAS;
@@ -24,6 +28,8 @@ import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoIf;
 import org.geogebra.common.kernel.algos.AlgoMacro;
 import org.geogebra.common.kernel.algos.AlgoPointVector;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
+import org.geogebra.common.kernel.algos.TaskRunner;
 import org.geogebra.common.kernel.algos.AlgoVectorPoint;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DependentAlgo;
@@ -90,6 +96,7 @@ import org.geogebra.common.util.MyMath;
 import org.geogebra.common.util.NumberFormatAdapter;
 import org.geogebra.common.util.ScientificFormatAdapter;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.KernelMetrics;
 import org.geogebra.common.util.debug.Log;
 
 import com.himamis.retex.editor.share.util.Unicode;
@@ -308,6 +315,10 @@ public class Kernel implements SpecialPointsListener {
 	private EquationSolver eqnSolver;
 	private SystemOfEquationsSolver sysEqSolv;
 	private ExtremumFinderI extrFinder;
+	private AlgoUpdateScheduler algoUpdateScheduler;
+	private TaskRunner taskRunner;
+	private UpdateTransaction updateTransaction;
+	private KernelMetrics metrics;
 	/** Parser */
 	protected Parser parser;
 
@@ -352,6 +363,8 @@ public class Kernel implements SpecialPointsListener {
 
 	private boolean isSaving;
 	private MaxSizeHashMap<String, String> ggbCasCache;
+	private CASResultStore casResultStore;
+	private CASAsyncExecutor casAsyncExecutor;
 	/** min real world x for all views */
 	protected double[] xmin = new double[1];
 	/** max real world x for all views */
@@ -543,6 +556,117 @@ public class Kernel implements SpecialPointsListener {
 		return extrFinder;
 	}
 
+	/**
+	 * @return scheduler for updating sets of dependent algorithms
+	 */
+	final public AlgoUpdateScheduler getAlgoUpdateScheduler() {
+		if (algoUpdateScheduler == null) {
+			if (app.has(Feature.PARALLEL_UPDATE)
+					&& UtilFactory.getPrototype() != null) {
+				algoUpdateScheduler = UtilFactory.getPrototype()
+						.newAlgoUpdateScheduler();
+			} else {
+				algoUpdateScheduler = new AlgoUpdateScheduler();
+			}
+		}
+		return algoUpdateScheduler;
+	}
+
+	/**
+	 * @return runner for independent parts of one computation; callers check
+	 *         their own feature flag before splitting work
+	 */
+	final public TaskRunner getTaskRunner() {
+		if (taskRunner == null) {
+			if (UtilFactory.getPrototype() != null) {
+				taskRunner = UtilFactory.getPrototype().newTaskRunner();
+			} else {
+				taskRunner = new TaskRunner();
+			}
+		}
+		return taskRunner;
+	}
+
+	/**
+	 * @param runner
+	 *            runner for independent parts of one computation
+	 */
+	public void setTaskRunner(TaskRunner runner) {
+		this.taskRunner = runner;
+	}
+
+	/**
+	 * @return per object timing of kernel work, disabled by default
+	 */
+	final public KernelMetrics getMetrics() {
+		if (metrics == null) {
+			metrics = new KernelMetrics(app);
+		}
+		return metrics;
+	}
+
+	/**
+	 * Starts collecting updates: until the matching
+	 * {@link #commitUpdateTransaction()}, update cascades are postponed and
+	 * views are not notified. Transactions may be nested, only the outermost
+	 * commit updates the construction and views.
+	 */
+	public void beginUpdateTransaction() {
+		if (updateTransaction == null) {
+			updateTransaction = new UpdateTransaction(this);
+		}
+		updateTransaction.begin();
+	}
+
+	/**
+	 * Updates all elements changed since {@link #beginUpdateTransaction()}
+	 * with their dependent objects and notifies each view once per element.
+	 */
+	public void commitUpdateTransaction() {
+		if (updateTransaction != null) {
+			updateTransaction.commit();
+		}
+	}
+
+	/**
+	 * @return whether an update transaction is open
+	 */
+	public boolean isUpdateTransactionActive() {
+		return updateTransaction != null && updateTransaction.isActive();
+	}
+
+	/**
+	 * @return number of open update transactions
+	 */
+	public int getUpdateTransactionDepth() {
+		return updateTransaction == null ? 0 : updateTransaction.getDepth();
+	}
+
+	/**
+	 * Commits open update transactions until only the given number is open,
+	 * e.g. when a script failed before its commit.
+	 * 
+	 * @param depth
+	 *            number of transactions to keep open
+	 */
+	public void commitUpdateTransactions(int depth) {
+		while (getUpdateTransactionDepth() > depth) {
+			commitUpdateTransaction();
+		}
+	}
+
+	/**
+	 * @param geo
+	 *            element whose update cascade was requested
+	 * @param dragging
+	 *            whether the update was triggered by drag
+	 * @return whether the cascade is postponed by an open update transaction
+	 */
+	public boolean deferUpdateCascade(GeoElement geo, boolean dragging) {
+		return updateTransaction != null
+				&& updateTransaction.deferUpdateCascade(geo, dragging);
+	}
+
 	/**
 	 * @return parser for GGB and CAS expressions
 	 */
@@ -2845,8 +2969,8 @@ public class Kernel implements SpecialPointsListener {
 			MyArbitraryConstant arbconst, StringTemplate tpl)
 			throws CASException {
 		String result = null;
-		if (useCaching && hasCasCache()) {
-			result = getCasCache().get(exp);
+		if (useCaching) {
+			result = getCASResult(exp);
 			if (result != null) {
 				// caching worked
 				return result;
@@ -2857,7 +2981,7 @@ public class Kernel implements SpecialPointsListener {
 		result = getGeoGebraCAS().evaluateGeoGebraCAS(exp, arbconst, tpl, this);
 
 		if (useCaching) {
-			getCasCache().put(exp, result);
+			storeCASResult(exp, result);
 		}
 		return result;
 	}
@@ -2870,22 +2994,113 @@ public class Kernel implements SpecialPointsListener {
 	 *             error
 	 */
 	public String evaluateRawGeoGebraCAS(String exp) throws Throwable {
+		String result = getCASResult(exp);
+		if (result != null) {
+			// caching worked
+			return result;
+		}
+
+		// evaluate in GeoGebraCAS
+		result = getGeoGebraCAS().evaluateRaw(exp);
+
+		storeCASResult(exp, result);
+
+		return result;
+	}
+
+	/**
+	 * @param store
+	 *            store for CAS results that are not in the in-memory cache,
+	 *            null to use the in-memory cache only
+	 */
+	public void setCASResultStore(CASResultStore store) {
+		this.casResultStore = store;
+	}
+
+	/**
+	 * @return store for CAS results, may be null
+	 */
+	public CASResultStore getCASResultStore() {
+		return casResultStore;
+	}
+
+	/**
+	 * @param executor
+	 *            executor for asynchronous CAS commands, null to evaluate
+	 *            them synchronously
+	 */
+	public void setCASAsyncExecutor(CASAsyncExecutor executor) {
+		this.casAsyncExecutor = executor;
+	}
+
+	/**
+	 * @return executor for asynchronous CAS commands, may be null
+	 */
+	public CASAsyncExecutor getCASAsyncExecutor() {
+		return casAsyncExecutor;
+	}
+
+	/**
+	 * @return CAS that should leave uncached Giac evaluations to the async
+	 *         executor, null if they should be evaluated synchronously
+	 */
+	public CASgiac getDeferringCAS() {
+		if (casAsyncExecutor == null || cons.isFileLoading()) {
+			return null;
+		}
+		CASGenericInterface cas = getGeoGebraCAS().getCurrentCAS();
+		return cas instanceof CASgiac ? (CASgiac) cas : null;
+	}
+
+	/**
+	 * Looks up CAS result in the in-memory cache and then in the result
+	 * store.
+	 * 
+	 * @param exp
+	 *            CAS input
+	 * @return cached result or null
+	 */
+	public String getCASResult(String exp) {
 		String result = null;
 		if (hasCasCache()) {
 			result = getCasCache().get(exp);
 			if (result != null) {
-				// Log.debug("result from cache " + result);
-				// caching worked
 				return result;
 			}
 		}
+		if (casResultStore != null) {
+			result = casResultStore.get(getCASResultKey(exp));
+			if (result != null) {
+				getCasCache().put(exp, result);
+			}
+		}
+		return result;
+	}
 
-		// evaluate in GeoGebraCAS
-		result = getGeoGebraCAS().evaluateRaw(exp);
-
+	/**
+	 * Puts CAS result to the in-memory cache and to the result store.
+	 * 
+	 * @param exp
+	 *            CAS input
+	 * @param result
+	 *            CAS result
+	 */
+	public void storeCASResult(String exp, String result) {
 		getCasCache().put(exp, result);
+		// don't keep failures, they may depend on timeout or CAS loading
+		if (casResultStore != null && result != null && !"?".equals(result)
+				&& result.length() > 0) {
+			casResultStore.put(getCASResultKey(exp), result);
+		}
+	}
 
-		return result;
+	/**
+	 * @param exp
+	 *            CAS input
+	 * @return CAS input with settings that influence the result
+	 */
+	private String getCASResultKey(String exp) {
+		return getAngleUnit() + ";" + exp;
 	}
 
 	public void putToCasCache(String exp, String result) {
@@ -3106,6 +3321,12 @@ public class Kernel implements SpecialPointsListener {
 		if (clearScripts) {
 			cons.getArbitraryConsTable().clear();
 		}
+		if (updateTransaction != null) {
+			updateTransaction.reset();
+		}
+		if (metrics != null) {
+			metrics.clearObjects();
+		}
 		cons.clearConstruction();
 		notifyClearView();
 		notifyRepaint();
@@ -3540,6 +3761,9 @@ public class Kernel implements SpecialPointsListener {
 	 * Notify all views to repaint.
 	 */
 	public final void notifyRepaint() {
+		if (updateTransaction != null && updateTransaction.deferRepaint()) {
+			return;
+		}
 		if (notifyRepaint && notifyViewsActive) {
 			for (View view : views) {
 				view.repaintView();
@@ -3940,6 +4164,9 @@ public class Kernel implements SpecialPointsListener {
 	 *            removed element
 	 */
 	public final void notifyRemove(GeoElement geo) {
+		if (updateTransaction != null) {
+			updateTransaction.removed(geo);
+		}
 		if (notifyViewsActive) {
 			if (geo.isLabelSet()) {
 				this.deleteList.add(geo);
@@ -4006,6 +4233,10 @@ public class Kernel implements SpecialPointsListener {
 	public final void notifyUpdate(GeoElement geo) {
 		// event dispatcher should not collect calls to stay compatible with 4.0
 		if (notifyViewsActive) {
+			if (updateTransaction != null
+					&& updateTransaction.deferNotifyUpdate(geo)) {
+				return;
+			}
 			for (View view : views) {
 				view.update(geo);
 			}
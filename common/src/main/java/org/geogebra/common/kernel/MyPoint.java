@@ -240,6 +240,14 @@ public class MyPoint extends GPoint2D implements Point {
 		return segmentType;
 	}
 
+	/**
+	 * @param segmentType
+	 *            segment type
+	 */
+	public void setSegmentType(SegmentType segmentType) {
+		this.segmentType = segmentType;
+	}
+
 	/**
 	 * @return copy of this point
 	 */
@@ -1,10 +1,16 @@
 package org.geogebra.common.kernel;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.ListIterator;
+import java.util.TreeSet;
 
+import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.main.App;
 import org.geogebra.common.plugin.EventType;
+import org.geogebra.common.util.debug.KernelMetrics;
 
 /**
  * Undo manager common to Desktop and Web
@@ -25,6 +31,7 @@ public abstract class UndoManager {
 	/** invariant: iterator.previous() is current state */
 	public ListIterator<UndoCommand> iterator;
 	private boolean storeUndoInfoNeededForProperties = false;
+	private boolean restoringCurrent = false;
 
 	/**
 	 * Interface for application state
@@ -140,6 +147,62 @@ public abstract class UndoManager {
 		construction.setCasCellUpdate(false);
 	}
 
+	/**
+	 * Restores stored state by reloading only the elements that differ from
+	 * the current construction. This is the case for undoing moves and
+	 * property changes, which is much cheaper than rebuilding the whole
+	 * construction.
+	 * 
+	 * @param strXML
+	 *            XML of the stored state
+	 * @return whether the state was restored; false if objects were added,
+	 *         removed or redefined since, in that case the whole XML needs to
+	 *         be processed
+	 * @throws Exception
+	 *             on trouble with parsing
+	 */
+	protected final synchronized boolean processChangedElements(
+			String strXML) throws Exception {
+		if (restoringCurrent) {
+			return false;
+		}
+		ArrayList<String> changed = UndoXMLStore.getChangedElements(strXML,
+				construction.getCurrentUndoXML(true).toString());
+		if (changed == null) {
+			return false;
+		}
+		ArrayList<GeoElement> geos = new ArrayList<>();
+		StringBuilder sb = new StringBuilder();
+		sb.append("<geogebra format=\"");
+		sb.append(GeoGebraConstants.XML_FILE_FORMAT);
+		sb.append("\">\n<construction>\n");
+		for (String element : changed) {
+			int start = element.indexOf(" label=\"") + 8;
+			GeoElement geo = construction.lookupLabel(
+					element.substring(start, element.indexOf('"', start)));
+			if (geo == null) {
+				return false;
+			}
+			geos.add(geo);
+			sb.append(element);
+			sb.append("</element>\n");
+		}
+		sb.append("</construction>\n</geogebra>");
+		if (geos.isEmpty()) {
+			return true;
+		}
+		construction.setCasCellUpdate(true);
+		try {
+			construction.getXMLio().processXMLString(sb.toString(), false,
+					false, false);
+		} finally {
+			construction.setCasCellUpdate(false);
+		}
+		GeoElement.updateCascade(geos, new TreeSet<AlgoElement>(), true);
+		app.getKernel().notifyRepaint();
+		return true;
+	}
+
 	/**
 	 * Loads previous construction state from undo info list.
 	 */
@@ -194,7 +257,13 @@ public abstract class UndoManager {
 	final public synchronized void restoreCurrentUndoInfo() {
 		app.getSelectionManager().storeSelectedGeosNames();
 		if (iterator != null) {
-			loadUndoInfo(iterator.previous().getAppState(), null);
+			// callers expect the construction to be rebuilt
+			restoringCurrent = true;
+			try {
+				loadUndoInfo(iterator.previous().getAppState(), null);
+			} finally {
+				restoringCurrent = false;
+			}
 			iterator.next();
 			updateUndoActions();
 		}
@@ -255,7 +324,15 @@ public abstract class UndoManager {
 	 *            true to restore current
 	 */
 	final public void storeUndoInfo(final boolean refresh) {
-		storeUndoInfo(construction.getCurrentUndoXML(true), refresh);
+		KernelMetrics metrics = app.getKernel().getMetrics();
+		if (metrics.isEnabled()) {
+			double start = metrics.now();
+			StringBuilder undoXML = construction.getCurrentUndoXML(true);
+			storeUndoInfo(undoXML, refresh);
+			metrics.addUndoSnapshot(undoXML.length(), metrics.now() - start);
+		} else {
+			storeUndoInfo(construction.getCurrentUndoXML(true), refresh);
+		}
 		storeUndoInfoNeededForProperties = false;
 	}
 
@@ -273,6 +350,10 @@ public abstract class UndoManager {
 	 * Clears all undo information
 	 */
 	public synchronized void clearUndoInfo() {
+		// release stored states
+		for (UndoCommand command : undoInfoList) {
+			command.delete();
+		}
 		undoInfoList.clear();
 		iterator = undoInfoList.listIterator();
 	}
@@ -291,7 +372,8 @@ public abstract class UndoManager {
 		}
 
 		// delete first if too many in list
-		if (undoInfoList.size() > MAX_CAPACITY) {
+		while (undoInfoList.size() > MAX_CAPACITY
+				|| (undoInfoList.size() > 2 && isHistoryTooLarge())) {
 			// use iterator to delete to avoid
 			// ConcurrentModificationException
 			// go to beginning of list
@@ -309,6 +391,14 @@ public abstract class UndoManager {
 		// debugStates();
 	}
 
+	/**
+	 * @return whether the stored states use too much memory, in that case
+	 *         the oldest ones are dropped
+	 */
+	protected boolean isHistoryTooLarge() {
+		return false;
+	}
+
 	/**
 	 * Notify about properties change
 	 */
@@ -0,0 +1,212 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Keeps construction XML snapshots for undo. Each snapshot is split into
+ * chunks starting at lines that are not indented (elements, commands,
+ * expressions, ...), chunks that are equal to chunks of other snapshots are
+ * stored only once. Consecutive undo points usually differ in a few elements
+ * only, so each of them costs memory proportional to the change plus one
+ * reference per element.
+ */
+public class UndoXMLStore {
+
+	private final HashMap<String, Chunk> chunks = new HashMap<>();
+	private Snapshot last;
+	private long storedChars = 0;
+
+	private static class Chunk {
+		final String text;
+		int references = 0;
+
+		Chunk(String text) {
+			this.text = text;
+		}
+	}
+
+	/**
+	 * Stored XML
+	 */
+	public static final class Snapshot {
+		final Chunk[] parts;
+		private final int length;
+		private boolean deleted = false;
+
+		Snapshot(Chunk[] parts, int length) {
+			this.parts = parts;
+			this.length = length;
+		}
+
+		/**
+		 * @return length of the XML
+		 */
+		public int getLength() {
+			return length;
+		}
+	}
+
+	/**
+	 * Stores XML, sharing unchanged parts with previously stored snapshots.
+	 *
+	 * @param xml
+	 *            construction XML
+	 * @return snapshot
+	 */
+	public Snapshot add(String xml) {
+		ArrayList<Chunk> parts = new ArrayList<>();
+		Chunk[] previous = last == null ? null : last.parts;
+		int start = 0;
+		while (start < xml.length()) {
+			int end = nextChunkStart(xml, start);
+			int index = parts.size();
+			Chunk chunk;
+			// cheap check for the common case: same element as before
+			if (previous != null && index < previous.length
+					&& previous[index].text.length() == end - start
+					&& xml.regionMatches(start, previous[index].text, 0,
+							end - start)) {
+				chunk = previous[index];
+			} else {
+				chunk = intern(xml.substring(start, end));
+			}
+			chunk.references++;
+			parts.add(chunk);
+			start = end;
+		}
+		last = new Snapshot(parts.toArray(new Chunk[0]), xml.length());
+		return last;
+	}
+
+	private Chunk intern(String text) {
+		Chunk chunk = chunks.get(text);
+		if (chunk == null) {
+			chunk = new Chunk(text);
+			chunks.put(text, chunk);
+			storedChars += text.length();
+		}
+		return chunk;
+	}
+
+	/**
+	 * @param xml
+	 *            XML
+	 * @param start
+	 *            start of current chunk
+	 * @return start of next chunk or length of XML
+	 */
+	private static int nextChunkStart(String xml, int start) {
+		int pos = start;
+		while (true) {
+			pos = xml.indexOf('\n', pos);
+			if (pos < 0 || pos + 1 >= xml.length()) {
+				return xml.length();
+			}
+			pos++;
+			if (xml.charAt(pos) == '<') {
+				return pos;
+			}
+		}
+	}
+
+	/**
+	 * Compares stored XML with XML of the current construction, chunk by
+	 * chunk.
+	 *
+	 * @param stored
+	 *            XML of a stored state
+	 * @param current
+	 *            XML of the current construction
+	 * @return chunks of the stored XML that define the same element as the
+	 *         corresponding current chunk but differ from it, without the
+	 *         closing tag; null if the two XMLs differ in anything else
+	 *         (objects added, removed, redefined or reordered, view or kernel
+	 *         settings changed)
+	 */
+	public static ArrayList<String> getChangedElements(String stored,
+			String current) {
+		ArrayList<String> changed = new ArrayList<>();
+		int start = 0;
+		int currentStart = 0;
+		while (start < stored.length() && currentStart < current.length()) {
+			int end = nextChunkStart(stored, start);
+			int currentEnd = nextChunkStart(current, currentStart);
+			if (end - start != currentEnd - currentStart
+					|| !stored.regionMatches(start, current, currentStart,
+							end - start)) {
+				if (isElement(stored, start, end)
+						&& isElement(current, currentStart, currentEnd)
+						&& sameFirstLine(stored, start, current,
+								currentStart)) {
+					changed.add(stored.substring(start, end));
+				} else if (!stored.startsWith("<geogebra ", start)
+						|| !current.startsWith("<geogebra ", currentStart)) {
+					// header may only differ in construction ID
+					return null;
+				}
+			}
+			start = end;
+			currentStart = currentEnd;
+		}
+		if (start < stored.length() || currentStart < current.length()) {
+			return null;
+		}
+		return changed;
+	}
+
+	private static boolean isElement(String xml, int start, int end) {
+		int lineEnd = xml.indexOf('\n', start);
+		return lineEnd >= 0 && lineEnd < end
+				&& xml.startsWith("<element ", start);
+	}
+
+	private static boolean sameFirstLine(String xml, int start, String other,
+			int otherStart) {
+		int length = xml.indexOf('\n', start) - start + 1;
+		return other.regionMatches(otherStart, xml, start, length);
+	}
+
+	/**
+	 * @param snapshot
+	 *            stored snapshot
+	 * @return XML of the snapshot
+	 */
+	public String getXML(Snapshot snapshot) {
+		StringBuilder sb = new StringBuilder(snapshot.length);
+		for (Chunk chunk : snapshot.parts) {
+			sb.append(chunk.text);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Releases chunks that are not used by other snapshots.
+	 *
+	 * @param snapshot
+	 *            snapshot that is no longer needed
+	 */
+	public void delete(Snapshot snapshot) {
+		if (snapshot.deleted) {
+			return;
+		}
+		snapshot.deleted = true;
+		for (Chunk chunk : snapshot.parts) {
+			chunk.references--;
+			if (chunk.references == 0) {
+				chunks.remove(chunk.text);
+				storedChars -= chunk.text.length();
+			}
+		}
+		if (last == snapshot) {
+			last = null;
+		}
+	}
+
+	/**
+	 * @return number of characters stored in all snapshots together
+	 */
+	public long getStoredChars() {
+		return storedChars;
+	}
+}
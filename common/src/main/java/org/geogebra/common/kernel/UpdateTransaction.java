@@ -0,0 +1,184 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Collects updates of the construction between
+ * {@link Kernel#beginUpdateTransaction()} and
+ * {@link Kernel#commitUpdateTransaction()}.
+ *
+ * While the transaction is open, update cascades are only recorded and views
+ * are not notified. On commit all recorded elements are updated together with
+ * one joined set of dependent algorithms, then every changed element is sent
+ * to the views once, inside one batch update, followed by one repaint.
+ *
+ * Dependent objects are therefore not up to date before the commit. Clearing
+ * the construction drops the transaction with all pending updates.
+ */
+public class UpdateTransaction {
+
+	private final Kernel kernel;
+	private int depth = 0;
+	private boolean committing = false;
+	/** elements with pending update cascade, value: triggered by drag */
+	private final LinkedHashMap<GeoElement, Boolean> roots =
+			new LinkedHashMap<>();
+	private final LinkedHashSet<GeoElement> updated = new LinkedHashSet<>();
+	private final TreeSet<AlgoElement> tempSet = new TreeSet<>();
+	private boolean repaint = false;
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 */
+	UpdateTransaction(Kernel kernel) {
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Opens the transaction or a nested one.
+	 */
+	void begin() {
+		depth++;
+	}
+
+	/**
+	 * @return whether a transaction is open or being committed
+	 */
+	boolean isActive() {
+		return depth > 0 || committing;
+	}
+
+	/**
+	 * @return number of open (nested) transactions
+	 */
+	int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @param geo
+	 *            element whose update cascade was requested
+	 * @param dragging
+	 *            whether the update was triggered by drag
+	 * @return whether the cascade is postponed until commit
+	 */
+	boolean deferUpdateCascade(GeoElement geo, boolean dragging) {
+		if (depth == 0 || committing) {
+			return false;
+		}
+		Boolean old = roots.get(geo);
+		roots.put(geo, dragging && (old == null || old));
+		return true;
+	}
+
+	/**
+	 * @param geo
+	 *            updated element
+	 * @return whether the views are notified on commit
+	 */
+	boolean deferNotifyUpdate(GeoElement geo) {
+		if (!isActive()) {
+			return false;
+		}
+		updated.add(geo);
+		return true;
+	}
+
+	/**
+	 * @return whether the repaint is postponed until commit
+	 */
+	boolean deferRepaint() {
+		if (!isActive()) {
+			return false;
+		}
+		repaint = true;
+		return true;
+	}
+
+	/**
+	 * Forgets removed element.
+	 *
+	 * @param geo
+	 *            removed element
+	 */
+	void removed(GeoElement geo) {
+		if (isActive()) {
+			roots.remove(geo);
+			updated.remove(geo);
+		}
+	}
+
+	/**
+	 * Closes the transaction; the outermost commit updates the construction
+	 * and the views.
+	 */
+	void commit() {
+		if (depth == 0 || --depth > 0) {
+			return;
+		}
+		committing = true;
+		try {
+			updateRoots();
+		} finally {
+			committing = false;
+			roots.clear();
+			tempSet.clear();
+		}
+
+		if (!updated.isEmpty()) {
+			ArrayList<GeoElement> geos = new ArrayList<>(updated);
+			updated.clear();
+			kernel.notifyBatchUpdate();
+			for (GeoElement geo : geos) {
+				kernel.notifyUpdate(geo);
+			}
+			kernel.notifyEndBatchUpdate();
+		}
+		if (repaint) {
+			repaint = false;
+			kernel.notifyRepaint();
+		}
+	}
+
+	/**
+	 * Same as GeoElement.updateCascade for a list, but keeps the dragging
+	 * flag of each element.
+	 */
+	private void updateRoots() {
+		if (roots.isEmpty()) {
+			return;
+		}
+		ArrayList<Entry<GeoElement, Boolean>> geos = new ArrayList<>(
+				roots.entrySet());
+		roots.clear();
+		for (Entry<GeoElement, Boolean> entry : geos) {
+			GeoElement geo = entry.getKey();
+			geo.update(entry.getValue());
+			if (geo.hasAlgoUpdateSet()) {
+				geo.getAlgoUpdateSet().addAllToCollection(tempSet);
+			}
+		}
+		if (!tempSet.isEmpty()) {
+			kernel.getAlgoUpdateScheduler().updateAll(tempSet);
+		}
+	}
+
+	/**
+	 * Drops all open transactions and pending updates.
+	 */
+	void reset() {
+		depth = 0;
+		roots.clear();
+		updated.clear();
+		tempSet.clear();
+		repaint = false;
+	}
+}
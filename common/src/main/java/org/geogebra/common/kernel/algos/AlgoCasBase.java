@@ -12,6 +12,11 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import org.geogebra.common.cas.CASAsyncExecutor;
+import org.geogebra.common.cas.CASDeferredTarget;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.CASgiac.PreparedInput;
+import org.geogebra.common.kernel.CASPendingException;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.cas.UsesCAS;
@@ -25,7 +30,8 @@ import org.geogebra.common.kernel.geos.GeoElement;
  * 
  * @author Markus Hohenwarter
  */
-public abstract class AlgoCasBase extends AlgoElement implements UsesCAS {
+public abstract class AlgoCasBase extends AlgoElement
+		implements UsesCAS, CASDeferredTarget {
 	/** Input function */
 	protected CasEvaluableFunction f;
 	/** Output function */
@@ -95,12 +101,54 @@ public abstract class AlgoCasBase extends AlgoElement implements UsesCAS {
 
 	@Override
 	public final void compute() {
+		CASAsyncExecutor executor = kernel.getCASAsyncExecutor();
 		if (!f.toGeoElement().isDefined()) {
+			// result of pending evaluation would be outdated
+			if (executor != null) {
+				executor.cancel(this);
+			}
 			g.toGeoElement().setUndefined();
 			return;
 		}
+		// the initial output is a copy of the input, don't show it
+		CASgiac cas = g.toGeoElement().isLabelSet() ? kernel.getDeferringCAS()
+				: null;
+		if (cas == null) {
+			applyCasCommand(StringTemplate.prefixedDefault);
+			return;
+		}
+		cas.setDeferring(true);
+		try {
+			applyCasCommand(StringTemplate.prefixedDefault);
+		} catch (CASPendingException e) {
+			// keep old result until the evaluation finishes
+		} finally {
+			cas.setDeferring(false);
+		}
+		PreparedInput deferred = cas.takeDeferredInput();
+		if (deferred == null) {
+			executor.cancel(this);
+		} else {
+			executor.evaluate(this, deferred,
+					getCASPriority(g.toGeoElement()));
+		}
+	}
 
-		applyCasCommand(StringTemplate.prefixedDefault);
+	@Override
+	public void resumeCAS() {
+		compute();
+		g.toGeoElement().updateCascade();
+	}
+
+	@Override
+	public void remove() {
+		if (removed) {
+			return;
+		}
+		if (kernel.getCASAsyncExecutor() != null) {
+			kernel.getCASAsyncExecutor().cancel(this);
+		}
+		super.remove();
 	}
 
 	/**
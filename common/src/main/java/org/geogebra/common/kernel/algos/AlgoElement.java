@@ -40,6 +40,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.debug.KernelMetrics;
 
 /**
  * AlgoElement is the superclass of all algorithms.
@@ -592,7 +593,7 @@ public abstract class AlgoElement extends ConstructionElement
 		// startTime = System.currentTimeMillis();
 
 		// compute output from input
-		compute();
+		computeMeasured();
 
 		// endTime = System.currentTimeMillis();
 		// computeTime += (endTime - startTime);
@@ -604,6 +605,49 @@ public abstract class AlgoElement extends ConstructionElement
 		// updateTime += (endTime - startTime );
 	}
 
+	/**
+	 * Calls compute() and records its duration when kernel metrics are
+	 * enabled. May be called from a worker thread for algorithms with
+	 * {@link #isComputeConcurrent()}.
+	 */
+	public final void computeMeasured() {
+		KernelMetrics metrics = kernel.getMetrics();
+		if (metrics.isEnabled()) {
+			double start = metrics.now();
+			compute();
+			metrics.addAlgoCompute(this, metrics.now() - start);
+		} else {
+			compute();
+		}
+	}
+
+	/**
+	 * Whether compute() only reads the input and writes the output of this
+	 * algorithm. In that case {@link AlgoUpdateScheduler} may run it
+	 * concurrently with other such algorithms and replaces update() by
+	 * {@link #prepareCompute()}, compute() and updateDependentGeos(). Note
+	 * that "only reads" includes the methods called on the input, they must
+	 * not use scratch fields of the input geos either.
+	 * 
+	 * @return true if compute() may be called from a worker thread
+	 */
+	public boolean isComputeConcurrent() {
+		return false;
+	}
+
+	/**
+	 * Does the part of update() that comes before compute().
+	 * 
+	 * @return false if the update cascade is stopped here
+	 */
+	protected boolean prepareCompute() {
+		if (stopUpdateCascade) {
+			return false;
+		}
+		updateUnlabeledRandomGeos();
+		return true;
+	}
+
 	/**
 	 * update input random numbers without label
 	 * 
@@ -641,6 +685,19 @@ public abstract class AlgoElement extends ConstructionElement
 		return ret;
 	}
 
+	/**
+	 * @param output
+	 *            output computed by CAS
+	 * @return priority for the asynchronous CAS executor: 2 if the output is
+	 *         shown, 1 if other objects depend on it, 0 otherwise
+	 */
+	protected static int getCASPriority(GeoElement output) {
+		if (output.isVisible()) {
+			return 2;
+		}
+		return output.getAlgorithmList().isEmpty() ? 0 : 1;
+	}
+
 	/**
 	 * update output geos
 	 */
@@ -851,6 +908,7 @@ public abstract class AlgoElement extends ConstructionElement
 		removed = true;
 		cons.removeFromConstructionList(this);
 		cons.removeFromAlgorithmList(this);
+		kernel.getMetrics().remove(this);
 
 		// delete dependent objects
 		removeOutput();
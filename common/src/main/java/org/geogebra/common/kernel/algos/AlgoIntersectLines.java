@@ -84,6 +84,11 @@ public class AlgoIntersectLines extends AlgoIntersectAbstract
 		return Commands.Intersect;
 	}
 
+	@Override
+	public boolean isComputeConcurrent() {
+		return true;
+	}
+
 	@Override
 	public int getRelatedModeID() {
 		return EuclidianConstants.MODE_INTERSECT;
@@ -95,6 +95,11 @@ public class AlgoJoinPoints extends AlgoElement
 		return Commands.Line;
 	}
 
+	@Override
+	public boolean isComputeConcurrent() {
+		return true;
+	}
+
 	@Override
 	public int getRelatedModeID() {
 		return EuclidianConstants.MODE_JOIN;
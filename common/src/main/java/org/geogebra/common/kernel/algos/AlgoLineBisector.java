@@ -115,6 +115,11 @@ public class AlgoLineBisector extends AlgoElement
 		g.z = -(midPoint.x * g.x + midPoint.y * g.y) / 2.0;
 	}
 
+	@Override
+	public boolean isComputeConcurrent() {
+		return true;
+	}
+
 	@Override
 	public SymbolicParameters getSymbolicParameters() {
 		return new SymbolicParameters(this);
@@ -121,6 +121,11 @@ public class AlgoLinePointLine extends AlgoElement
 		GeoVec3D.cross(P, l.y, -l.x, 0.0, g);
 	}
 
+	@Override
+	public boolean isComputeConcurrent() {
+		return true;
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		// Michael Borcherds 2008-03-30
@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -30,11 +31,16 @@ import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.geos.GeoConic;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoLine;
 import org.geogebra.common.kernel.geos.GeoLocusND;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.implicit.GeoImplicit;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.main.App;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.util.debug.Log;
 
 /**
@@ -96,6 +102,9 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	private Construction macroCons;
 	private MacroKernel macroKernel;
 	// private AlgorithmSet macroConsAlgoSet;
+	private String locusConsXML;
+	private ArrayList<String> reservedLabels;
+	private ArrayList<LocusSegmentTracer> tracers;
 	// list with all original elements used for the macro construction
 	private TreeSet<ConstructionElement> locusConsOrigElements;
 	private TreeSet<GeoElement> Qin;
@@ -365,27 +374,27 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	private void buildLocusMacroConstruction(
 			TreeSet<ConstructionElement> locusConsElements) {
 		// build macro construction
-		macroKernel = kernel.newMacroKernel();
-		macroKernel.setGlobalVariableLookup(true);
+		tracers = null;
 
 		// tell the macro construction about reserved names:
 		// these names will not be looked up in the parent
 		// construction
+		reservedLabels = new ArrayList<>();
 		Iterator<ConstructionElement> it = locusConsElements.iterator();
 		while (it.hasNext()) {
 			ConstructionElement ce = it.next();
 			if (ce.isGeoElement()) {
 				GeoElement geo = (GeoElement) ce;
-				macroKernel.addReservedLabel(
-						geo.getLabel(StringTemplate.defaultTemplate));
+				reservedLabels
+						.add(geo.getLabel(StringTemplate.defaultTemplate));
 			}
 		}
 
 		try {
 			// get XML for macro construction of P -> Q
-			String locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
+			locusConsXML = Macro.buildMacroXML(kernel, locusConsElements)
 					.toString();
-			macroKernel.loadXML(locusConsXML);
+			macroKernel = newLocusMacroKernel();
 
 			// get the copies of P and Q from the macro kernel
 			copyP = (GeoPointND) macroKernel
@@ -428,11 +437,29 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		// //Application.debug("Q == Qcopy: " + (Q == Qcopy));
 	}
 
+	/**
+	 * @return new kernel containing a copy of the construction P -&gt; Q
+	 * @throws Exception
+	 *             when the construction XML cannot be loaded
+	 */
+	private MacroKernel newLocusMacroKernel() throws Exception {
+		MacroKernel mk = kernel.newMacroKernel();
+		mk.setGlobalVariableLookup(true);
+		for (String label : reservedLabels) {
+			mk.addReservedLabel(label);
+		}
+		mk.loadXML(locusConsXML);
+		return mk;
+	}
+
 	/**
 	 * Set all elements in locusConsElements to the current values of the main
 	 * construction
+	 * 
+	 * @param copyCons
+	 *            copy of the construction P -&gt; Q
 	 */
-	private void resetMacroConstruction() {
+	private void resetMacroConstruction(Construction copyCons) {
 		Iterator<ConstructionElement> it = locusConsOrigElements.iterator();
 		while (it.hasNext()) {
 			ConstructionElement ce = it.next();
@@ -441,7 +468,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 				// do not copy functions, their expressions already
 				// include references to the correct other geos
 				if (!geoOrig.isGeoFunction()) {
-					GeoElement geoCopy = macroCons
+					GeoElement geoCopy = copyCons
 							.lookupLabel(geoOrig.getLabelSimple());
 					if (geoCopy != null) {
 						try {
@@ -471,7 +498,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		}
 		updateScreenBordersIfNecessary();
 
-		locus.clearPoints();
+		locus.recyclePoints();
 		clearCache();
 		pointCount = 0;
 		lastX = Double.MAX_VALUE;
@@ -485,9 +512,13 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		macroKernel.setContinuous(continuous);
 
 		// update macro construction with current values of global vars
-		resetMacroConstruction();
+		resetMacroConstruction(macroCons);
 		macroCons.updateConstruction(false);
 
+		if (canTraceInParallel() && traceInParallel()) {
+			return;
+		}
+
 		// lines: start from startpoint to avoid inf. problems.
 		// Otherwise go from endpoint to endpoint
 		if (!MyDouble.isFinite(path.getMinParameter())
@@ -682,6 +713,136 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	 */
 	abstract protected boolean areEqual(GeoPointND p1, GeoPointND p2);
 
+	/**
+	 * Parts of the path can be traced at the same time if the parameter range
+	 * is bounded and all algos between P and Q can be computed concurrently.
+	 * The copies of the construction share the inputs from outside the macro
+	 * construction, so those are limited to points and lines whose reading
+	 * methods have no side effects.
+	 */
+	private boolean canTraceInParallel() {
+		if (continuous
+				|| !kernel.getApplication().has(Feature.PARALLEL_LOCUS)
+				|| !kernel.getTaskRunner().isParallel()
+				|| ((GeoElement) copyQ).isGeoElement3D()) {
+			return false;
+		}
+		GeoElement pathGeo = path.toGeoElement();
+		if (!(pathGeo instanceof GeoSegment || pathGeo instanceof GeoConic)
+				|| !MyDouble.isFinite(path.getMinParameter())
+				|| !MyDouble.isFinite(path.getMaxParameter())) {
+			return false;
+		}
+		AlgorithmSet updateSet = ((GeoElement) copyP).getAlgoUpdateSet();
+		if (updateSet.isEmpty()) {
+			return false;
+		}
+		Construction macroCons = ((GeoElement) copyP).getConstruction();
+		Iterator<AlgoElement> it = updateSet.getIterator();
+		while (it.hasNext()) {
+			AlgoElement algo = it.next();
+			if (!algo.isComputeConcurrent()) {
+				return false;
+			}
+			for (GeoElement input : algo.getInput()) {
+				if (input.getConstruction() != macroCons
+						&& !isSharedInputSafe(input)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSharedInputSafe(GeoElement input) {
+		return input instanceof GeoPoint || input instanceof GeoLine;
+	}
+
+	/**
+	 * Splits the parameter range of the path into parts that are traced in
+	 * copies of the construction at the same time.
+	 * 
+	 * @return false if the copies could not be created or tracing failed,
+	 *         the locus has to be traced sequentially then
+	 */
+	private boolean traceInParallel() {
+		TaskRunner runner = kernel.getTaskRunner();
+		int parts = runner.getParallelism();
+		if (tracers == null) {
+			tracers = new ArrayList<>();
+			try {
+				for (int i = 0; i < parts; i++) {
+					MacroKernel mk = newLocusMacroKernel();
+					GeoPointND p = (GeoPointND) mk.lookupLabel(
+							((GeoElement) copyP).getLabelSimple());
+					GeoPointND q = (GeoPointND) mk.lookupLabel(
+							((GeoElement) copyQ).getLabelSimple());
+					((GeoElement) p).setFixed(false);
+					tracers.add(new LocusSegmentTracer(mk, p, q,
+							path.toGeoElement().copy()));
+				}
+			} catch (Exception e) {
+				Log.debug("AlgoLocus: no parallel tracing, " + e.getMessage());
+				tracers = null;
+				return false;
+			}
+		}
+		parts = tracers.size();
+
+		double maxX = Double.POSITIVE_INFINITY;
+		double maxY = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < visibleEV.length; i++) {
+			if (visibleEV[i]) {
+				maxX = Math.min(maxX, maxXdist[i]);
+				maxY = Math.min(maxY, maxYdist[i]);
+			}
+		}
+		if (Double.isInfinite(maxX)) {
+			maxX = maxXdist[0];
+			maxY = maxYdist[0];
+		}
+
+		double min = path.getMinParameter();
+		double max = path.getMaxParameter();
+		int steps = Math.max(8, minStepsInstance / parts);
+		ArrayList<Runnable> tasks = new ArrayList<>(parts);
+		for (int i = 0; i < parts; i++) {
+			LocusSegmentTracer tracer = tracers.get(i);
+			Construction copyCons = tracer.getConstruction();
+			resetMacroConstruction(copyCons);
+			copyCons.updateConstruction(false);
+			double from = min + (max - min) * i / parts;
+			double to = i == parts - 1 ? max
+					: min + (max - min) * (i + 1) / parts;
+			tracer.prepare(path, from, to, steps,
+					PathMover.MAX_POINTS * views / parts, maxX, maxY, i > 0);
+			tasks.add(tracer);
+		}
+		try {
+			runner.runAll(tasks);
+		} catch (RuntimeException e) {
+			Log.debug("AlgoLocus: parallel tracing failed, " + e);
+			tracers = null;
+			return false;
+		}
+
+		// like the sequential tracing, keep the points found before time
+		// ran out
+		for (LocusSegmentTracer tracer : tracers) {
+			for (int j = 0; j < tracer.getSize(); j++) {
+				insertPoint(tracer.getX(j), tracer.getY(j), 0,
+						tracer.getLineTo(j));
+			}
+			if (tracer.isTimeExceeded()) {
+				Log.error("AlgoLocus: max time exceeded");
+				maxTimeExceeded = true;
+				break;
+			}
+		}
+		locus.setDefined(pointCount > 0);
+		return true;
+	}
+
 	private static boolean isPathIterable(GeoElement geoElement) {
 		if (geoElement.isGeoImplicitPoly()) {
 			return ((GeoImplicit) geoElement).isOnScreen();
@@ -820,6 +981,21 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	 */
 	abstract protected void insertPoint(GeoPointND point, boolean lineTo);
 
+	/**
+	 * Insert point into locus
+	 * 
+	 * @param x
+	 *            x-coord
+	 * @param y
+	 *            y-coord
+	 * @param z
+	 *            z-coord (ignored for 2D locus)
+	 * @param lineTo
+	 *            whether to connect it with previous point
+	 */
+	abstract protected void insertPoint(double x, double y, double z,
+			boolean lineTo);
+
 	/**
 	 * 
 	 * @param point
@@ -381,7 +381,7 @@ public abstract class AlgoLocusSliderND<T extends MyPoint> extends AlgoElement
 
 		updateScreenBordersIfNecessary();
 
-		locus.clearPoints();
+		locus.recyclePoints();
 		clearCache();
 		pointCount = 0;
 		lastX = Double.MAX_VALUE;
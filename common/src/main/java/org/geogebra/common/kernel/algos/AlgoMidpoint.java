@@ -70,6 +70,11 @@ public class AlgoMidpoint extends AlgoMidpointND
 		getPoint().setCoords((GeoPoint) point);
 	}
 
+	@Override
+	public boolean isComputeConcurrent() {
+		return true;
+	}
+
 	// Made public for LocusEqu
 	@Override
 	public GeoPoint getP() {
@@ -139,6 +139,11 @@ public class AlgoOrthoLinePointLine extends AlgoElement
 		GeoVec3D.cross(P, l.x, l.y, 0.0, g);
 	}
 
+	@Override
+	public boolean isComputeConcurrent() {
+		return true;
+	}
+
 	@Override
 	public SymbolicParameters getSymbolicParameters() {
 		return new SymbolicParameters(this);
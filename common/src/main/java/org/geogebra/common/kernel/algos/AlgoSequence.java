@@ -27,6 +27,8 @@ import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.main.Feature;
+import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -51,6 +53,7 @@ public class AlgoSequence extends AlgoElement {
 	private boolean expIsFunctionOrCurve;
 	private boolean isEmpty;
 	private AlgoElement expressionParentAlgo;
+	private double[] packedValues;
 
 	// we need to check that some Object[] reference didn't cause infinite
 	// update cycle
@@ -223,7 +226,9 @@ public class AlgoSequence extends AlgoElement {
 		cons.setSuppressLabelCreation(true);
 
 		// update list
-		if (setValuesOnly) {
+		if (canPackValues()) {
+			createPackedList(from, to, step);
+		} else if (setValuesOnly) {
 			updateListItems(from, to, step);
 		} else {
 			createNewList(from, to, step);
@@ -289,6 +294,64 @@ public class AlgoSequence extends AlgoElement {
 		last_step = step;
 	}
 
+	/**
+	 * Plain numbers without drawing information can be stored in the list
+	 * without creating GeoNumeric objects.
+	 */
+	private boolean canPackValues() {
+		return kernel.getApplication().has(Feature.PACKED_NUMERIC_LIST)
+				&& expression.getGeoClassType() == GeoClass.NUMERIC
+				&& expression.getDrawAlgorithm() == expression
+						.getParentAlgorithm();
+	}
+
+	private void createPackedList(double from, double to, double step) {
+		int i = 0;
+		int oldListSize = list.size();
+		if (!isEmpty) {
+			if (Double.isInfinite((to - from) / step)) {
+				list.clear();
+				list.setUndefined();
+				return;
+			}
+			int n = (int) Math.ceil((to - from) / step) + 1;
+			if (packedValues == null || packedValues.length < n) {
+				packedValues = new double[n];
+			}
+
+			double currentVal = from;
+			while ((step > 0 && currentVal <= to + Kernel.MIN_PRECISION)
+					|| (step < 0 && currentVal >= to - Kernel.MIN_PRECISION)) {
+				updateLocalVar(currentVal);
+				if (i == packedValues.length) {
+					double[] bigger = new double[2 * i];
+					System.arraycopy(packedValues, 0, bigger, 0, i);
+					packedValues = bigger;
+				}
+				packedValues[i] = expression.isDefined()
+						? expression.evaluateDouble() : Double.NaN;
+				currentVal += step;
+				if (DoubleUtil.isInteger(currentVal)) {
+					currentVal = Math.round(currentVal);
+				}
+				i++;
+			}
+		}
+		list.setPackedValues(packedValues, i);
+
+		// cached elements are not used any more
+		for (int k = Math.min(oldListSize, list.getCacheSize()) - 1; k >= i
+				&& k >= 0; k--) {
+			GeoElement oldElement = list.getCached(k);
+			oldElement.setUndefined();
+			oldElement.update();
+		}
+
+		last_from = from;
+		last_to = to;
+		last_step = step;
+	}
+
 	private void addElement(int i) {
 		// only add new objects
 		GeoElement listElement = null;
@@ -21,6 +21,7 @@ import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.statistics.ListStatistics;
 
 /**
  * Mean, variance, sum, sum of squares, standard deviation of a list adapted
@@ -79,7 +80,8 @@ public abstract class AlgoStats1D extends AlgoElement {
 		this.stat = stat;
 		this.Truncate = truncate;
 
-		if (geoList.size() > 0 && geoList.get(0).isAngle()) {
+		if (!geoList.isPacked() && geoList.size() > 0
+				&& geoList.get(0).isAngle()) {
 			result = new GeoAngle(cons);
 
 			// allow unbounded angles (from ggb44). This could break old files
@@ -189,17 +191,32 @@ public abstract class AlgoStats1D extends AlgoElement {
 
 		// list of numbers only, no frequencies
 		if (geoList2 == null) {
+			ListStatistics stats = geoList.getStatistics();
 			double val;
-			for (int i = 0; i < size; i++) {
-				geo = geoList.get(i);
-				if (geo instanceof NumberValue) {
+			if (stats.isNumeric() && size == stats.size()) {
+				// sums shared with other statistics of this list
+				sumVal = stats.getSum();
+				sumSquares = stats.getSumSquares();
+				product = stats.getProduct();
+			} else if (stats.isNumeric()) {
+				double[] values = stats.getValues();
+				for (int i = 0; i < size; i++) {
+					val = values[i];
+					sumVal += val;
+					sumSquares += val * val;
+					product *= val;
+				}
+			} else {
+				for (int i = 0; i < size; i++) {
+					geo = geoList.get(i);
+					if (!(geo instanceof NumberValue)) {
+						result.setUndefined();
+						return;
+					}
 					val = geo.evaluateDouble();
 					sumVal += val;
 					sumSquares += val * val;
 					product *= val;
-				} else {
-					result.setUndefined();
-					return;
 				}
 			}
 
@@ -265,10 +282,12 @@ public abstract class AlgoStats1D extends AlgoElement {
 
 			double sumAbsoluteDeviation = 0;
 			if (geoList2 == null) {
+				ListStatistics stats = geoList.getStatistics();
+				double[] values = stats.isNumeric() ? stats.getValues() : null;
 				double val;
 				for (int i = 0; i < size; i++) {
-					geo = geoList.get(i);
-					val = geo.evaluateDouble();
+					val = values != null ? values[i]
+							: geoList.get(i).evaluateDouble();
 					sumAbsoluteDeviation += Math.abs(mu - val);
 				}
 			}
@@ -0,0 +1,154 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Updates sets of algorithms. The algorithms are split into topological
+ * layers of the dependency graph; algorithms of one layer that support
+ * concurrent computation ({@link AlgoElement#isComputeConcurrent()}) are
+ * computed together by {@link #computeAll(AlgoElement[], int)}, everything
+ * else (including updating the output geos) is done sequentially in
+ * construction order.
+ *
+ * This implementation computes in the calling thread, so the result is the
+ * same as updating the algorithms one by one; platforms with threads may
+ * override {@link #isParallel()} and {@link #computeAll(AlgoElement[], int)}.
+ */
+public class AlgoUpdateScheduler {
+
+	/** smaller sets are always updated one by one */
+	private static final int MIN_SET_SIZE = 64;
+	/** minimal number of concurrent algos of one layer to use computeAll */
+	private static final int MIN_LAYER_SIZE = 16;
+
+	/**
+	 * Updates all algorithms of the set.
+	 *
+	 * @param algoSet
+	 *            algorithms sorted by construction order
+	 */
+	public void updateAll(AlgorithmSet algoSet) {
+		if (!isParallel() || algoSet.getSize() < MIN_SET_SIZE) {
+			algoSet.updateAll();
+			return;
+		}
+		updateLayers(algoSet);
+	}
+
+	/**
+	 * Updates all algorithms of the collection.
+	 *
+	 * @param algos
+	 *            algorithms sorted by construction order
+	 */
+	public void updateAll(Collection<AlgoElement> algos) {
+		if (!isParallel() || algos.size() < MIN_SET_SIZE) {
+			for (AlgoElement algo : algos) {
+				algo.update();
+			}
+			return;
+		}
+		updateLayers(algos);
+	}
+
+	/**
+	 * @return whether {@link #computeAll(AlgoElement[], int)} uses other
+	 *         threads, so that splitting into layers pays off
+	 */
+	protected boolean isParallel() {
+		return false;
+	}
+
+	/**
+	 * Calls computeMeasured() of the first count algorithms. The algorithms
+	 * do not depend on each other.
+	 *
+	 * @param algos
+	 *            algorithms
+	 * @param count
+	 *            number of algorithms to compute
+	 */
+	protected void computeAll(AlgoElement[] algos, int count) {
+		for (int i = 0; i < count; i++) {
+			algos[i].computeMeasured();
+		}
+	}
+
+	private void updateLayers(Iterable<AlgoElement> algos) {
+		ArrayList<ArrayList<AlgoElement>> layers = new ArrayList<>();
+		HashMap<AlgoElement, Integer> layerOf = new HashMap<>();
+		int maxLayer = 0;
+		for (AlgoElement algo : algos) {
+			int layer = 0;
+			GeoElement[] input = algo.getInput();
+			if (input != null) {
+				for (int i = 0; i < input.length; i++) {
+					layer = Math.max(layer,
+							layerAfter(layerOf, input[i].getParentAlgorithm()));
+				}
+			}
+			layer = Math.max(layer,
+					layerAfter(layerOf, algo.getUpdateAfterAlgo()));
+			// other algorithms may depend on more than their input (e.g.
+			// through expressions), keep them behind everything before
+			if (!algo.isComputeConcurrent()) {
+				layer = Math.max(layer, maxLayer);
+			}
+			maxLayer = Math.max(maxLayer, layer);
+			layerOf.put(algo, layer);
+			while (layers.size() <= layer) {
+				layers.add(new ArrayList<AlgoElement>());
+			}
+			layers.get(layer).add(algo);
+		}
+
+		AlgoElement[] concurrent = new AlgoElement[0];
+		for (ArrayList<AlgoElement> layer : layers) {
+			if (concurrent.length < layer.size()) {
+				concurrent = new AlgoElement[layer.size()];
+			}
+			updateLayer(layer, concurrent);
+		}
+	}
+
+	private static int layerAfter(HashMap<AlgoElement, Integer> layerOf,
+			AlgoElement parent) {
+		if (parent == null) {
+			return 0;
+		}
+		Integer parentLayer = layerOf.get(parent);
+		return parentLayer == null ? 0 : parentLayer + 1;
+	}
+
+	private void updateLayer(ArrayList<AlgoElement> layer,
+			AlgoElement[] concurrent) {
+		int count = 0;
+		for (AlgoElement algo : layer) {
+			if (algo.isComputeConcurrent() && algo.prepareCompute()) {
+				concurrent[count++] = algo;
+			}
+		}
+		if (count >= MIN_LAYER_SIZE) {
+			// metrics are created lazily, make sure it happens in this thread
+			concurrent[0].getKernel().getMetrics();
+			computeAll(concurrent, count);
+		} else {
+			for (int i = 0; i < count; i++) {
+				concurrent[i].computeMeasured();
+			}
+		}
+		int next = 0;
+		for (AlgoElement algo : layer) {
+			if (next < count && concurrent[next] == algo) {
+				algo.updateDependentGeos();
+				next++;
+			} else if (!algo.isComputeConcurrent()) {
+				algo.update();
+			}
+		}
+	}
+}
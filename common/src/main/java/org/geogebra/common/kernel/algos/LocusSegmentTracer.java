@@ -0,0 +1,252 @@
+package org.geogebra.common.kernel.algos;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.MacroKernel;
+import org.geogebra.common.kernel.Path;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+
+/**
+ * Traces the locus for one part of the path parameter range in its own copy
+ * of the locus macro construction, so that several parts can be traced at the
+ * same time. Samples are refined by bisection until neighboring points are
+ * close on screen.
+ */
+class LocusSegmentTracer implements Runnable {
+
+	/** maximal number of bisections of one initial step */
+	private static final int MAX_DEPTH = 10;
+
+	private final MacroKernel macroKernel;
+	private final GeoPointND copyP;
+	private final GeoPointND copyQ;
+	private final GeoElement pathCopy;
+
+	private double from;
+	private double to;
+	private int steps;
+	private int maxPoints;
+	private double maxXdist;
+	private double maxYdist;
+	private boolean skipFirst;
+
+	private double[] xs = new double[256];
+	private double[] ys = new double[256];
+	private boolean[] lineTos = new boolean[256];
+	private int size;
+
+	// last evaluated and last emitted sample
+	private double qx;
+	private double qy;
+	private double lastX;
+	private double lastY;
+	private boolean gap;
+	private boolean seeded;
+	private volatile boolean timeExceeded;
+
+	/**
+	 * @param macroKernel
+	 *            kernel of the construction copy
+	 * @param copyP
+	 *            moving point in the copy
+	 * @param copyQ
+	 *            locus point in the copy
+	 * @param pathCopy
+	 *            copy of the path, so that the original is only read
+	 */
+	LocusSegmentTracer(MacroKernel macroKernel, GeoPointND copyP,
+			GeoPointND copyQ, GeoElement pathCopy) {
+		this.macroKernel = macroKernel;
+		this.copyP = copyP;
+		this.copyQ = copyQ;
+		this.pathCopy = pathCopy;
+		copyP.setPath((Path) pathCopy);
+	}
+
+	/**
+	 * @return copy of the locus construction
+	 */
+	Construction getConstruction() {
+		return macroKernel.getConstruction();
+	}
+
+	/**
+	 * Sets the parameters of the next run; called in the kernel thread.
+	 *
+	 * @param path
+	 *            original path
+	 * @param from0
+	 *            first path parameter
+	 * @param to0
+	 *            last path parameter
+	 * @param steps0
+	 *            number of initial steps
+	 * @param maxPoints0
+	 *            maximal number of points
+	 * @param maxXdist0
+	 *            maximal x-distance of connected points
+	 * @param maxYdist0
+	 *            maximal y-distance of connected points
+	 * @param skipFirst0
+	 *            whether the point for the first parameter is traced by the
+	 *            previous part
+	 */
+	void prepare(Path path, double from0, double to0, int steps0,
+			int maxPoints0, double maxXdist0, double maxYdist0,
+			boolean skipFirst0) {
+		pathCopy.set(path.toGeoElement());
+		from = from0;
+		to = to0;
+		steps = steps0;
+		maxPoints = maxPoints0;
+		maxXdist = maxXdist0;
+		maxYdist = maxYdist0;
+		skipFirst = skipFirst0;
+	}
+
+	@Override
+	public void run() {
+		size = 0;
+		gap = true;
+		seeded = !skipFirst;
+		timeExceeded = false;
+		double a = from;
+		boolean aDefined = evaluate(a);
+		double ax = qx, ay = qy;
+		emit(aDefined, ax, ay);
+		for (int i = 1; i <= steps && !isFinished(); i++) {
+			double b = i == steps ? to : from + (to - from) * i / steps;
+			boolean bDefined = evaluate(b);
+			double bx = qx, by = qy;
+			refine(a, aDefined, ax, ay, b, bDefined, bx, by, 0);
+			emit(bDefined, bx, by);
+			a = b;
+			aDefined = bDefined;
+			ax = bx;
+			ay = by;
+		}
+	}
+
+	private boolean isFinished() {
+		return timeExceeded || size >= maxPoints;
+	}
+
+	/**
+	 * Emits samples strictly between a and b.
+	 */
+	private void refine(double a, boolean aDefined, double ax, double ay,
+			double b, boolean bDefined, double bx, double by, int depth) {
+		if (depth >= MAX_DEPTH || isFinished() || (!aDefined && !bDefined)
+				|| (aDefined && bDefined && isClose(ax, ay, bx, by))) {
+			return;
+		}
+		double m = (a + b) / 2;
+		boolean mDefined = evaluate(m);
+		double mx = qx, my = qy;
+		refine(a, aDefined, ax, ay, m, mDefined, mx, my, depth + 1);
+		emit(mDefined, mx, my);
+		refine(m, mDefined, mx, my, b, bDefined, bx, by, depth + 1);
+	}
+
+	private void emit(boolean defined, double x, double y) {
+		if (!defined) {
+			gap = true;
+			seeded = true;
+			return;
+		}
+		boolean lineTo = !gap && isClose(lastX, lastY, x, y);
+		lastX = x;
+		lastY = y;
+		gap = false;
+		if (!seeded) {
+			// first point belongs to the previous part
+			seeded = true;
+			return;
+		}
+		if (size == xs.length) {
+			xs = grow(xs);
+			ys = grow(ys);
+			boolean[] bigger = new boolean[size * 2];
+			System.arraycopy(lineTos, 0, bigger, 0, size);
+			lineTos = bigger;
+		}
+		xs[size] = x;
+		ys[size] = y;
+		lineTos[size] = lineTo;
+		size++;
+	}
+
+	private static double[] grow(double[] array) {
+		double[] bigger = new double[array.length * 2];
+		System.arraycopy(array, 0, bigger, 0, array.length);
+		return bigger;
+	}
+
+	private boolean isClose(double x1, double y1, double x2, double y2) {
+		return Math.abs(x1 - x2) < maxXdist && Math.abs(y1 - y2) < maxYdist;
+	}
+
+	/**
+	 * Moves P to the parameter and stores Q in qx, qy.
+	 *
+	 * @return whether Q is defined
+	 */
+	private boolean evaluate(double t) {
+		long startTime = System.currentTimeMillis();
+		copyP.getPathParameter().t = t;
+		((Path) pathCopy).pathChanged(copyP);
+		copyP.updateCoords();
+		copyP.updateCascade();
+		if (System.currentTimeMillis()
+				- startTime > AlgoLocusND.MAX_TIME_FOR_ONE_STEP) {
+			timeExceeded = true;
+		}
+		if (copyQ.isDefined() && !copyQ.isInfinite()) {
+			qx = copyQ.getInhomX();
+			qy = copyQ.getInhomY();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether one step took too long
+	 */
+	boolean isTimeExceeded() {
+		return timeExceeded;
+	}
+
+	/**
+	 * @return number of traced points
+	 */
+	int getSize() {
+		return size;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return x-coord of i-th point
+	 */
+	double getX(int i) {
+		return xs[i];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return y-coord of i-th point
+	 */
+	double getY(int i) {
+		return ys[i];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return whether the i-th point is connected to the previous one
+	 */
+	boolean getLineTo(int i) {
+		return lineTos[i];
+	}
+}
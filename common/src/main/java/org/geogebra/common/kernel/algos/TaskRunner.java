@@ -0,0 +1,119 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.List;
+
+/**
+ * Runs independent tasks of one computation, e.g. tracing parts of a locus.
+ * This implementation runs them one after another in the calling thread;
+ * platforms with threads may override {@link #isParallel()} and
+ * {@link #runAll(List)}.
+ */
+public class TaskRunner {
+
+	/**
+	 * @return whether {@link #runAll(List)} uses other threads, so that
+	 *         splitting the computation pays off
+	 */
+	public boolean isParallel() {
+		return false;
+	}
+
+	/**
+	 * @return number of tasks that can run at the same time
+	 */
+	public int getParallelism() {
+		return 1;
+	}
+
+	/**
+	 * Runs all tasks and returns when all of them are finished.
+	 * 
+	 * @param tasks
+	 *            tasks, they must not depend on each other
+	 */
+	public void runAll(List<Runnable> tasks) {
+		for (Runnable task : tasks) {
+			task.run();
+		}
+	}
+
+	/**
+	 * Starts tasks whose results are used one after another, so that later
+	 * ones can be dropped once an earlier one decides the computation.
+	 * 
+	 * @param tasks
+	 *            tasks, they must not depend on each other
+	 * @param deadline
+	 *            time (see {@link System#currentTimeMillis()}) after which
+	 *            tasks are no longer started or awaited
+	 * @return the started tasks
+	 */
+	public Batch start(List<Runnable> tasks, long deadline) {
+		return new Batch(tasks, deadline);
+	}
+
+	/**
+	 * Tasks started by {@link TaskRunner#start(List, long)}. This
+	 * implementation runs each task when it is awaited, in the waiting
+	 * thread.
+	 */
+	public static class Batch {
+		private final List<Runnable> tasks;
+		private final boolean[] finished;
+		/** deadline of all tasks */
+		protected final long deadline;
+		private boolean cancelled = false;
+
+		/**
+		 * @param tasks
+		 *            tasks
+		 * @param deadline
+		 *            deadline of all tasks
+		 */
+		protected Batch(List<Runnable> tasks, long deadline) {
+			this.tasks = tasks;
+			this.deadline = deadline;
+			this.finished = new boolean[tasks.size()];
+		}
+
+		/**
+		 * Waits until a task is finished.
+		 * 
+		 * @param index
+		 *            index of the task
+		 * @return whether the task has finished; false if the batch was
+		 *         cancelled or the deadline passed first
+		 */
+		public boolean await(int index) {
+			if (!finished[index]) {
+				if (cancelled || System.currentTimeMillis() > deadline) {
+					return false;
+				}
+				tasks.get(index).run();
+				finished[index] = true;
+			}
+			return true;
+		}
+
+		/**
+		 * @return whether all tasks are done, so that awaiting them does not
+		 *         block; this implementation runs tasks only when they are
+		 *         awaited
+		 */
+		public boolean isFinished() {
+			for (boolean taskFinished : finished) {
+				if (!taskFinished) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Tasks that have not started yet will not be run.
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+}
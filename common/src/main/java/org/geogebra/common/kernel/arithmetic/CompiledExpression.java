@@ -0,0 +1,468 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoDummyVariable;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.MyMath;
+
+/**
+ * Flat postfix program for a numeric expression tree. Evaluation walks an int
+ * array instead of the ExpressionNode tree and keeps intermediate results on
+ * a primitive stack, so no MyDouble objects are created per call.
+ *
+ * Only nodes whose numeric meaning does not depend on the evaluated type of
+ * their children are supported (arithmetic, elementary functions, calls of
+ * other functions of one variable). For anything else
+ * {@link #compile(ExpressionNode, FunctionVariable[])} returns null and the
+ * caller should evaluate the tree as usual.
+ *
+ * Numbers and free/dependent numerics are referenced, not copied, so the
+ * program stays valid when their values change; it has to be recompiled when
+ * the tree itself changes.
+ */
+public final class CompiledExpression {
+
+	private static final int LOAD_VAR = 0;
+	private static final int LOAD_VALUE = 1;
+	private static final int CALL = 2;
+	private static final int PLUS = 3;
+	private static final int MINUS = 4;
+	private static final int MULTIPLY = 5;
+	private static final int DIVIDE = 6;
+	private static final int POWER = 7;
+	private static final int POWER_FRACTION = 8;
+	private static final int SIN = 9;
+	private static final int COS = 10;
+	private static final int TAN = 11;
+	private static final int SQRT = 12;
+	private static final int EXP = 13;
+	private static final int LOG = 14;
+	private static final int LOG10 = 15;
+	private static final int LOG2 = 16;
+	private static final int ABS = 17;
+	private static final int SGN = 18;
+	private static final int ARCSIN = 19;
+	private static final int ARCCOS = 20;
+	private static final int ARCTAN = 21;
+	private static final int SINH = 22;
+	private static final int COSH = 23;
+	private static final int TANH = 24;
+	private static final int CBRT = 25;
+	private static final int SEC = 26;
+	private static final int CSC = 27;
+	private static final int COT = 28;
+
+	private final int[] code;
+	private final NumberValue[] values;
+	private final Evaluatable[] functions;
+	private final int stackSize;
+
+	// buffers for the single threaded entry points
+	private final double[] stack;
+	private final double[] args = new double[2];
+
+	private CompiledExpression(Compiler compiler) {
+		code = new int[compiler.length];
+		System.arraycopy(compiler.code, 0, code, 0, compiler.length);
+		values = compiler.values.toArray(new NumberValue[0]);
+		functions = compiler.functions.toArray(new Evaluatable[0]);
+		stackSize = Math.max(1, compiler.maxDepth);
+		stack = new double[stackSize];
+	}
+
+	/**
+	 * @param exp
+	 *            resolved expression
+	 * @param vars
+	 *            function variables, their values are passed to evaluate
+	 *            methods in this order
+	 * @return compiled expression or null if the expression contains
+	 *         operations or values that need the general evaluator
+	 */
+	public static CompiledExpression compile(ExpressionNode exp,
+			FunctionVariable[] vars) {
+		if (exp == null) {
+			return null;
+		}
+		Compiler compiler = new Compiler(vars);
+		if (!compiler.emit(exp)) {
+			return null;
+		}
+		return new CompiledExpression(compiler);
+	}
+
+	/**
+	 * @return size of stack needed by
+	 *         {@link #evaluate(double[], double[])}
+	 */
+	public int getStackSize() {
+		return stackSize;
+	}
+
+	/**
+	 * @return whether {@link #evaluate(double[], double[])} may run in
+	 *         several threads at once; false if other functions are called,
+	 *         since they are evaluated with their own shared state
+	 */
+	public boolean isConcurrent() {
+		return functions.length == 0;
+	}
+
+	/**
+	 * Evaluates the program using internal buffers; not thread safe.
+	 *
+	 * @param x
+	 *            value of the first variable
+	 * @return value
+	 */
+	public double evaluate(double x) {
+		args[0] = x;
+		return evaluate(args, stack);
+	}
+
+	/**
+	 * Evaluates the program using internal buffers; not thread safe.
+	 *
+	 * @param x
+	 *            value of the first variable
+	 * @param y
+	 *            value of the second variable
+	 * @return value
+	 */
+	public double evaluate(double x, double y) {
+		args[0] = x;
+		args[1] = y;
+		return evaluate(args, stack);
+	}
+
+	/**
+	 * Evaluates the program using internal buffers; not thread safe.
+	 *
+	 * @param vars
+	 *            values of variables
+	 * @return value
+	 */
+	public double evaluate(double[] vars) {
+		return evaluate(vars, stack);
+	}
+
+	/**
+	 * Evaluates the program with caller provided stack, may be used from
+	 * several threads as long as each has its own stack.
+	 *
+	 * @param vars
+	 *            values of variables
+	 * @param st
+	 *            stack of at least {@link #getStackSize()} elements
+	 * @return value
+	 */
+	public double evaluate(double[] vars, double[] st) {
+		final int[] c = code;
+		int sp = -1;
+		int pc = 0;
+		while (pc < c.length) {
+			switch (c[pc++]) {
+			case LOAD_VAR:
+				st[++sp] = vars[c[pc++]];
+				break;
+			case LOAD_VALUE:
+				st[++sp] = values[c[pc++]].getDouble();
+				break;
+			case CALL:
+				st[sp] = functions[c[pc++]].value(st[sp]);
+				break;
+			case PLUS:
+				sp--;
+				st[sp] = st[sp] + st[sp + 1];
+				break;
+			case MINUS:
+				sp--;
+				st[sp] = st[sp] - st[sp + 1];
+				break;
+			case MULTIPLY:
+				sp--;
+				st[sp] = st[sp] * st[sp + 1];
+				break;
+			case DIVIDE:
+				sp--;
+				st[sp] = st[sp] / st[sp + 1];
+				break;
+			case POWER:
+				sp--;
+				st[sp] = power(st[sp], st[sp + 1]);
+				break;
+			case POWER_FRACTION:
+				sp -= 2;
+				st[sp] = powerFraction(st[sp], st[sp + 1], st[sp + 2]);
+				break;
+			case SIN:
+				st[sp] = Math.sin(st[sp]);
+				break;
+			case COS:
+				st[sp] = Math.cos(st[sp]);
+				break;
+			case TAN:
+				st[sp] = tan(st[sp]);
+				break;
+			case SQRT:
+				st[sp] = Math.sqrt(st[sp]);
+				break;
+			case EXP:
+				st[sp] = Math.exp(st[sp]);
+				break;
+			case LOG:
+				st[sp] = Math.log(st[sp]);
+				break;
+			case LOG10:
+				st[sp] = Math.log(st[sp]) / MyMath.LOG10;
+				break;
+			case LOG2:
+				st[sp] = Math.log(st[sp]) / MyMath.LOG2;
+				break;
+			case ABS:
+				st[sp] = Math.abs(st[sp]);
+				break;
+			case SGN:
+				st[sp] = MyMath.sgn(st[sp]);
+				break;
+			case ARCSIN:
+				st[sp] = MyMath.asin(st[sp]);
+				break;
+			case ARCCOS:
+				st[sp] = MyMath.acos(st[sp]);
+				break;
+			case ARCTAN:
+				st[sp] = Math.atan(st[sp]);
+				break;
+			case SINH:
+				st[sp] = MyMath.sinh(st[sp]);
+				break;
+			case COSH:
+				st[sp] = MyMath.cosh(st[sp]);
+				break;
+			case TANH:
+				st[sp] = MyMath.tanh(st[sp]);
+				break;
+			case CBRT:
+				st[sp] = MyMath.cbrt(st[sp]);
+				break;
+			case SEC:
+				st[sp] = MyMath.sec(st[sp]);
+				break;
+			case CSC:
+				st[sp] = MyMath.csc(st[sp]);
+				break;
+			case COT:
+				st[sp] = MyMath.cot(st[sp]);
+				break;
+			default:
+				return Double.NaN;
+			}
+		}
+		return st[0];
+	}
+
+	/*
+	 * same as ExpressionNodeEvaluator.handlePower for numbers
+	 */
+	private static double power(double base, double exponent) {
+		if (MyDouble.exactEqual(base, Math.E)) {
+			return Math.exp(exponent);
+		}
+		return MyDouble.pow(base, exponent);
+	}
+
+	/*
+	 * same as ExpressionNodeEvaluator.handlePower for x^(a/b)
+	 */
+	private static double powerFraction(double base, double a, double b) {
+		if (MyDouble.exactEqual(base, Math.E)) {
+			return Math.exp(a / b);
+		}
+		if (base < 0) {
+			return ExpressionNodeEvaluator.negPower(base, a, b);
+		}
+		return MyDouble.pow(base, a / b);
+	}
+
+	/*
+	 * same as MyDouble.tan()
+	 */
+	private static double tan(double val) {
+		if (DoubleUtil.isEqual(Math.abs(val) % Math.PI, Kernel.PI_HALF)) {
+			return Double.NaN;
+		}
+		double ret = Math.tan(val);
+		return DoubleUtil.isZero(ret) ? 0 : ret;
+	}
+
+	/**
+	 * Translates the tree into postfix code
+	 */
+	private static class Compiler {
+		private final FunctionVariable[] vars;
+		int[] code = new int[32];
+		int length = 0;
+		final ArrayList<NumberValue> values = new ArrayList<>();
+		final ArrayList<Evaluatable> functions = new ArrayList<>();
+		private int depth = 0;
+		int maxDepth = 0;
+
+		Compiler(FunctionVariable[] vars) {
+			this.vars = vars;
+		}
+
+		private void add(int op) {
+			if (length == code.length) {
+				int[] bigger = new int[2 * length];
+				System.arraycopy(code, 0, bigger, 0, length);
+				code = bigger;
+			}
+			code[length++] = op;
+		}
+
+		private void push(int op, int operand) {
+			add(op);
+			add(operand);
+			depth++;
+			maxDepth = Math.max(maxDepth, depth);
+		}
+
+		/**
+		 * binary operations replace two stack entries by one
+		 */
+		private void reduce(int op, int operands) {
+			add(op);
+			depth -= operands - 1;
+		}
+
+		boolean emit(ExpressionValue ev) {
+			if (ev instanceof ExpressionNode) {
+				return emitNode((ExpressionNode) ev);
+			}
+			if (ev instanceof FunctionVariable && vars != null) {
+				for (int i = 0; i < vars.length; i++) {
+					if (vars[i] == ev) {
+						push(LOAD_VAR, i);
+						return true;
+					}
+				}
+			}
+			if (ev instanceof MyDouble || (ev instanceof GeoNumeric
+					&& !(ev instanceof GeoDummyVariable))) {
+				values.add((NumberValue) ev);
+				push(LOAD_VALUE, values.size() - 1);
+				return true;
+			}
+			return false;
+		}
+
+		private boolean emitNode(ExpressionNode node) {
+			if (node.isLeaf()) {
+				return emit(node.getLeft());
+			}
+			Operation op = node.getOperation();
+			switch (op) {
+			case PLUS:
+				return emitBinary(node, PLUS);
+			case MINUS:
+				return emitBinary(node, MINUS);
+			case MULTIPLY:
+				return emitBinary(node, MULTIPLY);
+			case DIVIDE:
+				return emitBinary(node, DIVIDE);
+			case POWER:
+				ExpressionValue right = node.getRight();
+				if (right instanceof ExpressionNode && !right.isLeaf()
+						&& ((ExpressionNode) right)
+								.getOperation() == Operation.DIVIDE) {
+					ExpressionNode fraction = (ExpressionNode) right;
+					if (!emit(node.getLeft()) || !emit(fraction.getLeft())
+							|| !emit(fraction.getRight())) {
+						return false;
+					}
+					reduce(POWER_FRACTION, 3);
+					return true;
+				}
+				return emitBinary(node, POWER);
+			case FUNCTION:
+				if (!(node.getLeft() instanceof GeoFunction)
+						|| !emit(node.getRight())) {
+					return false;
+				}
+				functions.add((GeoFunction) node.getLeft());
+				add(CALL);
+				add(functions.size() - 1);
+				return true;
+			default:
+				int unary = getUnaryCode(op);
+				if (unary < 0 || !emit(node.getLeft())) {
+					return false;
+				}
+				add(unary);
+				return true;
+			}
+		}
+
+		private boolean emitBinary(ExpressionNode node, int op) {
+			if (!emit(node.getLeft()) || !emit(node.getRight())) {
+				return false;
+			}
+			reduce(op, 2);
+			return true;
+		}
+
+		private static int getUnaryCode(Operation op) {
+			switch (op) {
+			case SIN:
+				return SIN;
+			case COS:
+				return COS;
+			case TAN:
+				return TAN;
+			case SQRT:
+			case SQRT_SHORT:
+				return SQRT;
+			case EXP:
+				return EXP;
+			case LOG:
+				return LOG;
+			case LOG10:
+				return LOG10;
+			case LOG2:
+				return LOG2;
+			case ABS:
+				return ABS;
+			case SGN:
+				return SGN;
+			case ARCSIN:
+				return ARCSIN;
+			case ARCCOS:
+				return ARCCOS;
+			case ARCTAN:
+				return ARCTAN;
+			case SINH:
+				return SINH;
+			case COSH:
+				return COSH;
+			case TANH:
+				return TANH;
+			case CBRT:
+				return CBRT;
+			case SEC:
+				return SEC;
+			case CSC:
+				return CSC;
+			case COT:
+				return COT;
+			default:
+				return -1;
+			}
+		}
+	}
+}
@@ -192,10 +192,45 @@ public class Function extends FunctionNVar
 		}
 		// NumberValue
 		fVars[0].set(x);
+		CompiledExpression compiled = getCompiledExpression();
+		if (compiled != null) {
+			return compiled.evaluate(x);
+		}
 		return expression.evaluateDouble();
 
 	}
 
+	/**
+	 * Evaluates this function at several positions
+	 * 
+	 * @param x
+	 *            positions
+	 * @param count
+	 *            number of positions to use
+	 * @param out
+	 *            output array, f(x[i]) is stored at offset + i * stride
+	 * @param offset
+	 *            index of the first value in out
+	 * @param stride
+	 *            distance of consecutive values in out
+	 */
+	public void value(double[] x, int count, double[] out, int offset,
+			int stride) {
+		// anonymous subclasses compute values without the expression
+		CompiledExpression compiled = isBooleanFunction
+				|| getClass() != Function.class ? null
+						: getCompiledExpression();
+		if (compiled == null) {
+			for (int i = 0; i < count; i++) {
+				out[offset + i * stride] = value(x[i]);
+			}
+			return;
+		}
+		for (int i = 0; i < count; i++) {
+			out[offset + i * stride] = compiled.evaluate(x[i]);
+		}
+	}
+
 	/**
 	 * Returns this function's value at position x. (Note: use this method if
 	 * isBooleanFunction() returns true.
@@ -247,6 +282,7 @@ public class Function extends FunctionNVar
 		} else {
 			expression = new ExpressionNode(expression);
 		}
+		invalidateCompiledExpression();
 	}
 
 	/**
@@ -257,6 +293,7 @@ public class Function extends FunctionNVar
 	 */
 	final public void translateY(double vy) {
 		expression = translateY(expression, fVars, vy);
+		invalidateCompiledExpression();
 
 	}
 
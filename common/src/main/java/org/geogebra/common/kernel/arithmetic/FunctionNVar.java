@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
+import org.geogebra.common.kernel.CASPendingException;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.VarString;
@@ -33,6 +34,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoFunctionNVar;
 import org.geogebra.common.kernel.geos.GeoLine;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.main.MyError;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
@@ -68,6 +70,9 @@ public class FunctionNVar extends ValidExpression
 	private boolean shortLHS;
 	private ExpressionNode casEvalExpression;
 	private String casEvalStringSymbolic;
+	private CompiledExpression compiledExpression;
+	/** expression the compiled form belongs to, null if not compiled yet */
+	private ExpressionNode compiledFrom;
 
 	private static ArrayList<ExpressionNode> undecided = new ArrayList<>();
 
@@ -124,6 +129,7 @@ public class FunctionNVar extends ValidExpression
 		this.isBooleanFunction = fn.isBooleanFunction;
 		this.isConstantFunction = fn.isConstantFunction;
 		this.ineqs = fn.ineqs;
+		invalidateCompiledExpression();
 	}
 
 	/**
@@ -186,6 +192,7 @@ public class FunctionNVar extends ValidExpression
 	@Override
 	public void resolveVariables(EvalInfo info) {
 		expression.resolveVariables(info);
+		invalidateCompiledExpression();
 	}
 
 	/**
@@ -198,6 +205,7 @@ public class FunctionNVar extends ValidExpression
 	public void replaceChildrenByValues(GeoElement geo) {
 		if (expression != null) {
 			expression.replaceChildrenByValues(geo);
+			invalidateCompiledExpression();
 		}
 	}
 
@@ -209,6 +217,7 @@ public class FunctionNVar extends ValidExpression
 	 */
 	public void setExpression(ExpressionNode exp) {
 		expression = exp;
+		invalidateCompiledExpression();
 	}
 
 	/**
@@ -222,6 +231,7 @@ public class FunctionNVar extends ValidExpression
 	public void setExpression(ExpressionNode exp, FunctionVariable[] vars) {
 		expression = exp;
 		fVars = vars;
+		invalidateCompiledExpression();
 	}
 
 	@Override
@@ -352,6 +362,7 @@ public class FunctionNVar extends ValidExpression
 			}
 		}
 
+		invalidateCompiledExpression();
 		// initialize type as boolean or numeric function
 		return initType(ev);
 	}
@@ -462,6 +473,10 @@ public class FunctionNVar extends ValidExpression
 			for (int i = 0; i < fVars.length; i++) {
 				fVars[i].set(vals[i]);
 			}
+			CompiledExpression compiled = getCompiledExpression();
+			if (compiled != null) {
+				return compiled.evaluate(vals);
+			}
 		}
 		return expression.evaluateDouble();
 	}
@@ -477,6 +492,10 @@ public class FunctionNVar extends ValidExpression
 		fVars[0].set(x);
 		fVars[1].set(y);
 
+		CompiledExpression compiled = getCompiledExpression();
+		if (compiled != null) {
+			return compiled.evaluate(x, y);
+		}
 		return expression.evaluateDouble();
 	}
 
@@ -546,6 +565,8 @@ public class FunctionNVar extends ValidExpression
 	 * @param arbconst
 	 *            arbitrary constant handler
 	 * @return resulting function
+	 * @throws CASPendingException
+	 *             when the CAS left the evaluation to the async executor
 	 */
 	final public FunctionNVar evalCasCommand(String ggbCasCmd, boolean symb,
 			MyArbitraryConstant arbconst) {
@@ -631,6 +652,9 @@ public class FunctionNVar extends ValidExpression
 				resultFun = ensureVarsAreNotNull(resultFun);
 			}
 			resultFun.initFunction();
+		} catch (CASPendingException pending) {
+			// caller keeps the old function until the result arrives
+			throw pending;
 		} catch (Error err) {
 			err.printStackTrace();
 			resultFun = null;
@@ -895,12 +919,44 @@ public class FunctionNVar extends ValidExpression
 			expression = new ExpressionNode(expression);
 		}
 		invalidateIneqs();
+		invalidateCompiledExpression();
 	}
 
 	private void invalidateIneqs() {
 		this.ineqs = null;
 	}
 
+	/**
+	 * Drops the compiled form of the expression, needs to be called whenever
+	 * the expression tree is changed in place.
+	 */
+	protected void invalidateCompiledExpression() {
+		compiledExpression = null;
+		compiledFrom = null;
+	}
+
+	/**
+	 * Compiles the expression on first use and after each change of the
+	 * expression.
+	 * 
+	 * @return compiled expression or null if the expression cannot be
+	 *         compiled (or compiling is switched off)
+	 */
+	public CompiledExpression getCompiledExpression() {
+		if (compiledFrom != expression) {
+			compiledFrom = expression;
+			compiledExpression = null;
+			if (!isBooleanFunction && kernel != null
+					&& kernel.getApplication() != null
+					&& kernel.getApplication()
+							.has(Feature.COMPILED_FUNCTIONS)) {
+				compiledExpression = CompiledExpression.compile(expression,
+						fVars);
+			}
+		}
+		return compiledExpression;
+	}
+
 	/**
 	 * translate the expression
 	 * 
@@ -1181,6 +1237,7 @@ public class FunctionNVar extends ValidExpression
 			double dv = d.getDouble();
 			expression = expression.multiply(dv).plus(s.getZ() * (1 - dv));
 		}
+		invalidateCompiledExpression();
 	}
 
 	/**
@@ -1215,6 +1272,7 @@ public class FunctionNVar extends ValidExpression
 		expression = expression
 				.traverse(CopyReplacer.getReplacer(dummy, newX, kernel)).wrap();
 		invalidateIneqs();
+		invalidateCompiledExpression();
 	}
 
 	/**
@@ -1272,6 +1330,7 @@ public class FunctionNVar extends ValidExpression
 				CopyReplacer.getReplacer(dummy, newX.divide(newZ), kernel))
 				.wrap();
 		this.initIneqs(expression, this);
+		invalidateCompiledExpression();
 	}
 
 	@Override
@@ -1281,6 +1340,7 @@ public class FunctionNVar extends ValidExpression
 			return ev;
 		}
 		expression = expression.traverse(t).wrap();
+		invalidateCompiledExpression();
 		return this;
 	}
 
@@ -2,7 +2,12 @@ package org.geogebra.common.kernel.cas;
 
 import java.util.TreeSet;
 
+import org.geogebra.common.cas.CASAsyncExecutor;
+import org.geogebra.common.cas.CASDeferredTarget;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.CASgiac.PreparedInput;
 import org.geogebra.common.kernel.AlgoCasCellInterface;
+import org.geogebra.common.kernel.CASPendingException;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.Algos;
@@ -18,7 +23,7 @@ import org.geogebra.common.kernel.geos.GeoElement;
  * @author Markus Hohenwarter
  */
 public class AlgoDependentCasCell extends AlgoElement
-		implements AlgoCasCellInterface {
+		implements AlgoCasCellInterface, CASDeferredTarget {
 	/** error key for undefined var */
 	public static final String UNDEFINED_VARIABLE = "UndefinedVariable";
 	// output CAS cell of this algorithm
@@ -135,14 +140,62 @@ public class AlgoDependentCasCell extends AlgoElement
 		 */
 		if (undefinedGeo == null) {
 			// compute output of CAS cell and update twin GeoElement
-			casCell.computeOutput();
+			computeOutput();
 		} else {
+			if (kernel.getCASAsyncExecutor() != null) {
+				kernel.getCASAsyncExecutor().cancel(this);
+			}
 			casCell.setUndefined();
 			casCell.setError(UNDEFINED_VARIABLE
 					+ undefinedGeo.getLabel(StringTemplate.defaultTemplate));
 		}
 	}
 
+	private void computeOutput() {
+		// without old output there is nothing to show meanwhile
+		CASgiac cas = casCell.isOutputEmpty() ? null
+				: kernel.getDeferringCAS();
+		if (cas == null) {
+			casCell.computeOutput();
+			return;
+		}
+		cas.setDeferring(true);
+		try {
+			casCell.computeOutput();
+		} catch (CASPendingException e) {
+			// keep old output until the evaluation finishes
+		} finally {
+			cas.setDeferring(false);
+		}
+		PreparedInput deferred = cas.takeDeferredInput();
+		CASAsyncExecutor executor = kernel.getCASAsyncExecutor();
+		if (deferred == null) {
+			executor.cancel(this);
+		} else {
+			executor.evaluate(this, deferred, 2);
+		}
+	}
+
+	@Override
+	public void resumeCAS() {
+		update();
+		casCell.updateCascade();
+		if (casCell.hasTwinGeo()) {
+			casCell.getTwinGeo().updateCascade();
+		}
+	}
+
+	@Override
+	public void remove() {
+		if (removed) {
+			return;
+		}
+		if (kernel.getCASAsyncExecutor() != null) {
+			kernel.getCASAsyncExecutor().cancel(this);
+		}
+		super.remove();
+	}
+
 	/**
 	 * This might appear when we use KeepInput and display the result => we want
 	 * to show symbolic version
@@ -95,11 +95,22 @@ public class AlgoLimit extends AlgoElement
 	@Override
 	public void compute() {
 		if (f == null || !f.isDefined() || !input[1].isDefined()) {
+			// result of pending evaluation would be outdated
+			if (kernel.getCASAsyncExecutor() != null) {
+				kernel.getCASAsyncExecutor().cancel(this);
+			}
 			outNum.setUndefined();
 			return;
 		}
 		limitString = f.getLimit(num.getDouble(), getDirection());
 
+		if (kernel.getCASAsyncExecutor() != null) {
+			// keep old value until the result arrives
+			kernel.getCASAsyncExecutor().evaluate(this,
+					getCASPriority(outNum));
+			return;
+		}
+
 		try {
 			String numStr = kernel.evaluateCachedGeoGebraCAS(limitString,
 					arbconst);
@@ -116,6 +127,17 @@ public class AlgoLimit extends AlgoElement
 
 	}
 
+	@Override
+	public void remove() {
+		if (removed) {
+			return;
+		}
+		if (kernel.getCASAsyncExecutor() != null) {
+			kernel.getCASAsyncExecutor().cancel(this);
+		}
+		super.remove();
+	}
+
 	@Override
 	public String getCasInput() {
 		return limitString;
@@ -135,7 +157,7 @@ public class AlgoLimit extends AlgoElement
 		NumberValue nv = kernel.getAlgebraProcessor().evaluateToNumeric(output,
 				ErrorHelper.silent());
 		outNum.setValue(nv.getDouble());
-		if (USE_ASYNCHRONOUS) {
+		if (USE_ASYNCHRONOUS || kernel.getCASAsyncExecutor() != null) {
 			outNum.updateCascade();
 		}
 
@@ -144,6 +166,9 @@ public class AlgoLimit extends AlgoElement
 	@Override
 	public void handleException(Throwable exception, int id) {
 		outNum.setUndefined();
+		if (kernel.getCASAsyncExecutor() != null) {
+			outNum.updateCascade();
+		}
 
 	}
 
@@ -179,6 +179,10 @@ public class CmdSum extends CommandProcessor {
 		boolean allNumbersVectorsPoints = allNumbers;
 		boolean allText = allNumbers;
 		boolean allList = allNumbers;
+		if (list.isPacked()) {
+			// packed lists only contain numbers
+			return new NumberFold();
+		}
 		int size = list.size();
 
 		for (int i = 0; i < size; i++) {
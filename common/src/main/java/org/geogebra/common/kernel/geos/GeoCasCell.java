@@ -15,6 +15,7 @@ import org.geogebra.common.cas.GeoGebraCAS;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoSurfaceCartesian3D;
 import org.geogebra.common.kernel.AlgoCasCellInterface;
 import org.geogebra.common.kernel.CASException;
+import org.geogebra.common.kernel.CASPendingException;
 import org.geogebra.common.kernel.CircularDefinitionException;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
@@ -2389,6 +2390,11 @@ public class GeoCasCell extends GeoElement
 							.toString(StringTemplate.numericNoLocal);
 				}
 				success = result != null;
+			} catch (CASPendingException e) {
+				// keep old output until the result arrives, swaps are
+				// collected again then
+				((GeoGebraCAS) kernel.getGeoGebraCAS()).getVarSwaps().clear();
+				throw e;
 			} catch (CASException e) {
 				Log.error("GeoCasCell.computeOutput(), CAS eval: " + evalVE
 						+ "\n\terror: " + e.getMessage());
@@ -3321,6 +3321,7 @@ public abstract class GeoElement extends ConstructionElement
 	public void doRemove() {
 		// stop animation of this geo
 		setAnimating(false);
+		kernel.getMetrics().remove(this);
 
 		// remove Listeners
 		AlgoElement algo = getParentAlgorithm();
@@ -3598,12 +3599,16 @@ public abstract class GeoElement extends ConstructionElement
 
 	/**
 	 * Updates this object and all dependent ones. Note: no repainting is done
-	 * afterwards! synchronized for animation
+	 * afterwards! synchronized for animation. While an update transaction is
+	 * open, the update is postponed until it is committed.
 	 * 
 	 * @param dragging
 	 *            whether this was triggered by drag
 	 */
 	public void updateCascade(boolean dragging) {
+		if (kernel.deferUpdateCascade(this, dragging)) {
+			return;
+		}
 		long l = System.currentTimeMillis();
 		kernel.notifyBatchUpdate();
 		update(dragging);
@@ -3623,7 +3628,7 @@ public abstract class GeoElement extends ConstructionElement
 		} else if (algoUpdateSet != null) {
 			// update all algorithms in the algorithm set of this GeoElement
 			cons.setAlgoSetCurrentlyUpdated(algoUpdateSet);
-			algoUpdateSet.updateAll();
+			kernel.getAlgoUpdateScheduler().updateAll(algoUpdateSet);
 			cons.setAlgoSetCurrentlyUpdated(null);
 		}
 	}
@@ -3727,11 +3732,8 @@ public abstract class GeoElement extends ConstructionElement
 
 		// now we have one nice algorithm set that we can update
 		if (tempSet1.size() > 0) {
-			final Iterator<AlgoElement> it = tempSet1.iterator();
-			while (it.hasNext()) {
-				final AlgoElement algo = it.next();
-				algo.update();
-			}
+			geos.get(0).getKernel().getAlgoUpdateScheduler()
+					.updateAll(tempSet1);
 		}
 
 	}
@@ -1414,6 +1414,22 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 		}
 	}
 
+	@Override
+	public void evaluateCurve(double[] t, int count, double[] out) {
+		int xIndex = evalSwapped ? 1 : 0;
+		if (fun == null || !isDefined) {
+			for (int i = 0; i < count; i++) {
+				out[2 * i + xIndex] = t[i];
+				out[2 * i + 1 - xIndex] = Double.NaN;
+			}
+			return;
+		}
+		fun.value(t, count, out, 1 - xIndex, 2);
+		for (int i = 0; i < count; i++) {
+			out[2 * i + xIndex] = t[i];
+		}
+	}
+
 	/**
 	 * Evaluates curvature for function: k(x) = f''/T^3, T = sqrt(1+(f')^2)
 	 * 
@@ -2806,6 +2822,31 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 		}
 	}
 
+	@Override
+	public void evaluatePoints(double[] u, int uCount, double[] v,
+			int vCount, double[] out) {
+		evaluatePointRows(u, uCount, v, 0, vCount, out);
+	}
+
+	@Override
+	public void evaluatePointRows(double[] u, int uCount, double[] v,
+			int vStart, int vEnd, double[] out) {
+		int k = 3 * vStart * uCount;
+		for (int j = vStart; j < vEnd; j++) {
+			for (int i = 0; i < uCount; i++) {
+				out[k++] = u[i];
+				out[k++] = v[j];
+				out[k++] = isInRegion(u[i], v[j]) ? 0 : Double.NaN;
+			}
+		}
+	}
+
+	@Override
+	public boolean isEvaluatePointsConcurrent() {
+		// inequalities are evaluated with shared variables
+		return false;
+	}
+
 	@Override
 	public boolean evaluateNormal(Coords3 p, double u, double v,
 			Coords3 normal) {
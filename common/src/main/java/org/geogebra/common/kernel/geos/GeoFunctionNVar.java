@@ -25,6 +25,7 @@ import org.geogebra.common.kernel.Matrix.Coords3;
 import org.geogebra.common.kernel.Matrix.CoordsDouble3;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoMacroInterface;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
 import org.geogebra.common.kernel.arithmetic.Equation;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
@@ -697,6 +698,62 @@ public class GeoFunctionNVar extends GeoElement
 
 	}
 
+	@Override
+	public void evaluatePoints(double[] u, int uCount, double[] v,
+			int vCount, double[] out) {
+		evaluatePointRows(u, uCount, v, 0, vCount, out);
+	}
+
+	@Override
+	public void evaluatePointRows(double[] u, int uCount, double[] v,
+			int vStart, int vEnd, double[] out) {
+		int k = 3 * vStart * uCount;
+		CompiledExpression compiled = getConcurrentExpression();
+		if (compiled == null) {
+			for (int j = vStart; j < vEnd; j++) {
+				tmp[1] = v[j];
+				for (int i = 0; i < uCount; i++) {
+					tmp[0] = u[i];
+					out[k++] = u[i];
+					out[k++] = v[j];
+					out[k++] = evaluateForDrawSurface();
+				}
+			}
+			return;
+		}
+		// own variables and stack: may run in several threads
+		double[] xy = new double[2];
+		double[] stack = new double[compiled.getStackSize()];
+		for (int j = vStart; j < vEnd; j++) {
+			xy[1] = v[j];
+			for (int i = 0; i < uCount; i++) {
+				xy[0] = u[i];
+				out[k++] = u[i];
+				out[k++] = v[j];
+				out[k++] = isInDrawDomain(xy) ? compiled.evaluate(xy, stack)
+						: Double.NaN;
+			}
+		}
+	}
+
+	private boolean isInDrawDomain(double[] xy) {
+		return from == null || to == null || (xy[0] >= from[0]
+				&& xy[0] <= to[0] && xy[1] >= from[1] && xy[1] <= to[1]);
+	}
+
+	@Override
+	public boolean isEvaluatePointsConcurrent() {
+		return getConcurrentExpression() != null;
+	}
+
+	private CompiledExpression getConcurrentExpression() {
+		if (fun == null || isBooleanFunction()) {
+			return null;
+		}
+		CompiledExpression compiled = fun.getCompiledExpression();
+		return compiled != null && compiled.isConcurrent() ? compiled : null;
+	}
+
 	/**
 	 * 
 	 * @return number of vars
@@ -307,8 +307,9 @@ public class GeoLine extends GeoVec3D implements Path, Translateable,
 		// if it is in [0, 1] for a segment or greater than 0 for a ray
 
 		// remember the old point coordinates
+		// (local parameter: concurrent algos may test points on this line)
 		double px = P.x, py = P.y, pz = P.z;
-		PathParameter tempParam = getTempPathParameter();
+		PathParameter tempParam = new PathParameter();
 		PathParameter pp = P.getPathParameter();
 		tempParam.set(pp);
 
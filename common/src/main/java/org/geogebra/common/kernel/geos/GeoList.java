@@ -13,7 +13,9 @@ the Free Software Foundation.
 package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.TreeSet;
 
 import org.geogebra.common.awt.GColor;
@@ -51,9 +53,12 @@ import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoQuadricND;
+import org.geogebra.common.kernel.statistics.ListStatistics;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.plugin.GeoClass;
+import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -74,6 +79,12 @@ public class GeoList extends GeoElement
 
 	// GeoElement list members
 	private final ArrayList<GeoElement> elements;
+	// plain values of numeric elements, see setPackedValues
+	private double[] packedValues;
+	private int packedSize;
+	// stands for the elements of a packed list in read-only queries
+	private GeoNumeric packedPrototype;
+	private ListStatistics statistics;
 
 	// lists will often grow and shrink dynamically,
 	// so we keep a cacheList of all old list elements
@@ -198,9 +209,13 @@ public class GeoList extends GeoElement
 	@Override
 	public GeoList deepCopyGeo() {
 		GeoList ret = new GeoList(cons);
+		if (packedValues != null) {
+			ret.setPackedValues(toDouble(0), packedSize);
+			return ret;
+		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			ret.add(elements.get(i).deepCopyGeo());
+		for (int i = 0; i < getElementList().size(); i++) {
+			ret.add(getElementList().get(i).deepCopyGeo());
 		}
 
 		return ret;
@@ -250,9 +265,13 @@ public class GeoList extends GeoElement
 	}
 
 	private void copyListElements(final GeoList otherList) {
+		if (otherList.isPacked()) {
+			setPackedValues(otherList.toDouble(0), otherList.size());
+			return;
+		}
 		final int otherListSize = otherList.size();
 		ensureCapacity(otherListSize);
-		elements.clear();
+		clear();
 
 		for (int i = 0; i < otherListSize; i++) {
 			final GeoElement otherElement = otherList.get(i);
@@ -474,7 +493,7 @@ public class GeoList extends GeoElement
 
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			if (!geo.isLabelSet()) {
 				geo.setObjColor(color);
 			}
@@ -491,7 +510,7 @@ public class GeoList extends GeoElement
 
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			if (!geo.isLabelSet()) {
 				geo.setBackgroundColor(color);
 			}
@@ -512,7 +531,7 @@ public class GeoList extends GeoElement
 		}
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			setElementEuclidianVisible(geo, visible);
 		}
 	}
@@ -567,7 +586,7 @@ public class GeoList extends GeoElement
 
 		final int size = elements.size();
 		for (int i = 0; i < size; i++) {
-			final GeoElement geo = get(i);
+			final GeoElement geo = elements.get(i);
 			if (!geo.isLabelSet()) {
 				geo.setVisibility(viewId, setVisible);
 			}
@@ -579,11 +598,12 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public MyList getMyList() {
-		final int size = elements.size();
+		final int size = getElementList().size();
 		final MyList myList = new MyList(kernel, size);
 
 		for (int i = 0; i < size; i++) {
-			myList.addListElement(new ExpressionNode(kernel, elements.get(i)));
+			myList.addListElement(
+					new ExpressionNode(kernel, getElementList().get(i)));
 		}
 
 		return myList;
@@ -647,9 +667,130 @@ public class GeoList extends GeoElement
 	 * Clear the list
 	 */
 	public final void clear() {
+		invalidateStatistics();
+		packedValues = null;
+		packedSize = 0;
 		elements.clear();
 	}
 
+	/**
+	 * Replaces all elements by plain numbers. GeoNumeric elements are only
+	 * created when some element is accessed as an object; size, values and
+	 * value string are read from the array directly. The array is not copied.
+	 * 
+	 * @param values
+	 *            element values, NaN for undefined
+	 * @param size
+	 *            number of used values
+	 */
+	public final void setPackedValues(double[] values, int size) {
+		invalidateStatistics();
+		elements.clear();
+		packedValues = values;
+		packedSize = size;
+		if (size > 0) {
+			setTypeStringForXML("numeric");
+			elementType = GeoClass.NUMERIC;
+			// plain numbers are not drawable
+			isDrawable = false;
+		}
+	}
+
+	/**
+	 * @return values and derived data of this list for statistics commands
+	 */
+	public final ListStatistics getStatistics() {
+		if (!kernel.getApplication().has(Feature.LIST_STATISTICS_CACHE)) {
+			return new ListStatistics(this);
+		}
+		if (statistics == null) {
+			statistics = new ListStatistics(this);
+		}
+		return statistics;
+	}
+
+	private void invalidateStatistics() {
+		if (statistics != null) {
+			statistics.invalidate();
+		}
+	}
+
+	/**
+	 * @return whether the elements are stored as plain numbers
+	 */
+	public final boolean isPacked() {
+		return packedValues != null;
+	}
+
+	/**
+	 * @param index
+	 *            element position, only valid for packed lists
+	 * @return value of the element at given position
+	 */
+	public final double getPackedValue(int index) {
+		return packedValues[index];
+	}
+
+	/**
+	 * Setters of visual properties use the elements field directly: a packed
+	 * list has no elements yet and add() applies the style of this list when
+	 * they are created.
+	 * 
+	 * @return elements, created from packed values if necessary
+	 */
+	private ArrayList<GeoElement> getElementList() {
+		if (packedValues != null) {
+			unpack();
+		}
+		return elements;
+	}
+
+	/**
+	 * Elements of a packed list are all created the same way, so for
+	 * read-only queries about their properties one of them stands for all
+	 * and the list stays packed.
+	 * 
+	 * @return elements or one element like those of the packed list
+	 */
+	private List<GeoElement> getElementsForQuery() {
+		if (packedValues == null) {
+			return elements;
+		}
+		if (packedPrototype == null) {
+			packedPrototype = newPackedElement();
+		}
+		return Collections.<GeoElement> singletonList(packedPrototype);
+	}
+
+	private GeoNumeric newPackedElement() {
+		GeoNumeric listElement = new GeoNumeric(cons);
+		listElement.setParentAlgorithm(getParentAlgorithm());
+		listElement.setConstructionDefaults();
+		listElement.setUseVisualDefaults(false);
+		return listElement;
+	}
+
+	private void unpack() {
+		double[] values = packedValues;
+		int size = packedSize;
+		packedValues = null;
+		packedSize = 0;
+		ensureCapacity(size);
+		for (int i = 0; i < size; i++) {
+			GeoElementND cached = i < cacheList.size() ? cacheList.get(i)
+					: null;
+			GeoNumeric listElement;
+			if (cached != null && cached.getGeoClassType() == GeoClass.NUMERIC
+					&& !cached.isLabelSet()) {
+				listElement = (GeoNumeric) cached;
+			} else {
+				listElement = newPackedElement();
+			}
+			add(listElement);
+			listElement.setValue(values[i]);
+		}
+	}
+
 	/**
 	 * free up memory and set undefined
 	 */
@@ -674,10 +815,11 @@ public class GeoList extends GeoElement
 	 *            geo to be added
 	 */
 	public final void add(final GeoElementND geo) {
+		invalidateStatistics();
 		// add geo to end of list
-		elements.add(geo.toGeoElement());
+		getElementList().add(geo.toGeoElement());
 
-		if (elements.size() == 1) {
+		if (getElementList().size() == 1) {
 			setTypeStringForXML(geo.getXMLtypeString());
 		}
 
@@ -691,7 +833,7 @@ public class GeoList extends GeoElement
 		 */
 
 		// add to cache
-		final int pos = elements.size() - 1;
+		final int pos = getElementList().size() - 1;
 		if (pos < cacheList.size()) {
 			cacheList.set(pos, geo);
 		} else {
@@ -737,8 +879,8 @@ public class GeoList extends GeoElement
 	 *            element to be removed
 	 */
 	public final void remove(final GeoElement geo) {
-		elements.remove(geo);
-
+		invalidateStatistics();
+		getElementList().remove(geo);
 	}
 
 	/**
@@ -763,8 +905,8 @@ public class GeoList extends GeoElement
 	 *            position of element to be removed
 	 */
 	public final void remove(final int index) {
-		elements.remove(index);
-
+		invalidateStatistics();
+		getElementList().remove(index);
 	}
 
 	/**
@@ -775,7 +917,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this list.
 	 */
 	final public GeoElement get(final int index) {
-		return elements.get(index);
+		return getElementList().get(index);
 	}
 
 	/**
@@ -788,7 +930,7 @@ public class GeoList extends GeoElement
 	 * @return the element at the specified position in this (2D) list.
 	 */
 	final public GeoElement get(final int index, final int index2) {
-		return ((GeoList) elements.get(index)).get(index2);
+		return ((GeoList) getElementList().get(index)).get(index2);
 	}
 
 	/**
@@ -798,11 +940,21 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public double[] toDouble(int offset) {
-		int length = elements.size();
+		if (packedValues != null) {
+			if (offset > packedSize) {
+				return null;
+			}
+			final double[] valueArray = new double[packedSize - offset];
+			System.arraycopy(packedValues, offset, valueArray, 0,
+					valueArray.length);
+			return valueArray;
+		}
+		int length = getElementList().size();
 		try {
 			final double[] valueArray = new double[length - offset];
 			for (int i = offset; i < length; i++) {
-				valueArray[i - offset] = elements.get(i).evaluateDouble();
+				valueArray[i - offset] = getElementList().get(i)
+						.evaluateDouble();
 			}
 			return valueArray;
 		} catch (final Exception e) {
@@ -817,12 +969,15 @@ public class GeoList extends GeoElement
 	 *            capcity to ensure
 	 */
 	final public void ensureCapacity(final int size) {
-		elements.ensureCapacity(size);
+		getElementList().ensureCapacity(size);
 		cacheList.ensureCapacity(size);
 	}
 
 	@Override
 	final public int size() {
+		if (packedValues != null) {
+			return packedSize;
+		}
 		return elements.size();
 	}
 
@@ -864,10 +1019,10 @@ public class GeoList extends GeoElement
 		}
 
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = getElementList().size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getElementList().get(i);
 
 				sbBuildValueString
 						.append(geo.getAlgebraDescriptionRegrOut(tpl));
@@ -875,7 +1030,7 @@ public class GeoList extends GeoElement
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getElementList().get(lastIndex);
 			sbBuildValueString.append(geo.getAlgebraDescriptionRegrOut(tpl));
 		}
 
@@ -896,18 +1051,30 @@ public class GeoList extends GeoElement
 
 		tpl.leftCurlyBracket(sbBuildValueString);
 
+		if (packedValues != null && !tpl.hasCASType()) {
+			for (int i = 0; i < packedSize; i++) {
+				if (i > 0) {
+					sbBuildValueString.append(getLoc().getComma());
+					sbBuildValueString.append(" ");
+				}
+				sbBuildValueString.append(kernel.format(packedValues[i], tpl));
+			}
+			tpl.rightCurlyBracket(sbBuildValueString);
+			return sbBuildValueString;
+		}
+
 		// first (n-1) elements
-		final int lastIndex = elements.size() - 1;
+		final int lastIndex = getElementList().size() - 1;
 		if (lastIndex > -1) {
 			for (int i = 0; i < lastIndex; i++) {
-				final GeoElement geo = elements.get(i);
+				final GeoElement geo = getElementList().get(i);
 				sbBuildValueString.append(geo.toOutputValueString(tpl));
 				sbBuildValueString.append(getLoc().getComma());
 				sbBuildValueString.append(" ");
 			}
 
 			// last element
-			final GeoElement geo = elements.get(lastIndex);
+			final GeoElement geo = getElementList().get(lastIndex);
 			sbBuildValueString.append(geo.toOutputValueString(tpl));
 		}
 
@@ -1095,7 +1262,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public void update(boolean drag) {
-
+		invalidateStatistics();
 		super.update(drag);
 
 		// update information on whether this path is fit for AlgoLocus
@@ -1155,13 +1322,23 @@ public class GeoList extends GeoElement
 		final GeoList list = (GeoList) geo;
 
 		// check sizes
-		if (elements.size() != list.size()) {
+		if (size() != list.size()) {
 			return false;
 		}
 
+		if (packedValues != null && list.packedValues != null) {
+			for (int i = 0; i < packedSize; i++) {
+				if (!DoubleUtil.isEqual(packedValues[i],
+						list.packedValues[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 		// check each element
-		for (int i = 0; i < list.elements.size(); i++) {
-			final GeoElement geoA = elements.get(i);
+		for (int i = 0; i < list.size(); i++) {
+			final GeoElement geoA = get(i);
 			final GeoElement geoB = list.get(i);
 
 			if (!geoA.isEqual(geoB)) {
@@ -1175,7 +1352,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public void setZero() {
-		elements.clear();
+		clear();
 	}
 
 	@Override
@@ -1203,12 +1380,13 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public int getMinimumLineThickness() {
-		if ((elements == null) || (elements.size() == 0)) {
+		List<GeoElement> queried = getElementsForQuery();
+		if (queried.size() == 0) {
 			return 1;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < queried.size(); i++) {
+			final GeoElement geo = queried.get(i);
 			if (!geo.isLabelSet()) {
 				if (geo.getMinimumLineThickness() == 1) {
 					return 1;
@@ -1297,10 +1475,11 @@ public class GeoList extends GeoElement
 			// no alphaValue set
 			// so we need to set it to that of the first element, if there is
 			// one
-			if ((elements != null) && (elements.size() > 0)) {
+			List<GeoElement> queried = getElementsForQuery();
+			if (queried.size() > 0) {
 
 				// get alpha value of first element
-				final double alpha = elements.get(0).getAlphaValue();
+				final double alpha = queried.get(0).getAlphaValue();
 
 				// Application.debug("setting list alpha to "+alpha);
 
@@ -1308,9 +1487,9 @@ public class GeoList extends GeoElement
 
 				// set all the other elements in the list
 				// if appropriate
-				if (elements.size() > 1) {
-					for (int i = 1; i < elements.size(); i++) {
-						final GeoElement geo = elements.get(i);
+				if (queried.size() > 1) {
+					for (int i = 1; i < queried.size(); i++) {
+						final GeoElement geo = queried.get(i);
 						if (!geo.isLabelSet()) {
 							geo.setAlphaValue(alpha);
 						}
@@ -1357,15 +1536,16 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isFillable() {
-		if ((elements == null) || (elements.size() == 0)) {
+		List<GeoElement> queried = getElementsForQuery();
+		if (queried.size() == 0) {
 			return false;
 		}
 
 		boolean someFillable = false;
 		boolean allLabelsSet = true;
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < queried.size(); i++) {
+			final GeoElement geo = queried.get(i);
 			if (geo.isFillable()) {
 				someFillable = true;
 			}
@@ -1379,7 +1559,8 @@ public class GeoList extends GeoElement
 
 	@Override
 	public GeoElement getGeoElementForPropertiesDialog() {
-		if ((elements.size() > 0) && (elementType != ELEMENT_TYPE_MIXED)) {
+		if ((getElementList().size() > 0)
+				&& (elementType != ELEMENT_TYPE_MIXED)) {
 			return get(0).getGeoElementForPropertiesDialog(); // getGeoElementForPropertiesDialog()
 			// to cope with
 			// lists of
@@ -1593,8 +1774,9 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		List<GeoElement> queried = getElementsForQuery();
+		for (int i = 0; i < queried.size(); i++) {
+			final GeoElement geo = queried.get(i);
 			if (geo.showLineProperties() && !geo.isLabelSet()) {
 				return true;
 			}
@@ -1614,8 +1796,9 @@ public class GeoList extends GeoElement
 			return true;
 		}
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		List<GeoElement> queried = getElementsForQuery();
+		for (int i = 0; i < queried.size(); i++) {
+			final GeoElement geo = queried.get(i);
 			if ((geo instanceof PointProperties) && !geo.isLabelSet()) {
 				return true;
 			}
@@ -1757,7 +1940,7 @@ public class GeoList extends GeoElement
 
 		// update closestPointIndex
 		getNearestPoint(P);
-		if (elements.size() == 0) {
+		if (getElementList().size() == 0) {
 			if (P.isDefined()) {
 				P.setUndefined();
 			}
@@ -1822,8 +2005,8 @@ public class GeoList extends GeoElement
 		closestPointIndex = 0; // default - first object
 
 		// double closestIndex = -1;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo instanceof PathOrPoint) {
 				final double d = p.distanceToPath((PathOrPoint) geo);
 
@@ -1843,8 +2026,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPoint p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1857,8 +2040,8 @@ public class GeoList extends GeoElement
 	@Override
 	public double distance(final GeoPointND p) {
 		double distance = Double.POSITIVE_INFINITY;
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			final double d = geo.distance(p);
 			if (d < distance) {
 				distance = d;
@@ -1949,8 +2132,8 @@ public class GeoList extends GeoElement
 	@Override
 	public boolean isOnPath(final GeoPointND PI, final double eps) {
 		// Application.debug("isOnPath",1);
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (((PathOrPoint) geo).isOnPath(PI, eps)) {
 				return true;
 			}
@@ -1965,7 +2148,7 @@ public class GeoList extends GeoElement
 
 	@Override
 	public double getMaxParameter() {
-		return elements.size();
+		return getElementList().size();
 	}
 
 	@Override
@@ -1991,8 +2174,8 @@ public class GeoList extends GeoElement
 				|| (getParentAlgorithm() instanceof AlgoDependentList))) {
 			return false;
 		}
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 
 			if (geo.isGeoPoint()) {
 				if (!geo.isMoveable()) {
@@ -2018,8 +2201,8 @@ public class GeoList extends GeoElement
 			final EuclidianViewInterfaceSlim view) {
 		final ArrayList<GeoPointND> al = new ArrayList<>();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 
 			if (geo.isGeoPoint()) {
 				final GeoPoint p = (GeoPoint) geo;
@@ -2108,10 +2291,10 @@ public class GeoList extends GeoElement
 	 * @return true if the list contains given geo
 	 */
 	public boolean listContains(final GeoElement geo) {
-		if (elements == null) {
+		if (getElementList() == null) {
 			return true;
 		}
-		return elements.contains(geo);
+		return getElementList().contains(geo);
 	}
 
 	@Override
@@ -2134,8 +2317,8 @@ public class GeoList extends GeoElement
 			return false;
 		}
 		boolean ret = true;
-		for (int i = 0; i < elements.size(); i++) {
-			GeoElement geo1 = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			GeoElement geo1 = getElementList().get(i);
 			if (!geo1.isLaTeXDrawableGeo()) {
 				return false;
 			}
@@ -2148,8 +2331,8 @@ public class GeoList extends GeoElement
 
 		resetSpreadsheetColumnHeadings();
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				final ArrayList<GeoText> geoHead = geo.getColumnHeadings();
 				for (int j = 0; j < geoHead.size(); j++) {
@@ -2236,7 +2419,7 @@ public class GeoList extends GeoElement
 		if (getParentAlgorithm() != null
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : traceModes is computed from A, B
-			traceModes = getTraceModes(elements);
+			traceModes = getTraceModes(getElementList());
 		} else {
 			// e.g. Sequence[...] is only copied
 			traceModes = TraceModesEnum.ONLY_COPY;
@@ -2259,7 +2442,7 @@ public class GeoList extends GeoElement
 				&& (getParentAlgorithm() instanceof AlgoDependentList)) {
 			// list = {A, B} : names for A, B
 			boolean notFirst = false;
-			for (GeoElement geo : elements) {
+			for (GeoElement geo : getElementList()) {
 				if (notFirst) {
 					sb.append(", ");
 				}
@@ -2282,8 +2465,8 @@ public class GeoList extends GeoElement
 	public void addToSpreadsheetTraceList(
 			ArrayList<GeoNumeric> spreadsheetTraceList) {
 
-		for (int i = 0; i < elements.size(); i++) {
-			final GeoElement geo = elements.get(i);
+		for (int i = 0; i < getElementList().size(); i++) {
+			final GeoElement geo = getElementList().get(i);
 			if (geo instanceof SpreadsheetTraceable) {
 				((SpreadsheetTraceable) geo)
 						.addToSpreadsheetTraceList(spreadsheetTraceList);
@@ -2323,7 +2506,7 @@ public class GeoList extends GeoElement
 	 * @return position of needle in this list or -1 when not found
 	 */
 	public int find(GeoElement needle) {
-		return elements.indexOf(needle);
+		return getElementList().indexOf(needle);
 	}
 
 	/**
@@ -2440,11 +2623,6 @@ public class GeoList extends GeoElement
 	 */
 	public boolean shouldUseAlgoLocusList(boolean locusCalling) {
 
-		GeoPoint[] minParArray = new GeoPoint[this.size()];
-		GeoPoint[] maxParArray = new GeoPoint[this.size()];
-		GeoPoint[] minParStatic = new GeoPoint[this.size()];
-		GeoPoint[] maxParStatic = new GeoPoint[this.size()];
-
 		// if there is no locus using this, the answer is not important
 		if (!locusCalledAlgoLocusList && !locusCalling) {
 			directionInfoArray = null;
@@ -2454,6 +2632,11 @@ public class GeoList extends GeoElement
 		if (size() == 0) {
 			return false;
 		}
+
+		GeoPoint[] minParArray = new GeoPoint[this.size()];
+		GeoPoint[] maxParArray = new GeoPoint[this.size()];
+		GeoPoint[] minParStatic = new GeoPoint[this.size()];
+		GeoPoint[] maxParStatic = new GeoPoint[this.size()];
 		directionInfoArray = new boolean[this.size()];
 		directionInfoOrdering = new int[this.size()];
 		shouldUseAlgoLocusList = true;
@@ -2648,7 +2831,7 @@ public class GeoList extends GeoElement
 	 * @return true if this list contains a 3D geo
 	 */
 	public boolean containsGeoElement3D() {
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : getElementsForQuery()) {
 			boolean contains = false;
 			if (geo.isGeoList()) {
 				contains = ((GeoList) geo).containsGeoElement3D();
@@ -2665,10 +2848,10 @@ public class GeoList extends GeoElement
 
 	@Override
 	final public Coords getMainDirection() {
-		if (elements.size() <= closestPointIndex) {
+		if (getElementList().size() <= closestPointIndex) {
 			return Coords.VX;
 		}
-		return elements.get(closestPointIndex).getMainDirection();
+		return getElementList().get(closestPointIndex).getMainDirection();
 	}
 
 	@Override
@@ -2877,7 +3060,7 @@ public class GeoList extends GeoElement
 				&& this.elementType != ELEMENT_TYPE_MIXED) {
 			return;
 		}
-		for (GeoElement listElement : this.elements) {
+		for (GeoElement listElement : getElementList()) {
 			if (listElement instanceof CasEvaluableFunction) {
 				CasEvaluableFunction f = (CasEvaluableFunction) listElement;
 				f.replaceChildrenByValues(vars);
@@ -3017,11 +3200,12 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean hasBackgroundColor() {
-		if (drawAsComboBox
-				|| (this.size() > 0 && this.get(0).hasBackgroundColor())) {
+		List<GeoElement> queried = getElementsForQuery();
+		if (drawAsComboBox || (queried.size() > 0
+				&& queried.get(0).hasBackgroundColor())) {
 			return true;
 		}
-		if (this.size() > 0 && !this.get(0).hasBackgroundColor()) {
+		if (queried.size() > 0 && !queried.get(0).hasBackgroundColor()) {
 			return false;
 		}
 		return createTemplateElement().hasBackgroundColor();
@@ -3055,8 +3239,9 @@ public class GeoList extends GeoElement
 
 	@Override
 	public boolean isSymbolicMode() {
-		return size() > 0 && get(0) instanceof HasSymbolicMode
-				&& ((HasSymbolicMode) get(0)).isSymbolicMode();
+		List<GeoElement> queried = getElementsForQuery();
+		return queried.size() > 0 && queried.get(0) instanceof HasSymbolicMode
+				&& ((HasSymbolicMode) queried.get(0)).isSymbolicMode();
 	}
 
 	@Override
@@ -3068,7 +3253,7 @@ public class GeoList extends GeoElement
 			return DescriptionMode.DEFINITION_VALUE;
 		}
 
-		for (GeoElement geo : elements) {
+		for (GeoElement geo : getElementList()) {
 			if (geo.needToShowBothRowsInAV() == DescriptionMode.DEFINITION_VALUE
 					&& !Equation.isAlgebraEquation(geo)) {
 				return DescriptionMode.DEFINITION_VALUE;
@@ -3132,7 +3317,7 @@ public class GeoList extends GeoElement
 	public void resetDefinition() {
 		super.resetDefinition();
 		for (int i = 0; i < size(); i++) {
-			this.elements.get(i).resetDefinition();
+			getElementList().get(i).resetDefinition();
 		}
 	}
 
@@ -3176,7 +3361,7 @@ public class GeoList extends GeoElement
 	 *            new element
 	 */
 	public void setListElement(int i, GeoElement element) {
-		this.elements.set(i, element);
+		getElementList().set(i, element);
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
 		isDrawable = true;
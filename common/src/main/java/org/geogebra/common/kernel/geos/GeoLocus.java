@@ -55,7 +55,18 @@ public class GeoLocus extends GeoLocusND<MyPoint> {
 	 *            used segment type
 	 */
 	public void insertPoint(double x, double y, SegmentType segmentType) {
-		myPointList.add(new MyPoint(x, y, segmentType));
+		addPoint(x, y, 0, segmentType);
+	}
+
+	@Override
+	protected MyPoint reusePoint(MyPoint point, double x, double y, double z,
+			SegmentType segmentType) {
+		if (point == null) {
+			return new MyPoint(x, y, segmentType);
+		}
+		point.setCoords(x, y);
+		point.setSegmentType(segmentType);
+		return point;
 	}
 
 	/**
@@ -48,11 +48,15 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	private boolean defined;
 
 	/** coords of points on locus */
-	protected ArrayList<T> myPointList;
+	private ArrayList<T> myPointList;
+	/** points added since the list was last read, null until first needed */
+	private LocusPointBuffer insertedPoints;
 	private ArrayList<GPoint2D> nonScaledPointList;
 	private double nonScaledWidth;
 	private double nonScaledHeight;
 	private ArrayList<T> poitsWithoutControl;
+	/** points removed by recyclePoints, reused for inserted points */
+	private ArrayList<T> sparePoints;
 	private StringBuilder sbToString = new StringBuilder(80);
 	private double closestPointDist;
 	/**
@@ -115,8 +119,8 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 			GeoLocusND<T> locus = (GeoLocusND<T>) geo;
 			defined = locus.defined;
 
-			myPointList.clear();
-			for (MyPoint pt : locus.myPointList) {
+			clearPoints();
+			for (MyPoint pt : locus.getPoints()) {
 				myPointList.add((T) pt.copy());
 			}
 		}
@@ -129,7 +133,8 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 */
 	@Override
 	final public int getPointLength() {
-		return myPointList.size();
+		return myPointList.size()
+				+ (insertedPoints == null ? 0 : insertedPoints.size());
 	}
 
 	/**
@@ -137,6 +142,88 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 */
 	public void clearPoints() {
 		myPointList.clear();
+		if (insertedPoints != null) {
+			insertedPoints.clear();
+		}
+	}
+
+	/**
+	 * Clears list of points and keeps the point objects, so that recomputing
+	 * the locus does not need to allocate them again. Only to be used by
+	 * algos whose points are not referenced from elsewhere.
+	 */
+	public void recyclePoints() {
+		if (sparePoints == null) {
+			sparePoints = new ArrayList<>(myPointList.size());
+		}
+		sparePoints.addAll(myPointList);
+		clearPoints();
+	}
+
+	/**
+	 * Adds a point to the end of the locus. The coordinates are only stored
+	 * in arrays; point objects are created (or taken from the recycled ones)
+	 * when the list of points is read.
+	 * 
+	 * @param x
+	 *            x-coord
+	 * @param y
+	 *            y-coord
+	 * @param z
+	 *            z-coord, ignored by 2D loci
+	 * @param segmentType
+	 *            segment type
+	 */
+	protected void addPoint(double x, double y, double z,
+			SegmentType segmentType) {
+		if (insertedPoints == null) {
+			insertedPoints = new LocusPointBuffer();
+		}
+		insertedPoints.add(x, y, z, segmentType);
+	}
+
+	/**
+	 * @param point
+	 *            recycled point or null
+	 * @param x
+	 *            x-coord
+	 * @param y
+	 *            y-coord
+	 * @param z
+	 *            z-coord
+	 * @param segmentType
+	 *            segment type
+	 * @return the given point with new coordinates, new point if it was null
+	 */
+	abstract protected T reusePoint(T point, double x, double y, double z,
+			SegmentType segmentType);
+
+	/**
+	 * Moves points added by addPoint to the list of points.
+	 */
+	private void flushInsertedPoints() {
+		if (insertedPoints == null || insertedPoints.size() == 0) {
+			return;
+		}
+		int size = insertedPoints.size();
+		myPointList.ensureCapacity(myPointList.size() + size);
+		for (int i = 0; i < size; i++) {
+			myPointList.add(reusePoint(takeSparePoint(),
+					insertedPoints.getX(i), insertedPoints.getY(i),
+					insertedPoints.getZ(i),
+					insertedPoints.getSegmentType(i)));
+		}
+		insertedPoints.clear();
+	}
+
+	/**
+	 * @return point from the recycled ones or null if there is none left
+	 */
+	private T takeSparePoint() {
+		if (sparePoints == null || sparePoints.isEmpty()) {
+			return null;
+		}
+		return sparePoints.remove(sparePoints.size() - 1);
 	}
 
 	/**
@@ -144,6 +231,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 */
 	@Override
 	public ArrayList<T> getPoints() {
+		flushInsertedPoints();
 		return myPointList;
 	}
 
@@ -176,6 +264,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 *            bounding box
 	 */
 	public void saveOriginalRates(GRectangle2D gRectangle2D) {
+		flushInsertedPoints();
 		if (nonScaledPointList == null) {
 			nonScaledPointList = new ArrayList<>(myPointList.size());
 			nonScaledWidth = gRectangle2D.getMaxX() - gRectangle2D.getMinX();
@@ -277,6 +366,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 		if (Double.isNaN(fixedX)) {
 			setFixedX(handler, gRectangle2D);
 		}	
+		flushInsertedPoints();
 		double newWidth = eventX - fixedX;
 		scaleX = newWidth / nonScaledWidth;
 
@@ -340,6 +430,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 		} else {
 			newMinY = fixedY;
 		}
+		flushInsertedPoints();
 		for (int i = 0; i < myPointList.size(); i++) {
 			double newPointScreenY = nonScaledPointList.get(i).getY() * scaleY
 					+ newMinY;
@@ -363,7 +454,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	public ArrayList<T> getPointsWithoutControl() {
 		if (poitsWithoutControl == null) {
 			poitsWithoutControl = new ArrayList<>();
-			for (MyPoint t : myPointList) {
+			for (MyPoint t : getPoints()) {
 				if (t.getSegmentType() != SegmentType.CONTROL) {
 					poitsWithoutControl.add((T) t.copy());
 				}
@@ -435,7 +526,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 
 	@Override
 	public double getMaxParameter() {
-		return myPointList.size() - 1;
+		return getPointLength() - 1;
 	}
 
 	@Override
@@ -445,6 +536,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 
 	@Override
 	public boolean isClosedPath() {
+		flushInsertedPoints();
 		if (myPointList.size() > 0) {
 			MyPoint first = myPointList.get(0);
 			MyPoint last = myPointList.get(myPointList.size() - 1);
@@ -526,6 +618,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 * Returns the point of this locus that is closest to current point infos.
 	 */
 	private void getClosestLine() {
+		flushInsertedPoints();
 		int size = myPointList.size();
 		if (size == 0) {
 			return;
@@ -584,6 +677,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 		// keep point on same segment, the same proportion along it
 		// better for loci with very few segments eg from ShortestDistance[ ]
 		PathParameter pp = P.getPathParameter();
+		flushInsertedPoints();
 
 		int n = (int) Math.floor(pp.t);
 
@@ -609,6 +703,7 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 *            path parameter
 	 */
 	public void pathChanged(Coords P, PathParameter pp) {
+		flushInsertedPoints();
 		int n = (int) Math.floor(pp.t);
 
 		double t = pp.t - n; // between 0 and 1
@@ -659,6 +754,9 @@ public abstract class GeoLocusND<T extends MyPoint> extends GeoElement
 	 */
 	public void setPoints(ArrayList<T> al) {
 		myPointList = al;
+		if (insertedPoints != null) {
+			insertedPoints.clear();
+		}
 		this.resetSavedBoundingBoxValues(true);
 
 	}
@@ -39,7 +39,6 @@ final public class GeoRay extends GeoLine implements LimitedPath, GeoRayND {
 
 	private boolean allowOutlyingIntersections = false;
 	private boolean keepTypeOnGeometricTransform = true;
-	private Coords pnt2D;
 
 	/**
 	 * Creates ray with start point A.
@@ -377,9 +376,7 @@ final public class GeoRay extends GeoLine implements LimitedPath, GeoRayND {
 
 	@Override
 	public boolean isOnPath(Coords Pnd, double eps) {
-		if (pnt2D == null) {
-			pnt2D = new Coords(3);
-		}
+		Coords pnt2D = new Coords(3);
 		pnt2D.setCoordsIn2DView(Pnd);
 		if (!isOnFullLine2D(pnt2D, eps)) {
 			return false;
@@ -391,11 +388,10 @@ final public class GeoRay extends GeoLine implements LimitedPath, GeoRayND {
 
 	@Override
 	public boolean respectLimitedPath(Coords Pnd, double eps) {
-		if (pnt2D == null) {
-			pnt2D = new Coords(3);
-		}
+		// local copies: concurrent algos may test points on this path
+		Coords pnt2D = new Coords(3);
 		pnt2D.setCoordsIn2DView(Pnd);
-		PathParameter pp = getTempPathParameter();
+		PathParameter pp = new PathParameter();
 		doPointChanged(pnt2D, pp);
 		double t = pp.getT();
 
@@ -51,8 +51,6 @@ final public class GeoSegment extends GeoLine implements GeoSegmentND {
 
 	private boolean forceSimpleTransform;
 
-	private Coords pnt2D;
-
 	private GeoElement meta = null;
 
 	/** no decoration */
@@ -630,9 +628,7 @@ final public class GeoSegment extends GeoLine implements GeoSegmentND {
 
 	@Override
 	public boolean isOnPath(Coords Pnd, double eps) {
-		if (pnt2D == null) {
-			pnt2D = new Coords(3);
-		}
+		Coords pnt2D = new Coords(3);
 		pnt2D.setCoordsIn2DView(Pnd);
 		if (!super.isOnFullLine2D(pnt2D, eps)) {
 			return false;
@@ -644,11 +640,10 @@ final public class GeoSegment extends GeoLine implements GeoSegmentND {
 
 	@Override
 	public boolean respectLimitedPath(Coords Pnd, double eps) {
-		if (pnt2D == null) {
-			pnt2D = new Coords(3);
-		}
+		// local copies: concurrent algos may test points on this path
+		Coords pnt2D = new Coords(3);
 		pnt2D.setCoordsIn2DView(Pnd);
-		PathParameter pp = getTempPathParameter();
+		PathParameter pp = new PathParameter();
 		doPointChanged(pnt2D, pp);
 		double t = pp.getT();
 
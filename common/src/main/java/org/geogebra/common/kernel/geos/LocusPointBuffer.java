@@ -0,0 +1,108 @@
+package org.geogebra.common.kernel.geos;
+
+import org.geogebra.common.kernel.SegmentType;
+
+/**
+ * Coordinates and segment types of locus points in parallel arrays, so that
+ * computing a locus does not allocate an object per point. The arrays grow
+ * as needed and are kept when the buffer is cleared.
+ */
+final class LocusPointBuffer {
+	private static final SegmentType[] SEGMENT_TYPES = SegmentType.values();
+	private static final int INITIAL_CAPACITY = 64;
+
+	private double[] x = new double[INITIAL_CAPACITY];
+	private double[] y = new double[INITIAL_CAPACITY];
+	private double[] z = new double[INITIAL_CAPACITY];
+	private byte[] segmentTypes = new byte[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Adds a point to the end of the buffer.
+	 *
+	 * @param px
+	 *            x-coord
+	 * @param py
+	 *            y-coord
+	 * @param pz
+	 *            z-coord
+	 * @param segmentType
+	 *            segment type
+	 */
+	void add(double px, double py, double pz, SegmentType segmentType) {
+		if (size == x.length) {
+			grow();
+		}
+		x[size] = px;
+		y[size] = py;
+		z[size] = pz;
+		segmentTypes[size] = (byte) segmentType.ordinal();
+		size++;
+	}
+
+	private void grow() {
+		int capacity = 2 * x.length;
+		double[] newX = new double[capacity];
+		double[] newY = new double[capacity];
+		double[] newZ = new double[capacity];
+		byte[] newTypes = new byte[capacity];
+		System.arraycopy(x, 0, newX, 0, size);
+		System.arraycopy(y, 0, newY, 0, size);
+		System.arraycopy(z, 0, newZ, 0, size);
+		System.arraycopy(segmentTypes, 0, newTypes, 0, size);
+		x = newX;
+		y = newY;
+		z = newZ;
+		segmentTypes = newTypes;
+	}
+
+	/**
+	 * Removes all points, keeps the arrays.
+	 */
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * @return number of points
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return x-coord of i-th point
+	 */
+	double getX(int i) {
+		return x[i];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return y-coord of i-th point
+	 */
+	double getY(int i) {
+		return y[i];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return z-coord of i-th point
+	 */
+	double getZ(int i) {
+		return z[i];
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return segment type of i-th point
+	 */
+	SegmentType getSegmentType(int i) {
+		return SEGMENT_TYPES[segmentTypes[i]];
+	}
+}
@@ -2,6 +2,7 @@ package org.geogebra.common.kernel.implicit;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
@@ -13,6 +14,7 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.EuclidianViewCE;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.PathMover;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.StringTemplate;
@@ -49,6 +51,7 @@ import org.geogebra.common.kernel.geos.Translateable;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoLineND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.plugin.GeoClass;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
@@ -1676,6 +1679,10 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	private class WebExperimentalQuadTree extends QuadTree {
 		private static final int RES_COARSE = 8;
 		private static final int MAX_SPLIT = 40;
+		/** larger cell indices are not cached */
+		private static final double MAX_CELL_INDEX = 1E9;
+		/** extra subdivisions of cells that may contain a singular point */
+		private static final int SINGULAR_EXTRA_DEPTH = 2;
 		private int plotDepth;
 		private int segmentCheckDepth;
 		private int sw;
@@ -1684,23 +1691,70 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 		private Rect temp;
 		private Timer timer = Timer.newTimer();
 
+		/** cells of last update for each factor, by position in the lattice */
+		private ArrayList<HashMap<Long, PlotCell>> cellCache =
+				new ArrayList<>();
+		/** coefficients the cached cells were computed for */
+		private double[][][] cachedCoeffs;
+		private double cachedFrx;
+		private double cachedFry;
+		/** whether plotDepth and segmentCheckDepth match the cached cells */
+		private boolean cachedDepths;
+		/** cells of the current grid, null if not cached */
+		private PlotCell[][] cells;
+		private PlotCell recording;
+		private final PlotGrid plotGrid = new PlotGrid();
+		/** whether cells that may contain a singular point are refined */
+		private boolean refine;
+
 		public WebExperimentalQuadTree() {
 			super(GeoImplicitCurve.this);
 		}
 
 		@Override
 		public void updatePath() {
+			boolean useCells = prepareCellCache();
 			for (int factor = 0; factor < factorLength(); ++factor) {
 				try {
 					evaluateImplicitCurve(0, 0, factor);
 				} catch (Throwable e) {
 					continue;
 				}
-				this.sw = Math.min(MAX_SPLIT, (int) (w * scaleX / RES_COARSE));
-				this.sh = Math.min(MAX_SPLIT, (int) (h * scaleY / RES_COARSE));
-				if (sw == 0 || sh == 0) {
+				int cols = Math.min(MAX_SPLIT,
+						(int) (w * scaleX / RES_COARSE));
+				int rows = Math.min(MAX_SPLIT,
+						(int) (h * scaleY / RES_COARSE));
+				if (cols == 0 || rows == 0) {
 					return;
 				}
+				double frx = w / cols;
+				double fry = h / rows;
+				// align the grid with multiples of the cell size, one extra
+				// row and column cover the view
+				long gx = 0;
+				long gy = 0;
+				HashMap<Long, PlotCell> oldCells = null;
+				HashMap<Long, PlotCell> newCells = null;
+				if (useCells) {
+					gx = (long) Math.floor(x / frx);
+					gy = (long) Math.floor(y / fry);
+					cols++;
+					rows++;
+					while (cellCache.size() <= factor) {
+						cellCache.add(new HashMap<Long, PlotCell>());
+					}
+					oldCells = cellCache.get(factor);
+					newCells = new HashMap<>();
+					cellCache.set(factor, newCells);
+				}
+				this.sw = cols;
+				this.sh = rows;
+				if (useCells && (cells == null || cells.length != sh
+						|| cells[0].length != sw)) {
+					cells = new PlotCell[sh][sw];
+				} else if (!useCells) {
+					cells = null;
+				}
 
 				if (grid == null || grid.length != sh || grid[0].length != sw) {
 					this.grid = new Rect[sh][sw];
@@ -1715,39 +1769,29 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					temp = new Rect();
 				}
 
-				double frx = w / sw;
-				double fry = h / sh;
-
-				double[] vertices = new double[sw + 1];
 				double[] xcoords = new double[sw + 1];
 				double[] ycoords = new double[sh + 1];
-				double cur, prev;
 
 				for (int i = 0; i <= sw; i++) {
-					xcoords[i] = x + i * frx;
+					xcoords[i] = useCells ? (gx + i) * frx : x + i * frx;
 				}
 
 				for (int i = 0; i <= sh; i++) {
-					ycoords[i] = y + i * fry;
-				}
-
-				for (int i = 0; i <= sw; i++) {
-					vertices[i] = evaluateImplicitCurve(xcoords[i], ycoords[0],
-							factor);
+					ycoords[i] = useCells ? (gy + i) * fry : y + i * fry;
 				}
 
 				// initialize grid configuration at the search depth
 				int i, j;
-				double dx, dy, fx, fy;
 				// debug = true;
 				timer.reset();
+				refine = coeffSquarefree != null && kernel.getApplication()
+						.has(Feature.PARALLEL_IMPLICIT_CURVE);
+				plotGrid.evaluate(GeoImplicitCurve.this,
+						refine ? coeffSquarefree[factor] : null, coeff,
+						xcoords, ycoords, frx, fry, factor,
+						kernel.getTaskRunner());
 				for (i = 1; i <= sh; i++) {
-					prev = evaluateImplicitCurve(xcoords[0], ycoords[i],
-							factor);
-					fy = ycoords[i] - 0.5 * fry;
 					for (j = 1; j <= sw; j++) {
-						cur = evaluateImplicitCurve(xcoords[j], ycoords[i],
-								factor);
 						Rect rect = this.grid[i - 1][j - 1];
 						if (rect == null) {
 							continue;
@@ -1755,29 +1799,38 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 						rect.set(j - 1, i - 1, frx, fry, false);
 						rect.coords.val[0] = xcoords[j - 1];
 						rect.coords.val[1] = ycoords[i - 1];
-						rect.evals[0] = vertices[j - 1];
-						rect.evals[1] = vertices[j];
-						rect.evals[2] = cur;
-						rect.evals[3] = prev;
+						rect.evals[0] = plotGrid.getValue(i - 1, j - 1);
+						rect.evals[1] = plotGrid.getValue(i - 1, j);
+						rect.evals[2] = plotGrid.getValue(i, j);
+						rect.evals[3] = plotGrid.getValue(i, j - 1);
 						rect.status = edgeConfig(rect);
 						rect.shares = 0xff;
-						fx = xcoords[j] - 0.5 * frx;
-						dx = derivativeX(fx, fy);
-						dy = derivativeY(fx, fy);
-						dx = Math.abs(dx) + Math.abs(dy);
-						if (DoubleUtil.isZero(dx, 0.001)) {
+						Long key = null;
+						PlotCell cell = null;
+						if (useCells) {
+							key = cellKey(gx + j - 1, gy + i - 1);
+							cell = oldCells.get(key);
+						}
+						if (cell == null) {
+							cell = new PlotCell(
+									plotGrid.isCenterSingular(i - 1, j - 1));
+						}
+						if (cell.singular) {
 							rect.singular = true;
 						}
+						if (useCells) {
+							newCells.put(key, cell);
+							cells[i - 1][j - 1] = cell;
+						}
 						this.grid[i - 1][j - 1] = rect;
-						vertices[j - 1] = prev;
-						prev = cur;
 					}
-					vertices[sw] = prev;
 				}
 
 				timer.record();
 
-				if (timer.elapse <= 10) {
+				if (useCells && cachedDepths) {
+					// keep the depths the cached cells were plotted with
+				} else if (timer.elapse <= 10) {
 					// Fast device optimize for UX
 					plotDepth = 3;
 					segmentCheckDepth = 2;
@@ -1788,13 +1841,14 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					segmentCheckDepth = 1;
 					LIST_THRESHOLD = 24;
 				}
+				cachedDepths = useCells;
 
 				for (i = 0; i < sh; i++) {
 					for (j = 0; j < sw; j++) {
 						if (grid[i][j] != null && !grid[i][j].singular
 								&& grid[i][j].status != EMPTY) {
 							temp.set(grid[i][j]);
-							plot(temp, 0, factor);
+							plotCell(temp, factor);
 							grid[i][j].status = FINISHED;
 						}
 					}
@@ -1810,6 +1864,9 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 					// I am exhausted, reducing load!
 					plotDepth -= 1;
 					segmentCheckDepth -= 1;
+					// cached cells used other depths
+					clearCellCache();
+					useCells = false;
 				}
 
 				for (int k = 0; k < 4; k++) {
@@ -1818,7 +1875,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 							if (grid[i][j] != null && grid[i][j].singular
 									&& grid[i][j].status != FINISHED) {
 								temp.set(grid[i][j]);
-								plot(temp, 0, factor);
+								plotCell(temp, factor);
 								grid[i][j].status = FINISHED;
 							}
 						}
@@ -1827,6 +1884,88 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			}
 		}
 
+		/**
+		 * @return whether cells of the coarse grid can be cached / reused
+		 */
+		private boolean prepareCellCache() {
+			int cols = Math.min(MAX_SPLIT, (int) (w * scaleX / RES_COARSE));
+			int rows = Math.min(MAX_SPLIT, (int) (h * scaleY / RES_COARSE));
+			// expression based curves may depend on other objects
+			if (coeffSquarefree == null || cols == 0 || rows == 0
+					|| !kernel.getApplication()
+							.has(Feature.IMPLICIT_CURVE_CELL_CACHE)
+					|| !(Math.abs(x * cols / w) < MAX_CELL_INDEX)
+					|| !(Math.abs(y * rows / h) < MAX_CELL_INDEX)) {
+				clearCellCache();
+				return false;
+			}
+			double frx = w / cols;
+			double fry = h / rows;
+			if (cachedCoeffs == null || frx != cachedFrx || fry != cachedFry
+					|| !Arrays.deepEquals(coeffSquarefree, cachedCoeffs)) {
+				clearCellCache();
+				cachedCoeffs = new double[coeffSquarefree.length][][];
+				for (int i = 0; i < coeffSquarefree.length; i++) {
+					cachedCoeffs[i] = new double[coeffSquarefree[i].length][];
+					for (int j = 0; j < coeffSquarefree[i].length; j++) {
+						cachedCoeffs[i][j] = coeffSquarefree[i][j].clone();
+					}
+				}
+				cachedFrx = frx;
+				cachedFry = fry;
+			}
+			return true;
+		}
+
+		private void clearCellCache() {
+			cellCache.clear();
+			cachedCoeffs = null;
+			cachedDepths = false;
+			cells = null;
+		}
+
+		private Long cellKey(long col, long row) {
+			return Long.valueOf((col << 32) ^ (row & 0xFFFFFFFFL));
+		}
+
+		/**
+		 * Plots cell of the coarse grid or replays the segments cached for it.
+		 */
+		private void plotCell(Rect r, int factor) {
+			PlotCell cell = cells == null ? null : cells[r.y][r.x];
+			if (cell == null) {
+				plot(r, 0, factor);
+				return;
+			}
+			if (cell.isPlotted()) {
+				double[] segments = cell.getSegments();
+				for (int k = 0; k < cell.getSize(); k += 4) {
+					addSegment(
+							new MyPoint(segments[k], segments[k + 1],
+									SegmentType.MOVE_TO),
+							new MyPoint(segments[k + 2], segments[k + 3],
+									SegmentType.LINE_TO));
+				}
+				markNeighbors(r, cell.getNeighbors());
+				return;
+			}
+			cell.startRecording();
+			recording = cell;
+			try {
+				plot(r, 0, factor);
+			} finally {
+				recording = null;
+			}
+		}
+
+		@Override
+		protected void addSegment(MyPoint start, MyPoint end) {
+			if (recording != null) {
+				recording.addSegment(start.x, start.y, end.x, end.y);
+			}
+			super.addSegment(start, end);
+		}
+
 		public void createTree(Rect r, int depth, int factor) {
 			Rect[] n = r.split(GeoImplicitCurve.this, factor);
 			plot(n[0], depth, factor);
@@ -1846,30 +1985,41 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			}
 			if (grid[r.y][r.x] != null && grid[r.y][r.x].singular
 					|| e != EMPTY) {
-				if (depth >= plotDepth) {
+				if (depth >= plotDepth && e != EMPTY && refine
+						&& depth < plotDepth + SINGULAR_EXTRA_DEPTH
+						&& plotGrid.maybeSingular(r.y, r.x)) {
+					// the curve may cross itself here
+					createTree(r, depth + 1, factor);
+				} else if (depth >= plotDepth) {
 					if (addSegment(r, factor) == T0101) {
 						createTree(r, depth + 1, factor);
 						return;
 					}
-					if (r.x != 0 && (e & r.shares & 0x1) != 0) {
-						nonempty(r.y, r.x - 1);
-
-					}
-					if (r.x + 1 != sw && (e & r.shares & 0x4) != 0) {
-						nonempty(r.y, r.x + 1);
-					}
-					if (r.y != 0 && (e & r.shares & 0x8) != 0) {
-						nonempty(r.y - 1, r.x);
-					}
-					if (r.y + 1 != sh && (e & r.shares & 0x2) != 0) {
-						nonempty(r.y + 1, r.x);
+					if (recording != null) {
+						recording.addNeighbors(e & r.shares);
 					}
+					markNeighbors(r, e & r.shares);
 				} else {
 					createTree(r, depth + 1, factor);
 				}
 			}
 		}
 
+		private void markNeighbors(Rect r, int edges) {
+			if (r.x != 0 && (edges & 0x1) != 0) {
+				nonempty(r.y, r.x - 1);
+			}
+			if (r.x + 1 != sw && (edges & 0x4) != 0) {
+				nonempty(r.y, r.x + 1);
+			}
+			if (r.y != 0 && (edges & 0x8) != 0) {
+				nonempty(r.y - 1, r.x);
+			}
+			if (r.y + 1 != sh && (edges & 0x2) != 0) {
+				nonempty(r.y + 1, r.x);
+			}
+		}
+
 		private void nonempty(int ry, int rx) {
 			if (grid[ry][rx] != null && grid[ry][rx].status == EMPTY) {
 				grid[ry][rx].status = 1;
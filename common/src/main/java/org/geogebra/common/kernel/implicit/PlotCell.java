@@ -0,0 +1,70 @@
+package org.geogebra.common.kernel.implicit;
+
+/**
+ * Result of plotting one cell of the coarse grid of an implicit curve, kept
+ * so that the cell does not need to be evaluated again after panning.
+ */
+class PlotCell {
+	/** whether the gradient vanishes in the cell center */
+	final boolean singular;
+	/** start x, start y, end x, end y of each segment */
+	private double[] segments;
+	private int size;
+	/** neighbors to be plotted, same bits as edge configuration */
+	private int neighbors;
+
+	/**
+	 * @param singular
+	 *            whether the gradient vanishes in the cell center
+	 */
+	PlotCell(boolean singular) {
+		this.singular = singular;
+	}
+
+	/**
+	 * @return whether the segments of this cell are known
+	 */
+	boolean isPlotted() {
+		return segments != null;
+	}
+
+	/**
+	 * Start recording segments, previous ones are discarded.
+	 */
+	void startRecording() {
+		segments = new double[16];
+		size = 0;
+		neighbors = 0;
+	}
+
+	void addSegment(double x1, double y1, double x2, double y2) {
+		if (size + 4 > segments.length) {
+			double[] bigger = new double[segments.length * 2];
+			System.arraycopy(segments, 0, bigger, 0, size);
+			segments = bigger;
+		}
+		segments[size++] = x1;
+		segments[size++] = y1;
+		segments[size++] = x2;
+		segments[size++] = y2;
+	}
+
+	void addNeighbors(int bits) {
+		neighbors |= bits;
+	}
+
+	int getNeighbors() {
+		return neighbors;
+	}
+
+	double[] getSegments() {
+		return segments;
+	}
+
+	/**
+	 * @return number of used entries of {@link #getSegments()}
+	 */
+	int getSize() {
+		return size;
+	}
+}
@@ -0,0 +1,171 @@
+package org.geogebra.common.kernel.implicit;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.algos.TaskRunner;
+import org.geogebra.common.util.DoubleUtil;
+
+/**
+ * Values of one factor of an implicit curve in vertices of the coarse plot
+ * grid. For polynomials the partial derivatives in vertices are kept as well
+ * to find cells that may contain a singular point; polynomials are evaluated
+ * by static methods only, so bands of rows may be computed concurrently.
+ */
+class PlotGrid {
+	/** rows of grid vertices evaluated by one task */
+	private static final int ROWS_PER_TASK = 4;
+
+	private int rows;
+	private int cols;
+	private double[][] values;
+	private double[][] valuesDx;
+	private double[][] valuesDy;
+	/** whether the gradient vanishes in cell centers */
+	private boolean[][] centerSingular;
+	/** whether derivatives in vertices are known */
+	private boolean polynomial;
+
+	/**
+	 * @param curve
+	 *            curve
+	 * @param factorCoeff
+	 *            coefficients of the factor, null to evaluate it through the
+	 *            curve in this thread
+	 * @param coeff
+	 *            coefficients of the whole curve, used for the gradient in
+	 *            cell centers if factorCoeff is not null
+	 * @param xcoords
+	 *            x-coordinates of vertices
+	 * @param ycoords
+	 *            y-coordinates of vertices
+	 * @param frx
+	 *            cell width
+	 * @param fry
+	 *            cell height
+	 * @param factor
+	 *            index of the factor
+	 * @param runner
+	 *            runner for bands of rows
+	 */
+	void evaluate(final GeoImplicitCurve curve, final double[][] factorCoeff,
+			final double[][] coeff, final double[] xcoords,
+			final double[] ycoords, final double frx, final double fry,
+			final int factor, TaskRunner runner) {
+		polynomial = factorCoeff != null && coeff != null;
+		int sh = ycoords.length - 1;
+		int sw = xcoords.length - 1;
+		if (values == null || rows != sh || cols != sw) {
+			rows = sh;
+			cols = sw;
+			values = new double[sh + 1][sw + 1];
+			centerSingular = new boolean[sh][sw];
+			valuesDx = null;
+			valuesDy = null;
+		}
+		if (polynomial && valuesDx == null) {
+			valuesDx = new double[sh + 1][sw + 1];
+			valuesDy = new double[sh + 1][sw + 1];
+		}
+		if (!polynomial || !runner.isParallel()) {
+			evaluateRows(curve, factorCoeff, coeff, xcoords, ycoords, frx,
+					fry, factor, 0, sh + 1);
+			return;
+		}
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		for (int from = 0; from <= sh; from += ROWS_PER_TASK) {
+			final int start = from;
+			final int end = Math.min(sh + 1, from + ROWS_PER_TASK);
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					evaluateRows(curve, factorCoeff, coeff, xcoords, ycoords,
+							frx, fry, factor, start, end);
+				}
+			});
+		}
+		runner.runAll(tasks);
+	}
+
+	/**
+	 * Evaluates vertex rows [from, to) and centers of the cells above them.
+	 */
+	void evaluateRows(GeoImplicitCurve curve, double[][] factorCoeff,
+			double[][] coeff, double[] xcoords, double[] ycoords, double frx,
+			double fry, int factor, int from, int to) {
+		for (int i = from; i < to; i++) {
+			double fy = ycoords[i] - 0.5 * fry;
+			for (int j = 0; j <= cols; j++) {
+				double x = xcoords[j];
+				double y = ycoords[i];
+				if (polynomial) {
+					values[i][j] = GeoImplicitCurve.evalPolyCoeffAt(x, y,
+							factorCoeff);
+					valuesDx[i][j] = GeoImplicitCurve.evalDiffXPolyAt(x, y,
+							factorCoeff);
+					valuesDy[i][j] = GeoImplicitCurve.evalDiffYPolyAt(x, y,
+							factorCoeff);
+				} else {
+					values[i][j] = curve.evaluateImplicitCurve(x, y, factor);
+				}
+				if (i > 0 && j > 0) {
+					double fx = xcoords[j] - 0.5 * frx;
+					double dx = polynomial
+							? GeoImplicitCurve.evalDiffXPolyAt(fx, fy, coeff)
+							: curve.derivativeX(fx, fy);
+					double dy = polynomial
+							? GeoImplicitCurve.evalDiffYPolyAt(fx, fy, coeff)
+							: curve.derivativeY(fx, fy);
+					centerSingular[i - 1][j - 1] = DoubleUtil
+							.isZero(Math.abs(dx) + Math.abs(dy), 0.001);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param i
+	 *            vertex row
+	 * @param j
+	 *            vertex column
+	 * @return value of the factor
+	 */
+	double getValue(int i, int j) {
+		return values[i][j];
+	}
+
+	/**
+	 * @param row
+	 *            cell row
+	 * @param col
+	 *            cell column
+	 * @return whether the gradient vanishes in the center of the cell
+	 */
+	boolean isCenterSingular(int row, int col) {
+		return centerSingular[row][col];
+	}
+
+	/**
+	 * A cell may contain a singular point if the factor and both partial
+	 * derivatives have zeros in it.
+	 *
+	 * @param row
+	 *            cell row
+	 * @param col
+	 *            cell column
+	 * @return whether the factor and both its derivatives change sign in the
+	 *         cell; false if derivatives are not known
+	 */
+	boolean maybeSingular(int row, int col) {
+		return polynomial && changesSign(values, row, col)
+				&& changesSign(valuesDx, row, col)
+				&& changesSign(valuesDy, row, col);
+	}
+
+	private static boolean changesSign(double[][] v, int row, int col) {
+		double min = Math.min(Math.min(v[row][col], v[row][col + 1]),
+				Math.min(v[row + 1][col], v[row + 1][col + 1]));
+		double max = Math.max(Math.max(v[row][col], v[row][col + 1]),
+				Math.max(v[row + 1][col], v[row + 1][col + 1]));
+		return min <= 0 && max >= 0;
+	}
+}
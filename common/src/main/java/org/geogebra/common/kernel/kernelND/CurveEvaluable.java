@@ -54,6 +54,19 @@ public interface CurveEvaluable {
 	 */
 	void evaluateCurve(double t, double[] out);
 
+	/**
+	 * Evaluates the curve for several parameter values
+	 * 
+	 * @param t
+	 *            parameter values
+	 * @param count
+	 *            number of parameter values to use
+	 * @param out
+	 *            array to store the result; coords for t[i] start at i * dim
+	 *            where dim is the length of {@link #newDoubleArray()}
+	 */
+	void evaluateCurve(double[] t, int count, double[] out);
+
 	/**
 	 * @param a
 	 *            start parameter
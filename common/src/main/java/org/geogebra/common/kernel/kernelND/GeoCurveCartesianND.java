@@ -345,17 +345,23 @@ public abstract class GeoCurveCartesianND extends GeoElement
 			// register the variable name to make sure parsing of CAS output
 			// runs OK, see #3006
 			GeoNumeric geo = new GeoNumeric(this.cons);
-			this.cons.addLocalVariable(
-					getFun(0).getVarString(StringTemplate.defaultTemplate),
-					geo);
+			String var = getFun(0).getVarString(StringTemplate.defaultTemplate);
+			this.cons.addLocalVariable(var, geo);
+			// keep all components when the CAS result is pending
+			Function[] results = new Function[getDimension()];
+			try {
+				for (int k = 0; k < getDimension(); k++) {
+					results[k] = (Function) c.getFunExpanded(k)
+							.evalCasCommand(ggbCasCmd, symbolic, arbconst);
+				}
+			} finally {
+				this.cons.removeLocalVariable(var);
+			}
 			this.isDefined = true;
 			for (int k = 0; k < getDimension(); k++) {
-				setFun(k, (Function) c.getFunExpanded(k)
-						.evalCasCommand(ggbCasCmd, symbolic, arbconst));
+				setFun(k, results[k]);
 				this.isDefined = this.isDefined && getFun(k) != null;
 			}
-			this.cons.removeLocalVariable(
-					getFun(0).getVarString(StringTemplate.defaultTemplate));
 			if (this.isDefined) {
 				setInterval(c.startParam, c.endParam);
 			}
@@ -730,6 +736,14 @@ public abstract class GeoCurveCartesianND extends GeoElement
 
 	}
 
+	@Override
+	public void evaluateCurve(double[] t, int count, double[] out) {
+		int dim = fun.length;
+		for (int k = 0; k < dim; k++) {
+			fun[k].value(t, count, out, k, dim);
+		}
+	}
+
 	/**
 	 * 
 	 * @param points
@@ -7,6 +7,7 @@ import org.geogebra.common.kernel.VarString;
 import org.geogebra.common.kernel.Matrix.CoordMatrix;
 import org.geogebra.common.kernel.Matrix.Coords;
 import org.geogebra.common.kernel.algos.AlgoMacro;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
 import org.geogebra.common.kernel.arithmetic.FunctionExpander;
@@ -235,6 +236,62 @@ public abstract class GeoSurfaceCartesianND extends GeoElement
 		return endParam[i];
 	}
 
+	@Override
+	public void evaluatePoints(double[] u, int uCount, double[] v,
+			int vCount, double[] out) {
+		evaluatePointRows(u, uCount, v, 0, vCount, out);
+	}
+
+	@Override
+	public void evaluatePointRows(double[] u, int uCount, double[] v,
+			int vStart, int vEnd, double[] out) {
+		double[] uv = new double[2];
+		// one coordinate function at a time
+		for (int k = 0; k < 3; k++) {
+			FunctionNVar coordFun = k < fun.length ? fun[k] : null;
+			CompiledExpression compiled = getConcurrentExpression(coordFun);
+			double[] stack = compiled == null ? null
+					: new double[compiled.getStackSize()];
+			int index = 3 * vStart * uCount + k;
+			for (int j = vStart; j < vEnd; j++) {
+				uv[1] = v[j];
+				for (int i = 0; i < uCount; i++) {
+					uv[0] = u[i];
+					if (coordFun == null) {
+						out[index] = 0;
+					} else if (compiled != null) {
+						out[index] = compiled.evaluate(uv, stack);
+					} else {
+						out[index] = coordFun.evaluate(uv);
+					}
+					index += 3;
+				}
+			}
+		}
+	}
+
+	@Override
+	public boolean isEvaluatePointsConcurrent() {
+		if (fun == null) {
+			return false;
+		}
+		for (int k = 0; k < fun.length && k < 3; k++) {
+			if (getConcurrentExpression(fun[k]) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static CompiledExpression getConcurrentExpression(
+			FunctionNVar coordFun) {
+		if (coordFun == null) {
+			return null;
+		}
+		CompiledExpression compiled = coordFun.getCompiledExpression();
+		return compiled != null && compiled.isConcurrent() ? compiled : null;
+	}
+
 	/**
 	 * returns all class-specific xml tags for getXML
 	 */
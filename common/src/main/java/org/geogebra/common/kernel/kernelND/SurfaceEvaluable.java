@@ -36,6 +36,53 @@ public interface SurfaceEvaluable {
 	 */
 	public void evaluatePoint(double u, double v, Coords3 point);
 
+	/**
+	 * Evaluates the surface on the grid u x v
+	 * 
+	 * @param u
+	 *            first parameter values
+	 * @param uCount
+	 *            number of first parameter values to use
+	 * @param v
+	 *            second parameter values
+	 * @param vCount
+	 *            number of second parameter values to use
+	 * @param out
+	 *            array to store x, y, z of point (u[i], v[j]) starting at
+	 *            3 * (j * uCount + i)
+	 */
+	public void evaluatePoints(double[] u, int uCount, double[] v,
+			int vCount, double[] out);
+
+	/**
+	 * Evaluates rows vStart to vEnd - 1 of the grid u x v, storing them at the
+	 * same positions as {@link #evaluatePoints(double[], int, double[], int, double[])}
+	 * 
+	 * @param u
+	 *            first parameter values
+	 * @param uCount
+	 *            number of first parameter values to use
+	 * @param v
+	 *            second parameter values
+	 * @param vStart
+	 *            first row
+	 * @param vEnd
+	 *            row after the last one
+	 * @param out
+	 *            array to store x, y, z
+	 */
+	public void evaluatePointRows(double[] u, int uCount, double[] v,
+			int vStart, int vEnd, double[] out);
+
+	/**
+	 * Must be called in the kernel thread; the answer is valid until the
+	 * surface changes.
+	 * 
+	 * @return whether {@link #evaluatePointRows} may be called for different
+	 *         rows in several threads at once
+	 */
+	public boolean isEvaluatePointsConcurrent();
+
 	/**
 	 * 
 	 * @param p
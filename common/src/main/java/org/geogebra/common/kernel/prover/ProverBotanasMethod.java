@@ -29,6 +29,7 @@ import org.geogebra.common.kernel.algos.AlgoIntersectLineConic;
 import org.geogebra.common.kernel.algos.AlgoPointOnPath;
 import org.geogebra.common.kernel.algos.SymbolicParametersBotanaAlgo;
 import org.geogebra.common.kernel.algos.SymbolicParametersBotanaAlgoAre;
+import org.geogebra.common.kernel.algos.TaskRunner;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.MyList;
 import org.geogebra.common.kernel.arithmetic.ValidExpression;
@@ -44,6 +45,7 @@ import org.geogebra.common.kernel.geos.GeoSegment;
 import org.geogebra.common.kernel.prover.adapters.DependentNumberAdapter;
 import org.geogebra.common.kernel.prover.polynomial.PPolynomial;
 import org.geogebra.common.kernel.prover.polynomial.PVariable;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.main.ProverSettings;
 import org.geogebra.common.plugin.Operation;
 import org.geogebra.common.util.DoubleUtil;
@@ -302,6 +304,82 @@ public class ProverBotanasMethod {
 		return ret;
 	}
 
+	/**
+	 * Elimination for one variable permutation, see
+	 * {@link PPolynomial#eliminate}
+	 */
+	private static class PermutationElimination implements Runnable {
+		private final PPolynomial[] eqSystem;
+		private final HashMap<PVariable, BigInteger> substitutions;
+		private final Kernel kernel;
+		private final int permutation;
+		private final Set<PVariable> freeVariables;
+		/** elimination ideal or null if computation failed */
+		Set<Set<PPolynomial>> result;
+
+		PermutationElimination(PPolynomial[] eqSystem,
+				HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
+				int permutation, Set<PVariable> freeVariables) {
+			this.eqSystem = eqSystem;
+			this.substitutions = substitutions;
+			this.kernel = kernel;
+			this.permutation = permutation;
+			this.freeVariables = freeVariables;
+		}
+
+		@Override
+		public void run() {
+			result = PPolynomial.eliminate(eqSystem, substitutions, kernel,
+					permutation, true, false, freeVariables);
+		}
+	}
+
+	/**
+	 * Starts the elimination ideals for permutations first, first + 1, ...
+	 * at once; the task runner decides how many of them run at the same
+	 * time. Only the polynomials are shared between the tasks; they are not
+	 * modified.
+	 * 
+	 * @param eliminations
+	 *            list to collect eliminations in permutation order
+	 * @param deadline
+	 *            deadline of the whole batch
+	 * @return started tasks, index i belongs to permutation first + i
+	 */
+	private static TaskRunner.Batch eliminateConcurrently(
+			PPolynomial[] eqSystem,
+			HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
+			int first, int maxPermutations, Set<PVariable> freeVariables,
+			List<PermutationElimination> eliminations, long deadline) {
+		List<Runnable> tasks = new ArrayList<>(maxPermutations - first);
+		for (int i = first; i < maxPermutations; i++) {
+			PermutationElimination elimination = new PermutationElimination(
+					eqSystem, substitutions, kernel, i, freeVariables);
+			eliminations.add(elimination);
+			tasks.add(elimination);
+		}
+		Log.debug("Checking variable permutations #" + first + "-#"
+				+ (maxPermutations - 1) + " concurrently");
+		return kernel.getTaskRunner().start(tasks, deadline);
+	}
+
+	/**
+	 * @return number of free variables whose order
+	 *         {@link PPolynomial#eliminate} may permute
+	 */
+	private static int countPermutableVariables(PPolynomial[] eqSystem,
+			HashMap<PVariable, BigInteger> substitutions,
+			Set<PVariable> freeVariables) {
+		int count = 0;
+		for (PVariable variable : PPolynomial.getVars(eqSystem)) {
+			if ((substitutions == null || !substitutions.containsKey(variable))
+					&& freeVariables.contains(variable)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Translation of a geometric statement into an algebraic one. We use
 	 * polynomials and integer coefficients. The computations assume that a
@@ -1433,219 +1511,263 @@ public class ProverBotanasMethod {
 										 */
 				/* Pappus6 is at https://www.geogebra.org/m/TEQGgRKe */
 			}
-			while (!found && permutation < MAX_PERMUTATIONS) {
-
-				Kernel k = statement.getKernel();
-				eliminationIdeal = PPolynomial.eliminate(
-						as.getPolynomials()
-								.toArray(new PPolynomial[as.getPolynomials()
-										.size()]),
-						substitutions, k, permutation++, true, false,
-						as.freeVariables);
-				if (eliminationIdeal == null) {
-					return ProofResult.UNKNOWN;
-				}
-
-				Iterator<Set<PPolynomial>> ndgSet = eliminationIdeal.iterator();
-
-				List<HashSet<GeoPoint>> xEqualSet = new ArrayList<>();
-				xEqualSet.add(new HashSet<GeoPoint>());
-				List<HashSet<GeoPoint>> yEqualSet = new ArrayList<>();
-				yEqualSet.add(new HashSet<GeoPoint>());
-				boolean xyRewrite = (eliminationIdeal.size() == 2);
-
-				List<NDGCondition> bestNdgSet = new ArrayList<>();
-				double bestScore = Double.POSITIVE_INFINITY;
-				int ndgI = 0;
-				while (ndgSet.hasNext()) {
-					ndgI++;
-					Log.debug("Considering NDG " + ndgI + "...");
-					List<NDGCondition> ndgcl = new ArrayList<>();
-					double score = 0.0;
-					/*
-					 * All NDGs must be translatable into human readable form.
-					 */
-					boolean readable = true;
-					Set<PPolynomial> thisNdgSet = ndgSet.next();
-					Iterator<PPolynomial> ndg = thisNdgSet.iterator();
-					while (ndg.hasNext() && readable) {
-						PPolynomial poly = ndg.next();
-						if (poly.isZero()) {
-
-							/*
-							 * Here we know that the statement is reported to be
-							 * not generally true.
-							 */
-							Log.debug("Statement is NOT GENERALLY TRUE");
-
-							/*
-							 * It is possible that the statement is not
-							 * generally false, either.
-							 * 
-							 */
-							as.removeThesis();
-							as.addNegatedThesis();
-							eliminationIdeal = PPolynomial.eliminate(
+			/*
+			 * The permutations only change the variable order sent to
+			 * Singular, so the remaining ones can be computed at the same
+			 * time. They are still examined one after another with a shared
+			 * deadline; the rest is cancelled once a readable NDG set is found
+			 * or the result is decided otherwise.
+			 */
+			Kernel kernel = statement.getKernel();
+			boolean concurrent = MAX_PERMUTATIONS > 1
+					&& kernel.getApplication().has(Feature.PARALLEL_PROVER)
+					// fewer variables: all permutations are the same
+					&& countPermutableVariables(
+							as.getPolynomials().toArray(
+									new PPolynomial[as.getPolynomials()
+											.size()]),
+							substitutions, as.freeVariables) >= 4;
+			long deadline = System.currentTimeMillis()
+					+ 1000L * prover.getTimeout();
+			List<PermutationElimination> eliminations = new ArrayList<>();
+			TaskRunner.Batch batch = null;
+			int batchStart = 0;
+			try {
+				while (!found && permutation < MAX_PERMUTATIONS) {
+
+					Kernel k = statement.getKernel();
+					// revlex (permutation 0) is usually enough, try it alone
+					if (concurrent && permutation > 0) {
+						if (batch == null) {
+							batchStart = permutation;
+							batch = eliminateConcurrently(
 									as.getPolynomials()
 											.toArray(new PPolynomial[as
 													.getPolynomials().size()]),
-									substitutions, k, permutation++, true,
-									false, as.freeVariables);
-							ndgSet = eliminationIdeal.iterator();
-							while (ndgSet.hasNext()) {
-								thisNdgSet = ndgSet.next();
-								ndg = thisNdgSet.iterator();
-								while (ndg.hasNext()) {
-									poly = ndg.next();
-									if (poly.isZero()) {
-										/*
-										 * Here we know that the statement is
-										 * may be not generally false if we
-										 * are working with a maximal independent
-										 * set of variables.
-										 */									
-										as.removeThesis();
-										int naivDim = as.getFreeVariables()
-												.size()
-												- substitutions.keySet().size();
-										Log.debug(
-												"Naive dimension = " + naivDim);
-										if (!HilbertDimension.isDimGreaterThan2(
-												as, substitutions, naivDim)) {
+									substitutions, k, permutation,
+									MAX_PERMUTATIONS, as.freeVariables,
+									eliminations, deadline);
+						}
+						int index = permutation++ - batchStart;
+						eliminationIdeal = batch.await(index)
+								? eliminations.get(index).result : null;
+					} else {
+						eliminationIdeal = PPolynomial.eliminate(
+								as.getPolynomials()
+										.toArray(new PPolynomial[as
+												.getPolynomials().size()]),
+								substitutions, k, permutation++, true, false,
+								as.freeVariables);
+					}
+					if (eliminationIdeal == null) {
+						return ProofResult.UNKNOWN;
+					}
+
+					Iterator<Set<PPolynomial>> ndgSet = eliminationIdeal.iterator();
+
+					List<HashSet<GeoPoint>> xEqualSet = new ArrayList<>();
+					xEqualSet.add(new HashSet<GeoPoint>());
+					List<HashSet<GeoPoint>> yEqualSet = new ArrayList<>();
+					yEqualSet.add(new HashSet<GeoPoint>());
+					boolean xyRewrite = (eliminationIdeal.size() == 2);
+
+					List<NDGCondition> bestNdgSet = new ArrayList<>();
+					double bestScore = Double.POSITIVE_INFINITY;
+					int ndgI = 0;
+					while (ndgSet.hasNext()) {
+						ndgI++;
+						Log.debug("Considering NDG " + ndgI + "...");
+						List<NDGCondition> ndgcl = new ArrayList<>();
+						double score = 0.0;
+						/*
+						 * All NDGs must be translatable into human readable form.
+						 */
+						boolean readable = true;
+						Set<PPolynomial> thisNdgSet = ndgSet.next();
+						Iterator<PPolynomial> ndg = thisNdgSet.iterator();
+						while (ndg.hasNext() && readable) {
+							PPolynomial poly = ndg.next();
+							if (poly.isZero()) {
+
+								/*
+								 * Here we know that the statement is reported to be
+								 * not generally true.
+								 */
+								Log.debug("Statement is NOT GENERALLY TRUE");
+
+								/*
+								 * It is possible that the statement is not
+								 * generally false, either.
+								 * 
+								 */
+								as.removeThesis();
+								as.addNegatedThesis();
+								eliminationIdeal = PPolynomial.eliminate(
+										as.getPolynomials()
+												.toArray(new PPolynomial[as
+														.getPolynomials().size()]),
+										substitutions, k, permutation++, true,
+										false, as.freeVariables);
+								ndgSet = eliminationIdeal.iterator();
+								while (ndgSet.hasNext()) {
+									thisNdgSet = ndgSet.next();
+									ndg = thisNdgSet.iterator();
+									while (ndg.hasNext()) {
+										poly = ndg.next();
+										if (poly.isZero()) {
+											/*
+											 * Here we know that the statement is
+											 * may be not generally false if we
+											 * are working with a maximal independent
+											 * set of variables.
+											 */									
+											as.removeThesis();
+											int naivDim = as.getFreeVariables()
+													.size()
+													- substitutions.keySet().size();
 											Log.debug(
-													"Statement is NOT GENERALLY FALSE");
-											return ProofResult.TRUE_ON_COMPONENTS;
-										}
-										if (!investigateNonGeometricMaximalIndependentSet) {
-											return ProofResult.UNKNOWN;
-										}
-										/* Check again if the statement is generally
-										 * false by using a maximum independent set
-										 * of variables.
-										 */
-										as.addNegatedThesis();
-										eliminationIdeal = PPolynomial.eliminate(
-												as.getPolynomials()
-														.toArray(new PPolynomial[as
-																.getPolynomials().size()]),
-												substitutions, k, permutation++, true,
-												false, HilbertDimension.getAMaximalSet());
-										ndgSet = eliminationIdeal.iterator();
-										while (ndgSet.hasNext()) {
-											thisNdgSet = ndgSet.next();
-											ndg = thisNdgSet.iterator();
-											while (ndg.hasNext()) {
-												poly = ndg.next();
-												if (poly.isZero()) {
-													Log.debug(
-															"Statement is NOT GENERALLY FALSE");
-													return ProofResult.TRUE_ON_COMPONENTS;
+													"Naive dimension = " + naivDim);
+											if (!HilbertDimension.isDimGreaterThan2(
+													as, substitutions, naivDim)) {
+												Log.debug(
+														"Statement is NOT GENERALLY FALSE");
+												return ProofResult.TRUE_ON_COMPONENTS;
+											}
+											if (!investigateNonGeometricMaximalIndependentSet) {
+												return ProofResult.UNKNOWN;
+											}
+											/* Check again if the statement is generally
+											 * false by using a maximum independent set
+											 * of variables.
+											 */
+											as.addNegatedThesis();
+											eliminationIdeal = PPolynomial.eliminate(
+													as.getPolynomials()
+															.toArray(new PPolynomial[as
+																	.getPolynomials().size()]),
+													substitutions, k, permutation++, true,
+													false, HilbertDimension.getAMaximalSet());
+											ndgSet = eliminationIdeal.iterator();
+											while (ndgSet.hasNext()) {
+												thisNdgSet = ndgSet.next();
+												ndg = thisNdgSet.iterator();
+												while (ndg.hasNext()) {
+													poly = ndg.next();
+													if (poly.isZero()) {
+														Log.debug(
+																"Statement is NOT GENERALLY FALSE");
+														return ProofResult.TRUE_ON_COMPONENTS;
+													}
 												}
 											}
+											return ProofResult.FALSE;
 										}
-										return ProofResult.FALSE;
 									}
 								}
+								/*
+								 * End of checking if the statement is not generally
+								 * false.
+								 */
+
+								if (as.interpretFalseAsUndefined) {
+									Log.debug("Interpreting FALSE as UNKNOWN");
+									return ProofResult.UNKNOWN;
+								}
+								return ProofResult.FALSE;
 							}
+
 							/*
-							 * End of checking if the statement is not generally
-							 * false.
+							 * Here we know that the statement is reported to be
+							 * generally true with some NDGs.
 							 */
+							if (!poly.isConstant()) {
+								if (as.interpretTrueAsUndefined) {
+									Log.debug("Interpreting TRUE as UNKNOWN");
+									return ProofResult.UNKNOWN;
+								}
+								NDGCondition ndgc = ndgd.detect(poly);
+								if (ndgc == null) {
+									readable = false;
+								} else {
+									/*
+									 * Check if this elimination ideal equals to
+									 * {xM-xN,yM-yN}:
+									 */
+									xyRewrite = (xyRewrite
+											&& thisNdgSet.size() == 1);
+									/*
+									 * Note that in some cases the CAS may return
+									 * (xM-xN)*(-1) which consists of two factors,
+									 * so thisNdgSet.size() == 1 will fail. Until
+									 * now there is no experience of such behavior
+									 * for such simple ideals, so maybe this check
+									 * is OK.
+									 */
+									if (xyRewrite) {
+										if (ndgc.getCondition()
+												.equals("xAreEqual")) {
+											HashSet<GeoPoint> points = new HashSet<>();
+											points.add(
+													(GeoPoint) ndgc.getGeos()[0]);
+											points.add(
+													(GeoPoint) ndgc.getGeos()[1]);
+											xEqualSet.add(points);
+										}
+										if (ndgc.getCondition()
+												.equals("yAreEqual")) {
+											HashSet<GeoPoint> points = new HashSet<>();
+											points.add(
+													(GeoPoint) ndgc.getGeos()[0]);
+											points.add(
+													(GeoPoint) ndgc.getGeos()[1]);
+											yEqualSet.add(points);
+										}
+										if (xEqualSet.size() == 1
+												&& xEqualSet.equals(yEqualSet)) {
+											/*
+											 * If yes, set the condition to
+											 * AreEqual(M,N) and readable enough:
+											 */
+											ndgc.setCondition("AreEqual");
+											ndgc.setReadability(0.5);
+										}
+									}
 
-							if (as.interpretFalseAsUndefined) {
-								Log.debug("Interpreting FALSE as UNKNOWN");
-								return ProofResult.UNKNOWN;
+									ndgcl.add(ndgc);
+									score += ndgc.getReadability();
+								}
 							}
-							return ProofResult.FALSE;
 						}
-
 						/*
-						 * Here we know that the statement is reported to be
-						 * generally true with some NDGs.
+						 * Now we take the set if the conditions are readable and
+						 * the set is the current best. TODO: Here we should
+						 * simplify the NDGs, i.e. if one of them is a logical
+						 * consequence of others, then it should be eliminated.
 						 */
-						if (!poly.isConstant()) {
-							if (as.interpretTrueAsUndefined) {
-								Log.debug("Interpreting TRUE as UNKNOWN");
-								return ProofResult.UNKNOWN;
-							}
-							NDGCondition ndgc = ndgd.detect(poly);
-							if (ndgc == null) {
-								readable = false;
+						if (readable && score < bestScore) {
+							Log.debug("Found a better NDG score (" + score
+									+ ") than " + bestScore);
+							bestScore = score;
+							bestNdgSet = ndgcl;
+							found = true;
+						} else {
+							if (readable) {
+								Log.debug("Not better than previous NDG score ("
+										+ bestScore + "), this is " + score);
 							} else {
-								/*
-								 * Check if this elimination ideal equals to
-								 * {xM-xN,yM-yN}:
-								 */
-								xyRewrite = (xyRewrite
-										&& thisNdgSet.size() == 1);
-								/*
-								 * Note that in some cases the CAS may return
-								 * (xM-xN)*(-1) which consists of two factors,
-								 * so thisNdgSet.size() == 1 will fail. Until
-								 * now there is no experience of such behavior
-								 * for such simple ideals, so maybe this check
-								 * is OK.
-								 */
-								if (xyRewrite) {
-									if (ndgc.getCondition()
-											.equals("xAreEqual")) {
-										HashSet<GeoPoint> points = new HashSet<>();
-										points.add(
-												(GeoPoint) ndgc.getGeos()[0]);
-										points.add(
-												(GeoPoint) ndgc.getGeos()[1]);
-										xEqualSet.add(points);
-									}
-									if (ndgc.getCondition()
-											.equals("yAreEqual")) {
-										HashSet<GeoPoint> points = new HashSet<>();
-										points.add(
-												(GeoPoint) ndgc.getGeos()[0]);
-										points.add(
-												(GeoPoint) ndgc.getGeos()[1]);
-										yEqualSet.add(points);
-									}
-									if (xEqualSet.size() == 1
-											&& xEqualSet.equals(yEqualSet)) {
-										/*
-										 * If yes, set the condition to
-										 * AreEqual(M,N) and readable enough:
-										 */
-										ndgc.setCondition("AreEqual");
-										ndgc.setReadability(0.5);
-									}
-								}
-
-								ndgcl.add(ndgc);
-								score += ndgc.getReadability();
+								Log.debug("...unreadable");
 							}
 						}
 					}
-					/*
-					 * Now we take the set if the conditions are readable and
-					 * the set is the current best. TODO: Here we should
-					 * simplify the NDGs, i.e. if one of them is a logical
-					 * consequence of others, then it should be eliminated.
-					 */
-					if (readable && score < bestScore) {
-						Log.debug("Found a better NDG score (" + score
-								+ ") than " + bestScore);
-						bestScore = score;
-						bestNdgSet = ndgcl;
-						found = true;
-					} else {
-						if (readable) {
-							Log.debug("Not better than previous NDG score ("
-									+ bestScore + "), this is " + score);
-						} else {
-							Log.debug("...unreadable");
+					if (found) {
+						for (NDGCondition aBestNdgSet : bestNdgSet) {
+							prover.addNDGcondition(aBestNdgSet);
 						}
 					}
 				}
-				if (found) {
-					for (NDGCondition aBestNdgSet : bestNdgSet) {
-						prover.addNDGcondition(aBestNdgSet);
-					}
+			} finally {
+				if (batch != null) {
+					batch.cancel();
 				}
 			}
 			/*
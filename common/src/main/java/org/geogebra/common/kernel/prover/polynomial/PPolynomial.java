@@ -14,6 +14,7 @@ import java.util.TreeSet;
 import org.geogebra.common.cas.GeoGebraCAS;
 import org.geogebra.common.cas.singularws.SingularWebService;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.main.SingularWSSettings;
 import org.geogebra.common.util.ExtendedBoolean;
 import org.geogebra.common.util.debug.Log;
@@ -26,6 +27,11 @@ import org.geogebra.common.util.debug.Log;
  * 
  */
 public class PPolynomial implements Comparable<PPolynomial> {
+	/**
+	 * products with more terms are computed by {@link PackedPolynomial}
+	 */
+	private static final int PACKED_MULTIPLY_TERMS = 16;
+
 	private TreeMap<PTerm, BigInteger> terms;
 
 	/**
@@ -45,7 +51,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		terms = new TreeMap<>(poly.getTerms());
 	}
 
-	private PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
+	PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
 		this.terms = terms;
 	}
 
@@ -220,7 +226,13 @@ public class PPolynomial implements Comparable<PPolynomial> {
 			}
 		}
 		*/
-		
+
+		if (terms.size() * poly.getTerms().size() > PACKED_MULTIPLY_TERMS) {
+			PVariable[] vars = PackedPolynomial.getVars(this, poly);
+			return PackedPolynomial.pack(this, vars)
+					.multiply(PackedPolynomial.pack(poly, vars)).unpack();
+		}
+
 		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
 		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
 		Iterator<Entry<PTerm, BigInteger>> it1 = terms.entrySet().iterator();
@@ -696,50 +708,11 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		
 		if (substitutions == null)
 			return this;
-			
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
 
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(t1.getTerm());
-			BigInteger product = BigInteger.ONE;
-			Iterator<Entry<PVariable, BigInteger>> itSubst = substitutions
-					.entrySet()
-					.iterator();
-			while (itSubst.hasNext()) {
-				Entry<PVariable, BigInteger> entrySubst = itSubst.next();
-				PVariable variable = entrySubst.getKey();
-				Integer exponent = term.get(variable);
-				if (exponent != null) {
-					product = product
-							.multiply(entrySubst.getValue().pow(exponent));
-					term.remove(variable);
-				}
-			}
-			product = product.multiply(entry.getValue());
-			PTerm t = new PTerm(term);
-			if (result.containsKey(t)) {
-				BigInteger sum = result.get(t).add(product);
-//				if (sum.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > -1) {
-//					throw new ArithmeticException(
-//							"Integer Overflow in polynomial class");
-//				}
-				if (sum.longValue() == 0) {
-					result.remove(t);
-				} else {
-					result.put(t, sum);
-				}
-			} else if (product.intValue() != 0){
-//				if (product.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > -1) {
-//					throw new ArithmeticException(
-//							"Integer Overflow in polynomial class");
-//				}
-				result.put(t, product);
-			}
-		}
-		return new PPolynomial(result);
+		PackedPolynomial packed = PackedPolynomial.pack(this,
+				PackedPolynomial.getVars(this));
+		PackedPolynomial result = packed.substitute(substitutions);
+		return result == packed ? this : result.unpack();
 	}
 	/**
 	 * Substitutes a variable in the polynomial by another variable.
@@ -1048,13 +1021,39 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            set of free variables
 	 * @return yes if solvable, no if no solutions, or null (if cannot decide)
 	 */
-	public static ExtendedBoolean solvable(PPolynomial[] polys,
-			HashMap<PVariable, BigInteger> substitutions, Kernel kernel,
+	public static ExtendedBoolean solvable(PPolynomial[] polys0,
+			HashMap<PVariable, BigInteger> substitutions0, Kernel kernel,
 			boolean transcext, Set<PVariable> freeVariables) {
-		
+
+		PPolynomial[] polys = polys0;
+		HashMap<PVariable, BigInteger> substitutions = substitutions0;
+		if (kernel.getApplication().has(Feature.PROVER_NATIVE_ELIMINATION)) {
+			polys = new PPolynomial[polys0.length];
+			for (int i = 0; i < polys0.length; i++) {
+				polys[i] = polys0[i].substitute(substitutions0);
+			}
+			HashSet<PVariable> dependentVariables = getVars(polys);
+			dependentVariables.removeAll(freeVariables);
+			polys = PackedPolynomial.eliminateLinear(polys,
+					dependentVariables);
+			for (PPolynomial poly : polys) {
+				if (poly.isConstant()) {
+					Log.debug("Nonzero constant after linear elimination");
+					return ExtendedBoolean.FALSE; // no solution
+				}
+			}
+			if (polys.length == 0) {
+				return ExtendedBoolean.TRUE; // no equations left
+			}
+			// already substituted
+			substitutions = null;
+		}
+
 		HashSet<PVariable> substVars = null;
 		String polysAsCommaSeparatedString = getPolysAsCommaSeparatedString(polys);
-		substVars = new HashSet<>(substitutions.keySet());
+		if (substitutions != null) {
+			substVars = new HashSet<>(substitutions.keySet());
+		}
 
 		String freeVars = getVarsAsCommaSeparatedString(polys, substVars, true,
 				freeVariables);
@@ -1205,6 +1204,15 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		} else {
 			eqSystemSubstituted = eqSystem;
 		}
+		if (kernel.getApplication().has(Feature.PROVER_NATIVE_ELIMINATION)) {
+			PPolynomial[] reduced = PackedPolynomial
+					.eliminateLinear(eqSystemSubstituted, dependentVariables);
+			if (reduced.length > 0) {
+				Log.debug("Linear elimination: " + eqSystemSubstituted.length
+						+ " -> " + reduced.length + " equations");
+				eqSystemSubstituted = reduced;
+			}
+		}
 		
 		String elimResult, elimProgram;
 		Log.debug("Eliminating system in " + variables.size() + " variables (" + dependentVariables.size() + " dependent)");
@@ -0,0 +1,598 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Sparse polynomial over a fixed array of variables. The exponent vectors of
+ * all terms are stored in one int array, sorted in the order of
+ * {@link PTerm}, coefficients are longs. If any coefficient does not fit in a
+ * long, all of them are stored as BigIntegers instead.
+ *
+ * Used for the arithmetic of {@link PPolynomial}, which needs a map and a
+ * term object for each term.
+ */
+class PackedPolynomial {
+
+	private static final long INT_LIMIT = 1L << 31;
+
+	/** variables, sorted by id */
+	private final PVariable[] vars;
+	/** number of terms */
+	private final int size;
+	/** exponents of term i are at i * vars.length ... */
+	private final int[] exponents;
+	/** null if coefficients are in bigCoeffs */
+	private final long[] coeffs;
+	private final BigInteger[] bigCoeffs;
+
+	private PackedPolynomial(PVariable[] vars, int size, int[] exponents,
+			long[] coeffs, BigInteger[] bigCoeffs) {
+		this.vars = vars;
+		this.size = size;
+		this.exponents = exponents;
+		this.coeffs = coeffs;
+		this.bigCoeffs = bigCoeffs;
+	}
+
+	/**
+	 * @param polys
+	 *            polynomials
+	 * @return all variables of the polynomials, sorted
+	 */
+	static PVariable[] getVars(PPolynomial... polys) {
+		TreeSet<PVariable> set = new TreeSet<>();
+		for (PPolynomial poly : polys) {
+			for (PTerm t : poly.getTerms().keySet()) {
+				set.addAll(t.getTerm().keySet());
+			}
+		}
+		return set.toArray(new PVariable[set.size()]);
+	}
+
+	/**
+	 * @param poly
+	 *            polynomial
+	 * @param vars
+	 *            sorted variables, containing all variables of poly
+	 * @return packed polynomial
+	 */
+	static PackedPolynomial pack(PPolynomial poly, PVariable[] vars) {
+		TreeMap<PTerm, BigInteger> terms = poly.getTerms();
+		int n = vars.length;
+		int size = terms.size();
+		int[] exponents = new int[size * n];
+		BigInteger[] big = new BigInteger[size];
+		boolean fitsLong = true;
+		int i = 0;
+		// terms are iterated in ascending order, no need to sort
+		for (Entry<PTerm, BigInteger> entry : terms.entrySet()) {
+			for (Entry<PVariable, Integer> power : entry.getKey().getTerm()
+					.entrySet()) {
+				exponents[i * n + indexOf(vars, power.getKey())] = power
+						.getValue();
+			}
+			big[i] = entry.getValue();
+			fitsLong = fitsLong && big[i].bitLength() < 64;
+			i++;
+		}
+		if (!fitsLong) {
+			return new PackedPolynomial(vars, size, exponents, null, big);
+		}
+		long[] coeffs = new long[size];
+		for (i = 0; i < size; i++) {
+			coeffs[i] = big[i].longValue();
+		}
+		return new PackedPolynomial(vars, size, exponents, coeffs, null);
+	}
+
+	private static int indexOf(PVariable[] vars, PVariable v) {
+		int low = 0;
+		int high = vars.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int compare = vars[mid].compareTo(v);
+			if (compare < 0) {
+				low = mid + 1;
+			} else if (compare > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		throw new IllegalArgumentException("missing variable " + v);
+	}
+
+	/**
+	 * @return polynomial with the same terms
+	 */
+	PPolynomial unpack() {
+		TreeMap<PTerm, BigInteger> terms = new TreeMap<>();
+		int n = vars.length;
+		for (int i = 0; i < size; i++) {
+			TreeMap<PVariable, Integer> term = new TreeMap<>();
+			for (int k = 0; k < n; k++) {
+				if (exponents[i * n + k] != 0) {
+					term.put(vars[k], exponents[i * n + k]);
+				}
+			}
+			terms.put(new PTerm(term), getCoefficient(i));
+		}
+		return new PPolynomial(terms);
+	}
+
+	/**
+	 * @return number of terms
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @return coefficient of the term
+	 */
+	BigInteger getCoefficient(int i) {
+		if (coeffs == null) {
+			return bigCoeffs[i];
+		}
+		// keep the constant, it is compared by reference in PPolynomial
+		return coeffs[i] == 1 ? BigInteger.ONE : BigInteger.valueOf(coeffs[i]);
+	}
+
+	/**
+	 * @return whether this is a nonzero constant
+	 */
+	boolean isNonzeroConstant() {
+		if (size != 1) {
+			return false;
+		}
+		for (int k = 0; k < vars.length; k++) {
+			if (exponents[k] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param poly
+	 *            polynomial with the same variables
+	 * @return product
+	 */
+	PackedPolynomial multiply(PackedPolynomial poly) {
+		int n = vars.length;
+		TermList result = new TermList(vars, size * poly.size,
+				coeffs == null || poly.coeffs == null);
+		int[] exps = new int[n];
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < poly.size; j++) {
+				for (int k = 0; k < n; k++) {
+					exps[k] = exponents[i * n + k]
+							+ poly.exponents[j * n + k];
+				}
+				if (result.isBig()) {
+					result.add(exps, 0,
+							getCoefficient(i).multiply(poly.getCoefficient(j)));
+				} else {
+					result.addProduct(exps, 0, coeffs[i], poly.coeffs[j]);
+				}
+			}
+		}
+		return result.toPolynomial();
+	}
+
+	/**
+	 * @param substitutions
+	 *            values of variables
+	 * @return polynomial with the variables replaced by values
+	 */
+	PackedPolynomial substitute(Map<PVariable, BigInteger> substitutions) {
+		int n = vars.length;
+		BigInteger[] values = new BigInteger[n];
+		boolean found = false;
+		for (int k = 0; k < n; k++) {
+			values[k] = substitutions.get(vars[k]);
+			found = found || values[k] != null;
+		}
+		if (!found) {
+			return this;
+		}
+		TermList result = new TermList(vars, size, coeffs == null);
+		int[] exps = new int[n];
+		for (int i = 0; i < size; i++) {
+			BigInteger factor = null;
+			for (int k = 0; k < n; k++) {
+				int exp = exponents[i * n + k];
+				if (exp != 0 && values[k] != null) {
+					BigInteger power = values[k].pow(exp);
+					factor = factor == null ? power : factor.multiply(power);
+					exps[k] = 0;
+				} else {
+					exps[k] = exp;
+				}
+			}
+			if (factor == null) {
+				result.add(this, i, exps);
+			} else {
+				result.add(exps, 0, getCoefficient(i).multiply(factor));
+			}
+		}
+		return result.toPolynomial();
+	}
+
+	/**
+	 * @param var
+	 *            index of variable
+	 * @param poly
+	 *            polynomial with the same variables
+	 * @return polynomial with the variable replaced by poly
+	 */
+	PackedPolynomial substitute(int var, PackedPolynomial poly) {
+		int n = vars.length;
+		PackedPolynomial[] powers = new PackedPolynomial[2];
+		TermList result = new TermList(vars, size * poly.size, true);
+		int[] exps = new int[n];
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(exponents, i * n, exps, 0, n);
+			int exp = exps[var];
+			if (exp == 0) {
+				result.add(exps, 0, getCoefficient(i));
+				continue;
+			}
+			exps[var] = 0;
+			if (exp >= powers.length) {
+				PackedPolynomial[] bigger = new PackedPolynomial[exp + 1];
+				System.arraycopy(powers, 0, bigger, 0, powers.length);
+				powers = bigger;
+			}
+			if (powers[exp] == null) {
+				powers[1] = poly;
+				for (int e = 2; e <= exp; e++) {
+					if (powers[e] == null) {
+						powers[e] = powers[e - 1].multiply(poly);
+					}
+				}
+			}
+			PackedPolynomial power = powers[exp];
+			BigInteger c = getCoefficient(i);
+			int[] productExps = new int[n];
+			for (int j = 0; j < power.size; j++) {
+				for (int k = 0; k < n; k++) {
+					productExps[k] = exps[k] + power.exponents[j * n + k];
+				}
+				result.add(productExps, 0, c.multiply(power.getCoefficient(j)));
+			}
+		}
+		return result.toPolynomial();
+	}
+
+	/**
+	 * Finds a variable that can be expressed from this polynomial, i.e. the
+	 * polynomial is +-v + q where q does not contain v.
+	 *
+	 * @param eliminable
+	 *            which variables may be chosen
+	 * @return index of the variable or -1
+	 */
+	int getLinearVariable(boolean[] eliminable) {
+		int n = vars.length;
+		for (int i = 0; i < size; i++) {
+			if (coeffs == null || (coeffs[i] != 1 && coeffs[i] != -1)) {
+				continue;
+			}
+			int var = -1;
+			boolean linear = true;
+			for (int k = 0; k < n && linear; k++) {
+				int exp = exponents[i * n + k];
+				if (exp == 1 && var < 0) {
+					var = k;
+				} else if (exp != 0) {
+					linear = false;
+				}
+			}
+			if (!linear || var < 0 || !eliminable[var]) {
+				continue;
+			}
+			boolean onlyHere = true;
+			for (int j = 0; j < size && onlyHere; j++) {
+				onlyHere = j == i || exponents[j * n + var] == 0;
+			}
+			if (onlyHere) {
+				return var;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param var
+	 *            variable found by {@link #getLinearVariable(boolean[])}
+	 * @return q such that this polynomial is zero iff v = q
+	 */
+	PackedPolynomial solveFor(int var) {
+		int n = vars.length;
+		int index = -1;
+		for (int i = 0; i < size && index < 0; i++) {
+			if (exponents[i * n + var] != 0) {
+				index = i;
+			}
+		}
+		// +-v + q = 0 <=> v = -+q
+		boolean negate = coeffs[index] == 1;
+		TermList result = new TermList(vars, size - 1, coeffs == null);
+		for (int i = 0; i < size; i++) {
+			if (i != index) {
+				result.add(exponents, i * n, negate
+						? getCoefficient(i).negate() : getCoefficient(i));
+			}
+		}
+		return result.toPolynomial();
+	}
+
+	/**
+	 * Removes dependent variables which are given explicitly by one of the
+	 * equations (+-v + q = 0 where q does not contain v) by substituting them
+	 * into the other equations. The remaining system has the same solutions
+	 * for the other variables, this is often most of the elimination.
+	 *
+	 * @param polys
+	 *            equation system
+	 * @param eliminable
+	 *            variables which may be removed, e.g. the dependent ones
+	 * @return equivalent system without the removed variables
+	 */
+	static PPolynomial[] eliminateLinear(PPolynomial[] polys,
+			Set<PVariable> eliminable) {
+		PVariable[] vars = getVars(polys);
+		boolean[] canEliminate = new boolean[vars.length];
+		for (int k = 0; k < vars.length; k++) {
+			canEliminate[k] = eliminable.contains(vars[k]);
+		}
+		PackedPolynomial[] packed = new PackedPolynomial[polys.length];
+		int length = 0;
+		for (PPolynomial poly : polys) {
+			if (!poly.isZero()) {
+				packed[length++] = pack(poly, vars);
+			}
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < length && !changed; i++) {
+				int var = packed[i].getLinearVariable(canEliminate);
+				if (var >= 0) {
+					PackedPolynomial value = packed[i].solveFor(var);
+					packed[i] = packed[--length];
+					int newLength = 0;
+					for (int j = 0; j < length; j++) {
+						PackedPolynomial p = packed[j].substitute(var, value);
+						if (p.size > 0) {
+							packed[newLength++] = p;
+						}
+					}
+					length = newLength;
+					canEliminate[var] = false;
+					changed = true;
+				}
+			}
+		}
+		PPolynomial[] ret = new PPolynomial[length];
+		for (int i = 0; i < length; i++) {
+			ret[i] = packed[i].unpack();
+		}
+		return ret;
+	}
+
+	/**
+	 * Unsorted terms, possibly with repeated exponents, summed up by
+	 * {@link #toPolynomial()}.
+	 */
+	private static class TermList {
+		private final PVariable[] vars;
+		private final int n;
+		private int[] exps;
+		private long[] coeffs;
+		private BigInteger[] bigCoeffs;
+		private int size;
+
+		TermList(PVariable[] vars, int capacity, boolean big) {
+			this.vars = vars;
+			this.n = vars.length;
+			int cap = Math.max(capacity, 1);
+			exps = new int[cap * n];
+			if (big) {
+				bigCoeffs = new BigInteger[cap];
+			} else {
+				coeffs = new long[cap];
+			}
+		}
+
+		boolean isBig() {
+			return bigCoeffs != null;
+		}
+
+		private int newTerm(int[] src, int offset) {
+			if ((size + 1) * n > exps.length || (isBig()
+					? size == bigCoeffs.length : size == coeffs.length)) {
+				int cap = 2 * size + 1;
+				int[] biggerExps = new int[cap * n];
+				System.arraycopy(exps, 0, biggerExps, 0, size * n);
+				exps = biggerExps;
+				if (isBig()) {
+					BigInteger[] bigger = new BigInteger[cap];
+					System.arraycopy(bigCoeffs, 0, bigger, 0, size);
+					bigCoeffs = bigger;
+				} else {
+					long[] bigger = new long[cap];
+					System.arraycopy(coeffs, 0, bigger, 0, size);
+					coeffs = bigger;
+				}
+			}
+			System.arraycopy(src, offset, exps, size * n, n);
+			return size++;
+		}
+
+		void add(int[] src, int offset, BigInteger c) {
+			if (!isBig() && c.bitLength() >= 64) {
+				switchToBig();
+			}
+			int i = newTerm(src, offset);
+			if (isBig()) {
+				bigCoeffs[i] = c;
+			} else {
+				coeffs[i] = c.longValue();
+			}
+		}
+
+		void add(PackedPolynomial poly, int term, int[] src) {
+			if (poly.coeffs != null && !isBig()) {
+				coeffs[newTerm(src, 0)] = poly.coeffs[term];
+			} else {
+				add(src, 0, poly.getCoefficient(term));
+			}
+		}
+
+		void addProduct(int[] src, int offset, long c1, long c2) {
+			if (c1 > -INT_LIMIT && c1 < INT_LIMIT && c2 > -INT_LIMIT
+					&& c2 < INT_LIMIT) {
+				coeffs[newTerm(src, offset)] = c1 * c2;
+			} else {
+				add(src, offset,
+						BigInteger.valueOf(c1).multiply(BigInteger.valueOf(c2)));
+			}
+		}
+
+		private void switchToBig() {
+			bigCoeffs = new BigInteger[coeffs.length];
+			for (int i = 0; i < size; i++) {
+				bigCoeffs[i] = BigInteger.valueOf(coeffs[i]);
+			}
+			coeffs = null;
+		}
+
+		private int compare(int i, int j) {
+			for (int k = n - 1; k >= 0; k--) {
+				int diff = exps[i * n + k] - exps[j * n + k];
+				if (diff != 0) {
+					return diff;
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * @return indices of terms, sorted by exponents
+		 */
+		private int[] sortedIndices() {
+			int[] order = new int[size];
+			int[] tmp = new int[size];
+			for (int i = 0; i < size; i++) {
+				order[i] = i;
+			}
+			// bottom up merge sort
+			for (int width = 1; width < size; width *= 2) {
+				for (int low = 0; low < size; low += 2 * width) {
+					int mid = Math.min(low + width, size);
+					int high = Math.min(low + 2 * width, size);
+					int a = low, b = mid, t = low;
+					while (a < mid && b < high) {
+						tmp[t++] = compare(order[a], order[b]) <= 0
+								? order[a++] : order[b++];
+					}
+					while (a < mid) {
+						tmp[t++] = order[a++];
+					}
+					while (b < high) {
+						tmp[t++] = order[b++];
+					}
+				}
+				int[] swap = order;
+				order = tmp;
+				tmp = swap;
+			}
+			return order;
+		}
+
+		PackedPolynomial toPolynomial() {
+			int[] order = sortedIndices();
+			if (!isBig()) {
+				PackedPolynomial ret = sumLong(order);
+				if (ret != null) {
+					return ret;
+				}
+				switchToBig();
+			}
+			return sumBig(order);
+		}
+
+		/**
+		 * @return sum or null on overflow
+		 */
+		private PackedPolynomial sumLong(int[] order) {
+			int[] resultExps = new int[size * n];
+			long[] resultCoeffs = new long[size];
+			int count = 0;
+			int i = 0;
+			while (i < size) {
+				int first = order[i];
+				long sum = coeffs[first];
+				i++;
+				while (i < size && compare(first, order[i]) == 0) {
+					long c = coeffs[order[i]];
+					long s = sum + c;
+					if (((sum ^ s) & (c ^ s)) < 0) {
+						return null;
+					}
+					sum = s;
+					i++;
+				}
+				if (sum != 0) {
+					System.arraycopy(exps, first * n, resultExps, count * n,
+							n);
+					resultCoeffs[count++] = sum;
+				}
+			}
+			return new PackedPolynomial(vars, count, resultExps, resultCoeffs,
+					null);
+		}
+
+		private PackedPolynomial sumBig(int[] order) {
+			int[] resultExps = new int[size * n];
+			BigInteger[] resultCoeffs = new BigInteger[size];
+			boolean fitsLong = true;
+			int count = 0;
+			int i = 0;
+			while (i < size) {
+				int first = order[i];
+				BigInteger sum = bigCoeffs[first];
+				i++;
+				while (i < size && compare(first, order[i]) == 0) {
+					sum = sum.add(bigCoeffs[order[i]]);
+					i++;
+				}
+				if (sum.signum() != 0) {
+					System.arraycopy(exps, first * n, resultExps, count * n,
+							n);
+					fitsLong = fitsLong && sum.bitLength() < 64;
+					resultCoeffs[count++] = sum;
+				}
+			}
+			if (fitsLong) {
+				long[] longCoeffs = new long[count];
+				for (int j = 0; j < count; j++) {
+					longCoeffs[j] = resultCoeffs[j].longValue();
+				}
+				return new PackedPolynomial(vars, count, resultExps,
+						longCoeffs, null);
+			}
+			return new PackedPolynomial(vars, count, resultExps, null,
+					resultCoeffs);
+		}
+	}
+}
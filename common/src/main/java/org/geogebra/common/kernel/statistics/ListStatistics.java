@@ -0,0 +1,140 @@
+package org.geogebra.common.kernel.statistics;
+
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.arithmetic.NumberValue;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoList;
+
+/**
+ * Values of a list of numbers with sums and sorted values, kept until the list
+ * is updated. Statistics commands share this, so that many statistics of the
+ * same data do not read the list elements and sort them again each.
+ *
+ * Sums are computed in list order, so the results are the same as when each
+ * command sums the elements itself.
+ */
+public class ListStatistics {
+
+	private final GeoList list;
+	private boolean valid = false;
+	private boolean numeric;
+	private int size;
+	private double[] values = new double[0];
+	private double[] sorted;
+	private double sum;
+	private double sumSquares;
+	private double product;
+
+	/**
+	 * @param list
+	 *            list of numbers
+	 */
+	public ListStatistics(GeoList list) {
+		this.list = list;
+	}
+
+	/**
+	 * Drops the cached values, called when the list changes.
+	 */
+	public void invalidate() {
+		valid = false;
+		sorted = null;
+	}
+
+	private void validate() {
+		if (valid) {
+			return;
+		}
+		valid = true;
+		sorted = null;
+		size = list.size();
+		if (values.length != size) {
+			values = new double[size];
+		}
+		numeric = true;
+		sum = 0;
+		sumSquares = 0;
+		product = 1;
+		boolean packed = list.isPacked();
+		for (int i = 0; i < size; i++) {
+			double val;
+			if (packed) {
+				val = list.getPackedValue(i);
+			} else {
+				GeoElement geo = list.get(i);
+				if (!(geo instanceof NumberValue)) {
+					numeric = false;
+					return;
+				}
+				val = geo.evaluateDouble();
+			}
+			values[i] = val;
+			sum += val;
+			sumSquares += val * val;
+			product *= val;
+		}
+	}
+
+	/**
+	 * @return whether all elements are numbers; other methods may only be
+	 *         used in this case
+	 */
+	public boolean isNumeric() {
+		validate();
+		return numeric;
+	}
+
+	/**
+	 * @return number of values
+	 */
+	public int size() {
+		validate();
+		return size;
+	}
+
+	/**
+	 * @return values in list order, must not be modified
+	 */
+	public double[] getValues() {
+		validate();
+		return values;
+	}
+
+	/**
+	 * @return values in ascending order, must not be modified
+	 */
+	public double[] getSorted() {
+		validate();
+		if (sorted == null) {
+			sorted = new double[size];
+			System.arraycopy(values, 0, sorted, 0, size);
+			Arrays.sort(sorted);
+		}
+		return sorted;
+	}
+
+	/**
+	 * @return sum of values
+	 */
+	public double getSum() {
+		validate();
+		return sum;
+	}
+
+	/**
+	 * @return sum of squared values
+	 */
+	public double getSumSquares() {
+		validate();
+		return sumSquares;
+	}
+
+	/**
+	 * @return product of values
+	 */
+	public double getProduct() {
+		validate();
+		return product;
+	}
+}
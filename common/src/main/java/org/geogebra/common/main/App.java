@@ -35,6 +35,7 @@ import org.geogebra.common.factories.AwtFactory;
 import org.geogebra.common.factories.CASFactory;
 import org.geogebra.common.factories.Factory;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.Format;
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.Printer3DOutput;
 import org.geogebra.common.geogebra3D.util.CopyPaste3D;
 import org.geogebra.common.gui.AccessibilityManagerInterface;
 import org.geogebra.common.gui.AccessibilityManagerNoGui;
@@ -4411,6 +4412,45 @@ public abstract class App implements UpdateSelection {
 		/** GBB-2394 */
 		case SPLITTER_LOADING:
 			return prerelease;
+
+		case COMPILED_FUNCTIONS:
+			return prerelease;
+
+		case PARALLEL_UPDATE:
+			return prerelease;
+
+		case STATIC_DRAWABLE_CACHE:
+			return prerelease;
+		case STREAMING_FILE_LOADING:
+			return prerelease;
+		case BINARY_UNDO:
+			return prerelease;
+		case IMPLICIT_CURVE_CELL_CACHE:
+			return prerelease;
+		case PARALLEL_IMPLICIT_CURVE:
+			return prerelease;
+		case PERSISTENT_CAS_CACHE:
+			return prerelease;
+		case ASYNC_CAS:
+			return prerelease;
+		case DRAWABLE_HIT_INDEX:
+			return prerelease;
+		case PARALLEL_LOCUS:
+			return prerelease;
+		case PACKED_NUMERIC_LIST:
+			return prerelease;
+		case LIST_STATISTICS_CACHE:
+			return prerelease;
+		case STREAMING_DATA_IMPORT:
+			return prerelease;
+		case PARALLEL_SURFACE_MESH:
+			return prerelease;
+		case STREAMING_3D_EXPORT:
+			return prerelease;
+		case PROVER_NATIVE_ELIMINATION:
+			return prerelease;
+		case PARALLEL_PROVER:
+			return prerelease;
 		default:
 			Log.debug("missing case in Feature: " + f);
 			return false;
@@ -5364,6 +5404,16 @@ public abstract class App implements UpdateSelection {
 		// needs to be implemented in subclasses
 	}
 
+	/**
+	 * @param ext
+	 *            extension
+	 * @return output to a new file for streamed 3D export, null if not
+	 *         supported
+	 */
+	public Printer3DOutput newPrinter3DOutput(String ext) {
+		return null;
+	}
+
 	/**
 	 * handle image as appropriate
 	 * web: show in lightbox
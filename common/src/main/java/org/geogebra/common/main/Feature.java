@@ -286,6 +286,63 @@ public enum Feature {
 	MOB_PACK_LISTS,
 
 	/** MOB-1722 */
-	MOB_EXPORT_STL
+	MOB_EXPORT_STL,
+
+	/** evaluate functions through CompiledExpression */
+	COMPILED_FUNCTIONS,
+
+	/** compute independent algos of large update sets concurrently */
+	PARALLEL_UPDATE,
+
+	/** cache drawables that do not move while dragging in a bitmap */
+	STATIC_DRAWABLE_CACHE,
+
+	/** parse construction XML of ggb files directly from the zip */
+	STREAMING_FILE_LOADING,
+
+	/** store desktop undo points as binary XML records */
+	BINARY_UNDO,
+
+	/** reuse plotted grid cells of implicit curves after panning */
+	IMPLICIT_CURVE_CELL_CACHE,
+
+	/**
+	 * evaluate grid of implicit curves concurrently, refine cells with
+	 * singular points
+	 */
+	PARALLEL_IMPLICIT_CURVE,
+
+	/** keep CAS results in a file between sessions */
+	PERSISTENT_CAS_CACHE,
+
+	/** evaluate CAS commands in background threads */
+	ASYNC_CAS,
+
+	/** grid of drawable bounds for hit testing */
+	DRAWABLE_HIT_INDEX,
+
+	/** trace parts of a locus concurrently */
+	PARALLEL_LOCUS,
+
+	/** packed numeric lists in Sequence */
+	PACKED_NUMERIC_LIST,
+
+	/** keep values of lists for statistics commands */
+	LIST_STATISTICS_CACHE,
+
+	/** import data into the spreadsheet line by line */
+	STREAMING_DATA_IMPORT,
+
+	/** evaluate root mesh of surfaces concurrently and keep recent meshes */
+	PARALLEL_SURFACE_MESH,
+
+	/** write 3D export to file while exporting, binary STL */
+	STREAMING_3D_EXPORT,
+
+	/** remove linearly given variables before sending prover equations to CAS */
+	PROVER_NATIVE_ELIMINATION,
+
+	/** compute prover eliminations for several variable orders at once */
+	PARALLEL_PROVER
 }
 
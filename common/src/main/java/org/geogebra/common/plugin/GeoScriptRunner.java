@@ -32,9 +32,12 @@ public class GeoScriptRunner implements EventListener {
 				return;
 			}
 		}
+		// scripts may not leave update transactions open
+		int transactions = app.getKernel().getUpdateTransactionDepth();
 		try {
 			if (evt.type != EventType.UPDATE) {
 				script.run(evt);
+				app.getKernel().commitUpdateTransactions(transactions);
 				app.storeUndoInfo();
 			} else {
 				app.setBlockUpdateScripts(true);
@@ -43,6 +46,8 @@ public class GeoScriptRunner implements EventListener {
 			}
 		} catch (ScriptError e) {
 			app.showError(e.getScriptError());
+		} finally {
+			app.getKernel().commitUpdateTransactions(transactions);
 		}
 	}
 
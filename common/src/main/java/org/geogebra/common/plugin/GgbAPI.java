@@ -775,6 +775,31 @@ public abstract class GgbAPI implements JavaScriptAPI {
 		kernel.getAnimatonManager().stopAnimation();
 	}
 
+	@Override
+	public void beginUpdateTransaction() {
+		kernel.beginUpdateTransaction();
+	}
+
+	@Override
+	public void commitUpdateTransaction() {
+		kernel.commitUpdateTransaction();
+	}
+
+	@Override
+	public void setMetricsEnabled(boolean enabled) {
+		kernel.getMetrics().setEnabled(enabled);
+	}
+
+	@Override
+	public String getMetricsReport() {
+		return kernel.getMetrics().getReport();
+	}
+
+	@Override
+	public void resetMetrics() {
+		kernel.getMetrics().reset();
+	}
+
 	@Override
 	public void hideCursorWhenDragging(boolean hideCursorWhenDragging) {
 		kernel.getApplication()
@@ -420,6 +420,37 @@ public interface JavaScriptAPI {
 	 */
 	public void stopAnimation();
 
+	/**
+	 * Starts collecting changes: dependent objects and views are updated
+	 * only by the matching {@link #commitUpdateTransaction()}, once for all
+	 * changes.
+	 */
+	public void beginUpdateTransaction();
+
+	/**
+	 * Updates dependent objects and views after changes made since
+	 * {@link #beginUpdateTransaction()}.
+	 */
+	public void commitUpdateTransaction();
+
+	/**
+	 * Turns on or off recording of computation and drawing time per object.
+	 * 
+	 * @param enabled
+	 *            whether to record metrics
+	 */
+	public void setMetricsEnabled(boolean enabled);
+
+	/**
+	 * @return report of recorded metrics, most expensive objects first
+	 */
+	public String getMetricsReport();
+
+	/**
+	 * Drops recorded metrics.
+	 */
+	public void resetMetrics();
+
 	/**
 	 * Whether or not to show the mouse pointer (cursor) when dragging
 	 */
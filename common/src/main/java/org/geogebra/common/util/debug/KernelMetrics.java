@@ -0,0 +1,284 @@
+package org.geogebra.common.util.debug;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.main.App;
+
+/**
+ * Opt-in timing of kernel work per object: compute time of algorithms,
+ * update and draw time of drawables, CAS latency, undo snapshot sizes and
+ * phases of loading XML. Nothing is recorded unless enabled, callers should
+ * check {@link #isEnabled()} before measuring. Entries of removed objects are
+ * dropped together with the objects.
+ */
+public class KernelMetrics {
+
+	/** number of entries per category in report */
+	private static final int REPORT_ENTRIES = 20;
+
+	/**
+	 * Kinds of recorded work.
+	 */
+	public enum Category {
+		/** AlgoElement.compute() */
+		ALGO_COMPUTE("Algorithm compute"),
+		/** Drawable.update() during repaint */
+		DRAWABLE_UPDATE("Drawable update"),
+		/** Drawable.draw() */
+		DRAWABLE_DRAW("Drawable draw"),
+		/** CAS evaluation */
+		CAS("CAS"),
+		/** undo point, amount is XML length */
+		UNDO("Undo snapshot"),
+		/** phases of XML loading */
+		XML_LOAD("XML load");
+
+		private final String title;
+
+		Category(String title) {
+			this.title = title;
+		}
+	}
+
+	private static class Entry {
+		final Object key;
+		int count;
+		double time;
+		double maxTime;
+		long amount;
+
+		Entry(Object key) {
+			this.key = key;
+		}
+	}
+
+	private static final Comparator<Entry> BY_TIME = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			return Double.compare(e2.time, e1.time);
+		}
+	};
+
+	private final App app;
+	private volatile boolean enabled = false;
+	private final EnumMap<Category, HashMap<Object, Entry>> entries =
+			new EnumMap<>(Category.class);
+
+	/**
+	 * @param app
+	 *            application, provides the clock
+	 */
+	public KernelMetrics(App app) {
+		this.app = app;
+	}
+
+	/**
+	 * @return whether metrics are recorded
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param enabled
+	 *            whether to record metrics
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return current time in milliseconds, only for measuring durations
+	 */
+	public double now() {
+		return app.getMillisecondTime();
+	}
+
+	/**
+	 * @param algo
+	 *            algorithm
+	 * @param time
+	 *            compute duration in ms
+	 */
+	public void addAlgoCompute(AlgoElement algo, double time) {
+		add(Category.ALGO_COMPUTE, algo, time, 0);
+	}
+
+	/**
+	 * @param geo
+	 *            element of the drawable
+	 * @param time
+	 *            update duration in ms
+	 */
+	public void addDrawableUpdate(GeoElement geo, double time) {
+		add(Category.DRAWABLE_UPDATE, geo, time, 0);
+	}
+
+	/**
+	 * @param geo
+	 *            element of the drawable
+	 * @param time
+	 *            draw duration in ms
+	 */
+	public void addDrawableDraw(GeoElement geo, double time) {
+		add(Category.DRAWABLE_DRAW, geo, time, 0);
+	}
+
+	/**
+	 * @param key
+	 *            CAS cell or description of the caller
+	 * @param time
+	 *            duration in ms from request to result
+	 */
+	public void addCAS(Object key, double time) {
+		add(Category.CAS, key, time, 0);
+	}
+
+	/**
+	 * @param xmlLength
+	 *            length of the stored XML
+	 * @param time
+	 *            duration in ms
+	 */
+	public void addUndoSnapshot(int xmlLength, double time) {
+		add(Category.UNDO, "undo", time, xmlLength);
+	}
+
+	/**
+	 * @param phase
+	 *            name of the phase
+	 * @param time
+	 *            duration in ms
+	 */
+	public void addLoadPhase(String phase, double time) {
+		add(Category.XML_LOAD, phase, time, 0);
+	}
+
+	private synchronized void add(Category category, Object key, double time,
+			long amount) {
+		if (!enabled) {
+			return;
+		}
+		HashMap<Object, Entry> map = entries.get(category);
+		if (map == null) {
+			map = new HashMap<>();
+			entries.put(category, map);
+		}
+		Entry entry = map.get(key);
+		if (entry == null) {
+			entry = new Entry(key);
+			map.put(key, entry);
+		}
+		entry.count++;
+		entry.time += time;
+		entry.maxTime = Math.max(entry.maxTime, time);
+		entry.amount += amount;
+	}
+
+	/**
+	 * Drops the entries of a removed object, so that the report only lists
+	 * existing objects and the removed one is not kept in memory.
+	 * 
+	 * @param key
+	 *            algorithm, element or CAS cell
+	 */
+	public synchronized void remove(Object key) {
+		for (HashMap<Object, Entry> map : entries.values()) {
+			map.remove(key);
+		}
+	}
+
+	/**
+	 * Drops the entries of all objects of the construction, keeps undo and
+	 * loading times.
+	 */
+	public synchronized void clearObjects() {
+		entries.remove(Category.ALGO_COMPUTE);
+		entries.remove(Category.DRAWABLE_UPDATE);
+		entries.remove(Category.DRAWABLE_DRAW);
+		entries.remove(Category.CAS);
+	}
+
+	/**
+	 * Drops all recorded metrics.
+	 */
+	public synchronized void reset() {
+		entries.clear();
+	}
+
+	/**
+	 * @return human readable report, most expensive objects of each category
+	 *         first
+	 */
+	public synchronized String getReport() {
+		StringBuilder sb = new StringBuilder();
+		for (Category category : Category.values()) {
+			HashMap<Object, Entry> map = entries.get(category);
+			if (map == null || map.isEmpty()) {
+				continue;
+			}
+			ArrayList<Entry> list = new ArrayList<>(map.values());
+			Collections.sort(list, BY_TIME);
+			double total = 0;
+			for (Entry entry : list) {
+				total += entry.time;
+			}
+			sb.append(category.title);
+			sb.append(": ");
+			sb.append(list.size());
+			sb.append(" objects, ");
+			appendTime(sb, total);
+			sb.append('\n');
+			for (int i = 0; i < list.size() && i < REPORT_ENTRIES; i++) {
+				Entry entry = list.get(i);
+				sb.append("  ");
+				sb.append(describe(entry.key));
+				sb.append(": ");
+				sb.append(entry.count);
+				sb.append(" x ");
+				appendTime(sb, entry.time / entry.count);
+				sb.append(" = ");
+				appendTime(sb, entry.time);
+				sb.append(", max ");
+				appendTime(sb, entry.maxTime);
+				if (entry.amount > 0) {
+					sb.append(", average size ");
+					sb.append(entry.amount / entry.count);
+				}
+				sb.append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	private static void appendTime(StringBuilder sb, double time) {
+		sb.append(Math.round(time * 1000) / 1000.0);
+		sb.append(" ms");
+	}
+
+	private static String describe(Object key) {
+		if (key instanceof AlgoElement) {
+			AlgoElement algo = (AlgoElement) key;
+			GeoElement out = algo.getOutputLength() > 0 ? algo.getOutput(0)
+					: null;
+			String def = algo.toString(StringTemplate.defaultTemplate);
+			if (out != null && out.isLabelSet()) {
+				return out.getLabelSimple() + " = " + def;
+			}
+			return def;
+		}
+		if (key instanceof GeoElement) {
+			GeoElement geo = (GeoElement) key;
+			return geo.isLabelSet() ? geo.getLabelSimple()
+					: geo.getTypeString();
+		}
+		return String.valueOf(key);
+	}
+}
@@ -0,0 +1,37 @@
+package org.geogebra.desktop.cas.giac;
+
+import javax.swing.SwingUtilities;
+
+import org.geogebra.common.cas.CASparser;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.jre.cas.CASEvaluationPool;
+import org.geogebra.common.kernel.Kernel;
+
+/**
+ * Background CAS evaluation for desktop, results are delivered in the event
+ * dispatch thread.
+ */
+public class CASEvaluationPoolD extends CASEvaluationPool {
+
+	/**
+	 * @param threads
+	 *            number of workers
+	 */
+	public CASEvaluationPoolD(int threads) {
+		super(threads);
+	}
+
+	@Override
+	protected CASgiac createWorkerCAS(Kernel kernel) {
+		CASgiacD cas = new CASgiacD(
+				(CASparser) kernel.getGeoGebraCAS().getCASparser());
+		cas.settingsChanged(
+				kernel.getApplication().getSettings().getCasSettings());
+		return cas;
+	}
+
+	@Override
+	protected void runInKernelThread(Runnable runnable) {
+		SwingUtilities.invokeLater(runnable);
+	}
+}
@@ -24,6 +24,7 @@ import java.awt.GraphicsConfiguration;
 import java.awt.Image;
 import java.awt.Point;
 import java.awt.Toolkit;
+import java.awt.Transparency;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 import java.awt.event.MouseEvent;
@@ -102,6 +103,8 @@ public class EuclidianViewD extends EuclidianView
 	/** Java component for this view */
 	protected EuclidianViewJPanelD evjpanel;
 
+	private GBufferedImage cacheImage;
+
 	// set EuclidianView no - 2 for 2nd EulidianView, 1 for 1st EuclidianView
 	// and Applet
 	// EVNO_GENERAL for others
@@ -831,6 +834,19 @@ public class EuclidianViewD extends EuclidianView
 		updateBackgroundImage();
 	}
 
+	@Override
+	protected GBufferedImage getCacheGraphics() {
+		if (cacheGraphics == null || cacheImage == null) {
+			GraphicsConfiguration gc = evjpanel.getGraphicsConfiguration();
+			if (gc == null || getWidth() < 1 || getHeight() < 1) {
+				return null;
+			}
+			cacheImage = new GBufferedImageD(gc.createCompatibleImage(
+					getWidth(), getHeight(), Transparency.TRANSLUCENT));
+		}
+		return cacheImage;
+	}
+
 	private void createImage(GraphicsConfiguration gc) {
 		if (gc != null) {
 			bgImage = new GBufferedImageD(
@@ -1,6 +1,10 @@
 package org.geogebra.desktop.factories;
 
 import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.jre.kernel.AlgoUpdateSchedulerJre;
+import org.geogebra.common.jre.kernel.TaskRunnerJre;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
+import org.geogebra.common.kernel.algos.TaskRunner;
 import org.geogebra.common.util.HttpRequest;
 import org.geogebra.common.util.Prover;
 import org.geogebra.common.util.URLEncoder;
@@ -36,4 +40,14 @@ public class UtilFactoryD extends UtilFactory {
 		return new ProverD();
 	}
 
+	@Override
+	public AlgoUpdateScheduler newAlgoUpdateScheduler() {
+		return new AlgoUpdateSchedulerJre();
+	}
+
+	@Override
+	public TaskRunner newTaskRunner() {
+		return new TaskRunnerJre();
+	}
+
 }
@@ -81,6 +81,7 @@ import org.geogebra.desktop.main.AppD;
 import org.geogebra.desktop.main.GeoGebraPreferencesD;
 import org.geogebra.desktop.util.FrameCollector;
 import org.geogebra.desktop.util.HttpRequestD;
+import org.geogebra.desktop.util.KernelMetricsBean;
 
 import com.himamis.retex.editor.share.util.Unicode;
 
@@ -136,6 +137,9 @@ public class GeoGebraFrame extends JFrame
 	@Override
 	public void dispose() {
 		instances.remove(this);
+		if (app != null) {
+			KernelMetricsBean.unregister(app.getKernel().getMetrics());
+		}
 		if (this == activeInstance) {
 			setActiveInstance(null);
 		}
@@ -17,6 +17,7 @@ import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatColladaHTML;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatJscad;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatObj;
 import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatSTL;
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.FormatSTLBinary;
 import org.geogebra.common.main.Feature;
 import org.geogebra.common.move.events.BaseEvent;
 import org.geogebra.common.move.ggtapi.TubeAvailabilityCheckEvent;
@@ -630,7 +631,8 @@ class FileMenuD extends BaseMenu implements EventRenderable {
 				@Override
 				public void actionPerformed(ActionEvent e) {
 					try {
-						app.setExport3D(new FormatSTL());
+						app.setExport3D(app.has(Feature.STREAMING_3D_EXPORT)
+								? new FormatSTLBinary() : new FormatSTL());
 					} catch (Exception ex) {
 						Log.debug("Export to STL not available");
 					}
@@ -676,7 +678,8 @@ class FileMenuD extends BaseMenu implements EventRenderable {
 				@Override
 				public void actionPerformed(ActionEvent e) {
 					try {
-						app.setExport3D(new FormatObj());
+						app.setExport3D(new FormatObj(
+								app.has(Feature.STREAMING_3D_EXPORT)));
 					} catch (Exception ex) {
 						Log.debug("Export to .obj not available");
 					}
@@ -13,10 +13,12 @@ import java.net.URL;
 import org.geogebra.common.gui.view.spreadsheet.CellRange;
 import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
 import org.geogebra.common.gui.view.spreadsheet.DataImport;
+import org.geogebra.common.gui.view.spreadsheet.DataImportStream;
 import org.geogebra.common.gui.view.spreadsheet.RelativeCopy;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.main.App;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.util.Charsets;
 import org.geogebra.common.util.StringUtil;
 
@@ -164,6 +166,11 @@ public class CopyPasteCutD extends CopyPasteCut {
 	public boolean pasteFromURL(URL url, CellRange targetRange,
 			boolean clearSpreadsheet) {
 
+		if (targetRange.isSingleCell()
+				&& app.has(Feature.STREAMING_DATA_IMPORT)) {
+			return pasteFromURLStreaming(url, targetRange, clearSpreadsheet);
+		}
+
 		// read file
 		StringBuilder contents = new StringBuilder();
 
@@ -208,6 +215,49 @@ public class CopyPasteCutD extends CopyPasteCut {
 
 	}
 
+	/**
+	 * Imports the file line by line into the spreadsheet, starting at the
+	 * given cell. The spreadsheet is only cleared once the first line was
+	 * read; clearing and import form one undo step.
+	 */
+	private boolean pasteFromURLStreaming(URL url, CellRange targetCell,
+			boolean clearSpreadsheet) {
+		BufferedReader input = null;
+		DataImportStream importer = null;
+		try {
+			input = new BufferedReader(
+					new InputStreamReader(url.openStream(), Charsets.UTF_8));
+			String line = input.readLine();
+			if (line == null) {
+				return false;
+			}
+			importer = new DataImportStream(app, targetCell.getMinColumn(),
+					targetCell.getMinRow());
+			if (clearSpreadsheet) {
+				deleteAll();
+			}
+			while (line != null) {
+				importer.addLine(line);
+				line = input.readLine();
+			}
+			return true;
+		} catch (IOException ex) {
+			ex.printStackTrace();
+			return false;
+		} finally {
+			if (importer != null) {
+				importer.finish();
+			}
+			if (input != null) {
+				try {
+					input.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Return the extension portion of the file's name.
 	 * 
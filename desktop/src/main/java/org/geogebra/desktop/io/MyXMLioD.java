@@ -22,8 +22,12 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Enumeration;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import javax.imageio.ImageIO;
@@ -36,6 +40,7 @@ import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.gui.MyImageD;
 import org.geogebra.desktop.main.AppD;
+import org.geogebra.desktop.util.ImageManagerD;
 import org.geogebra.desktop.util.UtilD;
 
 /**
@@ -61,13 +66,7 @@ public class MyXMLioD extends MyXMLioJre {
 		// we have to read everything (i.e. all images)
 		// before we process the XML file, that's why we
 		// read the XML file into a buffer first
-		byte[] xmlFileBuffer = null;
-		byte[] macroXmlFileBuffer = null;
-		byte[] defaults2dXmlFileBuffer = null;
-		byte[] defaults3dXmlFileBuffer = null;
-		boolean xmlFound = false;
-		boolean macroXMLfound = false;
-		boolean javaScriptFound = false;
+		ArchiveContent content = new ArchiveContent();
 
 		// get all entries from the zip archive
 		while (true) {
@@ -83,48 +82,12 @@ public class MyXMLioD extends MyXMLioJre {
 
 			String name = entry.getName();
 			if (name.equals(XML_FILE)) {
-				// load xml file into memory first
-				xmlFileBuffer = UtilD.loadIntoMemory(zip);
-				xmlFound = true;
-				handler = getGGBHandler();
-			} else if (name.equals(XML_FILE_DEFAULTS_2D)) {
-				// load defaults xml file into memory first
-				defaults2dXmlFileBuffer = UtilD.loadIntoMemory(zip);
-				handler = getGGBHandler();
-			} else if (app.is3D() && name.equals(XML_FILE_DEFAULTS_3D)) {
-				// load defaults xml file into memory first
-				defaults3dXmlFileBuffer = UtilD.loadIntoMemory(zip);
+				content.xmlFound = true;
 				handler = getGGBHandler();
-			} else if (name.equals(XML_FILE_MACRO)) {
-				// load macro xml file into memory first
-				macroXmlFileBuffer = UtilD.loadIntoMemory(zip);
-				macroXMLfound = true;
-				handler = getGGBHandler();
-			} else if (name.equals(JAVASCRIPT_FILE)) {
-				// load JavaScript
-				kernel.setLibraryJavaScript(UtilD.loadIntoString(zip));
-				javaScriptFound = true;
-			} else if (StringUtil.toLowerCaseUS(name).endsWith("svg")) {
-				String svg = UtilD.loadIntoString(zip);
-
-				MyImageD img = new MyImageD(svg, name);
-
-				((AppD) app).addExternalImage(name, img);
-
+				// load xml file into memory first
+				content.xmlFileBuffer = UtilD.loadIntoMemory(zip);
 			} else {
-				// try to load image
-				try {
-					BufferedImage img = ImageIO.read(zip);
-					if ("".equals(name)) {
-						Log.warn("image in zip file with empty name");
-					} else {
-						((AppD) app).addExternalImage(name, new MyImageD(img));
-					}
-				} catch (IOException e) {
-					Log.debug("readZipFromURL: image could not be loaded: "
-							+ name);
-					e.printStackTrace();
-				}
+				readEntry(name, zip, content);
 			}
 
 			// get next entry
@@ -136,47 +99,186 @@ public class MyXMLioD extends MyXMLioJre {
 		}
 		zip.close();
 
-		if (!isGGTfile) {
-			// ggb file: remove all macros from kernel before processing
-			kernel.removeAllMacros();
+		processArchive(content, null, isGGTfile);
+	}
+
+	/**
+	 * Reads zipped file that includes the construction saved in xml format and
+	 * maybe image files. Unlike {@link #readZipFromInputStream}, all other
+	 * entries are read before the construction whatever their order in the
+	 * archive, so the construction XML is parsed directly from the file
+	 * instead of being copied to memory first.
+	 * 
+	 * @param file
+	 *            ggb or ggt file
+	 * @param isGGTfile
+	 *            true for ggt files
+	 * @return false if the file is not a zip archive (nothing was loaded)
+	 * @throws Exception
+	 *             when file is not accessible / is not valid ggb
+	 */
+	public final boolean readZipFromFile(File file, boolean isGGTfile)
+			throws Exception {
+		ZipFile zip;
+		try {
+			zip = new ZipFile(file);
+		} catch (ZipException e) {
+			return false;
 		}
+		try {
+			ArchiveContent content = new ArchiveContent();
+			ZipEntry xmlEntry = null;
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (name.equals(XML_FILE)) {
+					content.xmlFound = true;
+					handler = getGGBHandler();
+					xmlEntry = entry;
+				} else {
+					InputStream is = zip.getInputStream(entry);
+					try {
+						readEntry(name, is, content);
+					} finally {
+						is.close();
+					}
+				}
+			}
 
-		// process macros
-		if (macroXmlFileBuffer != null) {
-			// don't clear kernel for macro files
-			kernel.getConstruction().setFileLoading(true);
-			processXMLBuffer(macroXmlFileBuffer, !isGGTfile, isGGTfile);
-			kernel.getConstruction().setFileLoading(false);
+			processArchive(content,
+					xmlEntry == null ? null : zip.getInputStream(xmlEntry),
+					isGGTfile);
+		} finally {
+			zip.close();
+		}
+		return true;
+	}
+
+	/**
+	 * Reads one entry of a ggb file except the construction XML.
+	 */
+	private void readEntry(String name, InputStream is,
+			ArchiveContent content) throws IOException {
+		if (name.equals(XML_FILE_DEFAULTS_2D)) {
+			// load defaults xml file into memory first
+			content.defaults2dXmlFileBuffer = UtilD.loadIntoMemory(is);
+			handler = getGGBHandler();
+		} else if (app.is3D() && name.equals(XML_FILE_DEFAULTS_3D)) {
+			// load defaults xml file into memory first
+			content.defaults3dXmlFileBuffer = UtilD.loadIntoMemory(is);
+			handler = getGGBHandler();
+		} else if (name.equals(XML_FILE_MACRO)) {
+			// load macro xml file into memory first
+			content.macroXmlFileBuffer = UtilD.loadIntoMemory(is);
+			content.macroXMLfound = true;
+			handler = getGGBHandler();
+		} else if (name.equals(JAVASCRIPT_FILE)) {
+			// load JavaScript
+			kernel.setLibraryJavaScript(UtilD.loadIntoString(is));
+			content.javaScriptFound = true;
+		} else if (StringUtil.toLowerCaseUS(name).endsWith("svg")) {
+			String svg = UtilD.loadIntoString(is);
+
+			MyImageD img = new MyImageD(svg, name);
+
+			getImageManager().addExternalImage(name, img);
+
+		} else {
+			// try to load image
+			try {
+				BufferedImage img = ImageIO.read(is);
+				if ("".equals(name)) {
+					Log.warn("image in zip file with empty name");
+				} else {
+					getImageManager().addExternalImage(name,
+							new MyImageD(img));
+				}
+			} catch (IOException e) {
+				Log.debug("readZipFromURL: image could not be loaded: "
+						+ name);
+				e.printStackTrace();
+			}
 		}
+	}
+
+	private ImageManagerD getImageManager() {
+		return (ImageManagerD) app.getImageManager();
+	}
+
+	/**
+	 * Processes macros, construction and defaults once all images are loaded.
+	 * 
+	 * @param xmlStream
+	 *            construction XML if not buffered in content
+	 */
+	private void processArchive(ArchiveContent content, InputStream xmlStream,
+			boolean isGGTfile) throws Exception {
+		processMacros(content.macroXmlFileBuffer, isGGTfile);
 
 		// process construction
-		if (!isGGTfile && xmlFileBuffer != null) {
+		if (!isGGTfile && content.xmlFileBuffer != null) {
 			kernel.getConstruction().setFileLoading(true);
 			app.getCompanion().resetEuclidianViewForPlaneIds();
-			processXMLBuffer(xmlFileBuffer, !macroXMLfound, isGGTfile);
+			processXMLBuffer(content.xmlFileBuffer, !content.macroXMLfound,
+					isGGTfile);
+			kernel.getConstruction().setFileLoading(false);
+		} else if (!isGGTfile && xmlStream != null) {
+			kernel.getConstruction().setFileLoading(true);
+			app.getCompanion().resetEuclidianViewForPlaneIds();
+			doParseXML(new XMLStreamInputStream(xmlStream),
+					!content.macroXMLfound, false, true, true, true);
 			kernel.getConstruction().setFileLoading(false);
 		}
 
 		// process defaults (after construction for labeling styles)
-		if (defaults2dXmlFileBuffer != null) {
+		if (content.defaults2dXmlFileBuffer != null) {
 			kernel.getConstruction().setFileLoading(true);
-			processXMLBuffer(defaults2dXmlFileBuffer, false, true);
+			processXMLBuffer(content.defaults2dXmlFileBuffer, false, true);
 			kernel.getConstruction().setFileLoading(false);
 		}
-		if (defaults3dXmlFileBuffer != null) {
+		if (content.defaults3dXmlFileBuffer != null) {
 			kernel.getConstruction().setFileLoading(true);
-			processXMLBuffer(defaults3dXmlFileBuffer, false, true);
+			processXMLBuffer(content.defaults3dXmlFileBuffer, false, true);
 			kernel.getConstruction().setFileLoading(false);
 		}
 
-		if (!javaScriptFound && !isGGTfile) {
+		if (!content.javaScriptFound && !isGGTfile) {
 			kernel.resetLibraryJavaScript();
 		}
-		if (!(macroXMLfound || xmlFound)) {
+		if (!(content.macroXMLfound || content.xmlFound)) {
 			throw new Exception("No XML data found in file.");
 		}
 	}
 
+	/**
+	 * Entries of a ggb file that are processed after all images are loaded
+	 */
+	private static class ArchiveContent {
+		byte[] xmlFileBuffer = null;
+		byte[] macroXmlFileBuffer = null;
+		byte[] defaults2dXmlFileBuffer = null;
+		byte[] defaults3dXmlFileBuffer = null;
+		boolean xmlFound = false;
+		boolean macroXMLfound = false;
+		boolean javaScriptFound = false;
+	}
+
+	private void processMacros(byte[] macroXmlFileBuffer, boolean isGGTfile)
+			throws Exception {
+		if (!isGGTfile) {
+			// ggb file: remove all macros from kernel before processing
+			kernel.removeAllMacros();
+		}
+
+		if (macroXmlFileBuffer != null) {
+			// don't clear kernel for macro files
+			kernel.getConstruction().setFileLoading(true);
+			processXMLBuffer(macroXmlFileBuffer, !isGGTfile, isGGTfile);
+			kernel.getConstruction().setFileLoading(false);
+		}
+	}
+
 	@Override
 	final protected MyImageJre getExportImage(double width, double height) {
 		return new MyImageD(((AppD) app).getExportImage(THUMBNAIL_PIXELS_X,
@@ -22,16 +22,19 @@ import java.security.PrivilegedAction;
 
 import javax.swing.DefaultListSelectionModel;
 
+import org.geogebra.common.io.BinaryXMLWriter;
 import org.geogebra.common.jre.io.MyXMLioJre;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.UndoCommand;
 import org.geogebra.common.kernel.UndoManager;
 import org.geogebra.common.main.App;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
 import org.geogebra.common.util.debug.Log;
 import org.geogebra.desktop.cas.view.CASViewD;
 import org.geogebra.desktop.io.MyXMLioD;
+import org.geogebra.desktop.util.UtilD;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
@@ -49,15 +52,27 @@ public class UndoManagerD extends UndoManager {
 	 */
 	protected static class AppStateDesktop implements AppState {
 		private File f;
+		private boolean binary;
 
 		/**
 		 * Wrap file into app state
 		 * 
 		 * @param f
 		 *            file
+		 * @param binary
+		 *            whether the file contains binary XML records rather
+		 *            than zipped XML
 		 */
-		AppStateDesktop(File f) {
+		AppStateDesktop(File f, boolean binary) {
 			this.f = f;
+			this.binary = binary;
+		}
+
+		/**
+		 * @return whether the file contains binary XML records
+		 */
+		public boolean isBinary() {
+			return binary;
 		}
 
 		/**
@@ -161,10 +176,13 @@ public class UndoManagerD extends UndoManager {
 				try {
 					// perform the security-sensitive operation here
 					// save to file
-					File undoInfo = createTempFile(undoXML);
+					boolean binary = app.has(Feature.BINARY_UNDO);
+					File undoInfo = binary ? createBinaryTempFile(undoXML)
+							: createTempFile(undoXML);
 
 					// insert undo info
-					AppState appStateToAdd = new AppStateDesktop(undoInfo);
+					AppState appStateToAdd = new AppStateDesktop(undoInfo,
+							binary);
 					iterator.add(new UndoCommand(appStateToAdd));
 					pruneStateList();
 					app.getEventDispatcher().dispatchEvent(
@@ -209,6 +227,32 @@ public class UndoManagerD extends UndoManager {
 		return tempFile;
 	}
 
+	/**
+	 * Creates a temporary file containing the undoXML as binary records, these
+	 * are faster to restore than zipped XML.
+	 * 
+	 * @param undoXML
+	 *            XML string
+	 * @return temporary file
+	 * @throws Exception
+	 *             on file creation problem or invalid XML
+	 */
+	synchronized static File createBinaryTempFile(StringBuilder undoXML)
+			throws Exception {
+		byte[] records = BinaryXMLWriter.encode(undoXML.toString());
+		File tempFile = File.createTempFile(TEMP_FILE_PREFIX, ".bin");
+		tempFile.deleteOnExit();
+
+		FileOutputStream fos = new FileOutputStream(tempFile);
+		try {
+			fos.write(records);
+		} finally {
+			fos.close();
+		}
+
+		return tempFile;
+	}
+
 	/**
 	 * restore info at position pos of undo list
 	 */
@@ -256,7 +300,12 @@ public class UndoManagerD extends UndoManager {
 
 			// load undo info
 			app.getScriptManager().disableListeners();
-			((MyXMLioD) construction.getXMLio()).readZipFromMemory(is);
+			if (((AppStateDesktop) info).isBinary()) {
+				construction.getXMLio()
+						.processBinaryXML(UtilD.loadIntoMemory(is));
+			} else {
+				((MyXMLioD) construction.getXMLio()).readZipFromMemory(is);
+			}
 			if (changed) {
 				listSelModel.setAnchorSelectionIndex(anchorIndex);
 				listSelModel.setLeadSelectionIndex(leadIndex);
@@ -129,6 +129,7 @@ import org.geogebra.common.factories.Factory;
 import org.geogebra.common.factories.FormatFactory;
 import org.geogebra.common.factories.LaTeXFactory;
 import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.geogebra3D.euclidian3D.printer3D.Printer3DOutput;
 import org.geogebra.common.gui.toolbar.ToolBar;
 import org.geogebra.common.gui.view.algebra.AlgebraView;
 import org.geogebra.common.io.OFFHandler;
@@ -136,8 +137,10 @@ import org.geogebra.common.io.layout.DockPanelData;
 import org.geogebra.common.io.layout.Perspective;
 import org.geogebra.common.io.layout.PerspectiveDecoder;
 import org.geogebra.common.javax.swing.GImageIcon;
+import org.geogebra.common.jre.cas.CASResultStoreFile;
 import org.geogebra.common.jre.factory.FormatFactoryJre;
 import org.geogebra.common.jre.util.Base64;
+import org.geogebra.common.jre.util.Printer3DOutputFile;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.Macro;
@@ -154,6 +157,7 @@ import org.geogebra.common.main.AlgoKimberlingWeightsInterface;
 import org.geogebra.common.main.AlgoKimberlingWeightsParams;
 import org.geogebra.common.main.App;
 import org.geogebra.common.main.DialogManager;
+import org.geogebra.common.main.Feature;
 import org.geogebra.common.main.HTML5Export;
 import org.geogebra.common.main.MyError;
 import org.geogebra.common.main.ProverSettings;
@@ -183,6 +187,7 @@ import org.geogebra.desktop.GeoGebra;
 import org.geogebra.desktop.awt.GBufferedImageD;
 import org.geogebra.desktop.awt.GDimensionD;
 import org.geogebra.desktop.awt.GFontD;
+import org.geogebra.desktop.cas.giac.CASEvaluationPoolD;
 import org.geogebra.desktop.euclidian.DrawEquationD;
 import org.geogebra.desktop.euclidian.EuclidianControllerD;
 import org.geogebra.desktop.euclidian.EuclidianViewD;
@@ -231,6 +236,7 @@ import org.geogebra.desktop.util.GTimerD;
 import org.geogebra.desktop.util.GuiResourcesD;
 import org.geogebra.desktop.util.ImageManagerD;
 import org.geogebra.desktop.util.ImageResourceD;
+import org.geogebra.desktop.util.KernelMetricsBean;
 import org.geogebra.desktop.util.LoggerD;
 import org.geogebra.desktop.util.Normalizer;
 import org.geogebra.desktop.util.StringUtilD;
@@ -279,6 +285,13 @@ public class AppD extends App implements KeyEventDispatcher {
 	 */
 	public static final int MAX_RECENT_FILES = 8;
 
+	/** file for CAS results in the preferences directory */
+	private static final String CAS_CACHE_FILE = "cas_cache.bin";
+	/** maximal size of CAS results kept between sessions */
+	private static final long CAS_CACHE_BYTES = 16 * 1024 * 1024;
+	/** CAS results shared by all windows, the file allows only one writer */
+	private static CASResultStoreFile casResultStore;
+
 	// ==============================================================
 	// RESOURCE fields
 	// ==============================================================
@@ -395,6 +408,19 @@ public class AppD extends App implements KeyEventDispatcher {
 		this(args, null, comp, undoActive, new LocalizationD(2));
 	}
 
+	/**
+	 * @return CAS results in the preferences directory, one store for all
+	 *         windows of this process
+	 */
+	private static synchronized CASResultStoreFile getCASResultStoreFile() {
+		if (casResultStore == null) {
+			casResultStore = new CASResultStoreFile(
+					new File(GeoGebraPreferencesD.PREFS_PATH + CAS_CACHE_FILE),
+					GeoGebraConstants.VERSION_STRING, CAS_CACHE_BYTES);
+		}
+		return casResultStore;
+	}
+
 	/*************************************************************
 	 * GeoGebra application general constructor
 	 * 
@@ -492,6 +518,13 @@ public class AppD extends App implements KeyEventDispatcher {
 		initFactories();
 		initKernel();
 		kernel.setPrintDecimals(Kernel.STANDARD_PRINT_DECIMALS);
+		if (!isApplet && has(Feature.PERSISTENT_CAS_CACHE)) {
+			kernel.setCASResultStore(getCASResultStoreFile());
+		}
+		if (has(Feature.ASYNC_CAS)) {
+			kernel.setCASAsyncExecutor(new CASEvaluationPoolD(Math.max(1,
+					Runtime.getRuntime().availableProcessors() - 1)));
+		}
 
 		// init settings
 		initSettings();
@@ -750,6 +783,7 @@ public class AppD extends App implements KeyEventDispatcher {
 					+ "  --logLevel=LEVEL\tset logging level (EMERGENCY|ALERT|CRITICAL|ERROR|WARN|NOTICE|INFO|DEBUG|TRACE)\n"
 					+ "  --logFile=FILENAME\tset log file\n"
 					+ "  --silent\tCompletely mute logging\n"
+					+ "  --metrics\trecord kernel metrics and publish them via JMX\n"
 					+ "  --prover=OPTIONS\tSet options for the prover subsystem (use --proverhelp for more information)\n"
 			/*
 			 * +
@@ -903,6 +937,11 @@ public class AppD extends App implements KeyEventDispatcher {
 					true);
 		}
 
+		if (args.containsArg("metrics")) {
+			kernel.getMetrics().setEnabled(true);
+			KernelMetricsBean.register(kernel.getMetrics());
+		}
+
 		boolean enableUndo = args.getBooleanValue("enableUndo", true);
 		if (!enableUndo) {
 			setUndoActive(false);
@@ -3339,10 +3378,10 @@ public class AppD extends App implements KeyEventDispatcher {
 			// update
 			if (!initing) {
 				initing = true;
-				success = loadXML(fis, isMacroFile);
+				success = loadXML(fis, file, isMacroFile);
 				initing = false;
 			} else {
-				success = loadXML(fis, isMacroFile);
+				success = loadXML(fis, file, isMacroFile);
 			}
 
 			if (success && !isMacroFile) {
@@ -3376,7 +3415,7 @@ public class AppD extends App implements KeyEventDispatcher {
 	final public boolean loadXML(URL url, boolean isMacroFile) {
 
 		try {
-			boolean success = loadXML(url.openStream(), isMacroFile);
+			boolean success = loadXML(url.openStream(), null, isMacroFile);
 
 			// don't clear JavaScript here -- we may have just read one from the
 			// file.
@@ -3428,7 +3467,15 @@ public class AppD extends App implements KeyEventDispatcher {
 		}
 	}
 
-	private boolean loadXML(InputStream is, boolean isMacroFile)
+	/**
+	 * @param is
+	 *            input stream
+	 * @param file
+	 *            file the stream belongs to, null for other sources
+	 * @param isMacroFile
+	 *            whether this is a ggt file
+	 */
+	private boolean loadXML(InputStream is, File file, boolean isMacroFile)
 			throws Exception {
 		try {
 			if (!isMacroFile) {
@@ -3444,41 +3491,48 @@ public class AppD extends App implements KeyEventDispatcher {
 			// reset unique id (for old files, in case they don't have one)
 			resetUniqueId();
 
-			BufferedInputStream bis = new BufferedInputStream(is);
+			// a file can be read in any order, so the construction XML need
+			// not be copied to memory; base64 files are read from the stream
+			if (file != null && has(Feature.STREAMING_FILE_LOADING)
+					&& getXMLio().readZipFromFile(file, isMacroFile)) {
+				is.close();
+			} else {
+				BufferedInputStream bis = new BufferedInputStream(is);
 
-			if (bis.markSupported()) {
-				bis.mark(Integer.MAX_VALUE);
-				BufferedReader reader = new BufferedReader(
-						new InputStreamReader(bis, Charsets.UTF_8));
-				String str = reader.readLine();
+				if (bis.markSupported()) {
+					bis.mark(Integer.MAX_VALUE);
+					BufferedReader reader = new BufferedReader(
+							new InputStreamReader(bis, Charsets.UTF_8));
+					String str = reader.readLine();
 
-				// check if .ggb file is actually a base64 file from 4.2 Chrome
-				// App
-				if (str != null && str.startsWith("UEs")) {
+					// check if .ggb file is actually a base64 file from 4.2
+					// Chrome App
+					if (str != null && str.startsWith("UEs")) {
 
-					StringBuilder sb = new StringBuilder(str);
-					sb.append("\n");
+						StringBuilder sb = new StringBuilder(str);
+						sb.append("\n");
 
-					while ((str = reader.readLine()) != null) {
-						sb.append(str + "\n");
-					}
+						while ((str = reader.readLine()) != null) {
+							sb.append(str + "\n");
+						}
 
-					reader.close();
-					is.close();
-					bis.close();
+						reader.close();
+						is.close();
+						bis.close();
 
-					byte[] zipFile = Base64.decode(sb.toString());
+						byte[] zipFile = Base64.decode(sb.toString());
 
-					return loadXML(zipFile);
-				}
+						return loadXML(zipFile);
+					}
 
-				bis.reset();
-			}
+					bis.reset();
+				}
 
-			getXMLio().readZipFromInputStream(bis, isMacroFile);
+				getXMLio().readZipFromInputStream(bis, isMacroFile);
 
-			is.close();
-			bis.close();
+				is.close();
+				bis.close();
+			}
 
 			if (!isMacroFile) {
 				kernel.initUndoInfo();
@@ -5325,6 +5379,19 @@ public class AppD extends App implements KeyEventDispatcher {
 			e.printStackTrace();
 		}
 	}
+
+	@Override
+	public Printer3DOutput newPrinter3DOutput(String ext) {
+		File file = new File("test." + ext);
+		try {
+			Printer3DOutput output = new Printer3DOutputFile(file);
+			Log.debug("Export to " + file);
+			return output;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
 	
 	@Override
 	public void handleImageExport(String base64image) {
@@ -0,0 +1,89 @@
+package org.geogebra.desktop.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+
+import javax.management.ObjectName;
+
+import org.geogebra.common.util.debug.KernelMetrics;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Exposes kernel metrics of one application window via JMX, e.g. for
+ * jconsole.
+ */
+public class KernelMetricsBean implements KernelMetricsMXBean {
+
+	private static int registered = 0;
+	private static final HashMap<KernelMetrics, ObjectName> names =
+			new HashMap<>();
+
+	private final KernelMetrics metrics;
+
+	/**
+	 * @param metrics
+	 *            kernel metrics
+	 */
+	public KernelMetricsBean(KernelMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return metrics.isEnabled();
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		metrics.setEnabled(enabled);
+	}
+
+	@Override
+	public String getReport() {
+		return metrics.getReport();
+	}
+
+	@Override
+	public void reset() {
+		metrics.reset();
+	}
+
+	/**
+	 * Registers bean for the metrics in the platform MBean server, beans of
+	 * more windows are numbered.
+	 * 
+	 * @param metrics
+	 *            kernel metrics
+	 */
+	public static synchronized void register(KernelMetrics metrics) {
+		int id = registered++;
+		try {
+			ObjectName name = new ObjectName(
+					"org.geogebra:type=KernelMetrics,id=" + id);
+			ManagementFactory.getPlatformMBeanServer()
+					.registerMBean(new KernelMetricsBean(metrics), name);
+			names.put(metrics, name);
+		} catch (Exception e) {
+			Log.warn("cannot register metrics bean: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Removes the bean of closed window from the MBean server, so that the
+	 * window can be garbage collected.
+	 * 
+	 * @param metrics
+	 *            kernel metrics, nothing happens if not registered
+	 */
+	public static synchronized void unregister(KernelMetrics metrics) {
+		ObjectName name = names.remove(metrics);
+		if (name == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		} catch (Exception e) {
+			Log.warn("cannot unregister metrics bean: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package org.geogebra.desktop.util;
+
+/**
+ * JMX view of the kernel metrics.
+ */
+public interface KernelMetricsMXBean {
+
+	/**
+	 * @return whether metrics are recorded
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * @param enabled
+	 *            whether to record metrics
+	 */
+	public void setEnabled(boolean enabled);
+
+	/**
+	 * @return report of recorded metrics
+	 */
+	public String getReport();
+
+	/**
+	 * Drops recorded metrics.
+	 */
+	public void reset();
+}
@@ -0,0 +1,225 @@
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.jre.kernel.TaskRunnerJre;
+import org.geogebra.common.kernel.Matrix.Coords3;
+import org.geogebra.common.kernel.algos.TaskRunner;
+import org.geogebra.common.kernel.kernelND.SurfaceEvaluable;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class SurfaceMeshCacheTest {
+
+	private static final double[] U = { 0, 1, 2 };
+	private static final double[] V = { 0, 1, 2, 3, 4, 5, 6, 7 };
+	private static final double[] V_ZOOMED = { 0, 2, 4, 6, 8, 10, 12, 14 };
+
+	/**
+	 * Surface z = u + 10v counting its evaluations; rows may wait for a
+	 * latch.
+	 */
+	private static class CountingSurface implements SurfaceEvaluable {
+		final AtomicInteger evaluations = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(0);
+
+		@Override
+		public void evaluatePoint(double u, double v, Coords3 point) {
+			point.set(u, v, u + 10 * v);
+		}
+
+		@Override
+		public void evaluatePoints(double[] u, int uCount, double[] v,
+				int vCount, double[] out) {
+			evaluations.incrementAndGet();
+			evaluatePointRows(u, uCount, v, 0, vCount, out);
+		}
+
+		@Override
+		public void evaluatePointRows(double[] u, int uCount, double[] v,
+				int vStart, int vEnd, double[] out) {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			for (int j = vStart; j < vEnd; j++) {
+				for (int i = 0; i < uCount; i++) {
+					int index = 3 * (j * uCount + i);
+					out[index] = u[i];
+					out[index + 1] = v[j];
+					out[index + 2] = u[i] + 10 * v[j];
+				}
+			}
+		}
+
+		@Override
+		public boolean isEvaluatePointsConcurrent() {
+			return true;
+		}
+
+		@Override
+		public boolean evaluateNormal(Coords3 p, double u, double v,
+				Coords3 normal) {
+			return false;
+		}
+
+		@Override
+		public double getMinParameter(int i) {
+			return 0;
+		}
+
+		@Override
+		public double getMaxParameter(int i) {
+			return 1;
+		}
+
+		@Override
+		public void setDerivatives() {
+			// not needed
+		}
+
+		@Override
+		public void resetDerivatives() {
+			// not needed
+		}
+
+		@Override
+		public LevelOfDetail getLevelOfDetail() {
+			return LevelOfDetail.SPEED;
+		}
+
+		@Override
+		public void setLevelOfDetail(LevelOfDetail lod) {
+			// not needed
+		}
+
+		@Override
+		public boolean isDefined() {
+			return true;
+		}
+	}
+
+	/** runs tasks on the worker pool also on single core machines */
+	private static TaskRunner parallelRunner() {
+		return new TaskRunnerJre() {
+			@Override
+			public boolean isParallel() {
+				return true;
+			}
+
+			@Override
+			public int getParallelism() {
+				return 2;
+			}
+		};
+	}
+
+	private static double[] mesh(double[] v) {
+		return new double[3 * U.length * v.length];
+	}
+
+	private static void checkMesh(double[] v, double[] out) {
+		for (int j = 0; j < v.length; j++) {
+			for (int i = 0; i < U.length; i++) {
+				Assert.assertEquals(U[i] + 10 * v[j],
+						out[3 * (j * U.length + i) + 2], 0);
+			}
+		}
+	}
+
+	private static boolean get(SurfaceMeshCache cache, SurfaceEvaluable surface,
+			double[] v, double[] out, TaskRunner runner) {
+		return cache.getOrEvaluate(surface, U, U.length, v, v.length, out,
+				runner);
+	}
+
+	/** polls like the drawable does in subsequent frames */
+	private static void awaitMesh(SurfaceMeshCache cache,
+			SurfaceEvaluable surface, double[] v, double[] out,
+			TaskRunner runner) throws InterruptedException {
+		for (int i = 0; i < 1000; i++) {
+			if (get(cache, surface, v, out, runner)) {
+				return;
+			}
+			Thread.sleep(10);
+		}
+		Assert.fail("mesh not evaluated");
+	}
+
+	@Test
+	public void cachedMeshShouldBeReused() {
+		CountingSurface surface = new CountingSurface();
+		SurfaceMeshCache cache = new SurfaceMeshCache();
+		double[] out = mesh(V);
+		Assert.assertTrue(get(cache, surface, V, out, new TaskRunner()));
+		double[] again = mesh(V);
+		Assert.assertTrue(get(cache, surface, V, again, new TaskRunner()));
+		Assert.assertEquals(1, surface.evaluations.get());
+		checkMesh(V, again);
+	}
+
+	@Test
+	public void otherBoundsShouldBeEvaluated() {
+		CountingSurface surface = new CountingSurface();
+		SurfaceMeshCache cache = new SurfaceMeshCache();
+		get(cache, surface, V, mesh(V), new TaskRunner());
+		double[] out = mesh(V_ZOOMED);
+		Assert.assertTrue(
+				get(cache, surface, V_ZOOMED, out, new TaskRunner()));
+		Assert.assertEquals(2, surface.evaluations.get());
+		checkMesh(V_ZOOMED, out);
+		// both are kept
+		get(cache, surface, V, mesh(V), new TaskRunner());
+		Assert.assertEquals(2, surface.evaluations.get());
+	}
+
+	@Test
+	public void changedSurfaceShouldBeEvaluatedAgain() {
+		CountingSurface surface = new CountingSurface();
+		SurfaceMeshCache cache = new SurfaceMeshCache();
+		get(cache, surface, V, mesh(V), new TaskRunner());
+		// DrawSurface3D.setWaitForUpdate()
+		cache.clear();
+		get(cache, surface, V, mesh(V), new TaskRunner());
+		Assert.assertEquals(2, surface.evaluations.get());
+	}
+
+	@Test
+	public void backgroundMeshShouldBeSwappedIn() throws Exception {
+		CountingSurface surface = new CountingSurface();
+		surface.release = new CountDownLatch(1);
+		SurfaceMeshCache cache = new SurfaceMeshCache();
+		TaskRunner runner = parallelRunner();
+		double[] out = mesh(V);
+		Assert.assertFalse(get(cache, surface, V, out, runner));
+		Assert.assertFalse(get(cache, surface, V, out, runner));
+		Assert.assertEquals(0, out[out.length - 1], 0);
+		surface.release.countDown();
+		awaitMesh(cache, surface, V, out, runner);
+		Assert.assertFalse(cache.isOutdated());
+		checkMesh(V, out);
+		// now cached
+		double[] again = mesh(V);
+		Assert.assertTrue(get(cache, surface, V, again, runner));
+		checkMesh(V, again);
+	}
+
+	@Test
+	public void meshStartedBeforeChangeShouldBeOutdated() throws Exception {
+		CountingSurface surface = new CountingSurface();
+		surface.release = new CountDownLatch(1);
+		SurfaceMeshCache cache = new SurfaceMeshCache();
+		TaskRunner runner = parallelRunner();
+		double[] out = mesh(V);
+		Assert.assertFalse(get(cache, surface, V, out, runner));
+		cache.clear();
+		surface.release.countDown();
+		awaitMesh(cache, surface, V, out, runner);
+		Assert.assertTrue(cache.isOutdated());
+		// not cached: evaluated again in the background
+		Assert.assertFalse(get(cache, surface, V, mesh(V), runner));
+	}
+}
@@ -0,0 +1,114 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class FormatObjTest {
+
+	private static final double[][] LEFT = { { 0, 0, 0 }, { 1, 0, 0 },
+			{ 1, 1, 0 }, { 0, 1, 0 } };
+	private static final double[][] RIGHT = { { 1, 0, 0 }, { 2, 0, 0 },
+			{ 2, 1, 0 }, { 1, 1, 0 } };
+	private static final double[][] NORMALS = { { 0, 0, 1 }, { 0, 0, -1 } };
+
+	private ArrayList<double[]> vertices = new ArrayList<>();
+	private ArrayList<double[]> normals = new ArrayList<>();
+	private ArrayList<String[]> faces = new ArrayList<>();
+
+	@Test
+	public void mergedVerticesShouldBeWrittenOnce() {
+		FormatObj format = new FormatObj(true);
+		StringBuilder sb = new StringBuilder();
+		format.getScriptStart(sb);
+		square(format, sb, LEFT, -1);
+		square(format, sb, RIGHT, -1);
+		format.getScriptEnd(sb);
+		parse(sb);
+
+		// two vertices shared by both squares
+		Assert.assertEquals(6, vertices.size());
+		Assert.assertEquals(4, faces.size());
+		checkFaces(0, LEFT);
+		checkFaces(2, RIGHT);
+	}
+
+	@Test
+	public void mergedVerticesShouldKeepNormals() {
+		FormatObj format = new FormatObj(true);
+		StringBuilder sb = new StringBuilder();
+		format.getScriptStart(sb);
+		square(format, sb, LEFT, 0);
+		square(format, sb, RIGHT, 1);
+		format.getScriptEnd(sb);
+		parse(sb);
+
+		Assert.assertEquals(6, vertices.size());
+		Assert.assertEquals(2, normals.size());
+		checkFaces(0, LEFT);
+		checkFaces(2, RIGHT);
+		for (int i = 0; i < faces.size(); i++) {
+			for (String corner : faces.get(i)) {
+				int normal = Integer.parseInt(corner.split("//")[1]) - 1;
+				Assert.assertArrayEquals(NORMALS[i / 2], normals.get(normal),
+						0);
+			}
+		}
+	}
+
+	private static void square(FormatObj format, StringBuilder sb,
+			double[][] corners, int normal) {
+		format.getVerticesStart(sb, corners.length);
+		for (int i = 0; i < corners.length; i++) {
+			if (i > 0) {
+				format.getVerticesSeparator(sb);
+			}
+			format.getVertices(sb, corners[i][0], corners[i][1],
+					corners[i][2]);
+		}
+		format.getVerticesEnd(sb);
+		if (normal >= 0) {
+			format.getNormalsStart(sb, 1);
+			format.getNormal(sb, NORMALS[normal][0], NORMALS[normal][1],
+					NORMALS[normal][2]);
+			format.getNormalsEnd(sb);
+		}
+		format.getFacesStart(sb, 2, normal >= 0);
+		format.getFaces(sb, 0, 1, 2, normal >= 0 ? 0 : -1);
+		format.getFacesSeparator(sb);
+		format.getFaces(sb, 0, 2, 3, normal >= 0 ? 0 : -1);
+		format.getFacesEnd(sb);
+	}
+
+	private void parse(StringBuilder sb) {
+		for (String line : sb.toString().split("\n")) {
+			String[] parts = line.trim().split(" ");
+			if ("v".equals(parts[0])) {
+				vertices.add(coords(parts));
+			} else if ("vn".equals(parts[0])) {
+				normals.add(coords(parts));
+			} else if ("f".equals(parts[0])) {
+				faces.add(new String[] { parts[1], parts[2], parts[3] });
+			}
+		}
+	}
+
+	private static double[] coords(String[] parts) {
+		return new double[] { Double.parseDouble(parts[1]),
+				Double.parseDouble(parts[2]), Double.parseDouble(parts[3]) };
+	}
+
+	private void checkFaces(int first, double[][] corners) {
+		int[][] expected = { { 0, 1, 2 }, { 0, 2, 3 } };
+		for (int i = 0; i < 2; i++) {
+			String[] face = faces.get(first + i);
+			for (int j = 0; j < 3; j++) {
+				int vertex = Integer.parseInt(face[j].split("//")[0]) - 1;
+				Assert.assertArrayEquals(corners[expected[i][j]],
+						vertices.get(vertex), 0);
+			}
+		}
+	}
+}
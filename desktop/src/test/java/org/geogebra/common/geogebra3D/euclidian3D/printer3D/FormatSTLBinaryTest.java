@@ -0,0 +1,91 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class FormatSTLBinaryTest {
+
+	/**
+	 * Output collecting the bytes in memory
+	 */
+	static class BytesOutput implements Printer3DOutput {
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		@Override
+		public void append(CharSequence text) {
+			byte[] chars = text.toString().getBytes();
+			out.write(chars, 0, chars.length);
+		}
+
+		@Override
+		public void append(byte[] bytes, int length) {
+			out.write(bytes, 0, length);
+		}
+
+		@Override
+		public void write(long position, byte[] bytes, int length) {
+			byte[] all = out.toByteArray();
+			System.arraycopy(bytes, 0, all, (int) position, length);
+			out.reset();
+			out.write(all, 0, all.length);
+		}
+
+		@Override
+		public void close() {
+			// nothing to release
+		}
+
+		byte[] getBytes() {
+			return out.toByteArray();
+		}
+	}
+
+	@Test
+	public void headerShouldContainFacetCount() {
+		// more facets than one chunk of the format's buffer
+		int facets = 1500;
+		byte[] stl = export(facets);
+
+		Assert.assertEquals(84 + 50 * facets, stl.length);
+		Assert.assertNotEquals("solid", new String(stl, 0, 5));
+		ByteBuffer buffer = ByteBuffer.wrap(stl)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		Assert.assertEquals(facets, buffer.getInt(80));
+		for (int i = 0; i < facets; i++) {
+			int start = 84 + 50 * i;
+			// normal of triangles in plane z = i
+			Assert.assertEquals(0, buffer.getFloat(start), 0);
+			Assert.assertEquals(0, buffer.getFloat(start + 4), 0);
+			Assert.assertEquals(1, buffer.getFloat(start + 8), 0);
+			for (int v = 0; v < 3; v++) {
+				Assert.assertEquals(i,
+						buffer.getFloat(start + 12 * (v + 1) + 8), 0);
+			}
+			Assert.assertEquals(0, buffer.getShort(start + 48));
+		}
+	}
+
+	private static byte[] export(int facets) {
+		FormatSTLBinary format = new FormatSTLBinary();
+		BytesOutput output = new BytesOutput();
+		format.setOutput(output);
+		StringBuilder sb = new StringBuilder();
+		format.getScriptStart(sb);
+		for (int i = 0; i < facets; i++) {
+			format.getVerticesStart(sb, 3);
+			format.getVertices(sb, 0, 0, i);
+			format.getVertices(sb, 1, 0, i);
+			format.getVertices(sb, 0, 1, i);
+			format.getVerticesEnd(sb);
+			format.getFaces(sb, 0, 1, 2, ExportToPrinter3D.NORMAL_NOT_SET);
+		}
+		format.getScriptEnd(sb);
+		Assert.assertEquals(0, sb.length());
+		return output.getBytes();
+	}
+}
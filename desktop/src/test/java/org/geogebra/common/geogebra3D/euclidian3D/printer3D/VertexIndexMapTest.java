@@ -0,0 +1,31 @@
+package org.geogebra.common.geogebra3D.euclidian3D.printer3D;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class VertexIndexMapTest {
+
+	@Test
+	public void sameCoordsShouldGetSameIndex() {
+		VertexIndexMap map = new VertexIndexMap();
+		for (int i = 0; i < 5000; i++) {
+			Assert.assertEquals(i, map.getIndex(i % 50, i / 50, 0.5));
+		}
+		for (int i = 0; i < 5000; i++) {
+			Assert.assertEquals(i, map.getIndex(i % 50, i / 50, 0.5));
+		}
+		Assert.assertEquals(5000, map.size());
+		Assert.assertEquals(map.getIndex(0, 0, 0), map.getIndex(-0.0, 0, 0));
+	}
+
+	@Test
+	public void clearShouldForgetVertices() {
+		VertexIndexMap map = new VertexIndexMap();
+		map.getIndex(1, 2, 3);
+		map.getIndex(3, 2, 1);
+		map.clear();
+		Assert.assertEquals(0, map.getIndex(3, 2, 1));
+		Assert.assertEquals(1, map.size());
+	}
+}
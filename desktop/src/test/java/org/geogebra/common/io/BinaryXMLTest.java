@@ -0,0 +1,66 @@
+package org.geogebra.common.io;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class BinaryXMLTest {
+
+	/** writes events back as (normalized) XML */
+	private static class EventLog implements DocHandler {
+		StringBuilder sb = new StringBuilder();
+
+		@Override
+		public void startElement(String tag, LinkedHashMap<String, String> h) {
+			sb.append('<').append(tag);
+			for (Entry<String, String> attr : h.entrySet()) {
+				sb.append(' ').append(attr.getKey()).append("=\"")
+						.append(attr.getValue()).append('"');
+			}
+			sb.append('>');
+		}
+
+		@Override
+		public void endElement(String tag) {
+			sb.append("</").append(tag).append('>');
+		}
+
+		@Override
+		public void startDocument() {
+			sb.append("[start]");
+		}
+
+		@Override
+		public void endDocument() {
+			sb.append("[end]");
+		}
+
+		@Override
+		public void text(String str) {
+			sb.append('{').append(str).append('}');
+		}
+	}
+
+	@Test
+	public void recordsShouldReplayParserEvents() throws Exception {
+		String xml = "<geogebra format=\"5.0\">\n<construction>\n"
+				+ "<element type=\"point\" label=\"A\">\n"
+				+ "\t<coords x=\"0.3333333333333333\" y=\"-2\" z=\"1.0\"/>\n"
+				+ "\t<caption val=\"&lt;&quot;\u00e4\u03c0\"/>\n"
+				+ "\t<layer val=\"0\"/><layer val=\"-0\"/><layer val=\"007\"/>\n"
+				+ "</element>\n<element type=\"point\" label=\"B\">\n"
+				+ "\t<coords x=\"1.0E-20\" y=\"-2\" z=\"1.0\"/>\n"
+				+ "</element>\n<expression label=\"f\" exp=\"x^2\"/>\n"
+				+ "<javascript val=\"\">alert(1) &amp; 2</javascript>\n"
+				+ "</construction>\n</geogebra>";
+		EventLog expected = new EventLog();
+		new QDParser().parse(expected, new StringReader(xml));
+		EventLog actual = new EventLog();
+		new BinaryXMLReader().parse(actual, BinaryXMLWriter.encode(xml));
+		Assert.assertEquals(expected.sb.toString(), actual.sb.toString());
+	}
+}
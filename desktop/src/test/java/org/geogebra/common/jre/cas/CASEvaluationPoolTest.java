@@ -0,0 +1,266 @@
+package org.geogebra.common.jre.cas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.cas.CASDeferredTarget;
+import org.geogebra.common.cas.giac.CASgiac;
+import org.geogebra.common.cas.giac.CASgiac.PreparedInput;
+import org.geogebra.common.jre.kernel.WorkerPool;
+import org.geogebra.common.kernel.AsynchronousCommand;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CASEvaluationPoolTest {
+
+	private static AppDNoGui app;
+	private static Kernel kernel;
+
+	/**
+	 * Single worker pool; results are delivered when the test drains the
+	 * kernel queue.
+	 */
+	static class TestPool extends CASEvaluationPool {
+		final ArrayList<String> evaluated = new ArrayList<>();
+		final LinkedBlockingQueue<Runnable> kernelQueue;
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		/** pool of the thread that evaluated last request */
+		volatile ForkJoinPool workerPool;
+		private final boolean useCAS;
+
+		TestPool(boolean useCAS) {
+			super(1);
+			this.useCAS = useCAS;
+			kernelQueue = new LinkedBlockingQueue<>();
+		}
+
+		@Override
+		protected CASgiac createWorkerCAS(Kernel k) {
+			// main thread waits for the results, no need for another Giac
+			return (CASgiac) k.getGeoGebraCAS().getCurrentCAS();
+		}
+
+		@Override
+		protected void runInKernelThread(Runnable runnable) {
+			kernelQueue.add(runnable);
+		}
+
+		@Override
+		protected String evaluateOnWorker(Kernel k, PreparedInput input,
+				boolean raw) {
+			synchronized (evaluated) {
+				evaluated.add(input.getGiacInput());
+			}
+			Thread thread = Thread.currentThread();
+			workerPool = thread instanceof ForkJoinWorkerThread
+					? ((ForkJoinWorkerThread) thread).getPool() : null;
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				return null;
+			}
+			return useCAS ? super.evaluateOnWorker(k, input, raw)
+					: "result of " + input.getGiacInput();
+		}
+
+		void drain(int deliveries) throws InterruptedException {
+			for (int i = 0; i < deliveries; i++) {
+				Runnable delivery = kernelQueue.poll(20, TimeUnit.SECONDS);
+				Assert.assertNotNull("delivery " + i, delivery);
+				delivery.run();
+			}
+		}
+
+		ArrayList<String> getEvaluated() {
+			synchronized (evaluated) {
+				return new ArrayList<>(evaluated);
+			}
+		}
+	}
+
+	static class Target implements CASDeferredTarget {
+		private final String name;
+		private final ArrayList<String> resumed;
+
+		Target(String name, ArrayList<String> resumed) {
+			this.name = name;
+			this.resumed = resumed;
+		}
+
+		@Override
+		public Kernel getKernel() {
+			return kernel;
+		}
+
+		@Override
+		public void resumeCAS() {
+			resumed.add(name);
+		}
+	}
+
+	@BeforeClass
+	public static void setup() {
+		app = new AppDNoGui(new LocalizationD(3), false);
+		kernel = app.getKernel();
+	}
+
+	@Test
+	public void higherPriorityShouldRunFirst() throws InterruptedException {
+		TestPool pool = new TestPool(false);
+		ArrayList<String> resumed = new ArrayList<>();
+		pool.evaluate(new Target("A", resumed), input("order_a"), 0);
+		pool.started.await();
+
+		pool.evaluate(new Target("B", resumed), input("order_b"), 0);
+		pool.evaluate(new Target("C", resumed), input("order_c"), 2);
+		Target d = new Target("D", resumed);
+		pool.evaluate(d, input("order_d"), 1);
+		pool.evaluate(new Target("E", resumed), input("order_e"), 2);
+		pool.cancel(d);
+		pool.release.countDown();
+		pool.drain(4);
+
+		Assert.assertEquals(
+				Arrays.asList("order_a", "order_c", "order_e", "order_b"),
+				pool.getEvaluated());
+		Assert.assertEquals(Arrays.asList("A", "C", "E", "B"), resumed);
+		Assert.assertEquals("result of order_c",
+				kernel.getCASResult("order_c"));
+		Assert.assertNull(kernel.getCASResult("order_d"));
+		pool.shutdown();
+	}
+
+	@Test
+	public void requestsShouldRunOnSharedPool() throws InterruptedException {
+		TestPool pool = new TestPool(false);
+		pool.release.countDown();
+		pool.evaluate(new Target("A", new ArrayList<String>()),
+				input("shared_a"), 0);
+		pool.drain(1);
+		Assert.assertSame(WorkerPool.get(), pool.workerPool);
+		pool.shutdown();
+	}
+
+	@Test
+	public void newerRequestShouldReplaceOlder() throws InterruptedException {
+		TestPool pool = new TestPool(false);
+		ArrayList<String> resumed = new ArrayList<>();
+		pool.evaluate(new Target("A", resumed), input("replace_a"), 0);
+		pool.started.await();
+
+		Target b = new Target("B", resumed);
+		pool.evaluate(b, input("replace_b1"), 0);
+		pool.evaluate(b, input("replace_b2"), 0);
+		pool.release.countDown();
+		pool.drain(2);
+
+		Assert.assertEquals(Arrays.asList("replace_a", "replace_b2"),
+				pool.getEvaluated());
+		Assert.assertEquals(Arrays.asList("A", "B"), resumed);
+		pool.shutdown();
+	}
+
+	@Test
+	public void cancelledRunningRequestShouldNotBeDelivered()
+			throws InterruptedException {
+		TestPool pool = new TestPool(false);
+		ArrayList<String> resumed = new ArrayList<>();
+		Target a = new Target("A", resumed);
+		pool.evaluate(a, input("cancel_a"), 0);
+		pool.started.await();
+
+		pool.cancel(a);
+		pool.evaluate(new Target("B", resumed), input("cancel_b"), 0);
+		pool.release.countDown();
+		pool.drain(1);
+
+		Assert.assertEquals(Arrays.asList("cancel_a", "cancel_b"),
+				pool.getEvaluated());
+		Assert.assertEquals(Arrays.asList("B"), resumed);
+		Assert.assertNull(kernel.getCASResult("cancel_a"));
+		pool.shutdown();
+	}
+
+	@Test
+	public void cachedCommandShouldNotUseWorker() throws InterruptedException {
+		TestPool pool = new TestPool(false);
+		kernel.storeCASResult("Limit(1/x,infinity)", "0");
+		final ArrayList<String> outputs = new ArrayList<>();
+		AsynchronousCommand command = new AsynchronousCommand() {
+			@Override
+			public void handleCASoutput(String output, int requestID) {
+				outputs.add(output);
+			}
+
+			@Override
+			public void handleException(Throwable exception, int requestID) {
+				outputs.add("error");
+			}
+
+			@Override
+			public boolean useCacheing() {
+				return true;
+			}
+
+			@Override
+			public String getCasInput() {
+				return "Limit(1/x,infinity)";
+			}
+
+			@Override
+			public Kernel getKernel() {
+				return kernel;
+			}
+		};
+		pool.evaluate(command, 0);
+		// delivered after the caller's update, not during it
+		Assert.assertTrue(outputs.isEmpty());
+		pool.drain(1);
+
+		Assert.assertEquals(Arrays.asList("0"), outputs);
+		Assert.assertTrue(pool.getEvaluated().isEmpty());
+		pool.shutdown();
+	}
+
+	@Test
+	public void derivativeShouldKeepOldValueUntilResultArrives()
+			throws InterruptedException {
+		TestPool pool = new TestPool(true);
+		pool.release.countDown();
+		GeoFunction f = (GeoFunction) kernel.getAlgebraProcessor()
+				.processAlgebraCommand("f(x)=x^2", false)[0];
+		GeoFunction g = (GeoFunction) kernel.getAlgebraProcessor()
+				.processAlgebraCommand("g=Derivative(f)", false)[0];
+		Assert.assertEquals(4, g.value(2), 1E-8);
+		kernel.setCASAsyncExecutor(pool);
+		try {
+			f.set(kernel.getAlgebraProcessor().evaluateToFunction("x^3",
+					false));
+			f.updateCascade();
+			Assert.assertEquals(4, g.value(2), 1E-8);
+			pool.drain(1);
+			Assert.assertEquals(12, g.value(2), 1E-8);
+			Assert.assertEquals(1, pool.getEvaluated().size());
+		} finally {
+			kernel.setCASAsyncExecutor(null);
+			pool.shutdown();
+		}
+	}
+
+	private static PreparedInput input(String giacInput) {
+		return new PreparedInput(giacInput, 0);
+	}
+}
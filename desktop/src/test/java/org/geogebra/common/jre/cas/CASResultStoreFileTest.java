@@ -0,0 +1,94 @@
+package org.geogebra.common.jre.cas;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CASResultStoreFileTest {
+
+	@Test
+	public void resultsShouldSurviveReopening() throws IOException {
+		File file = File.createTempFile("cascache", ".bin");
+		file.deleteOnExit();
+		CASResultStoreFile store = new CASResultStoreFile(file, "1", 10000);
+		store.put("Solve(x^2=4)", "{x = -2, x = 2}");
+		store.close();
+
+		store = new CASResultStoreFile(file, "1", 10000);
+		Assert.assertEquals("{x = -2, x = 2}", store.get("Solve(x^2=4)"));
+		Assert.assertNull(store.get("Solve(x^2=9)"));
+		Assert.assertEquals(1, store.getHits());
+		Assert.assertEquals(1, store.getMisses());
+		store.close();
+
+		store = new CASResultStoreFile(file, "2", 10000);
+		Assert.assertNull(store.get("Solve(x^2=4)"));
+		store.close();
+	}
+
+	@Test
+	public void leastRecentlyUsedShouldBeEvicted() throws IOException {
+		File file = File.createTempFile("cascache", ".bin");
+		file.deleteOnExit();
+		// 2 * (2 + 2) bytes per entry
+		CASResultStoreFile store = new CASResultStoreFile(file, "1", 40);
+		for (int i = 0; i < 5; i++) {
+			store.put("k" + i, "v" + i);
+		}
+		store.get("k0");
+		store.put("k5", "v5");
+		Assert.assertEquals(40, store.getStoredBytes());
+		Assert.assertNotNull(store.get("k0"));
+		Assert.assertNull(store.get("k1"));
+		store.close();
+	}
+
+	@Test
+	public void damagedFileShouldBeDiscarded() throws IOException {
+		File file = File.createTempFile("cascache", ".bin");
+		file.deleteOnExit();
+		CASResultStoreFile store = new CASResultStoreFile(file, "1", 10000);
+		store.put("Solve(x^2=4)", "{x = -2, x = 2}");
+		store.put("Solve(x^2=9)", "{x = -3, x = 3}");
+		store.close();
+
+		// change the last character of the last result
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		raf.seek(file.length() - 5);
+		raf.write('4');
+		raf.close();
+
+		store = new CASResultStoreFile(file, "1", 10000);
+		Assert.assertNull(store.get("Solve(x^2=9)"));
+		Assert.assertNull(store.get("Solve(x^2=4)"));
+		Assert.assertEquals(0, store.getStoredBytes());
+		store.close();
+	}
+
+	@Test
+	public void secondStoreShouldNotWriteFile() throws IOException {
+		File file = File.createTempFile("cascache", ".bin");
+		file.deleteOnExit();
+		CASResultStoreFile store = new CASResultStoreFile(file, "1", 10000);
+		store.put("Solve(x^2=4)", "{x = -2, x = 2}");
+		Assert.assertTrue(store.isWritable());
+
+		CASResultStoreFile second = new CASResultStoreFile(file, "1", 10000);
+		Assert.assertFalse(second.isWritable());
+		Assert.assertEquals("{x = -2, x = 2}", second.get("Solve(x^2=4)"));
+		second.put("Solve(x^2=9)", "{x = -3, x = 3}");
+		second.close();
+		store.put("Solve(x^2=1)", "{x = -1, x = 1}");
+		store.close();
+
+		store = new CASResultStoreFile(file, "1", 10000);
+		Assert.assertEquals("{x = -2, x = 2}", store.get("Solve(x^2=4)"));
+		Assert.assertEquals("{x = -1, x = 1}", store.get("Solve(x^2=1)"));
+		Assert.assertNull(store.get("Solve(x^2=9)"));
+		store.close();
+	}
+}
@@ -0,0 +1,50 @@
+package org.geogebra.common.jre.kernel;
+
+import org.geogebra.commands.AlgebraTest;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class AlgoUpdateSchedulerJreTest {
+	private static AppDNoGui app;
+
+	@BeforeClass
+	public static void setup() {
+		app = AlgebraTest.createApp();
+	}
+
+	private static GeoElement get(String input) {
+		GeoElementND[] geos = app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(input, false);
+		return (GeoElement) geos[0];
+	}
+
+	@Test
+	public void layersShouldMatchSequentialUpdate() {
+		app.getKernel().clearConstruction(true);
+		int n = 200;
+		GeoPoint a = (GeoPoint) get("A=(0,0)");
+		GeoPoint[] mid = new GeoPoint[n];
+		GeoPoint[] dep = new GeoPoint[n];
+		for (int i = 0; i < n; i++) {
+			get("P_{" + i + "}=(" + i + ",1)");
+			mid[i] = (GeoPoint) get("M_{" + i + "}=Midpoint(A,P_{" + i + "})");
+			dep[i] = (GeoPoint) get("N_{" + i + "}=M_{" + i + "}+(0,1)");
+		}
+		a.setCoords(4, 2, 1);
+		a.update();
+		AlgoUpdateScheduler scheduler = new AlgoUpdateSchedulerJre();
+		scheduler.updateAll(a.getAlgoUpdateSet());
+		for (int i = 0; i < n; i++) {
+			Assert.assertEquals((4 + i) / 2.0, mid[i].getInhomX(), 1E-12);
+			Assert.assertEquals(1.5, mid[i].getInhomY(), 1E-12);
+			Assert.assertEquals(2.5, dep[i].getInhomY(), 1E-12);
+		}
+	}
+}
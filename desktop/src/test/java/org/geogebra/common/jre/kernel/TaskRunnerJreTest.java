@@ -0,0 +1,183 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.geogebra.common.kernel.algos.TaskRunner;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class TaskRunnerJreTest {
+
+	private static ForkJoinPool currentPool() {
+		Thread thread = Thread.currentThread();
+		return thread instanceof ForkJoinWorkerThread
+				? ((ForkJoinWorkerThread) thread).getPool() : null;
+	}
+
+	@Test
+	public void tasksShouldRunOnSharedPool() {
+		final List<ForkJoinPool> pools = Collections
+				.synchronizedList(new ArrayList<ForkJoinPool>());
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					pools.add(currentPool());
+				}
+			});
+		}
+		new TaskRunnerJre().runAll(tasks);
+		Assert.assertEquals(4, pools.size());
+		for (ForkJoinPool pool : pools) {
+			Assert.assertSame(WorkerPool.get(), pool);
+		}
+	}
+
+	@Test
+	public void nestedTasksShouldFinish() {
+		final AtomicInteger count = new AtomicInteger();
+		final TaskRunnerJre runner = new TaskRunnerJre();
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		for (int i = 0; i < 2 * WorkerPool.PARALLELISM; i++) {
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					ArrayList<Runnable> inner = new ArrayList<>();
+					for (int j = 0; j < 3; j++) {
+						inner.add(new Runnable() {
+							@Override
+							public void run() {
+								count.incrementAndGet();
+							}
+						});
+					}
+					runner.runAll(inner);
+				}
+			});
+		}
+		runner.runAll(tasks);
+		Assert.assertEquals(6 * WorkerPool.PARALLELISM, count.get());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void failureShouldReachCaller() {
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		tasks.add(new Runnable() {
+			@Override
+			public void run() {
+				// nothing to do
+			}
+		});
+		tasks.add(new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException("task failed");
+			}
+		});
+		new TaskRunnerJre().runAll(tasks);
+	}
+
+	@Test
+	public void batchShouldDecideAsSequentialRunner() {
+		// later tasks finish first in the pool
+		Assert.assertEquals(firstDecided(new TaskRunner()),
+				firstDecided(new TaskRunnerJre()));
+	}
+
+	/**
+	 * Awaits tasks in order until one of them decides, as the prover does
+	 * for variable permutations.
+	 */
+	private static int firstDecided(TaskRunner runner) {
+		final int[] results = new int[6];
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		for (int i = 0; i < results.length; i++) {
+			final int index = i;
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					sleep(10 * (results.length - index));
+					// tasks 3 and 5 decide
+					results[index] = index % 2 == 1 && index > 1 ? 1 : 0;
+				}
+			});
+		}
+		TaskRunner.Batch batch = runner.start(tasks,
+				System.currentTimeMillis() + 10000);
+		try {
+			for (int i = 0; i < results.length; i++) {
+				Assert.assertTrue(batch.await(i));
+				if (results[i] == 1) {
+					return i;
+				}
+			}
+			return -1;
+		} finally {
+			batch.cancel();
+		}
+	}
+
+	@Test
+	public void cancelledTasksShouldNotStart() throws Exception {
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger count = new AtomicInteger();
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		// keep all workers busy, the last task stays queued
+		for (int i = 0; i <= WorkerPool.PARALLELISM; i++) {
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					count.incrementAndGet();
+				}
+			});
+		}
+		TaskRunner.Batch batch = new TaskRunnerJre().start(tasks,
+				System.currentTimeMillis() + 10000);
+		sleep(100);
+		batch.cancel();
+		release.countDown();
+		Assert.assertFalse(batch.await(WorkerPool.PARALLELISM));
+		WorkerPool.get().awaitQuiescence(10, TimeUnit.SECONDS);
+		Assert.assertTrue(count.get() <= WorkerPool.PARALLELISM);
+	}
+
+	@Test
+	public void deadlineShouldStopWaiting() {
+		ArrayList<Runnable> tasks = new ArrayList<>();
+		tasks.add(new Runnable() {
+			@Override
+			public void run() {
+				sleep(2000);
+			}
+		});
+		long start = System.currentTimeMillis();
+		TaskRunner.Batch batch = new TaskRunnerJre().start(tasks,
+				start + 100);
+		Assert.assertFalse(batch.await(0));
+		Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+		// sequential runner does not start tasks after the deadline
+		Assert.assertFalse(new TaskRunner().start(tasks, start - 1).await(0));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package org.geogebra.common.kernel;
+
+import org.geogebra.common.awt.GColor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class DefaultUndoManagerTest {
+
+	@Test
+	public void loadingShouldReleaseStoredStates() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		DefaultUndoManager undoManager = new DefaultUndoManager(
+				app.getKernel().getConstruction());
+		for (int i = 0; i < 20; i++) {
+			app.getKernel().getAlgebraProcessor()
+					.processAlgebraCommand("P" + i + "=(" + i + ",1)", false);
+		}
+		String xml = app.getXML();
+
+		app.setXML(xml, true);
+		undoManager.initUndoInfo();
+		long stored = undoManager.xmlStore.getStoredChars();
+		undoManager.storeUndoInfo();
+		undoManager.storeUndoInfo();
+		Assert.assertEquals(3, undoManager.iterator.nextIndex());
+
+		app.setXML(xml, true);
+		undoManager.initUndoInfo();
+		Assert.assertEquals(1, undoManager.iterator.nextIndex());
+		Assert.assertEquals(stored, undoManager.xmlStore.getStoredChars());
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand("Q=(1,2)",
+				false);
+		undoManager.storeUndoInfo();
+		Assert.assertEquals(2, undoManager.iterator.nextIndex());
+	}
+
+	@Test
+	public void undoingMoveShouldKeepObjects() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		DefaultUndoManager undoManager = new DefaultUndoManager(
+				app.getKernel().getConstruction());
+		process(app, "A=(1,1)");
+		process(app, "B=(3,1)");
+		process(app, "M=Midpoint(A,B)");
+		undoManager.initUndoInfo();
+		UndoManager.AppState moved = undoManager.getCurrentUndoInfo();
+		GeoPoint a = (GeoPoint) lookup(app, "A");
+		GeoElement m = lookup(app, "M");
+		a.setCoords(5, 1, 1);
+		a.setObjColor(GColor.RED);
+		a.updateCascade();
+		Assert.assertEquals("M = (4, 1)",
+				m.toString(StringTemplate.defaultTemplate));
+
+		undoManager.loadUndoInfo(moved, null);
+		Assert.assertSame(a, lookup(app, "A"));
+		Assert.assertSame(m, lookup(app, "M"));
+		Assert.assertEquals("A = (1, 1)",
+				a.toString(StringTemplate.defaultTemplate));
+		Assert.assertEquals("M = (2, 1)",
+				m.toString(StringTemplate.defaultTemplate));
+		Assert.assertNotEquals(GColor.RED,
+				a.getObjectColor());
+	}
+
+	@Test
+	public void undoingAddShouldReloadConstruction() {
+		AppDNoGui app = new AppDNoGui(new LocalizationD(3), false);
+		DefaultUndoManager undoManager = new DefaultUndoManager(
+				app.getKernel().getConstruction());
+		process(app, "A=(1,1)");
+		undoManager.initUndoInfo();
+		UndoManager.AppState before = undoManager.getCurrentUndoInfo();
+		GeoElement a = lookup(app, "A");
+		process(app, "B=(3,1)");
+
+		undoManager.loadUndoInfo(before, null);
+		Assert.assertNull(lookup(app, "B"));
+		Assert.assertNotSame(a, lookup(app, "A"));
+		Assert.assertEquals("A = (1, 1)", lookup(app, "A")
+				.toString(StringTemplate.defaultTemplate));
+	}
+
+	private static void process(AppDNoGui app, String command) {
+		app.getKernel().getAlgebraProcessor().processAlgebraCommand(command,
+				false);
+	}
+
+	private static GeoElement lookup(AppDNoGui app, String label) {
+		return app.getKernel().lookupLabel(label);
+	}
+}
@@ -0,0 +1,69 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class UndoXMLStoreTest {
+
+	private static String xml(String... elements) {
+		StringBuilder sb = new StringBuilder("<geogebra>\n<construction>\n");
+		for (String el : elements) {
+			sb.append("<element label=\"");
+			sb.append(el);
+			sb.append("\">\n\t<show object=\"true\"/>\n</element>\n");
+		}
+		sb.append("</construction>\n</geogebra>");
+		return sb.toString();
+	}
+
+	@Test
+	public void snapshotsShouldBeRestoredExactly() {
+		UndoXMLStore store = new UndoXMLStore();
+		String first = xml("A", "B", "C");
+		String second = xml("A", "B2", "C", "D");
+		UndoXMLStore.Snapshot s1 = store.add(first);
+		UndoXMLStore.Snapshot s2 = store.add(second);
+		Assert.assertEquals(first, store.getXML(s1));
+		Assert.assertEquals(second, store.getXML(s2));
+		store.delete(s1);
+		Assert.assertEquals(second, store.getXML(s2));
+	}
+
+	@Test
+	public void unchangedElementsShouldBeShared() {
+		UndoXMLStore store = new UndoXMLStore();
+		String first = xml("A", "B", "C");
+		store.add(first);
+		long size = store.getStoredChars();
+		// closing tags are shared within one snapshot too
+		Assert.assertTrue(size < first.length());
+		UndoXMLStore.Snapshot s2 = store.add(xml("A", "B", "C", "D"));
+		Assert.assertTrue(store.getStoredChars() - size < 60);
+		store.delete(s2);
+		Assert.assertEquals(size, store.getStoredChars());
+	}
+
+	@Test
+	public void changedElementsShouldBeFound() {
+		String moved = xml("A", "B", "C").replace("label=\"B\">\n\t<show",
+				"label=\"B\">\n\t<coords/>\n\t<show");
+		ArrayList<String> changed = UndoXMLStore.getChangedElements(moved,
+				xml("A", "B", "C"));
+		Assert.assertEquals(1, changed.size());
+		Assert.assertEquals("<element label=\"B\">\n\t<coords/>\n"
+				+ "\t<show object=\"true\"/>\n", changed.get(0));
+		Assert.assertTrue(UndoXMLStore
+				.getChangedElements(xml("A", "B"), xml("A", "B")).isEmpty());
+	}
+
+	@Test
+	public void addedOrRenamedElementsShouldNeedReload() {
+		Assert.assertNull(UndoXMLStore.getChangedElements(xml("A", "B"),
+				xml("A", "B", "C")));
+		Assert.assertNull(UndoXMLStore.getChangedElements(xml("A", "B"),
+				xml("A", "D")));
+	}
+}
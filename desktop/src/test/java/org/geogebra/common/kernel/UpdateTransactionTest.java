@@ -0,0 +1,85 @@
+package org.geogebra.common.kernel;
+
+import org.geogebra.commands.AlgebraTest;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class UpdateTransactionTest {
+	private static AppDNoGui app;
+	private static Kernel kernel;
+	private GeoPoint a;
+	private GeoPoint b;
+
+	@BeforeClass
+	public static void setup() {
+		app = AlgebraTest.createApp();
+		kernel = app.getKernel();
+	}
+
+	@Before
+	public void createPoints() {
+		kernel.clearConstruction(true);
+		a = point("A=(1,1)");
+		b = point("B=A+(1,0)");
+	}
+
+	private static GeoPoint point(String input) {
+		return (GeoPoint) kernel.getAlgebraProcessor()
+				.processAlgebraCommand(input, false)[0];
+	}
+
+	private void moveA(double x) {
+		a.setCoords(x, 1, 1);
+		a.updateCascade();
+	}
+
+	@Test
+	public void onlyOutermostCommitShouldUpdate() {
+		kernel.beginUpdateTransaction();
+		kernel.beginUpdateTransaction();
+		moveA(2);
+		Assert.assertEquals(2, b.getInhomX(), Kernel.STANDARD_PRECISION);
+		kernel.commitUpdateTransaction();
+		Assert.assertTrue(kernel.isUpdateTransactionActive());
+		Assert.assertEquals(2, b.getInhomX(), Kernel.STANDARD_PRECISION);
+		moveA(3);
+		kernel.commitUpdateTransaction();
+		Assert.assertFalse(kernel.isUpdateTransactionActive());
+		Assert.assertEquals(4, b.getInhomX(), Kernel.STANDARD_PRECISION);
+	}
+
+	@Test
+	public void exceptionShouldNotLeaveTransactionOpen() {
+		int depth = kernel.getUpdateTransactionDepth();
+		try {
+			kernel.beginUpdateTransaction();
+			moveA(2);
+			throw new IllegalStateException("script failed");
+		} catch (IllegalStateException e) {
+			// expected
+		} finally {
+			kernel.commitUpdateTransactions(depth);
+		}
+		Assert.assertFalse(kernel.isUpdateTransactionActive());
+		Assert.assertEquals(3, b.getInhomX(), Kernel.STANDARD_PRECISION);
+		moveA(5);
+		Assert.assertEquals(6, b.getInhomX(), Kernel.STANDARD_PRECISION);
+	}
+
+	@Test
+	public void clearConstructionShouldDropTransaction() {
+		kernel.beginUpdateTransaction();
+		moveA(2);
+		kernel.clearConstruction(true);
+		Assert.assertFalse(kernel.isUpdateTransactionActive());
+		a = point("A=(1,1)");
+		b = point("B=A+(1,0)");
+		moveA(2);
+		Assert.assertEquals(3, b.getInhomX(), Kernel.STANDARD_PRECISION);
+	}
+}
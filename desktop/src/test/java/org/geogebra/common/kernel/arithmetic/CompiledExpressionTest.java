@@ -0,0 +1,144 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import org.geogebra.commands.AlgebraTest;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CompiledExpressionTest {
+	private static AppDNoGui app;
+
+	@BeforeClass
+	public static void setup() {
+		app = AlgebraTest.createApp();
+	}
+
+	private static GeoElementND[] define(String input) {
+		return app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(input, false);
+	}
+
+	private static GeoFunction function(String input) {
+		return (GeoFunction) define(input)[0];
+	}
+
+	private static void compare(String input) {
+		double[] xs = new double[41];
+		for (int i = 0; i < xs.length; i++) {
+			xs[i] = -5 + 0.25 * i;
+		}
+		compare(input, xs);
+	}
+
+	private static void compare(String input, double... xs) {
+		GeoFunction f = function(input);
+		Function fun = f.getFunction();
+		CompiledExpression compiled = CompiledExpression
+				.compile(fun.getExpression(), fun.getFunctionVariables());
+		Assert.assertNotNull(input, compiled);
+		for (double x : xs) {
+			fun.getFunctionVariables()[0].set(x);
+			Assert.assertEquals(input + " at " + x,
+					fun.getExpression().evaluateDouble(), compiled.evaluate(x),
+					1E-12);
+		}
+	}
+
+	@Test
+	public void compiledShouldMatchTree() {
+		app.getKernel().clearConstruction(true);
+		compare("sin(x)+x^2/3");
+		compare("x^(1/3)");
+		compare("abs(x)-sqrt(x)*exp(-x)");
+		compare("tan(x)+ln(abs(x))+sgn(x)");
+		define("a=2");
+		function("g(x)=a*x+1");
+		compare("g(x)^2-a");
+	}
+
+	@Test
+	public void compiledShouldMatchTreeAtUndefinedPoints() {
+		app.getKernel().clearConstruction(true);
+		double[] xs = { Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.NaN, 0, -0.0, 1 };
+		compare("x^0", xs);
+		compare("(1/x)^0", xs);
+		compare("x^x", xs);
+		compare("0^x", xs);
+		compare("x^(2/3)", xs);
+		compare("(x-1)^(1/3)", xs);
+		compare("e^x", xs);
+		compare("e^(x/2)", xs);
+		compare("exp(x)", xs);
+	}
+
+	@Test
+	public void batchCurveShouldMatchSinglePoints() {
+		app.getKernel().clearConstruction(true);
+		checkBatch(function("f(x)=sin(x)+x^2/3"));
+		checkBatch(function("g(x)=If(x>0,x,-x)"));
+		checkBatch(
+				(CurveEvaluable) define("c=Curve(cos(t),t^(1/3),t,-5,5)")[0]);
+	}
+
+	private static void checkBatch(CurveEvaluable curve) {
+		double[] t = new double[43];
+		for (int i = 0; i < 41; i++) {
+			t[i] = -5 + 0.25 * i;
+		}
+		t[41] = Double.NaN;
+		t[42] = Double.POSITIVE_INFINITY;
+		int dim = curve.newDoubleArray().length;
+		double[] out = new double[t.length * dim];
+		curve.evaluateCurve(t, t.length, out);
+		double[] single = curve.newDoubleArray();
+		for (int i = 0; i < t.length; i++) {
+			curve.evaluateCurve(t[i], single);
+			for (int k = 0; k < dim; k++) {
+				Assert.assertEquals("at " + t[i], single[k],
+						out[i * dim + k], 0);
+			}
+		}
+	}
+
+	@Test
+	public void compiledShouldReadCurrentValues() {
+		app.getKernel().clearConstruction(true);
+		define("b=3");
+		GeoFunction f = function("f(x)=b*x");
+		Function fun = f.getFunction();
+		CompiledExpression compiled = CompiledExpression
+				.compile(fun.getExpression(), fun.getFunctionVariables());
+		Assert.assertEquals(6, compiled.evaluate(2), 1E-12);
+		define("b=4");
+		Assert.assertEquals(8, compiled.evaluate(2), 1E-12);
+	}
+
+	@Test
+	public void unsupportedShouldNotCompile() {
+		app.getKernel().clearConstruction(true);
+		GeoFunction f = function("f(x)=If(x>0,x,-x)");
+		Function fun = f.getFunction();
+		Assert.assertNull(CompiledExpression.compile(fun.getExpression(),
+				fun.getFunctionVariables()));
+	}
+
+	@Test
+	public void callsShouldNotBeConcurrent() {
+		app.getKernel().clearConstruction(true);
+		define("a=2");
+		Function fun = function("f(x)=a*sin(x)").getFunction();
+		Assert.assertTrue(CompiledExpression
+				.compile(fun.getExpression(), fun.getFunctionVariables())
+				.isConcurrent());
+		fun = function("g(x)=f(x)+1").getFunction();
+		Assert.assertFalse(CompiledExpression
+				.compile(fun.getExpression(), fun.getFunctionVariables())
+				.isConcurrent());
+	}
+}
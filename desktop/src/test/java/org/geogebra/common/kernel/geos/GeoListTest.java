@@ -0,0 +1,64 @@
+package org.geogebra.common.kernel.geos;
+
+import org.geogebra.commands.AlgebraTest;
+import org.geogebra.common.awt.GColor;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.statistics.ListStatistics;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class GeoListTest {
+
+	private static final String[] STATISTICS = { "Mean", "SD", "Sum",
+			"Median", "Q1", "Q3" };
+
+	private static GeoElement process(AppDNoGui app, String command) {
+		return app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(command, false)[0].toGeoElement();
+	}
+
+	private static double[] statistics(AppDNoGui app, GeoList list,
+			String suffix) {
+		double[] ret = new double[STATISTICS.length];
+		for (int i = 0; i < STATISTICS.length; i++) {
+			ret[i] = process(app, STATISTICS[i].toLowerCase() + suffix + "="
+					+ STATISTICS[i] + "(" + list.getLabelSimple() + ")")
+							.evaluateDouble();
+		}
+		return ret;
+	}
+
+	@Test
+	public void packedListShouldMatchUnpacked() {
+		AppDNoGui app = AlgebraTest.createApp();
+		GeoList list = (GeoList) process(app,
+				"l1=Sequence(k^2/3,k,1,20)");
+		Assert.assertTrue(list.isPacked());
+		list.setLineThickness(7);
+		list.setObjColor(GColor.RED);
+		String packedXML = list.getXML();
+		String packedValue = list.toValueString(StringTemplate.xmlTemplate);
+		double[] packedStatistics = statistics(app, list, "Packed");
+		double[] packedSorted = new ListStatistics(list).getSorted();
+		GeoList packedCopy = list.deepCopyGeo();
+		Assert.assertTrue(list.isEqual(packedCopy));
+		// read-only access and style setters keep the list packed
+		Assert.assertTrue(list.isPacked());
+
+		Assert.assertEquals(1 / 3.0, list.get(0).evaluateDouble(), 1E-15);
+		Assert.assertFalse(list.isPacked());
+		Assert.assertEquals(7, list.get(1).getLineThickness());
+		Assert.assertEquals(GColor.RED, list.get(1).getObjectColor());
+
+		Assert.assertEquals(packedXML, list.getXML());
+		Assert.assertEquals(packedValue,
+				list.toValueString(StringTemplate.xmlTemplate));
+		Assert.assertArrayEquals(packedStatistics,
+				statistics(app, list, "Unpacked"), 0);
+		Assert.assertArrayEquals(packedSorted,
+				new ListStatistics(list).getSorted(), 0);
+		Assert.assertTrue(packedCopy.isEqual(list));
+	}
+}
@@ -0,0 +1,87 @@
+package org.geogebra.common.kernel.geos;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.SegmentType;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class GeoLocusTest {
+
+	private static AppDNoGui app;
+
+	@BeforeClass
+	public static void setup() {
+		app = new AppDNoGui(new LocalizationD(3), false);
+	}
+
+	private static GeoLocus insertPoints(GeoLocus locus, int count) {
+		for (int i = 0; i < count; i++) {
+			locus.insertPoint(i, 2 * i,
+					i == 0 ? SegmentType.MOVE_TO : SegmentType.LINE_TO);
+		}
+		return locus;
+	}
+
+	@Test
+	public void insertedPointsShouldBeListed() {
+		GeoLocus locus = insertPoints(
+				new GeoLocus(app.getKernel().getConstruction()), 100);
+		Assert.assertEquals(100, locus.getPointLength());
+		ArrayList<MyPoint> points = locus.getPoints();
+		Assert.assertEquals(100, points.size());
+		Assert.assertEquals(SegmentType.MOVE_TO,
+				points.get(0).getSegmentType());
+		for (int i = 1; i < 100; i++) {
+			Assert.assertEquals(i, points.get(i).getX(), 0);
+			Assert.assertEquals(2 * i, points.get(i).getY(), 0);
+			Assert.assertEquals(SegmentType.LINE_TO,
+					points.get(i).getSegmentType());
+		}
+	}
+
+	@Test
+	public void recycledPointsShouldBeReused() {
+		GeoLocus locus = insertPoints(
+				new GeoLocus(app.getKernel().getConstruction()), 10);
+		ArrayList<MyPoint> before = new ArrayList<>(locus.getPoints());
+		locus.recyclePoints();
+		Assert.assertEquals(0, locus.getPointLength());
+		insertPoints(locus, 10);
+		for (MyPoint pt : locus.getPoints()) {
+			Assert.assertTrue(before.contains(pt));
+		}
+		Assert.assertEquals(9, locus.getPoints().get(9).getX(), 0);
+	}
+
+	@Test
+	public void listChangesShouldKeepInsertedPointsInOrder() {
+		GeoLocus locus = insertPoints(
+				new GeoLocus(app.getKernel().getConstruction()), 3);
+		locus.getPoints().clear();
+		insertPoints(locus, 2);
+		locus.getPoints().add(new MyPoint(7, 7, SegmentType.LINE_TO));
+		insertPoints(locus, 1);
+		ArrayList<MyPoint> points = locus.getPoints();
+		Assert.assertEquals(4, points.size());
+		Assert.assertEquals(1, points.get(1).getX(), 0);
+		Assert.assertEquals(7, points.get(2).getX(), 0);
+		Assert.assertEquals(SegmentType.MOVE_TO,
+				points.get(3).getSegmentType());
+	}
+
+	@Test
+	public void copyShouldContainInsertedPoints() {
+		GeoLocus locus = insertPoints(
+				new GeoLocus(app.getKernel().getConstruction()), 5);
+		GeoLocus copy = (GeoLocus) locus.copy();
+		Assert.assertEquals(5, copy.getPointLength());
+		Assert.assertEquals(4, copy.getPoints().get(4).getX(), 0);
+		Assert.assertEquals(4, locus.getMaxParameter(), 0);
+	}
+}
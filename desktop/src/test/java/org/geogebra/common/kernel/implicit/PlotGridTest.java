@@ -0,0 +1,69 @@
+package org.geogebra.common.kernel.implicit;
+
+import org.geogebra.commands.AlgebraTest;
+import org.geogebra.common.jre.kernel.TaskRunnerJre;
+import org.geogebra.common.kernel.algos.TaskRunner;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class PlotGridTest {
+	private static AppDNoGui app;
+	private static GeoImplicitCurve folium;
+	/** vertices of 0.25 x 0.25 cells covering [-2,2] x [-2,2] */
+	private static double[] coords = new double[17];
+
+	@BeforeClass
+	public static void setup() {
+		app = AlgebraTest.createApp();
+		// singular point at (0.3, 0.2)
+		folium = (GeoImplicitCurve) app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(
+						"(x-0.3)^3+(y-0.2)^3=3(x-0.3)(y-0.2)", false)[0];
+		for (int i = 0; i < coords.length; i++) {
+			coords[i] = -2 + 0.25 * i;
+		}
+	}
+
+	private static PlotGrid evaluate(TaskRunner runner, boolean polynomial) {
+		PlotGrid grid = new PlotGrid();
+		double[][] coeff = folium.getCoeff();
+		grid.evaluate(folium, polynomial ? coeff : null, coeff, coords,
+				coords, 0.25, 0.25, 0, runner);
+		return grid;
+	}
+
+	@Test
+	public void parallelEvaluationShouldMatchSequential() {
+		PlotGrid sequential = evaluate(new TaskRunner(), true);
+		PlotGrid parallel = evaluate(new TaskRunnerJre(), true);
+		for (int i = 0; i < coords.length; i++) {
+			for (int j = 0; j < coords.length; j++) {
+				Assert.assertEquals(sequential.getValue(i, j),
+						parallel.getValue(i, j), 0);
+			}
+		}
+		for (int i = 0; i < coords.length - 1; i++) {
+			for (int j = 0; j < coords.length - 1; j++) {
+				Assert.assertEquals(sequential.isCenterSingular(i, j),
+						parallel.isCenterSingular(i, j));
+				Assert.assertEquals(sequential.maybeSingular(i, j),
+						parallel.maybeSingular(i, j));
+			}
+		}
+	}
+
+	@Test
+	public void onlyCellWithSingularPointShouldBeRefined() {
+		PlotGrid grid = evaluate(new TaskRunnerJre(), true);
+		// [0.25, 0.5] x [0, 0.25] contains the singular point
+		Assert.assertTrue(grid.maybeSingular(8, 9));
+		// [1.75, 2] x [1.5, 1.75] is crossed by the loop
+		Assert.assertFalse(grid.maybeSingular(14, 15));
+		// derivatives are not known for curves evaluated one by one
+		Assert.assertFalse(evaluate(new TaskRunner(), false)
+				.maybeSingular(8, 9));
+	}
+}
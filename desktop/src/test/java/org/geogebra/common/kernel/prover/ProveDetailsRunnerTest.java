@@ -0,0 +1,51 @@
+package org.geogebra.common.kernel.prover;
+
+import org.geogebra.commands.AlgebraTest;
+import org.geogebra.common.jre.kernel.TaskRunnerJre;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.algos.TaskRunner;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.main.Feature;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ProveDetailsRunnerTest {
+
+	/** Varignon: midpoints of a quadrilateral form a parallelogram */
+	private static final String[] CONSTRUCTION = { "A=(0,0)", "B=(3,1)",
+			"C=(4,4)", "D=(1,3)", "E=Midpoint(A,B)", "F=Midpoint(B,C)",
+			"G=Midpoint(C,D)", "H=Midpoint(D,A)" };
+
+	private static final String[] STATEMENTS = {
+			"ProveDetails(AreParallel(Line(E,F),Line(G,H)))",
+			"ProveDetails(AreEqual(Segment(E,F),Segment(G,H)))",
+			"ProveDetails(AreCollinear(E,F,A))" };
+
+	@Test
+	public void ndgConditionsShouldNotDependOnRunner() {
+		for (String statement : STATEMENTS) {
+			Assert.assertEquals(statement,
+					proveDetails(new TaskRunner(), statement),
+					proveDetails(new TaskRunnerJre(), statement));
+		}
+	}
+
+	/**
+	 * With Singular available and {@link Feature#PARALLEL_PROVER} the
+	 * variable permutations are eliminated by the given runner, otherwise
+	 * both runs take the same sequential path.
+	 */
+	private static String proveDetails(TaskRunner runner, String statement) {
+		AppDNoGui app = AlgebraTest.createApp();
+		app.getKernel().setTaskRunner(runner);
+		for (String def : CONSTRUCTION) {
+			app.getKernel().getAlgebraProcessor().processAlgebraCommand(def,
+					false);
+		}
+		GeoElementND[] result = app.getKernel().getAlgebraProcessor()
+				.processAlgebraCommand(statement, false);
+		return result[0].toValueString(StringTemplate.testTemplate);
+	}
+}
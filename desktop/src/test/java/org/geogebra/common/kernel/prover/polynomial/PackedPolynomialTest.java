@@ -0,0 +1,93 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.geogebra.commands.AlgebraTest;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class PackedPolynomialTest {
+	private static Kernel kernel;
+
+	@BeforeClass
+	public static void setup() {
+		AppDNoGui app = AlgebraTest.createApp();
+		kernel = app.getKernel();
+	}
+
+	@Test
+	public void productShouldMatchTermByTerm() {
+		PVariable x = new PVariable(kernel);
+		PVariable y = new PVariable(kernel);
+		PVariable z = new PVariable(kernel);
+		PPolynomial p = new PPolynomial(x).add(new PPolynomial(y))
+				.subtract(new PPolynomial(z)).add(new PPolynomial(3));
+		PPolynomial sqr = PPolynomial.sqr(p);
+		// each term times sqr is small enough for the map based product
+		PPolynomial expected = new PPolynomial();
+		for (Map.Entry<PTerm, BigInteger> term : sqr.getTerms().entrySet()) {
+			expected = expected.add(new PPolynomial(term.getValue(),
+					term.getKey()).multiply(sqr));
+		}
+		Assert.assertEquals(expected, sqr.multiply(sqr));
+	}
+
+	@Test
+	public void productShouldNotOverflow() {
+		PVariable x = new PVariable(kernel);
+		PVariable y = new PVariable(kernel);
+		BigInteger big = BigInteger.valueOf(Long.MAX_VALUE);
+		PPolynomial p = new PPolynomial(big, x).add(new PPolynomial(y))
+				.add(new PPolynomial(big)).add(new PPolynomial(big, x, 2))
+				.add(new PPolynomial(big, y, 2));
+		PPolynomial product = p.multiply(p);
+		Assert.assertEquals(big.multiply(big),
+				product.getTerms().get(new PTerm(x, 4)));
+	}
+
+	@Test
+	public void substitutionShouldCollectTerms() {
+		PVariable x = new PVariable(kernel);
+		PVariable y = new PVariable(kernel);
+		// x*y + 2*y^2 with y = 3
+		PPolynomial p = new PPolynomial(x).multiply(new PPolynomial(y))
+				.add(new PPolynomial(BigInteger.valueOf(2), y, 2));
+		HashMap<PVariable, BigInteger> subst = new HashMap<>();
+		subst.put(y, BigInteger.valueOf(3));
+		Assert.assertEquals(new PPolynomial(BigInteger.valueOf(3), x)
+				.add(new PPolynomial(18)), p.substitute(subst));
+	}
+
+	@Test
+	public void linearVariablesShouldBeEliminated() {
+		PVariable v1 = new PVariable(kernel);
+		PVariable v2 = new PVariable(kernel);
+		PVariable v3 = new PVariable(kernel);
+		// v1 = v2 + 1, v3 = v1 * v2, v3^2 = 4
+		PPolynomial[] system = {
+				new PPolynomial(v1).subtract(new PPolynomial(v2))
+						.subtract(new PPolynomial(1)),
+				new PPolynomial(v3).subtract(
+						new PPolynomial(v1).multiply(new PPolynomial(v2))),
+				PPolynomial.sqr(new PPolynomial(v3))
+						.subtract(new PPolynomial(4)) };
+		Set<PVariable> dependent = new HashSet<>();
+		dependent.add(v1);
+		dependent.add(v3);
+		PPolynomial[] reduced = PackedPolynomial.eliminateLinear(system,
+				dependent);
+		Assert.assertEquals(1, reduced.length);
+		PPolynomial v2v1 = new PPolynomial(v2)
+				.multiply(new PPolynomial(v2).add(new PPolynomial(1)));
+		Assert.assertEquals(PPolynomial.sqr(v2v1).subtract(new PPolynomial(4)),
+				reduced[0]);
+	}
+}
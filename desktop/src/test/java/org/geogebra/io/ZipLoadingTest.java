@@ -0,0 +1,104 @@
+package org.geogebra.io;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.geogebra.common.io.MyXMLio;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.util.Charsets;
+import org.geogebra.desktop.io.MyXMLioD;
+import org.geogebra.desktop.main.AppDNoGui;
+import org.geogebra.desktop.main.LocalizationD;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ZipLoadingTest {
+
+	private static AppDNoGui app;
+
+	@BeforeClass
+	public static void setup() {
+		app = new AppDNoGui(new LocalizationD(3), false);
+	}
+
+	@Test
+	public void imageAfterXMLShouldBeLoadedFromStream() throws Exception {
+		String image = "0123456789abcdef0123456789abcdef/stream.png";
+		getXMLio().readZipFromInputStream(
+				new ByteArrayInputStream(webOrderedFile(image)), false);
+		checkImage();
+	}
+
+	@Test
+	public void imageAfterXMLShouldBeLoadedFromFile() throws Exception {
+		String image = "0123456789abcdef0123456789abcdef/file.png";
+		File file = File.createTempFile("web", ".ggb");
+		try {
+			FileOutputStream out = new FileOutputStream(file);
+			out.write(webOrderedFile(image));
+			out.close();
+			Assert.assertTrue(getXMLio().readZipFromFile(file, false));
+		} finally {
+			file.delete();
+		}
+		checkImage();
+	}
+
+	private static MyXMLioD getXMLio() {
+		return (MyXMLioD) app.getXMLio();
+	}
+
+	private static void checkImage() {
+		GeoElement pic = app.getKernel().lookupLabel("pic1");
+		Assert.assertNotNull(pic);
+		Assert.assertNotNull(pic.getFillImage());
+		Assert.assertEquals(3, pic.getFillImage().getWidth());
+	}
+
+	/**
+	 * @return archive with entries in the order used by web: script,
+	 *         construction, images, thumbnail
+	 */
+	private static byte[] webOrderedFile(String image) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ZipOutputStream zip = new ZipOutputStream(bytes);
+		addEntry(zip, MyXMLio.JAVASCRIPT_FILE,
+				"function ggbOnInit() {}".getBytes(Charsets.UTF_8));
+		addEntry(zip, MyXMLio.XML_FILE, ("<geogebra format=\"5.0\">\n"
+				+ "<construction>\n"
+				+ "<element type=\"image\" label=\"pic1\">\n"
+				+ "\t<file name=\"" + image + "\"/>\n"
+				+ "\t<startPoint number=\"0\" x=\"1\" y=\"1\" z=\"1\"/>\n"
+				+ "</element>\n" + "</construction>\n" + "</geogebra>")
+						.getBytes(Charsets.UTF_8));
+		addEntry(zip, image, png(3, 2));
+		addEntry(zip, MyXMLio.XML_FILE_THUMBNAIL, png(1, 1));
+		zip.close();
+		return bytes.toByteArray();
+	}
+
+	private static void addEntry(ZipOutputStream zip, String name,
+			byte[] content) throws IOException {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content);
+		zip.closeEntry();
+	}
+
+	private static byte[] png(int width, int height) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(
+				new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB),
+				"png", out);
+		return out.toByteArray();
+	}
+}
@@ -18,6 +18,7 @@ import org.geogebra.common.gui.toolbar.ToolBar;
 import org.geogebra.common.gui.view.probcalculator.ProbabilityCalculatorView;
 import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
 import org.geogebra.common.gui.view.spreadsheet.DataImport;
+import org.geogebra.common.gui.view.spreadsheet.DataImportStream;
 import org.geogebra.common.io.OFFHandler;
 import org.geogebra.common.io.layout.DockPanelData;
 import org.geogebra.common.io.layout.Perspective;
@@ -407,6 +408,19 @@ public class AppWFull extends AppW implements HasKeyboard {
 
 	@Override
 	public final void openCSV(String csv) {
+		if (has(Feature.STREAMING_DATA_IMPORT)) {
+			DataImportStream importer = new DataImportStream(this, 0, 0);
+			String[] lines = csv.split("\r?\n|\r", -1);
+			// skip empty line after the last line separator
+			int numLines = lines[lines.length - 1].length() == 0
+					? lines.length - 1 : lines.length;
+			for (int i = 0; i < numLines; i++) {
+				importer.addLine(lines[i]);
+			}
+			importer.finish();
+			onOpenFile();
+			return;
+		}
 		String[][] data = DataImport.parseExternalData(this, csv, true);
 		CopyPasteCut cpc = ((MyTableW) getGuiManager().getSpreadsheetView()
 				.getSpreadsheetTable()).getCopyPasteCut();
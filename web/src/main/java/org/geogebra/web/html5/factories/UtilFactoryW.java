@@ -1,6 +1,8 @@
 package org.geogebra.web.html5.factories;
 
 import org.geogebra.common.factories.UtilFactory;
+import org.geogebra.common.kernel.algos.AlgoUpdateScheduler;
+import org.geogebra.common.kernel.algos.TaskRunner;
 import org.geogebra.common.util.HttpRequest;
 import org.geogebra.common.util.Prover;
 import org.geogebra.common.util.URLEncoder;
@@ -36,4 +38,16 @@ public class UtilFactoryW extends UtilFactory {
 	public Prover newProver() {
 		return new ProverW();
 	}
+
+	@Override
+	public AlgoUpdateScheduler newAlgoUpdateScheduler() {
+		// no threads in the browser
+		return new AlgoUpdateScheduler();
+	}
+
+	@Override
+	public TaskRunner newTaskRunner() {
+		// no threads in the browser
+		return new TaskRunner();
+	}
 }
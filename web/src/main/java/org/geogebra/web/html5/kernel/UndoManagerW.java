@@ -3,6 +3,7 @@ package org.geogebra.web.html5.kernel;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.UndoCommand;
 import org.geogebra.common.kernel.UndoManager;
+import org.geogebra.common.kernel.UndoXMLStore;
 import org.geogebra.common.main.App;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
@@ -28,12 +29,18 @@ public class UndoManagerW extends UndoManager {
 	 */
 	Storage storage;
 
+	/** maximal number of characters kept in memory if there is no storage */
+	private static final long MAX_STORED_CHARS = 20000000;
+
+	/** in-memory XML of states when storage is not available */
+	final UndoXMLStore xmlStore = new UndoXMLStore();
+
 	/**
 	 * Storage state
 	 */
 	protected class AppStateWeb implements AppState {
 		private String key;
-		private String xml;
+		private UndoXMLStore.Snapshot snapshot;
 
 		/**
 		 * @param xmls
@@ -43,7 +50,7 @@ public class UndoManagerW extends UndoManager {
 			if (storage != null) {
 				storage.setItem(key = TEMP_STORAGE_PREFIX + nextKeyNum++, xmls);
 			} else {
-				xml = xmls;
+				snapshot = xmlStore.add(xmls);
 			}
 		}
 
@@ -52,14 +59,17 @@ public class UndoManagerW extends UndoManager {
 		 */
 		public String getXml() {
 			if (storage == null) {
-				return xml;
+				return snapshot == null ? null : xmlStore.getXML(snapshot);
 			}
 			return storage.getItem(key);
 		}
 
 		@Override
 		public void delete() {
-			xml = null;
+			if (snapshot != null) {
+				xmlStore.delete(snapshot);
+				snapshot = null;
+			}
 			if (storage != null) {
 				storage.removeItem(key);
 			}
@@ -79,6 +89,12 @@ public class UndoManagerW extends UndoManager {
 		}
 	}
 
+	@Override
+	protected boolean isHistoryTooLarge() {
+		return storage == null
+				&& xmlStore.getStoredChars() > MAX_STORED_CHARS;
+	}
+
 	@Override
 	public void storeUndoInfoAfterPasteOrAdd() {
 		// this can cause a java.lang.OutOfMemoryError for very large
@@ -161,7 +177,9 @@ public class UndoManagerW extends UndoManager {
 
 			// load undo info
 			app.getScriptManager().disableListeners();
-			processXML(tempXML, false);
+			if (!processChangedElements(tempXML)) {
+				processXML(tempXML, false);
+			}
 			app.getScriptManager().enableListeners();
 			// If there are Exercises we also have to update the Exercises
 			if (app.getKernel().hasExercise()) {
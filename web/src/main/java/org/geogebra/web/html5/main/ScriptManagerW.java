@@ -436,6 +436,26 @@ public class ScriptManagerW extends ScriptManager {
 		api.stopAnimation = function() {
 			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::stopAnimation()();
 		};
+
+		api.beginUpdateTransaction = function() {
+			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::beginUpdateTransaction()();
+		};
+
+		api.commitUpdateTransaction = function() {
+			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::commitUpdateTransaction()();
+		};
+
+		api.setMetricsEnabled = function(enabled) {
+			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::setMetricsEnabled(Z)(!!enabled);
+		};
+
+		api.getMetricsReport = function() {
+			return ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::getMetricsReport()();
+		};
+
+		api.resetMetrics = function() {
+			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::resetMetrics()();
+		};
 		
 		api.setAuxiliary = function(objName, auxiliary) {
 			ggbAPI.@org.geogebra.web.html5.main.GgbAPIW::setAuxiliary(Ljava/lang/String;Z)(objName + "", !!auxiliary);